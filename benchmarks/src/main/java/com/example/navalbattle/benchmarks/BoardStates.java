@@ -0,0 +1,126 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.GameEngine;
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.PositionTable;
+import com.example.navalbattle.models.ShotResult;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds the realistic board states the benchmarks run against: fleets in the middle of a
+ * match, with hits, misses and sunk ships already recorded, and half-placed player boards.
+ */
+final class BoardStates {
+
+    private BoardStates() {
+    }
+
+    /**
+     * Plays the first shots of a match between two machine tables.
+     *
+     * @param random the generator used for the fleets and the shots.
+     * @param shots  the amount of shots the first table fires at the second one.
+     * @return the shooting table followed by the target table.
+     */
+    static MainTable[] midGame(Random random, int shots) {
+        MainTable shooter = new MainTable(random);
+        MainTable target = new MainTable(random);
+        for (int i = 0; i < shots; i++) {
+            fire(shooter, target, shooter.shot());
+        }
+        return new MainTable[]{shooter, target};
+    }
+
+    /**
+     * Resolves a shot of one table against another, recording the hit or miss and any sunk ship.
+     *
+     * @param shooter the table that fired.
+     * @param target  the table that was fired at.
+     * @param shot    the coordinates of the shot.
+     */
+    static void fire(MainTable shooter, MainTable target, int[] shot) {
+        ShotResult result = target.receiveShot(shot[0], shot[1]);
+        shooter.recordShot(shot[0], shot[1], result != ShotResult.MISS);
+        if (result != ShotResult.SUNK) {
+            return;
+        }
+        int[] ship = target.getShipCoordinatesList().get(target.getFleetIndex().getShipAt(shot[0], shot[1]));
+        boolean horizontal = ship[4] == 1;
+        int size = horizontal ? ship[3] - ship[1] + 1 : ship[2] - ship[0] + 1;
+        shooter.recordSunk(ship[0], ship[1], size, horizontal);
+    }
+
+    /**
+     * Builds the status of a match in progress: a half-placed player fleet and both sides
+     * having fired the given amount of shots at each other.
+     *
+     * @param random the generator used for the fleets and the shots.
+     * @param shots  the amount of shots fired by each side.
+     * @return the match status.
+     */
+    static MatchStatusSerializable match(Random random, int shots) {
+        MainTable mainTable = new MainTable(random);
+        PositionTable positionTable = halfPlaced(random);
+        for (int i = 0; i < shots; i++) {
+            int[] shot = mainTable.shot();
+            mainTable.recordShot(shot[0], shot[1], positionTable.receiveShot(shot[0], shot[1]) != ShotResult.MISS);
+            int cell = i * 37 % 100;
+            positionTable.recordShot(cell / 10, cell % 10, mainTable.receiveShot(cell / 10, cell % 10) != ShotResult.MISS);
+        }
+        return new MatchStatusSerializable(mainTable, positionTable, "benchmark");
+    }
+
+    /**
+     * Places the larger half of the player's fleet (carrier, submarines and destroyers) at random.
+     *
+     * @param random the generator used for the positions.
+     * @return the half-placed position table.
+     */
+    static PositionTable halfPlaced(Random random) {
+        PositionTable table = new PositionTable();
+        for (int shipIndex = 4; shipIndex >= 2; shipIndex--) {
+            while (table.checkAmount(shipIndex)) {
+                int row = random.nextInt(10);
+                int col = random.nextInt(10);
+                int orientation = random.nextInt(2);
+                if (table.checkPosition(shipIndex, row, col, orientation)) {
+                    table.setShipPosition(shipIndex, row, col, orientation);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Plays a whole match on a game engine: the player's fleet is placed at random, the player
+     * fires at random cells and the machine fires its smart shots.
+     *
+     * @param seed   the seed of the machine's table.
+     * @param random the generator used for the player's fleet and shots.
+     * @return the engine of the finished match.
+     */
+    static GameEngine fullMatch(long seed, RandomGenerator random) {
+        GameEngine engine = new GameEngine(seed);
+        for (int shipIndex = 4; shipIndex >= 1; shipIndex--) {
+            while (engine.getPositionTable().checkAmount(shipIndex)) {
+                engine.placeShip(shipIndex, random.nextInt(10), random.nextInt(10), random.nextInt(2));
+            }
+        }
+        int[][] shotGrid = engine.getPositionTable().getShotGrid();
+        while (!engine.isFinished()) {
+            if (engine.isPlayerTurn()) {
+                int cell;
+                do {
+                    cell = random.nextInt(100);
+                } while (shotGrid[cell / 10][cell % 10] != 0);
+                engine.playerShot(cell / 10, cell % 10);
+            } else {
+                engine.machineShot();
+            }
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MainTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of a complete machine fleet through {@link MainTable#setShips()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FleetGenerationBenchmark {
+
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+    }
+
+    /**
+     * Builds a table, which clears the board and places the ten ships of the fleet.
+     *
+     * @return the new table.
+     */
+    @Benchmark
+    public MainTable setShips() {
+        return new MainTable(random);
+    }
+}
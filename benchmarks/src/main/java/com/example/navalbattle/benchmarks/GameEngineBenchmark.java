@@ -0,0 +1,34 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.GameEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whole matches played headlessly on a {@link GameEngine}: placing the player's fleet,
+ * the player's random shots and the machine's smart shots, until a fleet is sunk. The score is
+ * the amount of matches a single thread plays per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+
+    private SplittableRandom random;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public GameEngine playMatch() {
+        return BoardStates.fullMatch(seed++, random);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MatchIndex;
+import com.example.navalbattle.models.MatchPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the index of the match store holding thousands of saved matches: the lookup that
+ * answers whether a player has a previous match, and encoding and loading the whole index,
+ * which happen on every checkpoint and when the game starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchIndexBenchmark {
+
+    @Param({"5000"})
+    private int matches;
+
+    private final MatchIndex index = new MatchIndex();
+    private final MatchIndex loaded = new MatchIndex();
+    private String[] nicknames;
+    private byte[] encoded;
+    private int lookup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nicknames = new String[matches];
+        for (int i = 0; i < matches; i++) {
+            nicknames[i] = "player" + i;
+            index.put(nicknames[i], i % 2 == 0 ? MatchPhase.BATTLE : MatchPhase.PLACEMENT, i);
+        }
+        encoded = index.encode();
+    }
+
+    @Benchmark
+    public MatchIndex.Entry find() {
+        lookup = (lookup + 1) % matches;
+        return index.get(nicknames[lookup]);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return index.encode();
+    }
+
+    @Benchmark
+    public MatchIndex load() throws IOException {
+        loaded.load(encoded);
+        return loaded;
+    }
+}
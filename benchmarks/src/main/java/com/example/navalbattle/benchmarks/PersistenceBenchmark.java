@@ -0,0 +1,73 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.GamePersistenceModel;
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.MatchMove;
+import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.PositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading a mid-game match through {@link GamePersistenceModel}:
+ * a full checkpoint, and the per-move save the game performs (a journal append plus the
+ * amortized cost of the periodic checkpoint). Saves are written by a background thread, so
+ * those benchmarks measure the cost paid by the game thread: encoding and queueing.
+ * The persistence model writes to the game's save folder, {@code ~/.navalbattle} unless the
+ * {@code navalbattle.saves} system property names another. The match is saved under its own
+ * nickname, so the other saved matches are left untouched, and it is deleted after the run.
+ * Loading reads the checkpoint from the store's cache of recently used matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+
+    private static final String NICKNAME = "benchmark";
+
+    private GamePersistenceModel persistence;
+    private MainTable mainTable;
+    private PositionTable positionTable;
+    private MatchStatusSerializable matchStatus;
+    private int shot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ClassNotFoundException {
+        Random random = new Random(42);
+        MainTable[] tables = BoardStates.midGame(random, 40);
+        mainTable = tables[0];
+        positionTable = BoardStates.halfPlaced(random);
+        persistence = new GamePersistenceModel();
+        persistence.registerNewMatch(mainTable, positionTable, NICKNAME);
+        matchStatus = persistence.deserialize(NICKNAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        persistence.deleteMatchStatus();
+        persistence.flush();
+    }
+
+    @Benchmark
+    public void serialize() {
+        persistence.serialize(matchStatus);
+    }
+
+    @Benchmark
+    public void saveMove() {
+        shot = (shot + 1) % 100;
+        persistence.recordMove(MatchMove.playerShot(shot / 10, shot % 10));
+        persistence.takeSnapshot(mainTable, positionTable);
+    }
+
+    @Benchmark
+    public MatchStatusSerializable deserialize() throws IOException, ClassNotFoundException {
+        return persistence.deserialize(NICKNAME);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.PositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the placement checks of both tables on boards that already hold ships:
+ * {@link MainTable#canPlaced} on a full machine fleet and {@link PositionTable#checkPosition}
+ * on a player board with half of its fleet placed. Candidate positions are pre-drawn, a mix
+ * of legal, overlapping and out-of-board placements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlacementBenchmark {
+
+    private static final int CANDIDATES = 1024;
+
+    private MainTable mainTable;
+    private PositionTable positionTable;
+    private final int[] rows = new int[CANDIDATES];
+    private final int[] cols = new int[CANDIDATES];
+    private final int[] sizes = new int[CANDIDATES];
+    private final int[] orientations = new int[CANDIDATES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mainTable = new MainTable(random);
+        positionTable = BoardStates.halfPlaced(random);
+        for (int i = 0; i < CANDIDATES; i++) {
+            rows[i] = random.nextInt(10);
+            cols[i] = random.nextInt(10);
+            sizes[i] = 1 + random.nextInt(4);
+            orientations[i] = random.nextInt(2);
+        }
+    }
+
+    @Benchmark
+    public boolean canPlaced() {
+        int i = next++ & (CANDIDATES - 1);
+        return mainTable.canPlaced(rows[i], cols[i], sizes[i], orientations[i] == 1);
+    }
+
+    @Benchmark
+    public boolean checkPosition() {
+        int i = next++ & (CANDIDATES - 1);
+        return positionTable.checkPosition(sizes[i], rows[i], cols[i], orientations[i]);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MatchReplay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MatchReplay} rebuilding a whole match, machine fleet included, from its seed
+ * and its moves. The match is played once in the setup with {@link BoardStates#fullMatch}. The
+ * score divided by the amount of moves gives the replay speed in moves per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    private static final long SEED = 42;
+
+    private int[] moves;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        moves = BoardStates.fullMatch(SEED, new SplittableRandom(SEED)).getMoveHistory();
+    }
+
+    @Benchmark
+    public MatchReplay replay() {
+        return MatchReplay.of(SEED, moves);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MatchCodec;
+import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.MatchSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary save format of {@link MatchCodec} with Java serialization of the same
+ * mid-game match, in memory so the file system does not blur the difference. Probing the
+ * summary in the header of a save is measured against decoding the whole match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveFormatBenchmark {
+
+    private final MatchCodec codec = new MatchCodec();
+    private MatchStatusSerializable match;
+    private byte[] encoded;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        match = BoardStates.match(new Random(42), 30);
+        encoded = codec.encode(match);
+        serialized = javaSerialize();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(match);
+    }
+
+    @Benchmark
+    public MatchStatusSerializable decode() throws IOException {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public MatchSummary probe() {
+        return codec.probe(encoded);
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(match);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object javaDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.navalbattle.benchmarks;
+
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.ProbabilityTargeting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the machine's shot selection in the middle of a match: forty shots have already
+ * been fired, so the board holds hits, misses and usually a few sunk ships.
+ * The shot benchmarks start every invocation from a fresh mid-game state and fire several shots,
+ * each one resolved against the target board as the game does; the allocation rate they report
+ * includes building that state. The heatmap benchmark reuses one state for the whole trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShotBenchmark {
+
+    /**
+     * Shots already fired when a measured invocation starts.
+     */
+    private static final int FIRED_SHOTS = 40;
+
+    /**
+     * Shots fired by each measured invocation.
+     */
+    private static final int SHOTS_PER_INVOCATION = 10;
+
+    /**
+     * A mid-game state rebuilt before every invocation, since firing consumes it.
+     */
+    @State(Scope.Thread)
+    public static class MidGame {
+        private final Random random = new Random(42);
+        private MainTable shooter;
+        private MainTable target;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            MainTable[] tables = BoardStates.midGame(random, FIRED_SHOTS);
+            shooter = tables[0];
+            target = tables[1];
+        }
+    }
+
+    /**
+     * A mid-game state built once, for the benchmarks that do not modify it.
+     */
+    @State(Scope.Thread)
+    public static class Snapshot {
+        private MainTable shooter;
+        private ProbabilityTargeting targeting;
+        private final int[] remainingShips = {0, 4, 3, 2, 1};
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            shooter = BoardStates.midGame(new Random(42), FIRED_SHOTS)[0];
+            targeting = new ProbabilityTargeting(10, 10);
+        }
+    }
+
+    /**
+     * Random shots drawn from the unshot-cell sampler.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SHOTS_PER_INVOCATION)
+    public void shot(MidGame state) {
+        for (int i = 0; i < SHOTS_PER_INVOCATION; i++) {
+            BoardStates.fire(state.shooter, state.target, state.shooter.shot());
+        }
+    }
+
+    /**
+     * Shots chosen by the probability-density targeting engine.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SHOTS_PER_INVOCATION)
+    public void smartShot(MidGame state) {
+        for (int i = 0; i < SHOTS_PER_INVOCATION; i++) {
+            BoardStates.fire(state.shooter, state.target, state.shooter.smartShot());
+        }
+    }
+
+    /**
+     * A full heatmap computation on the mid-game board, without firing.
+     *
+     * @return the heatmap.
+     */
+    @Benchmark
+    public int[] heatmap(Snapshot state) {
+        MainTable shooter = state.shooter;
+        return state.targeting.computeDensity(shooter.getHitMask(), shooter.getMissMask(), shooter.getSunkMask(), state.remainingShips);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.navalbattle.server;
+
+import com.example.navalbattle.models.GameEngine;
+import com.example.navalbattle.models.PlacementResult;
+import com.example.navalbattle.models.ShotOutcome;
+import com.example.navalbattle.models.TargetingStrategies;
+
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Serves the commands of one client, on its own virtual thread. The protocol is described in
+ * {@link GameServer}.
+ *
+ * <p>Commands are handled one at a time and answered before the next one is read, so a
+ * connection never has more than one command in flight. Blocking on the socket only parks the
+ * virtual thread, so an idle connection costs its stack and its {@link LineChannel}.</p>
+ */
+final class ClientConnection implements Runnable {
+
+    private final Socket socket;
+    private final GameServer server;
+    private final MatchRegistry registry;
+    private ServerMatch match;
+
+    /**
+     * Creates the handler of an accepted connection.
+     *
+     * @param socket the socket of the client.
+     * @param server the server that accepted it.
+     */
+    ClientConnection(Socket socket, GameServer server) {
+        this.socket = socket;
+        this.server = server;
+        this.registry = server.getRegistry();
+    }
+
+    /**
+     * Reads and answers commands until the client quits or the connection is lost. A match
+     * still owned by the connection is then detached, so it can be joined again.
+     */
+    @Override
+    public void run() {
+        try (LineChannel channel = new LineChannel(socket)) {
+            String line;
+            boolean open = true;
+            while (open && (line = channel.readLine()) != null) {
+                long start = System.nanoTime();
+                open = handle(line, channel);
+                channel.flush();
+                server.recordCommand(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            // The client went away or sent an invalid line; its match is kept below
+        } finally {
+            if (match != null) {
+                match.detach();
+            }
+            server.connectionClosed();
+        }
+    }
+
+    /**
+     * Handles a single command.
+     *
+     * @param line    the command line.
+     * @param channel the channel the answer is written to.
+     * @return false if the connection must be closed.
+     * @throws IOException if the answer cannot be written.
+     */
+    private boolean handle(String line, LineChannel channel) throws IOException {
+        String[] args = line.trim().split(" +");
+        try {
+            switch (args[0].toUpperCase()) {
+                case "NEW" -> {
+                    abandonMatch();
+                    long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+                    match = registry.create(seed, args.length > 2 ? args[2] : TargetingStrategies.DEFAULT);
+                    channel.writeLine("MATCH " + match.getId());
+                }
+                case "JOIN" -> {
+                    ServerMatch joined = registry.attach(Long.parseLong(args[1]));
+                    if (joined == null) {
+                        channel.writeLine("ERROR No free match " + args[1]);
+                    } else {
+                        if (match != null) {
+                            match.detach();
+                        }
+                        match = joined;
+                        channel.writeLine("MATCH " + match.getId());
+                    }
+                }
+                case "PLACE" -> {
+                    PlacementResult result = engine().placeShip(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                            Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+                    channel.writeLine(result == PlacementResult.PLACED ? "PLACED" : "ERROR " + result);
+                }
+                case "FIRE" -> fire(Integer.parseInt(args[1]), Integer.parseInt(args[2]), channel);
+                case "STATE" -> {
+                    GameEngine engine = engine();
+                    String phase = engine.isFinished() ? "OVER" : engine.getPhase().name();
+                    channel.writeLine("STATE " + phase + " " + (engine.isPlayerTurn() ? "PLAYER" : "MACHINE")
+                            + " " + engine.getMoveCount());
+                }
+                case "STATS" -> channel.writeLine(server.stats());
+                case "PING" -> channel.writeLine("PONG");
+                case "QUIT" -> {
+                    abandonMatch();
+                    channel.writeLine("BYE");
+                    return false;
+                }
+                default -> channel.writeLine("ERROR Unknown command " + args[0]);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            channel.writeLine("ERROR Invalid arguments for " + args[0]);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            channel.writeLine("ERROR " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Fires the player's shot, then the machine's shots while it keeps the turn. The answer is
+     * a {@code SHOT} line, an {@code ENEMY} line per machine shot and a final {@code TURN PLAYER}
+     * or {@code WINNER} line. A finished match is removed from the registry.
+     *
+     * @param row     the row of the shot.
+     * @param col     the column of the shot.
+     * @param channel the channel the answer is written to.
+     * @throws IOException if the answer cannot be written.
+     */
+    private void fire(int row, int col, LineChannel channel) throws IOException {
+        GameEngine engine = engine();
+        ShotOutcome outcome = engine.playerShot(row, col);
+        channel.writeLine("SHOT " + row + " " + col + " " + outcome.getResult());
+        while (!engine.isFinished() && !engine.isPlayerTurn()) {
+            ShotOutcome enemy = engine.machineShot();
+            channel.writeLine("ENEMY " + enemy.getRow() + " " + enemy.getCol() + " " + enemy.getResult());
+        }
+        if (engine.isFinished()) {
+            channel.writeLine("WINNER " + (engine.isPlayerWinner() ? "PLAYER" : "MACHINE"));
+            registry.remove(match);
+            match = null;
+        } else {
+            channel.writeLine("TURN PLAYER");
+        }
+    }
+
+    /**
+     * Returns the engine of the connection's match.
+     *
+     * @return the engine.
+     * @throws IllegalStateException if the connection has no match.
+     */
+    private GameEngine engine() {
+        if (match == null) {
+            throw new IllegalStateException("No match; send NEW or JOIN first");
+        }
+        return match.getEngine();
+    }
+
+    /**
+     * Removes the connection's match from the registry, if it has one.
+     */
+    private void abandonMatch() {
+        if (match != null) {
+            registry.remove(match);
+            match = null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.navalbattle.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts Naval Battle matches against the machine for many clients at once, over a line-based
+ * TCP protocol on the loopback interface. Each match is played on a headless
+ * {@link com.example.navalbattle.models.GameEngine}, with the rules of the desktop game.
+ *
+ * <p>Every connection is served by its own virtual thread, which parks while the client is
+ * idle, so ten thousand open matches cost memory but no platform threads. The matches are kept
+ * in a {@link MatchRegistry}; a match whose connection was lost can be joined again until it
+ * has been idle for the idle timeout.</p>
+ *
+ * <p>Commands and answers are ASCII lines. Every command gets one answer line, except
+ * {@code FIRE}, whose answer ends with a {@code TURN} or {@code WINNER} line. Failed commands are
+ * answered with {@code ERROR <reason>}.</p>
+ * <ul>
+ *     <li>{@code NEW [seed] [strategy]} starts a match against a fleet drawn from the seed,
+ *     where the machine fires with the named targeting strategy, abandoning the current one:
+ *     {@code MATCH <id>}.</li>
+ *     <li>{@code JOIN <id>} takes over a detached match: {@code MATCH <id>}.</li>
+ *     <li>{@code PLACE <ship> <row> <col> <orientation>} places a ship of the player:
+ *     {@code PLACED}, or {@code ERROR} and the {@link com.example.navalbattle.models.PlacementResult}.</li>
+ *     <li>{@code FIRE <row> <col>} fires the player's shot: {@code SHOT <row> <col> <result>},
+ *     then {@code ENEMY <row> <col> <result>} for each shot of the machine, then
+ *     {@code TURN PLAYER} or {@code WINNER PLAYER|MACHINE}.</li>
+ *     <li>{@code STATE}: {@code STATE PLACEMENT|BATTLE|OVER PLAYER|MACHINE <moves>}.</li>
+ *     <li>{@code STATS}: {@code STATS <matches> <connections> <commands> <mean us> <max us> <evicted>},
+ *     where the last field counts the idle matches evicted since the server started.</li>
+ *     <li>{@code PING}: {@code PONG}.</li>
+ *     <li>{@code QUIT} abandons the match and closes the connection: {@code BYE}.</li>
+ * </ul>
+ *
+ * <p>Run with {@code java -jar server/target/server.jar [port] [idle timeout in minutes]}.</p>
+ */
+public class GameServer implements AutoCloseable {
+
+    /**
+     * The port the server listens on when none is given.
+     */
+    public static final int DEFAULT_PORT = 5555;
+
+    /**
+     * The length of the queue of connections waiting to be accepted, so a burst of clients
+     * connecting at once is not refused.
+     */
+    private static final int BACKLOG = 4096;
+
+    /**
+     * The pause after a connection could not be accepted, for instance because the process ran
+     * out of file descriptors, so the failing accept is not retried in a busy loop.
+     */
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+
+    private final ServerSocket serverSocket;
+    private final MatchRegistry registry = new MatchRegistry();
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService sweeper;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder commandNanos = new LongAdder();
+    private final LongAccumulator maxCommandNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder evictedMatches = new LongAdder();
+
+    /**
+     * Opens the server socket on the loopback interface and starts evicting idle matches.
+     * Connections are accepted by {@link #serve()}.
+     *
+     * @param port             the port to listen on, or 0 for any free port.
+     * @param idleTimeoutNanos how long a match may stay without a connection before it is removed.
+     * @throws IOException if the port cannot be bound.
+     */
+    public GameServer(int port, long idleTimeoutNanos) throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-registry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleTimeoutNanos / 4, TimeUnit.SECONDS.toNanos(1));
+        sweeper.scheduleAtFixedRate(() -> evictedMatches.add(registry.evictIdle(idleTimeoutNanos)),
+                period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a virtual thread for each one.
+     * A connection that cannot be accepted is logged and the next one is accepted after a
+     * short pause.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openConnections.incrementAndGet();
+                connections.execute(new ClientConnection(socket, this));
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                System.err.println("Error accepting a connection: " + e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the registry of the hosted matches.
+     */
+    public MatchRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Records the time taken to handle a command.
+     *
+     * @param nanos the handling time, in nanoseconds.
+     */
+    void recordCommand(long nanos) {
+        commands.increment();
+        commandNanos.add(nanos);
+        maxCommandNanos.accumulate(nanos);
+    }
+
+    /**
+     * Records that a connection was closed.
+     */
+    void connectionClosed() {
+        openConnections.decrementAndGet();
+    }
+
+    /**
+     * Describes the load of the server, as answered to {@code STATS}.
+     *
+     * @return the amount of matches, connections and handled commands, the mean and maximum
+     * handling time of a command in microseconds, and the amount of idle matches evicted.
+     */
+    String stats() {
+        long count = commands.sum();
+        long mean = count == 0 ? 0 : commandNanos.sum() / count / 1000;
+        return "STATS " + registry.size() + " " + openConnections.get() + " " + count + " " + mean
+                + " " + maxCommandNanos.get() / 1000 + " " + evictedMatches.sum();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.err.println("Error closing the server socket: " + e.getMessage());
+        }
+        sweeper.shutdownNow();
+        // Interrupting a virtual thread blocked on a socket closes the socket
+        connections.shutdownNow();
+    }
+
+    /**
+     * Starts a server from the command line and serves until the JVM is stopped.
+     *
+     * @param args optional port and idle timeout in minutes.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long idleTimeout = TimeUnit.MINUTES.toNanos(args.length > 1 ? Long.parseLong(args[1]) : 10);
+
+        GameServer server = new GameServer(port, idleTimeout);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "game-server-shutdown"));
+        System.out.println("Naval Battle server listening on " + server.getPort());
+        server.serve();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.navalbattle.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes the ASCII lines of the game protocol on a socket.
+ *
+ * <p>A server holds one channel per connection, thousands of them at once, so the buffers are
+ * kept small: a buffered reader and writer of the JDK take over 40 KiB per connection for their
+ * char and byte buffers, this channel takes 1 KiB. Lines longer than {@value #MAX_LINE} bytes are
+ * rejected.</p>
+ */
+final class LineChannel implements Closeable {
+
+    /**
+     * The size of the input and output buffers.
+     */
+    private static final int BUFFER_SIZE = 512;
+
+    /**
+     * The longest line accepted, so a client cannot make the server buffer an endless line.
+     */
+    static final int MAX_LINE = 256;
+
+    private final Socket socket;
+    private final InputStream input;
+    private final OutputStream output;
+    private final StringBuilder line = new StringBuilder(64);
+
+    /**
+     * Opens a channel on a connected socket.
+     *
+     * @param socket the socket.
+     * @throws IOException if the streams of the socket cannot be opened.
+     */
+    LineChannel(Socket socket) throws IOException {
+        this.socket = socket;
+        this.input = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+        this.output = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the next line, without its terminator. Both "\n" and "\r\n" end a line.
+     *
+     * @return the line, or null if the other side closed the connection.
+     * @throws IOException if the line is longer than {@value #MAX_LINE} bytes or cannot be read.
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        int b;
+        while ((b = input.read()) != '\n') {
+            if (b < 0) {
+                return line.length() == 0 ? null : line.toString();
+            }
+            if (line.length() == MAX_LINE) {
+                throw new IOException("Line longer than " + MAX_LINE + " bytes");
+            }
+            line.append((char) (b & 0x7F));
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Buffers a line. Lines are sent by {@link #flush()}.
+     *
+     * @param text the line, without its terminator.
+     * @throws IOException if the line cannot be written.
+     */
+    void writeLine(String text) throws IOException {
+        output.write(text.getBytes(StandardCharsets.US_ASCII));
+        output.write('\n');
+    }
+
+    /**
+     * Sends the buffered lines.
+     *
+     * @throws IOException if the lines cannot be sent.
+     */
+    void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * Closes the socket of the channel.
+     *
+     * @throws IOException if the socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
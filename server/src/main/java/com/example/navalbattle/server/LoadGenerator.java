@@ -0,0 +1,326 @@
+package com.example.navalbattle.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for the {@link GameServer}. It opens many connections, each one starting a
+ * match and placing its fleet, and keeps them all idle for a while. Then some of the
+ * connections play their match to the end at the same time while the others stay idle. Each
+ * {@code FIRE} is timed from the moment it is sent to the moment its last answer line arrives.
+ *
+ * <p>Every client runs on its own virtual thread and fires at random cells. The report gives
+ * the amount of matches the server held, the percentiles of the round-trip time of a move and
+ * the server's own handling time from {@code STATS}. Playing every match at once measures the
+ * throughput of the machine rather than the latency of a move, so the amount of playing
+ * connections is kept apart.</p>
+ *
+ * <p>Run with {@code java -cp server/target/server.jar com.example.navalbattle.server.LoadGenerator
+ * [connections] [playing] [port] [idle seconds]} against a running server. Each connection uses a
+ * file descriptor in both processes, so the open files limit ({@code ulimit -n}) must allow them.</p>
+ */
+public class LoadGenerator {
+
+    /**
+     * The player's fleet, as {ship, row, col, orientation}: a legal layout of the ten ships.
+     */
+    private static final int[][] FLEET = {
+            {4, 0, 0, 1},
+            {3, 2, 0, 1}, {3, 2, 5, 1},
+            {2, 4, 0, 1}, {2, 4, 4, 1}, {2, 4, 8, 1},
+            {1, 6, 0, 1}, {1, 6, 2, 1}, {1, 6, 4, 1}, {1, 6, 6, 1}
+    };
+
+    /**
+     * The amount of connections being opened at the same time, so the burst stays within the
+     * accept backlog of the server.
+     */
+    private static final int CONNECTING = 256;
+
+    /**
+     * The amount of matches each playing client plays and times, after a first one played to
+     * warm up the code of the client.
+     */
+    private static final int TIMED_MATCHES = 4;
+
+    private final InetAddress host;
+    private final int port;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Creates a load generator for a server.
+     *
+     * @param host the address of the server.
+     * @param port the port of the server.
+     */
+    public LoadGenerator(InetAddress host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs the load test and prints its report.
+     *
+     * @param clients     the amount of connections, each holding a match.
+     * @param playing     the amount of connections that play their match; the others stay idle.
+     * @param idleSeconds how long every match stays idle before some are played.
+     * @throws Exception if the test is interrupted or the server cannot be reached.
+     */
+    public void run(int clients, int playing, int idleSeconds) throws Exception {
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(playing);
+        Semaphore connecting = new Semaphore(CONNECTING);
+        long[][] latencies = new long[clients][];
+
+        long start = System.nanoTime();
+        long elapsed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                if (client < playing) {
+                    executor.execute(() -> {
+                        latencies[client] = playClient(client, connecting, ready, go);
+                        done.countDown();
+                    });
+                } else {
+                    executor.execute(() -> holdClient(client, connecting, ready, done));
+                }
+            }
+            ready.await();
+            System.out.printf("%d matches set up in %d ms%n", clients, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            System.out.println("Server while idle: " + stats());
+            TimeUnit.SECONDS.sleep(idleSeconds);
+
+            start = System.nanoTime();
+            go.countDown();
+            done.await();
+            elapsed = System.nanoTime() - start;
+        }
+
+        long[] moves = Arrays.stream(latencies).filter(l -> l != null).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d clients played in %d ms, %d timed matches, %d timed moves, %d failed clients%n", playing,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), playing * TIMED_MATCHES, moves.length, failures.get());
+        if (moves.length > 0) {
+            System.out.printf("Move round trip: p50 %d us, p99 %d us, p99.9 %d us, max %d us%n",
+                    percentile(moves, 0.50), percentile(moves, 0.99), percentile(moves, 0.999), moves[moves.length - 1] / 1000);
+        }
+        System.out.println("Server after the run: " + stats());
+    }
+
+    /**
+     * Keeps the match of an idle client: sets it up, then holds the connection open until the
+     * playing clients are done.
+     *
+     * @param client     the number of the client, used as the seed of its match.
+     * @param connecting the permits limiting the connections opened at once.
+     * @param ready      counted down once the fleet is placed, or the client failed.
+     * @param done       released when every playing client is done.
+     */
+    private void holdClient(int client, Semaphore connecting, CountDownLatch ready, CountDownLatch done) {
+        boolean counted = false;
+        try (LineChannel channel = setUp(client, connecting)) {
+            ready.countDown();
+            counted = true;
+            done.await();
+            request(channel, "QUIT");
+        } catch (IOException | InterruptedException e) {
+            fail(client, e);
+        } finally {
+            if (!counted) {
+                ready.countDown();
+            }
+        }
+    }
+
+    /**
+     * Plays the matches of one client: sets up the first one, waits for the start signal, plays
+     * it to warm up the client's code, then plays and times {@value #TIMED_MATCHES} more.
+     *
+     * @param client     the number of the client, used for the seeds of its matches.
+     * @param connecting the permits limiting the connections opened at once.
+     * @param ready      counted down once the fleet is placed, or the client failed.
+     * @param go         released when every match is set up.
+     * @return the round-trip time of each timed move, in nanoseconds, or null if the client failed.
+     */
+    private long[] playClient(int client, Semaphore connecting, CountDownLatch ready, CountDownLatch go) {
+        boolean counted = false;
+        try (LineChannel channel = setUp(client, connecting)) {
+            ready.countDown();
+            counted = true;
+            go.await();
+
+            SplittableRandom random = new SplittableRandom(client);
+            long[] latencies = new long[(TIMED_MATCHES + 1) * 100];
+            playMatch(channel, random, latencies, 0);
+            int moves = 0;
+            for (int match = 1; match <= TIMED_MATCHES; match++) {
+                startMatch(channel, (long) client << 8 | match);
+                moves += playMatch(channel, random, latencies, moves);
+            }
+            request(channel, "QUIT");
+            return Arrays.copyOf(latencies, moves);
+        } catch (IOException | InterruptedException e) {
+            fail(client, e);
+            return null;
+        } finally {
+            if (!counted) {
+                ready.countDown();
+            }
+        }
+    }
+
+    /**
+     * Fires at random cells until the match has a winner.
+     *
+     * @param channel   the channel of the client.
+     * @param random    the generator of the shots.
+     * @param latencies the array the round-trip time of each move is stored in, in nanoseconds.
+     * @param offset    the index of the first move in the array.
+     * @return the amount of moves fired.
+     * @throws IOException if the server answers with an error or closes the connection.
+     */
+    private static int playMatch(LineChannel channel, SplittableRandom random, long[] latencies, int offset) throws IOException {
+        int[] cells = new int[100];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        int moves = 0;
+        String last = "";
+        while (!last.startsWith("WINNER")) {
+            int pick = moves + random.nextInt(cells.length - moves);
+            int cell = cells[pick];
+            cells[pick] = cells[moves];
+
+            long sent = System.nanoTime();
+            channel.writeLine("FIRE " + cell / 10 + " " + cell % 10);
+            channel.flush();
+            do {
+                last = channel.readLine();
+                if (last == null || last.startsWith("ERROR")) {
+                    throw new IOException("Unexpected answer " + last);
+                }
+            } while (!last.startsWith("TURN") && !last.startsWith("WINNER"));
+            latencies[offset + moves++] = System.nanoTime() - sent;
+        }
+        return moves;
+    }
+
+    /**
+     * Connects a client, starts its match and places its fleet.
+     *
+     * @param client     the number of the client, used as the seed of its match.
+     * @param connecting the permits limiting the connections opened at once.
+     * @return the channel of the client.
+     * @throws IOException          if the server cannot be reached or refuses a command.
+     * @throws InterruptedException if interrupted while waiting for a permit.
+     */
+    private LineChannel setUp(int client, Semaphore connecting) throws IOException, InterruptedException {
+        connecting.acquire();
+        LineChannel channel;
+        try {
+            Socket socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            channel = new LineChannel(socket);
+        } finally {
+            connecting.release();
+        }
+        try {
+            startMatch(channel, client);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a match and places the player's fleet.
+     *
+     * @param channel the channel of the client.
+     * @param seed    the seed of the machine's table.
+     * @throws IOException if the server refuses a command.
+     */
+    private static void startMatch(LineChannel channel, long seed) throws IOException {
+        request(channel, "NEW " + seed);
+        for (int[] ship : FLEET) {
+            request(channel, "PLACE " + ship[0] + " " + ship[1] + " " + ship[2] + " " + ship[3]);
+        }
+    }
+
+    /**
+     * Counts a failed client, reporting the first failure.
+     *
+     * @param client the number of the client.
+     * @param e      the cause of the failure.
+     */
+    private void fail(int client, Exception e) {
+        if (failures.getAndIncrement() == 0) {
+            System.err.println("Client " + client + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a single-line command and reads its answer.
+     *
+     * @param channel the channel of the client.
+     * @param command the command.
+     * @return the answer.
+     * @throws IOException if the server answers with an error or closes the connection.
+     */
+    private static String request(LineChannel channel, String command) throws IOException {
+        channel.writeLine(command);
+        channel.flush();
+        String answer = channel.readLine();
+        if (answer == null || answer.startsWith("ERROR")) {
+            throw new IOException(command + ": " + answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Asks the server for its {@code STATS} on a separate connection.
+     *
+     * @return the answer of the server.
+     * @throws IOException if the server cannot be reached.
+     */
+    private String stats() throws IOException {
+        try (LineChannel channel = new LineChannel(new Socket(host, port))) {
+            return request(channel, "STATS");
+        }
+    }
+
+    /**
+     * Returns a percentile of sorted latencies, in microseconds.
+     *
+     * @param sorted   the latencies, in nanoseconds, sorted.
+     * @param fraction the percentile, between 0 and 1.
+     * @return the latency at the percentile, in microseconds.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(fraction * sorted.length))] / 1000;
+    }
+
+    /**
+     * Runs a load test from the command line against a server on this machine.
+     *
+     * @param args optional amount of connections, amount of playing connections, port and idle seconds.
+     * @throws Exception if the test fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int playing = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : GameServer.DEFAULT_PORT;
+        int idleSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        new LoadGenerator(InetAddress.getLoopbackAddress(), port).run(clients, Math.min(playing, clients), idleSeconds);
+    }
+}
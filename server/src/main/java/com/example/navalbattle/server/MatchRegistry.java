@@ -0,0 +1,82 @@
+package com.example.navalbattle.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The matches hosted by a {@link GameServer}, by id.
+ *
+ * <p>The registry is shared by every connection, so it is a {@link ConcurrentHashMap} and
+ * creating, joining or removing a match never blocks the other connections. A match left by
+ * its connection without {@code QUIT} stays registered, so the player can join it again, until
+ * it was detached for longer than the idle timeout.</p>
+ */
+public class MatchRegistry {
+
+    private final ConcurrentHashMap<Long, ServerMatch> matches = new ConcurrentHashMap<>(1024);
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Creates and registers a match, attached to the calling connection.
+     *
+     * @param seed     the seed of the machine's table.
+     * @param strategy the name of the machine's targeting strategy.
+     * @return the new match.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+    ServerMatch create(long seed, String strategy) {
+        ServerMatch match = new ServerMatch(nextId.getAndIncrement(), seed, strategy);
+        matches.put(match.getId(), match);
+        return match;
+    }
+
+    /**
+     * Attaches a detached match to the calling connection.
+     *
+     * @param id the id of the match.
+     * @return the match, or null if there is no such match or another connection owns it.
+     */
+    ServerMatch attach(long id) {
+        ServerMatch match = matches.get(id);
+        if (match == null || !match.attached.compareAndSet(false, true)) {
+            return null;
+        }
+        return match;
+    }
+
+    /**
+     * Removes a match, such as a finished or abandoned one.
+     *
+     * @param match the match.
+     */
+    void remove(ServerMatch match) {
+        matches.remove(match.getId(), match);
+    }
+
+    /**
+     * Removes the matches detached for longer than a timeout. A match joined while it is
+     * checked is kept.
+     *
+     * @param timeoutNanos the idle timeout, in nanoseconds.
+     * @return the amount of matches removed.
+     */
+    public int evictIdle(long timeoutNanos) {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (ServerMatch match : matches.values()) {
+            if (!match.attached.get() && now - match.getDetachedAt() > timeoutNanos
+                    && match.attached.compareAndSet(false, true)) {
+                matches.remove(match.getId(), match);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the amount of matches hosted, attached or not.
+     */
+    public int size() {
+        return matches.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.navalbattle.server;
+
+import com.example.navalbattle.models.GameEngine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A match hosted by the {@link GameServer}: a {@link GameEngine} and the connection that owns it.
+ *
+ * <p>A match is played by at most one connection at a time. The connection that created or
+ * joined it is the only thread touching its engine, so the engine needs no lock; ownership is
+ * handed over through {@link #attached}, whose updates order the moves of the previous owner
+ * before those of the next one.</p>
+ */
+final class ServerMatch {
+
+    private final long id;
+    private final GameEngine engine;
+
+    /**
+     * True while a connection owns the match, or while the registry evicts it.
+     */
+    final AtomicBoolean attached = new AtomicBoolean(true);
+
+    /**
+     * The time of the last detach, in {@link System#nanoTime()} units.
+     */
+    private volatile long detachedAt;
+
+    /**
+     * Creates a match attached to the connection that started it.
+     *
+     * @param id       the id of the match in the registry.
+     * @param seed     the seed of the machine's table.
+     * @param strategy the name of the machine's targeting strategy.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+    ServerMatch(long id, long seed, String strategy) {
+        this.engine = new GameEngine(seed, strategy);
+        this.id = id;
+    }
+
+    /**
+     * @return the id of the match in the registry.
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the engine of the match. Only the owning connection may use it.
+     */
+    GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Releases the match so another connection can join it.
+     */
+    void detach() {
+        detachedAt = System.nanoTime();
+        attached.set(false);
+    }
+
+    /**
+     * @return the time of the last detach, in {@link System#nanoTime()} units.
+     */
+    long getDetachedAt() {
+        return detachedAt;
+    }
+}
@@ -1,11 +1,27 @@
 package com.example.navalbattle.controllers;
 
+import com.example.navalbattle.interfaces.NetworkMatchListener;
+import com.example.navalbattle.models.FleetIndex;
+import com.example.navalbattle.models.GameMetrics;
 import com.example.navalbattle.models.GameModel;
+import com.example.navalbattle.models.MatchPhase;
+import com.example.navalbattle.models.MatchSummary;
+import com.example.navalbattle.models.PlacementResult;
+import com.example.navalbattle.models.PositionTable;
 import com.example.navalbattle.models.Ship;
+import com.example.navalbattle.models.ShotOutcome;
+import com.example.navalbattle.models.ShotResult;
+import com.example.navalbattle.network.MatchRelay;
+import com.example.navalbattle.network.NetworkMatch;
+import com.example.navalbattle.views.BoardRendererInterface;
+import com.example.navalbattle.views.CanvasBoardRenderer;
 import com.example.navalbattle.views.GameView;
+import com.example.navalbattle.views.GridBoardRenderer;
 import com.example.navalbattle.views.ShipDrawer;
 import javafx.animation.FadeTransition;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.event.ActionEvent;
@@ -27,7 +43,12 @@ import javafx.stage.Stage;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import jdk.jfr.FlightRecorder;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -56,8 +77,15 @@ public class GameController {
     private HBox revealFleetContainer;
 
     private final ShipDrawer drawer;
+    private BoardRendererInterface userBoard;
+    private BoardRendererInterface machineBoard;
     private GameModel gameModel;
 
+    /**
+     * The match against another player, or null when playing against the machine.
+     */
+    private NetworkMatch networkMatch;
+
     private Integer gridPaneRow;
     private Integer gridPaneCol;
     private int shipType;
@@ -77,9 +105,7 @@ public class GameController {
     private EventHandler<MouseEvent> mouseExitedHandler;
     private EventHandler<MouseEvent> mouseMovedHandler;
 
-    private boolean playerTurn = false;
     private String username;
-    private boolean successfulShot = false;
 
     /**
      * Constructs a new GameController and initializes a ShipDrawer
@@ -87,6 +113,8 @@ public class GameController {
      */
     public GameController() {
         gameModel = new GameModel();
+        gameModel.setWinnerListener(this::announceWinner);
+        gameModel.setPersistenceErrorListener(this::announcePersistenceError);
         drawer = new ShipDrawer();
 
         crosshairImg = new Image(getClass().getResourceAsStream("/com/example/navalbattle/images/Scope.png"));
@@ -95,6 +123,42 @@ public class GameController {
         crosshairView.setFitHeight(55);
     }
 
+    /**
+     * Called by the FXML loader once the grids are injected. The renderers of both boards are
+     * created over the grids. Every change of their children is published to the
+     * {@link GameMetrics}, so a grid that keeps growing during a long session shows up over JMX,
+     * and the groups drawn for each frame are recorded once the grids are shown in a scene.
+     */
+    @FXML
+    private void initialize() {
+        userBoard = createBoard(userFleet);
+        machineBoard = createBoard(machinesFleet);
+        ListChangeListener<Node> fleetNodes = change ->
+                GameMetrics.get().recordFleetNodes(userFleet.getChildren().size(), machinesFleet.getChildren().size());
+        userFleet.getChildren().addListener(fleetNodes);
+        machinesFleet.getChildren().addListener(fleetNodes);
+        userFleet.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (scene != null && oldScene == null) {
+                drawer.watchFrames(scene);
+            }
+        });
+    }
+
+    /**
+     * Creates the renderer of a board grid: a node in its cells for every ship and shot, or a
+     * canvas painted over its cells if the {@code navalbattle.board} system property is
+     * {@code canvas}.
+     *
+     * @param grid the grid of the board
+     * @return the renderer of the board
+     */
+    private BoardRendererInterface createBoard(GridPane grid) {
+        if ("canvas".equals(System.getProperty("navalbattle.board"))) {
+            return new CanvasBoardRenderer(grid, drawer);
+        }
+        return new GridBoardRenderer(grid, drawer);
+    }
+
     /**
      * Initializes the game by setting the player's username and checking for any previous match.
      * If a previous match exists, it loads it; otherwise, it initializes a new match.
@@ -113,13 +177,43 @@ public class GameController {
     }
 
     /**
-     * Handles the player's shoot turn. Sets the player's turn flag to true and triggers turn management.
+     * Initializes a match against another player on this computer. The player waits in the
+     * room until the opponent joins; both place their fleets and the first one in the room
+     * fires first. Online matches are not saved. If the match relay cannot be reached, a
+     * match against the machine is started instead.
+     *
+     * @param username the username of the player
+     * @param room     the room code shared with the opponent
+     */
+    public void initializeOnline(String username, String room) {
+        networkMatch = new NetworkMatch(new OnlineListener());
+        try {
+            networkMatch.connect(MatchRelay.DEFAULT_PORT, room);
+        } catch (IOException e) {
+            System.err.println("Error connecting to the match relay: " + e.getMessage());
+            networkMatch = null;
+            initialize(username);
+            showMessage("The match relay could not be reached");
+            return;
+        }
+        this.username = username;
+        labelPlayerName.setText(username + "'s Fleet");
+        revealFleetContainer.setVisible(false);
+        setCellsEvents();
+        setUpShipEvents();
+        setGhostShips();
+        createShotHandlers();
+        showMessage("WAITING FOR AN OPPONENT");
+    }
+
+    /**
+     * Handles the player's shoot turn. Triggers turn management, which lets the player fire
+     * or lets the machine fire if the match was resumed on its turn.
      *
      * @param event the action event triggered by the player
      */
     @FXML
     private void playerShootTurn(ActionEvent event) {
-        playerTurn = true;
         turnManagement();
     }
 
@@ -134,17 +228,35 @@ public class GameController {
         startGame.setDisable(true);
         fireButton.setVisible(true);
         userFleet.setDisable(true);
+        if (networkMatch != null) {
+            networkMatch.ready(username);
+            if (networkMatch.isStarted()) {
+                turnManagement();
+            } else {
+                showMessage("WAITING FOR YOUR OPPONENT'S FLEET");
+            }
+        }
     }
 
     /**
      * Handles the case where there is a previous match in progress.
      * Asks the player if they want to load the previous match or start a new one.
+     * Only the header and the journal of the save are read for the prompt; the match is loaded if the player accepts.
      */
     private void handlePreviousMatch() {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Previous Game in Progress");
         alert.setHeaderText(null);
-        alert.setContentText("You have a previous game in progress. Do you want to load it?");
+        MatchSummary summary = gameModel.getPreviousMatchSummary();
+        if (summary == null) {
+            alert.setContentText("You have a previous game in progress. Do you want to load it?");
+        } else {
+            String savedAt = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
+                    .format(Instant.ofEpochMilli(summary.getLastModified()).atZone(ZoneId.systemDefault()));
+            String phase = summary.getPhase() == MatchPhase.BATTLE ? "in battle" : "placing ships";
+            alert.setContentText("You have a previous game in progress (" + phase + ", " + summary.getMoveCount()
+                    + " moves, saved " + savedAt + "). Do you want to load it?");
+        }
         Optional<ButtonType> result = alert.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
@@ -156,9 +268,14 @@ public class GameController {
 
     /**
      * Loads the previous match, sets the fleet, updates labels, and sets up events for ships and bombs.
+     * A new match is started if the previous one cannot be read.
      */
     private void loadPreviousMatch() {
-        gameModel.loadPreviousMatch();
+        if (!gameModel.loadPreviousMatch()) {
+            initializeNewMatch();
+            showMessage("The previous match could not be loaded");
+            return;
+        }
         setFleet(false);
         updateLabels();
         setCellsEvents();
@@ -190,7 +307,7 @@ public class GameController {
      * Updates the counters for the number of each ship type (frigates, destroyers, submarines, aircraft).
      */
     public void updateLabels() {
-        ArrayList<Ship> ships = gameModel.getPositionTable().getShips();
+        ArrayList<Ship> ships = positionTable().getShips();
         for (Ship ship : ships) {
             if (ship == null) continue;
             if (ship.getShipType() == 1) {
@@ -222,10 +339,11 @@ public class GameController {
         for (Node node : machinesFleet.getChildren()){
             node.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
                 if (event.getButton() == MouseButton.PRIMARY) {
-                    playerShoot(gameModel.getMainTable().getBoard(), node);
+                    playerShoot(node);
                     node.setDisable(true);
-                    turnManagement();
-                    setWinner();
+                    if (!isFinished()) {
+                        turnManagement();
+                    }
                 }
             });
         }
@@ -237,39 +355,30 @@ public class GameController {
     private void setBombs() {
         int[][] machineShotGrid = gameModel.getMainTable().getShotGrid();
         int[][] positionShotGrid = gameModel.getPositionTable().getShotGrid();
+        FleetIndex machineFleet = gameModel.getMainTable().getFleetIndex();
+        FleetIndex playerFleet = gameModel.getPositionTable().getFleetIndex();
 
         for(int row = 0; row < 10; row++) {
             for(int col = 0; col < 10; col++) {
                 if (positionShotGrid[row][col] == 5) {
-                    Group missedShot = drawer.drawMissedShot();
-                    machinesFleet.add(missedShot, col, row);
+                    machineBoard.drawMiss(row, col);
                 } else if (positionShotGrid[row][col] == 6) {
-
-                    if (gameModel.getMainTable().getBoard()[row][col] == 1) {
-                        Group fire = drawer.drawFire();
-                        machinesFleet.add(fire, col, row);
-                    } else {
-                        Group bomb = drawer.drawBomb();
-                        machinesFleet.add(bomb, col, row);
+                    drawHit(gameModel.getMainTable().getBoard()[row][col], row, col, false);
+                    if (machineFleet.isSunk(machineFleet.getShipAt(row, col))) {
+                        drawSunkCell(gameModel.getMainTable().getBoard()[row][col], row, col, false);
                     }
                 }
 
                 if (machineShotGrid[row][col] == 5) {
-                    Group missedShot = drawer.drawMissedShot();
-                    userFleet.add(missedShot, col, row);
+                    userBoard.drawMiss(row, col);
                 } else if (machineShotGrid[row][col] == 6) {
-                    if (gameModel.getPositionTable().getBoard()[row][col] == 1) {
-                        Group fire = drawer.drawFire();
-                        userFleet.add(fire, col, row);
-                    } else {
-                        Group bomb = drawer.drawBomb();
-                        userFleet.add(bomb, col, row);
+                    drawHit(gameModel.getPositionTable().getBoard()[row][col], row, col, true);
+                    if (playerFleet.isSunk(playerFleet.getShipAt(row, col))) {
+                        drawSunkCell(gameModel.getPositionTable().getBoard()[row][col], row, col, true);
                     }
                 }
             }
         }
-        checkSameMachineShip();
-        checkSamePlayerShip();
     }
 
     /**
@@ -357,13 +466,7 @@ public class GameController {
             int column = coordinates[1];
             boolean vertical = (coordinates[4] == 0);
             int type = coordinates[5];
-            Group ship = drawShip(type, vertical);
-            ship.getStyleClass().add("mShip");
-            if (machine) {
-                machinesFleet.add(ship, column, row);
-            } else {
-                userFleet.add(ship, column, row);
-            }
+            (machine ? machineBoard : userBoard).drawShip(type, vertical, row, column);
         }
     }
 
@@ -445,59 +548,62 @@ public class GameController {
     }
 
     /**
-     * Checks if the player or machine has won the game based on the number of hits
-     * recorded on the shot grids. If either player or machine has hit all the opponent's ships,
-     * the winner is declared and the game ends.
+     * Ends the game once the model reports that a fleet was sunk: both boards and the fire button
+     * are disabled and the winner is announced.
+     *
+     * @param playerWon true if the player sank the machine's fleet, false if the machine won
      */
-    private void setWinner(){
-        int[][] playerShotTable = gameModel.getMainTable().getShotGrid();
-        int[][] machineShotTable = gameModel.getPositionTable().getShotGrid();
-        int machineShotCounter = 0;
-        int playerShotCounter = 0;
-
-        for (int i = 0; i < 10; i++){
-            for (int j = 0; j < 10; j++){
-                if (playerShotTable[i][j] == 6) machineShotCounter++;
-                if (machineShotTable[i][j] == 6) playerShotCounter++;
-            }
-        }
-
-        if (playerShotCounter == 20 || machineShotCounter == 20){
-            userFleet.setDisable(true);
-            machinesFleet.setDisable(true);
-            fireButton.setDisable(true);
-
-        }
+    private void announceWinner(boolean playerWon){
+        userFleet.setDisable(true);
+        machinesFleet.setDisable(true);
+        fireButton.setDisable(true);
+        removeScopePointer();
 
-        if (playerShotCounter == 20){
-            gameModel.removeMatchTracking();
+        // The machine's winning shot is resolved inside an animation, where showAndWait is not allowed
+        Platform.runLater(() -> {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Information");
             alert.setHeaderText(null);
-            alert.setContentText("The Player Won!");
-            alert.showAndWait();
-            playAgain.setDisable(false);
-            playAgain.setVisible(true);
-        }
-        else if (machineShotCounter == 20){
-            gameModel.removeMatchTracking();
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Information");
-            alert.setHeaderText(null);
-            alert.setContentText("The Machine Won!");
+            if (networkMatch != null) {
+                alert.setContentText(playerWon ? "You Won!" : networkMatch.getOpponentName() + " Won!");
+            } else {
+                alert.setContentText(playerWon ? "The Player Won!" : "The Machine Won!");
+            }
             alert.showAndWait();
             playAgain.setDisable(false);
             playAgain.setVisible(true);
-        }
+        });
+    }
+
+    /**
+     * Tells the player that the match could not be saved. Saves are written in the background,
+     * so the message is shown on the JavaFX application thread.
+     *
+     * @param message the description of the failed save
+     */
+    private void announcePersistenceError(String message) {
+        Platform.runLater(() -> showMessage("The match could not be saved"));
     }
 
     /**
-     * Manages the turns of the game. When it's the player's turn, the fire button is enabled
-     * and the player can shoot at the machine's fleet. When it's the machine's turn, it automatically
-     * shoots at the player's fleet after a short pause.
+     * Manages the turns of the game, as kept by the model. When it's the player's turn, the fire button
+     * is enabled and the player can shoot at the machine's fleet. When it's the machine's turn, it
+     * automatically shoots at the player's fleet after a short pause. In an online match the
+     * opponent's shots arrive on their own, so the board is only enabled or disabled.
      */
     private void turnManagement(){
-        if (playerTurn) {
+        if (networkMatch != null) {
+            boolean myTurn = networkMatch.isMyTurn();
+            fireButton.setDisable(!myTurn);
+            machinesFleet.setDisable(!myTurn);
+            if (myTurn) {
+                setScopePointer();
+            } else {
+                removeScopePointer();
+            }
+            return;
+        }
+        if (gameModel.isPlayerTurn()) {
             fireButton.setDisable(false);
             machinesFleet.setDisable(false);
             setScopePointer();
@@ -510,16 +616,8 @@ public class GameController {
             PauseTransition pause = new PauseTransition(Duration.seconds(1));
 
             pause.setOnFinished(event -> {
-                int[] machineRandCoordinates;
-                if (successfulShot) {
-                    machineRandCoordinates = gameModel.getMainTable().smartShot();
-                } else {
-                    machineRandCoordinates = gameModel.getMainTable().shot();
-                }
-                int machineRandX = machineRandCoordinates[0];
-                int machineRandY = machineRandCoordinates[1];
-                machineShoot(gameModel.getPositionTable().getBoard(), machineRandX, machineRandY);
-                if(playerTurn){
+                machineShoot();
+                if (gameModel.isPlayerTurn()) {
                     fireButton.setDisable(false);
                 }
             });
@@ -528,159 +626,136 @@ public class GameController {
     }
 
     /**
-     * Handles the machine's shooting logic. It updates the shot grid, draws the appropriate shot, and updates the player's turn.
-     *
-     * @param playerTable The game table of the player.
-     * @param machineShootX The x-coordinate of the shot on the table.
-     * @param machineShootY The y-coordinate of the shot on the table.
-     */
-    private void machineShoot(int[][] playerTable, int machineShootX, int machineShootY){
-        if (playerTable[machineShootX][machineShootY] == 0){
-            successfulShot = false;
-            gameModel.getMainTable().getShotGrid()[machineShootX][machineShootY] = 5;
-            Group missedShot = drawer.drawMissedShot();
-            userFleet.add(missedShot, machineShootY, machineShootX);
-            playerTurn = true;
-        }
-        else if(playerTable[machineShootX][machineShootY] == 1) {
-            successfulShot = false;
-            gameModel.getMainTable().getShotGrid()[machineShootX][machineShootY] = 6;
-            Group fire = drawer.drawFire();
-            userFleet.add(fire, machineShootY, machineShootX);
-            playerTurn = false;
-            turnManagement();
-        }
-        else if (playerTable[machineShootX][machineShootY] != 0 && playerTable[machineShootX][machineShootY] != 5){
-            successfulShot = true;
-            gameModel.getMainTable().getShotGrid()[machineShootX][machineShootY] = 6;
-            Group bomb = drawer.drawBomb();
-            userFleet.add(bomb, machineShootY, machineShootX);
-            playerTurn = false;
+     * Handles the machine's shooting logic. The model chooses and resolves the shot, then the
+     * appropriate shot is drawn. A hit lets the machine fire again. The shot is recorded as a
+     * {@link ShotEvent} while Flight Recorder runs.
+     */
+    private void machineShoot(){
+        ShotEvent event = FlightRecorder.isInitialized() ? ShotEvent.start() : null;
+        ShotOutcome outcome = gameModel.machineShot();
+        drawOpponentShot(outcome);
+        if (outcome.getResult() != ShotResult.MISS && !gameModel.isFinished()) {
             turnManagement();
         }
-        checkSamePlayerShip();
         gameModel.saveGame();
+        if (event != null) {
+            ShotEvent.commit(event, outcome);
+        }
+    }
+
+    /**
+     * Draws a shot fired at the player's fleet, by the machine or by the online opponent.
+     *
+     * @param outcome the outcome of the shot.
+     */
+    private void drawOpponentShot(ShotOutcome outcome) {
+        int row = outcome.getRow();
+        int col = outcome.getCol();
+        if (outcome.getResult() == ShotResult.MISS){
+            userBoard.drawMiss(row, col);
+        }
+        else {
+            drawHit(positionTable().getBoard()[row][col], row, col, true);
+            if (outcome.getSunkShip() != null) {
+                drawSunkShip(outcome.getSunkShip(), true);
+            }
+        }
     }
 
     /**
-     * Handles the player's shooting logic. It updates the shot grid, draws the appropriate shot, and updates the player's turn.
+     * Handles the player's shooting logic. It resolves the shot in the model and draws the appropriate shot.
+     * A miss passes the turn to the machine. The shot is recorded as a {@link ShotEvent}
+     * while Flight Recorder runs.
      *
-     * @param machineTable The game table of the machine.
      * @param clickedNode The clicked node (cell) on the game board.
      */
-    private void playerShoot(int[][] machineTable, Node clickedNode){
-        if (playerTurn){
-            Integer machinePaneRow = GridPane.getRowIndex(clickedNode);
-            Integer machinePaneCol = GridPane.getColumnIndex(clickedNode);
+    private void playerShoot(Node clickedNode){
+        Integer machinePaneRow = GridPane.getRowIndex(clickedNode);
+        Integer machinePaneCol = GridPane.getColumnIndex(clickedNode);
 
-            if (machinePaneRow == null) machinePaneRow = 0;
-            if (machinePaneCol == null) machinePaneCol = 0;
+        if (machinePaneRow == null) machinePaneRow = 0;
+        if (machinePaneCol == null) machinePaneCol = 0;
 
-            if (machineTable[machinePaneRow][machinePaneCol] == 0){
-                gameModel.getPositionTable().getShotGrid()[machinePaneRow][machinePaneCol] = 5;
-                Group missedShot = drawer.drawMissedShot();
-                machinesFleet.add(missedShot, machinePaneCol, machinePaneRow);
-                playerTurn = false;
-            }
-            else if(machineTable[machinePaneRow][machinePaneCol] == 1) {
-                gameModel.getPositionTable().getShotGrid()[machinePaneRow][machinePaneCol] = 6;
-                Group fire = drawer.drawFire();
-                machinesFleet.add(fire, machinePaneCol, machinePaneRow);
-                playerTurn = true;
+        // Online, the shot is drawn when the opponent answers it
+        if (networkMatch != null) {
+            if (networkMatch.isMyTurn() && positionTable().getShotGrid()[machinePaneRow][machinePaneCol] == 0) {
+                networkMatch.fire(machinePaneRow, machinePaneCol);
             }
-            else if (machineTable[machinePaneRow][machinePaneCol] != 0 && machineTable[machinePaneRow][machinePaneCol] != 5){
-                gameModel.getPositionTable().getShotGrid()[machinePaneRow][machinePaneCol] = 6;
-                Group bomb = drawer.drawBomb();
-                machinesFleet.add(bomb, machinePaneCol, machinePaneRow);
-                playerTurn = true;
+            return;
+        }
+        ShotEvent event = FlightRecorder.isInitialized() ? ShotEvent.start() : null;
+        ShotOutcome outcome = null;
+        if (gameModel.isPlayerTurn()){
+            if (gameModel.getPositionTable().getShotGrid()[machinePaneRow][machinePaneCol] != 0) {
+                return;
             }
-            checkSameMachineShip();
+
+            outcome = gameModel.playerShot(machinePaneRow, machinePaneCol);
+            drawPlayerShot(outcome, gameModel.getMainTable().getBoard()[machinePaneRow][machinePaneCol]);
         }
         gameModel.saveGame();
+        if (event != null && outcome != null) {
+            ShotEvent.commit(event, outcome);
+        }
     }
 
     /**
-     * Draws the ship corresponding to the specified type and orientation.
-     *
-     * @param cell The type of ship (1 = Frigate, 2 = Destroyer, 3 = Submarine, 4 = Aircraft Carrier).
-     * @param vertical Determines if the ship is vertical (true) or horizontal (false).
-     * @return A {@link Group} object representing the ship to be added to the graphical user interface.
-     */
-    private Group drawShip(int cell, boolean vertical) {
-        return switch (cell) {
-            case 1 -> drawer.drawFrigate(false);
-            case 2 -> drawer.drawDestroyer(vertical, true);
-            case 3 -> drawer.drawSubmarine(vertical, true);
-            case 4 -> drawer.drawAircraftCarrier(vertical, true);
-            default -> null;
-        };
-    }
-
-    /**
-     * Traverses the position array to check the status of ships (damaged or sunk) and updates their graphical representation.
+     * Draws a shot the player fired at the machine's or the online opponent's fleet.
      *
-     * @param currentArray The current ship's coordinates to be checked.
-     * @param player Indicates whether the check is for the player (true) or machine (false).
-     */
-    private void traversePositionArray(int[] currentArray, boolean player) {
-        int[][] board;
-        int counterType4 = 0;
-        int counterType3 = 0;
-        int counterType2 = 0;
-        if (player) {
-            board = gameModel.getPositionTable().getBoard();
-        } else {
-            board = gameModel.getMainTable().getBoard();
-        }
-
-        for (int row = currentArray[0]; row <= currentArray[2]; row++) {
-            for (int col = currentArray[1]; col <= currentArray[3]; col++) {
-                if ((gameModel.getMainTable().getShotGrid()[row][col] == 6 && player)
-                        || (gameModel.getPositionTable().getShotGrid()[row][col] == 6 && !player)){
-                    if (board[row][col] == 4) {
-                        counterType4++;
-                    }
-                    else if (board[row][col] == 3) {
-                        counterType3++;
-                    }
-                    else if (board[row][col] == 2) {
-                        counterType2++;
-                    }
-                }
-            }
+     * @param outcome the outcome of the shot.
+     * @param type    the type of the ship hit, or 0 if it is not known.
+     */
+    private void drawPlayerShot(ShotOutcome outcome, int type) {
+        int row = outcome.getRow();
+        int col = outcome.getCol();
+        if (outcome.getResult() == ShotResult.MISS){
+            machineBoard.drawMiss(row, col);
         }
-
-        if (counterType4 == 4 || counterType3 == 3 || counterType2 == 2) {
-            for (int n = currentArray[0]; n <= currentArray[2]; n++) {
-                for (int m = currentArray[1]; m <= currentArray[3]; m++) {
-                    Group fire = drawer.drawFire();
-                    if (player) userFleet.add(fire, m, n);
-                    else machinesFleet.add(fire, m, n);
-                }
+        else {
+            drawHit(type, row, col, false);
+            if (outcome.getSunkShip() != null) {
+                drawSunkShip(outcome.getSunkShip(), false);
             }
         }
     }
 
     /**
-     * Checks and updates the visual representation of the player's ships after a shot is fired.
+     * Draws a hit on a ship cell: a fire for a frigate, which sinks with one hit, or a bomb for the other ships.
+     *
+     * @param type The type of the ship that was hit.
+     * @param row The row of the hit.
+     * @param col The column of the hit.
+     * @param player Indicates whether the hit is on the player's fleet (true) or the machine's fleet (false).
      */
-    private void checkSamePlayerShip() {
-        List<int[]> shipCoordinates = gameModel.getPositionTable().getShipCoordinatesList();
+    private void drawHit(int type, int row, int col, boolean player) {
+        (player ? userBoard : machineBoard).drawHit(type, row, col);
+    }
 
-        for (int[] coordinates : shipCoordinates) {
-            traversePositionArray(coordinates, true);
+    /**
+     * Draws the fires over every cell of a ship that was just sunk.
+     *
+     * @param coordinates The sunk ship's coordinates.
+     * @param player Indicates whether the ship belongs to the player (true) or the machine (false).
+     */
+    private void drawSunkShip(int[] coordinates, boolean player) {
+        for (int n = coordinates[0]; n <= coordinates[2]; n++) {
+            for (int m = coordinates[1]; m <= coordinates[3]; m++) {
+                drawSunkCell(coordinates[5], n, m, player);
+            }
         }
     }
 
     /**
-     * Checks and updates the visual representation of the machine's ships after a shot is fired.
+     * Draws the fire of a sunk ship over one of its cells. Frigates already show
+     * a fire from their hit, so nothing is added for them.
+     *
+     * @param type The type of the sunk ship.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param player Indicates whether the ship belongs to the player (true) or the machine (false).
      */
-    private void checkSameMachineShip() {
-        List<int[]> shipCoordinates = gameModel.getMainTable().getShipCoordinatesList();
-
-        for (int[] coordinates: shipCoordinates) {
-            traversePositionArray(coordinates, false);
-        }
+    private void drawSunkCell(int type, int row, int col, boolean player) {
+        (player ? userBoard : machineBoard).drawSunk(type, row, col);
     }
 
     /**
@@ -689,51 +764,39 @@ public class GameController {
      * @param clickedNode The clicked node (cell) on the game board where the ship is to be placed.
      */
     private void placeShip(Node clickedNode) {
-        boolean checkPosition = false, checkAmount = false;
         gridPaneRow = GridPane.getRowIndex(clickedNode);
         gridPaneCol = GridPane.getColumnIndex(clickedNode);
 
         if (gridPaneRow == null) gridPaneRow = 0;
         if (gridPaneCol == null) gridPaneCol = 0;
 
-        try {
-            checkPosition = gameModel.getPositionTable().checkPosition(shipType, gridPaneRow, gridPaneCol, shipOrientation);
-        } catch (NullPointerException e) {
-            showMessage("PLEASE SELECT A SHIP TO PLACE");
-            return;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            showMessage("THE SHIP DOESN'T FIT" + ((shipOrientation == 0) ? "VERTICALLY" : "HORIZONTALLY"));
-        }
-        checkAmount = gameModel.getPositionTable().checkAmount(shipType);
-
-        if (checkPosition) {
-            if (checkAmount) {
-                gameModel.getPositionTable().setShipPosition(shipType, gridPaneRow, gridPaneCol, shipOrientation);
-                gameModel.saveGame();
-                switch (shipType){
-                    case 1: Group frigate = drawer.drawFrigate(false);
-                        userFleet.add(frigate, gridPaneCol, gridPaneRow);
-                        break;
-                    case 2: Group destroyer = drawer.drawDestroyer(shipOrientation == 0, true);
-                        userFleet.add(destroyer, gridPaneCol, gridPaneRow);
-                        break;
-                    case 3: Group submarine = drawer.drawSubmarine(shipOrientation == 0, true);
-                        userFleet.add(submarine, gridPaneCol, gridPaneRow);
-                        break;
-                    case 4: Group aircraft = drawer.drawAircraftCarrier(shipOrientation == 0, true);
-                        userFleet.add(aircraft, gridPaneCol, gridPaneRow);
-                        break;
+        PlacementResult result = networkMatch != null
+                ? networkMatch.placeShip(shipType, gridPaneRow, gridPaneCol, shipOrientation)
+                : gameModel.placeShip(shipType, gridPaneRow, gridPaneCol, shipOrientation);
+        switch (result) {
+            case PLACED:
+                if (networkMatch == null) {
+                    gameModel.saveGame();
                 }
+                userBoard.drawShip(shipType, shipOrientation == 0, gridPaneRow, gridPaneCol);
                 updateCounter(shipType);
-            }
-            else
+                break;
+            case INVALID_SHIP:
+                showMessage("PLEASE SELECT A SHIP TO PLACE");
+                return;
+            case OUT_OF_BOUNDS:
+                showMessage("THE SHIP DOESN'T FIT " + ((shipOrientation == 0) ? "VERTICALLY" : "HORIZONTALLY"));
+                break;
+            case OCCUPIED:
+                showMessage("THERE IS A SHIP ALREADY");
+                break;
+            case NO_SHIPS_LEFT:
                 showMessage("THERE IS NO AMOUNT OF THIS SHIP");
+                break;
         }
-        else
-            showMessage("THERE IS A SHIP ALREADY");
 
         // Activates 'Start Game' Button
-        if (gameModel.getPositionTable().isBoardFull()) {
+        if (positionTable().isBoardFull()) {
             startGame.setDisable(false);
         }
     }
@@ -766,7 +829,7 @@ public class GameController {
         }
 
         // If there are no ships left of the ship selected no ghost is shown
-        if (!gameModel.getPositionTable().checkAmount(shipType)) {
+        if (!positionTable().checkAmount(shipType)) {
             return;
         }
 
@@ -796,6 +859,22 @@ public class GameController {
         });
     }
 
+    /**
+     * Returns the player's table: the one of the online match, or the one of the model.
+     *
+     * @return the player's position table.
+     */
+    private PositionTable positionTable() {
+        return networkMatch != null ? networkMatch.getPositionTable() : gameModel.getPositionTable();
+    }
+
+    /**
+     * @return true if the online match or the match against the machine is over.
+     */
+    private boolean isFinished() {
+        return networkMatch != null ? networkMatch.isFinished() : gameModel.isFinished();
+    }
+
     /**
      * Displays a message to the user on the interface.
      *
@@ -872,15 +951,7 @@ public class GameController {
         hideButton.setId("hideButton");
         revealFleetContainer.getChildren().add(hideButton);
         hideButton.setOnAction(event -> {
-            List<Node> nodesToRemove = new ArrayList<>();
-
-            for (Node node : machinesFleet.getChildren()) {
-                if (node.getStyleClass().contains("mShip")) {
-                    nodesToRemove.add(node);
-                }
-            }
-
-            machinesFleet.getChildren().removeAll(nodesToRemove);
+            machineBoard.hideShips();
 
             hideButton.setVisible(false);
             hideButton.setManaged(false);
@@ -901,6 +972,7 @@ public class GameController {
 
     /**
      * Resets the game by closing the current stage and opening a new one, allowing the player to play again.
+     * The boards are cleared first, so the next game reuses their markers.
      *
      * @param event The event triggered by the "Play Again" button.
      * @throws IOException If an error occurs during stage initialization.
@@ -909,7 +981,12 @@ public class GameController {
     private void playAgain(Event event) throws IOException {
         Node source = (Node) event.getSource();
         Stage actualStage = (Stage) source.getScene().getWindow();
+        userBoard.clear();
+        machineBoard.clear();
         actualStage.close();
+        if (networkMatch != null) {
+            networkMatch.close();
+        }
 
         GameView gameView = new GameView();
         gameView.show();
@@ -917,4 +994,64 @@ public class GameController {
         gameController.initialize(username);
         this.gameModel = new GameModel();
     }
-}
\ No newline at end of file
+
+    /**
+     * Hands the events of the online match over to the JavaFX application thread, since they
+     * arrive on the thread reading the connection.
+     */
+    private final class OnlineListener implements NetworkMatchListener {
+
+        @Override
+        public void onPaired(boolean firstToFire) {
+            Platform.runLater(() -> showMessage(firstToFire ? "OPPONENT FOUND, YOU FIRE FIRST" : "OPPONENT FOUND, THEY FIRE FIRST"));
+        }
+
+        @Override
+        public void onOpponentReady(String nickname) {
+            Platform.runLater(() -> {
+                showMessage(nickname.toUpperCase() + " IS READY");
+                if (networkMatch.isStarted()) {
+                    turnManagement();
+                }
+            });
+        }
+
+        @Override
+        public void onShotResult(ShotOutcome outcome) {
+            int type = outcome.getSunkShip() != null ? outcome.getSunkShip()[5] : 0;
+            Platform.runLater(() -> {
+                drawPlayerShot(outcome, type);
+                if (outcome.isMatchOver()) {
+                    announceWinner(true);
+                } else {
+                    turnManagement();
+                }
+            });
+        }
+
+        @Override
+        public void onOpponentShot(ShotOutcome outcome) {
+            Platform.runLater(() -> {
+                drawOpponentShot(outcome);
+                if (outcome.isMatchOver()) {
+                    announceWinner(false);
+                } else {
+                    turnManagement();
+                }
+            });
+        }
+
+        @Override
+        public void onDisconnected(String message) {
+            Platform.runLater(() -> {
+                userFleet.setDisable(true);
+                machinesFleet.setDisable(true);
+                fireButton.setDisable(true);
+                removeScopePointer();
+                showMessage(message);
+                playAgain.setDisable(false);
+                playAgain.setVisible(true);
+            });
+        }
+    }
+}
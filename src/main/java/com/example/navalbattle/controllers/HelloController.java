@@ -1,5 +1,6 @@
 package com.example.navalbattle.controllers;
 
+import com.example.navalbattle.network.NetworkFrame;
 import com.example.navalbattle.views.GameView;
 import javafx.event.Event;
 import javafx.fxml.FXML;
@@ -7,9 +8,11 @@ import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputDialog;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Controller class for the initial screen of the Naval Battle game.
@@ -31,22 +34,87 @@ public class HelloController {
      */
     @FXML
     protected void onHelloButtonPlay(Event event) throws IOException {
+        if (checkUsername()) {
+            showGameView(event).initialize(inputUsername.getText());
+        }
+    }
+
+    /**
+     * Handles the Play Online button action.
+     * Validates the username input, asks for the room code shared with the opponent and
+     * initializes the game view for a match against another player on this computer.
+     *
+     * @param event the event triggered by clicking the Play Online button.
+     * @throws IOException if there is an issue loading the game view.
+     */
+    @FXML
+    protected void onHelloButtonPlayOnline(Event event) throws IOException {
+        if (!checkUsername()) {
+            return;
+        }
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Play Online");
+        dialog.setHeaderText(null);
+        dialog.setContentText("Room code shared with your opponent:");
+        Optional<String> room = dialog.showAndWait();
+
+        if (room.isPresent() && !room.get().trim().isEmpty() && checkRoom(room.get())) {
+            showGameView(event).initializeOnline(inputUsername.getText(), room.get());
+        }
+    }
+
+    /**
+     * Checks that a room code fits in the frame that joins the room, telling the player otherwise.
+     *
+     * @param room the room code entered by the player.
+     * @return true if the room code can be sent to the relay.
+     */
+    private boolean checkRoom(String room) {
+        try {
+            NetworkFrame.roomCode(room);
+            return true;
+        } catch (IllegalArgumentException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("The room code is too long!");
+            alert.showAndWait();
+            return false;
+        }
+    }
+
+    /**
+     * Checks that a username was entered, telling the player otherwise.
+     *
+     * @return true if the username is not empty.
+     */
+    private boolean checkUsername() {
         if (inputUsername == null || inputUsername.getText().trim().isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Error");
             alert.setHeaderText(null);
             alert.setContentText("Please enter your username!");
             alert.showAndWait();
-        } else {
-            Node source = (Node) event.getSource();
-            Stage actualStage = (Stage) source.getScene().getWindow();
-            actualStage.close();
-
-            GameView gameView = GameView.getInstance();
-            gameView.show();
-            GameController gameController = gameView.getGameController();
-            gameController.initialize(inputUsername.getText());
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Closes the initial screen and shows the game view.
+     *
+     * @param event the event triggered by the clicked button.
+     * @return the controller of the game view.
+     * @throws IOException if there is an issue loading the game view.
+     */
+    private GameController showGameView(Event event) throws IOException {
+        Node source = (Node) event.getSource();
+        Stage actualStage = (Stage) source.getScene().getWindow();
+        actualStage.close();
+
+        GameView gameView = GameView.getInstance();
+        gameView.show();
+        return gameView.getGameController();
     }
 
     /**
@@ -79,6 +147,9 @@ public class HelloController {
                 Sunk: The shot has destroyed an entire ship. The player can continue shooting until they miss.
                 
                 The game ends when one player has sunk the entire fleet of the opponent.
+                
+                Playing Online:
+                Two players on the same computer can play each other. Both click Play Online and enter the same room code. The first player in the room fires first.
                 Good luck, and enjoy the battle at sea!
                 """);
         alert.showAndWait();
@@ -0,0 +1,71 @@
+package com.example.navalbattle.controllers;
+
+import com.example.navalbattle.models.ShotOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a shot handled by the {@link GameController}: resolving it in the
+ * model, drawing it on the board and saving the match. Its duration is the time the JavaFX
+ * application thread spent on the shot, before the next frame is laid out.
+ *
+ * <p>Loading a Flight Recorder event starts the recorder's instrumentation, which would stall
+ * the first shot of the application by about 200 ms, so the controller only creates it once a
+ * recording was started, through the static methods of this class.</p>
+ */
+@Name("com.example.navalbattle.Shot")
+@Label("Shot")
+@Category({"Naval Battle", "Game"})
+@Description("A shot resolved, drawn and saved on the JavaFX application thread")
+@StackTrace(false)
+final class ShotEvent extends Event {
+
+    @Label("Player Shot")
+    @Description("True if the player fired the shot, false for the machine")
+    boolean playerShot;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int column;
+
+    @Label("Result")
+    String result;
+
+    @Label("Match Over")
+    boolean matchOver;
+
+    /**
+     * Creates the event of a shot and starts timing it.
+     *
+     * @return the event.
+     */
+    static ShotEvent start() {
+        ShotEvent event = new ShotEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fills in and commits the event of a shot, if the recording enables it.
+     *
+     * @param event   the event, started before the shot was resolved.
+     * @param outcome the outcome of the shot.
+     */
+    static void commit(ShotEvent event, ShotOutcome outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.playerShot = outcome.isPlayerShot();
+            event.row = outcome.getRow();
+            event.column = outcome.getCol();
+            event.result = outcome.getResult().name();
+            event.matchOver = outcome.isMatchOver();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.BitBoard;
+
+/**
+ * Interface representing a compact bit plane over a game board.
+ * Every cell of the board is mapped to a single bit, so set operations
+ * between planes (ships, hits, misses) reduce to a few word-wide
+ * AND/OR/POPCNT instructions instead of cell-by-cell scans.
+ */
+public interface BitBoardInterface {
+
+    /**
+     * Returns the number of rows of the board covered by this plane.
+     *
+     * @return the number of rows.
+     */
+    int getRows();
+
+    /**
+     * Returns the number of columns of the board covered by this plane.
+     *
+     * @return the number of columns.
+     */
+    int getColumns();
+
+    /**
+     * Checks whether the bit of the given cell is set.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return true if the cell is set, false otherwise.
+     */
+    boolean get(int row, int col);
+
+    /**
+     * Sets the bit of the given cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    void set(int row, int col);
+
+    /**
+     * Clears the bit of the given cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    void clear(int row, int col);
+
+    /**
+     * Clears every bit of the plane.
+     */
+    void clearAll();
+
+    /**
+     * Returns the number of set bits of the plane.
+     *
+     * @return the amount of cells that are set.
+     */
+    int cardinality();
+
+    /**
+     * Checks whether no bit of the plane is set.
+     *
+     * @return true if the plane is empty, false otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Checks whether this plane shares at least one set cell with another plane.
+     *
+     * @param other the plane to compare with.
+     * @return true if both planes have a common cell, false otherwise.
+     */
+    boolean intersects(BitBoard other);
+
+    /**
+     * Counts the cells that are set in both this plane and another plane.
+     *
+     * @param other the plane to compare with.
+     * @return the amount of common cells.
+     */
+    int countCommon(BitBoard other);
+
+    /**
+     * Sets every cell that is set in another plane.
+     *
+     * @param other the plane to merge into this one.
+     */
+    void or(BitBoard other);
+
+    /**
+     * Checks whether every set cell of another plane is also set in this plane.
+     *
+     * @param other the plane to compare with.
+     * @return true if this plane is a superset of the other one, false otherwise.
+     */
+    boolean containsAll(BitBoard other);
+
+    /**
+     * Checks whether any cell of a straight line of cells is set.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return true if at least one cell of the line is set, false otherwise.
+     */
+    boolean anyInLine(int row, int col, int size, boolean horizontal);
+
+    /**
+     * Checks whether every cell of a straight line of cells is set.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return true if all the cells of the line are set, false otherwise.
+     */
+    boolean allInLine(int row, int col, int size, boolean horizontal);
+
+    /**
+     * Counts the set cells of a straight line of cells.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return the amount of cells of the line that are set.
+     */
+    int countInLine(int row, int col, int size, boolean horizontal);
+
+    /**
+     * Sets every cell of a straight line of cells.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     */
+    void setLine(int row, int col, int size, boolean horizontal);
+}
@@ -0,0 +1,47 @@
+package com.example.navalbattle.interfaces;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Interface representing a sampler over the cells of a board that have not been drawn yet.
+ * Every operation runs in constant time, so drawing a fresh cell never needs rejection
+ * retries, no matter how many cells were already drawn.
+ */
+public interface CellSamplerInterface {
+
+    /**
+     * Draws a random cell among the remaining ones and removes it from the sampler.
+     *
+     * @param random the random generator used to pick the cell.
+     * @return the row-major index of the drawn cell, or -1 if no cell remains.
+     */
+    int next(RandomGenerator random);
+
+    /**
+     * Removes a specific cell from the sampler.
+     *
+     * @param cell the row-major index of the cell.
+     * @return true if the cell was still available, false if it was already drawn.
+     */
+    boolean remove(int cell);
+
+    /**
+     * Checks whether a cell has not been drawn yet.
+     *
+     * @param cell the row-major index of the cell.
+     * @return true if the cell is still available, false otherwise.
+     */
+    boolean contains(int cell);
+
+    /**
+     * Returns the amount of cells that have not been drawn yet.
+     *
+     * @return the amount of remaining cells.
+     */
+    int remaining();
+
+    /**
+     * Makes every cell of the board available again.
+     */
+    void reset();
+}
@@ -0,0 +1,78 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.ShotResult;
+
+/**
+ * Interface representing an index from the cells of a board to the ships placed on it.
+ * It keeps the remaining health of every ship so a shot is resolved to miss, hit or sunk
+ * in constant time, no matter how large the fleet is.
+ */
+public interface FleetIndexInterface {
+
+    /**
+     * Registers a ship placed on the board.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @return the index of the ship, in placement order.
+     */
+    int addShip(int row, int col, int size, boolean horizontal);
+
+    /**
+     * Resolves a shot fired at the board and updates the health of the ship it hits.
+     * A cell that was already hit does not damage its ship again.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    ShotResult receiveShot(int row, int col);
+
+    /**
+     * Returns the ship that occupies a cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return the index of the ship, or -1 if the cell is water.
+     */
+    int getShipAt(int row, int col);
+
+    /**
+     * Returns the amount of intact cells of a ship.
+     *
+     * @param shipIndex the index of the ship.
+     * @return the remaining health of the ship.
+     */
+    int getRemainingHealth(int shipIndex);
+
+    /**
+     * Checks whether a ship was sunk.
+     *
+     * @param shipIndex the index of the ship.
+     * @return true if every cell of the ship was hit, false otherwise.
+     */
+    boolean isSunk(int shipIndex);
+
+    /**
+     * Returns the amount of registered ships.
+     *
+     * @return the amount of ships.
+     */
+    int getShipCount();
+
+    /**
+     * Returns the amount of ship cells that were not hit yet.
+     *
+     * @return the intact cells of the whole fleet.
+     */
+    int getAfloatCells();
+
+    /**
+     * Checks whether every ship of the fleet was sunk.
+     *
+     * @return true if at least one ship was registered and none of them is afloat, false otherwise.
+     */
+    boolean isFleetSunk();
+}
@@ -0,0 +1,129 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.MatchPhase;
+import com.example.navalbattle.models.PlacementResult;
+import com.example.navalbattle.models.PositionTable;
+import com.example.navalbattle.models.ShotOutcome;
+import com.example.navalbattle.models.ShotResult;
+
+/**
+ * Interface representing the rules of a match between the player and the machine: placing the
+ * player's fleet, resolving shots, passing the turn and detecting the winner. It has no user
+ * interface and no persistence, so matches can be played by plain method calls.
+ */
+public interface GameEngineInterface {
+
+    /**
+     * Places one of the player's ships, if the placement is legal.
+     *
+     * @param shipIndex   the index of the ship to place (1 to 4).
+     * @param row         the starting row of the ship.
+     * @param col         the starting column of the ship.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     */
+    PlacementResult placeShip(int shipIndex, int row, int col, int orientation);
+
+    /**
+     * Resolves a shot fired by the player at the machine's fleet.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the outcome of the shot.
+     * @throws IllegalStateException    if it is not the player's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    ShotOutcome playerShot(int row, int col);
+
+    /**
+     * Resolves the shot chosen by the machine's targeting engine.
+     *
+     * @return the outcome of the shot.
+     * @throws IllegalStateException if it is not the machine's turn to fire.
+     */
+    ShotOutcome machineShot();
+
+    /**
+     * Resolves a shot fired by the machine at a given cell.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the outcome of the shot.
+     * @throws IllegalStateException    if it is not the machine's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    ShotOutcome machineShot(int row, int col);
+
+    /**
+     * Applies a packed move without checking whose turn it is, as when a recorded match is replayed.
+     *
+     * @param move the packed move, as built by {@link com.example.navalbattle.models.MatchMove}.
+     * @return the result of a shot, or null for a placement.
+     * @throws IllegalArgumentException if the move has no valid type.
+     */
+    ShotResult apply(int move);
+
+    /**
+     * Returns the phase of the match.
+     *
+     * @return {@link MatchPhase#PLACEMENT} until the player's fleet is complete, then {@link MatchPhase#BATTLE}.
+     */
+    MatchPhase getPhase();
+
+    /**
+     * Checks whose turn it is to fire.
+     *
+     * @return true if the player fires next, false if the machine does.
+     */
+    boolean isPlayerTurn();
+
+    /**
+     * Checks whether one of the fleets was sunk.
+     *
+     * @return true if the match has a winner, false otherwise.
+     */
+    boolean isFinished();
+
+    /**
+     * Checks whether the player won the match.
+     *
+     * @return true if the player sank the machine's fleet, false otherwise.
+     */
+    boolean isPlayerWinner();
+
+    /**
+     * Returns the amount of moves of the match, counting the ones made before a checkpoint it was resumed from.
+     *
+     * @return the amount of moves.
+     */
+    int getMoveCount();
+
+    /**
+     * Returns the name of the machine's targeting strategy.
+     *
+     * @return the name of the strategy.
+     */
+    String getStrategyName();
+
+    /**
+     * Returns the moves of the match, from its first one if they are known.
+     *
+     * @return a copy of the packed moves, in order.
+     */
+    int[] getMoveHistory();
+
+    /**
+     * Returns the machine's board.
+     *
+     * @return the main table.
+     */
+    MainTable getMainTable();
+
+    /**
+     * Returns the player's board.
+     *
+     * @return the position table.
+     */
+    PositionTable getPositionTable();
+}
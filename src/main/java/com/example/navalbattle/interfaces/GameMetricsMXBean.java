@@ -0,0 +1,55 @@
+package com.example.navalbattle.interfaces;
+
+/**
+ * Management interface of the live metrics of the matches, published over JMX. The counters
+ * only grow while the game runs, so their rate is read by charting them in JConsole or
+ * VisualVM. The timings of the shots and of the machine's decisions are published as
+ * {@link LatencyHistogramMXBean}s of their own.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * @return the amount of shots fired by the player and resolved.
+     */
+    long getPlayerShots();
+
+    /**
+     * @return the amount of shots fired by the machine and resolved.
+     */
+    long getMachineShots();
+
+    /**
+     * @return the amount of shots, of either side, that hit a ship without sinking it.
+     */
+    long getHits();
+
+    /**
+     * @return the amount of shots, of either side, that missed.
+     */
+    long getMisses();
+
+    /**
+     * @return the amount of ships sunk, of either fleet.
+     */
+    long getShipsSunk();
+
+    /**
+     * @return the amount of matches won by the player.
+     */
+    long getPlayerWins();
+
+    /**
+     * @return the amount of matches won by the machine.
+     */
+    long getMachineWins();
+
+    /**
+     * @return the amount of nodes in the grid of the player's fleet, as last drawn.
+     */
+    int getUserFleetNodes();
+
+    /**
+     * @return the amount of nodes in the grid of the machine's fleet, as last drawn.
+     */
+    int getMachinesFleetNodes();
+}
@@ -1,8 +1,11 @@
 package com.example.navalbattle.interfaces;
 
 import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.MatchSummary;
 import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.PlacementResult;
 import com.example.navalbattle.models.PositionTable;
+import com.example.navalbattle.models.ShotOutcome;
 
 import java.io.IOException;
 
@@ -37,13 +40,22 @@ public interface GameModelInterface {
 
     /**
      * Checks if there is a previous match saved for the given nickname.
-     * If a previous match is found, it loads the match; otherwise, creates a new match.
+     * Only the index of the saved matches is looked up; the match itself is read by
+     * {@link #loadPreviousMatch()}. If no previous match is found, creates a new match.
      *
      * @param nickname the nickname of the player
      * @return true if a previous match exists, false otherwise
      */
     boolean existsPreviousMatch(String nickname);
 
+    /**
+     * Reads the summary of the previous match found by {@link #existsPreviousMatch(String)},
+     * from the header of the save. The boards are only read by {@link #loadPreviousMatch()}.
+     *
+     * @return the summary, or null if it cannot be read or the match was saved without one
+     */
+    MatchSummary getPreviousMatchSummary();
+
     /**
      * Creates a new match by initializing new position and main tables,
      * then registers the new match in persistence.
@@ -55,24 +67,109 @@ public interface GameModelInterface {
     /**
      * Loads the previous match from persistent storage.
      * This method restores the match's state by assigning the player's nickname,
-     * position table, and main table.
+     * position table, and main table, then replays the moves journaled after that state.
+     *
+     * @return true if the match was loaded, false if it could not be read
      */
-
-    void loadPreviousMatch();
+    boolean loadPreviousMatch();
 
     /**
-     * Loads the previous match state from persistent storage.
+     * Loads the previous match state of the current player from persistent storage.
      * This method allows the game to resume from the last saved state.
      *
      * @return the deserialized MatchStatusSerializable containing the previous game state
      * @throws ClassNotFoundException if the class of a serialized object cannot be found
-     * @throws IOException if an I/O error occurs while reading the saved file
+     * @throws IOException if the player has no saved match or an I/O error occurs while reading it
      */
     MatchStatusSerializable previousMatch() throws ClassNotFoundException, IOException;
 
+    /**
+     * Places one of the player's ships on the position table, if the placement is legal,
+     * and journals the placement.
+     *
+     * @param shipIndex   the index of the ship to place
+     * @param row         the starting row of the ship
+     * @param col         the starting column of the ship
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal)
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed
+     */
+    PlacementResult placeShip(int shipIndex, int row, int col, int orientation);
+
+    /**
+     * Picks the targeting strategy the machine uses in the matches started or loaded from now on.
+     *
+     * @param name the name of the strategy
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    void setTargetingStrategy(String name);
+
+    /**
+     * Sets the listener notified when the shot that sinks the last ship of a fleet is resolved.
+     *
+     * @param winnerListener the listener, or null to stop the notifications
+     */
+    void setWinnerListener(WinnerListener winnerListener);
+
+    /**
+     * Sets the listener notified when saving the match fails. Saves are written in the
+     * background, so the listener is called from the writer thread.
+     *
+     * @param errorListener the listener, or null to only log the errors
+     */
+    void setPersistenceErrorListener(PersistenceErrorListener errorListener);
+
+    /**
+     * Checks whether the current match already has a winner.
+     *
+     * @return true if one of the fleets was sunk, false otherwise
+     */
+    boolean isFinished();
+
+    /**
+     * Checks whose turn it is to fire.
+     *
+     * @return true if the player fires next, false if the machine does
+     */
+    boolean isPlayerTurn();
+
+    /**
+     * Resolves a shot fired by the player at the machine's fleet and journals it.
+     * Sinking the machine's last ship finishes the match, removes its tracking and
+     * notifies the winner listener.
+     *
+     * @param row the row of the shot
+     * @param col the column of the shot
+     * @return the outcome of the shot
+     * @throws IllegalStateException    if it is not the player's turn to fire
+     * @throws IllegalArgumentException if the cell was already fired at
+     */
+    ShotOutcome playerShot(int row, int col);
+
+    /**
+     * Resolves the shot chosen by the machine's targeting engine and journals it.
+     * Sinking the player's last ship finishes the match, removes its tracking and
+     * notifies the winner listener.
+     *
+     * @return the outcome of the shot
+     * @throws IllegalStateException if it is not the machine's turn to fire
+     */
+    ShotOutcome machineShot();
+
+    /**
+     * Returns the moves of the current match. Together with the seed of the main table they
+     * rebuild a match started in this session with
+     * {@link com.example.navalbattle.models.MatchReplay#of(long, int[])};
+     * a resumed match is rebuilt from its checkpoint instead.
+     *
+     * @return a copy of the packed moves, in order
+     */
+    int[] getMoveHistory();
+
     /**
      * Saves the current game state to persistent storage.
-     * This method takes a snapshot of the current position and main tables and saves it.
+     * Moves are journaled as they are made, so this method only takes a snapshot of the
+     * current position and main tables once enough moves were journaled since the last one.
+     * A finished match is not saved.
      */
     void saveGame();
 
@@ -2,6 +2,7 @@ package com.example.navalbattle.interfaces;
 
 import com.example.navalbattle.models.MainTable;
 import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.MatchSummary;
 import com.example.navalbattle.models.PositionTable;
 
 import java.io.IOException;
@@ -15,6 +16,23 @@ import java.io.IOException;
  */
 public interface GamePersistenceInterface {
 
+    /**
+     * Checks whether a player has a saved match, without reading the match itself.
+     *
+     * @param nickname the player's nickname
+     * @return true if the player has a saved match, false otherwise
+     */
+    boolean hasMatch(String nickname);
+
+    /**
+     * Reads the summary of a player's saved match (nickname, phase, move count and time of the
+     * last move) from the header of the save and its journal, without rebuilding its boards.
+     *
+     * @param nickname the player's nickname
+     * @return the summary, or null if it cannot be read or the match was saved without one
+     */
+    MatchSummary probeMatch(String nickname);
+
     /**
      * Registers a new match by initializing a new `MatchStatusSerializable` instance
      * with the given game boards and serializes it to save the starting state.
@@ -35,21 +53,38 @@ public interface GamePersistenceInterface {
 
 
     /**
-     * Deserializes the last saved match state, allowing the game to resume
+     * Deserializes the last saved match state of a player, allowing the game to resume
      * from the previous position.
      *
+     * @param nickname the player's nickname
      * @return the last saved `MatchStatusSerializable` object
      * @throws ClassNotFoundException if the class of a serialized object cannot be found
-     * @throws IOException if an I/O error occurs while reading the file
+     * @throws IOException if the player has no saved match or an I/O error occurs while reading it
+     */
+    MatchStatusSerializable deserialize(String nickname) throws ClassNotFoundException, IOException;
+
+
+    /**
+     * Reads the moves journaled after the last deserialized match state.
+     *
+     * @return the packed moves to replay on top of the saved boards, in order
      */
-    MatchStatusSerializable deserialize() throws ClassNotFoundException, IOException;
+    int[] readJournal();
 
+    /**
+     * Appends a move of the current match to the journal.
+     * Every placement and shot must be recorded, so the match can be rebuilt from
+     * the last saved state.
+     *
+     * @param move the packed move, as built by {@link com.example.navalbattle.models.MatchMove}
+     */
+    void recordMove(int move);
 
     /**
-     * Updates the current game state with the latest game boards and immediately
-     * serializes it to save the progress.
+     * Updates the current game state with the latest game boards and serializes it
+     * once enough moves were journaled since the last saved state.
      * This method should be called after every move, whether it's by the player or
-     * the machine, to ensure the game state is saved continuously.
+     * the machine, once the move was recorded.
      *
      * @param mainTable      the updated game board for the machine
      * @param positionTable  the updated game board for the player
@@ -61,4 +96,19 @@ public interface GamePersistenceInterface {
      * Outputs a message indicating whether the deletion was successful.
      */
     void deleteMatchStatus();
+
+    /**
+     * Waits until the saves queued to the background writer were written to disk.
+     *
+     * @return true if every pending save was written, false if the timeout elapsed first
+     */
+    boolean flush();
+
+    /**
+     * Sets the listener notified when a save fails in the background.
+     * The listener is called from the writer thread.
+     *
+     * @param errorListener the listener, or null to only log the errors
+     */
+    void setErrorListener(PersistenceErrorListener errorListener);
 }
@@ -0,0 +1,56 @@
+package com.example.navalbattle.interfaces;
+
+/**
+ * Management interface of a latency histogram, published over JMX so the timing of an
+ * operation can be watched live in JConsole or VisualVM. The percentiles are the upper
+ * bound of their bucket, at most one eighth above the recorded value.
+ */
+public interface LatencyHistogramMXBean {
+
+    /**
+     * Returns the amount of recorded operations.
+     *
+     * @return the amount of operations since the start or the last reset.
+     */
+    long getCount();
+
+    /**
+     * Returns the mean duration of the recorded operations.
+     *
+     * @return the mean duration, in microseconds.
+     */
+    double getMeanMicros();
+
+    /**
+     * Returns the median duration of the recorded operations.
+     *
+     * @return the 50th percentile, in microseconds.
+     */
+    double getP50Micros();
+
+    /**
+     * Returns the 90th percentile of the duration of the recorded operations.
+     *
+     * @return the 90th percentile, in microseconds.
+     */
+    double getP90Micros();
+
+    /**
+     * Returns the 99th percentile of the duration of the recorded operations.
+     *
+     * @return the 99th percentile, in microseconds.
+     */
+    double getP99Micros();
+
+    /**
+     * Returns the longest recorded operation.
+     *
+     * @return the maximum duration, in microseconds.
+     */
+    double getMaxMicros();
+
+    /**
+     * Forgets the recorded operations, so the percentiles describe the operations from now on.
+     */
+    void reset();
+}
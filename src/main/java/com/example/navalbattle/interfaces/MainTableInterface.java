@@ -1,7 +1,12 @@
 package com.example.navalbattle.interfaces;
 
+import com.example.navalbattle.models.BitBoard;
+import com.example.navalbattle.models.FleetIndex;
+import com.example.navalbattle.models.ShotResult;
+
 import java.io.Serializable;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Interface representing the machine's game board in the Battleship game.
@@ -50,7 +55,7 @@ public interface MainTableInterface extends Serializable {
     int[] shot();
 
     /**
-     * Generates a smart shot based on the last shot fired.
+     * Generates a smart shot using the probability-density targeting engine.
      *
      * @return an array of two integers representing the (x, y) coordinates of the smart shot.
      */
@@ -66,6 +71,73 @@ public interface MainTableInterface extends Serializable {
      */
     boolean canPlaced(int row, int column, int size, boolean horizontal);
 
+    /**
+     * Records the result of a shot fired by the machine.
+     * @param row the row of the shot
+     * @param col the column of the shot
+     * @param hit true if the shot hit a ship, false if it landed on water
+     */
+    void recordShot(int row, int col, boolean hit);
+
+    /**
+     * Resolves a shot fired by the player at the machine's fleet.
+     * @param row the row of the shot
+     * @param col the column of the shot
+     * @return the result of the shot
+     */
+    ShotResult receiveShot(int row, int col);
+
+    /**
+     * Returns the index of the machine's ships, in the order of the ship coordinates list.
+     * @return the fleet index
+     */
+    FleetIndex getFleetIndex();
+
+    /**
+     * Returns the bit plane of the cells occupied by the machine's ships.
+     * @return the ship plane
+     */
+    BitBoard getShipMask();
+
+    /**
+     * Returns the bit plane of the machine's shots that hit a ship.
+     * @return the hit plane
+     */
+    BitBoard getHitMask();
+
+    /**
+     * Returns the bit plane of the machine's shots that landed on water.
+     * @return the miss plane
+     */
+    BitBoard getMissMask();
+
+    /**
+     * Records that one of the player's ships was sunk by the machine.
+     * @param row        the starting row of the sunk ship
+     * @param col        the starting column of the sunk ship
+     * @param size       the size of the sunk ship
+     * @param horizontal the orientation of the sunk ship (true for horizontal, false for vertical)
+     */
+    void recordSunk(int row, int col, int size, boolean horizontal);
+
+    /**
+     * Returns the bit plane of the cells of the player's ships already sunk by the machine.
+     * @return the sunk plane
+     */
+    BitBoard getSunkMask();
+
+    /**
+     * Returns the seed the fleet and the shots of the table were drawn from.
+     * @return the seed of the table
+     */
+    long getSeed();
+
+    /**
+     * Returns the generator the shots of the table are drawn from, created from its seed.
+     * @return the generator of the table
+     */
+    RandomGenerator getRandom();
+
     /**
      * Prints the game board to the console for debugging purposes.
      * @param board the board to print
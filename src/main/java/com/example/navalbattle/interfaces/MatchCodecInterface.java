@@ -0,0 +1,45 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.MatchSummary;
+
+import java.io.IOException;
+
+/**
+ * Interface representing the binary format the status of a match is saved in.
+ */
+public interface MatchCodecInterface {
+
+    /**
+     * Encodes the status of a match.
+     *
+     * @param match the match status to encode.
+     * @return the encoded match, header included.
+     */
+    byte[] encode(MatchStatusSerializable match);
+
+    /**
+     * Decodes a match status and rebuilds its boards.
+     *
+     * @param data the encoded match.
+     * @return the decoded match status.
+     * @throws IOException if the data is not a valid save of a supported version.
+     */
+    MatchStatusSerializable decode(byte[] data) throws IOException;
+
+    /**
+     * Reads the summary stored in the fixed-size header of a save, without rebuilding the boards.
+     *
+     * @param header the start of the saved data; longer data is accepted.
+     * @return the summary, or null if the data is not a save of a version with a summary.
+     */
+    MatchSummary probe(byte[] header);
+
+    /**
+     * Checks whether the data starts with the header of this format.
+     *
+     * @param data the saved data.
+     * @return true if the data was written by this format, false otherwise.
+     */
+    boolean isEncoded(byte[] data);
+}
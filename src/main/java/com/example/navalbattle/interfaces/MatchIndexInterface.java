@@ -0,0 +1,76 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.MatchIndex;
+import com.example.navalbattle.models.MatchPhase;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Interface representing the index of the saved matches: for each nickname, the slot its
+ * match is saved in, when it was last saved and its phase. The index is kept in memory and
+ * saved as a whole, so looking a match up never touches the disk.
+ */
+public interface MatchIndexInterface {
+
+    /**
+     * Looks up the saved match of a player.
+     *
+     * @param nickname the player's nickname.
+     * @return the entry of the match, or null if the player has no saved match.
+     */
+    MatchIndex.Entry get(String nickname);
+
+    /**
+     * Records that the match of a player was saved. A player without a saved match is given
+     * the lowest free slot.
+     *
+     * @param nickname     the player's nickname.
+     * @param status       the phase of the match.
+     * @param lastModified the time of the save, in milliseconds since the epoch.
+     * @return the updated entry.
+     */
+    MatchIndex.Entry put(String nickname, MatchPhase status, long lastModified);
+
+    /**
+     * Adds a match found in a given slot while the index is rebuilt. If the player already has
+     * an entry, the most recently saved match is kept.
+     *
+     * @param nickname     the player's nickname.
+     * @param slot         the slot the match is saved in.
+     * @param status       the phase of the match.
+     * @param lastModified the time of the save, in milliseconds since the epoch.
+     * @return the entry kept for the player.
+     */
+    MatchIndex.Entry restore(String nickname, int slot, MatchPhase status, long lastModified);
+
+    /**
+     * Removes the saved match of a player and frees its slot.
+     *
+     * @param nickname the player's nickname.
+     * @return the removed entry, or null if the player had no saved match.
+     */
+    MatchIndex.Entry remove(String nickname);
+
+    /**
+     * Returns the entries of every saved match.
+     *
+     * @return an unmodifiable view of the entries.
+     */
+    Collection<MatchIndex.Entry> entries();
+
+    /**
+     * Encodes the whole index.
+     *
+     * @return the encoded index, header included.
+     */
+    byte[] encode();
+
+    /**
+     * Replaces the content of the index with an encoded one.
+     *
+     * @param data the encoded index.
+     * @throws IOException if the data is not a valid index.
+     */
+    void load(byte[] data) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.example.navalbattle.interfaces;
+
+import java.io.IOException;
+
+/**
+ * Interface representing an append-only journal of the moves of a match.
+ * Every move is stored as a small fixed-size record, so saving a move is a single
+ * sequential write, and the moves made after the last checkpoint are replayed on load.
+ */
+public interface MatchJournalInterface {
+
+    /**
+     * Empties the journal and starts it after the given amount of moves, usually
+     * right after a checkpoint that already contains them.
+     *
+     * @param baseMove the amount of moves covered by the checkpoint.
+     * @throws IOException if the journal cannot be written.
+     */
+    void reset(int baseMove) throws IOException;
+
+    /**
+     * Appends a packed move to the journal. If the record cannot be written, the part of it
+     * already written is cut off and the journal is broken until the next {@link #reset}.
+     *
+     * @param move the packed move, as built by {@link com.example.navalbattle.models.MatchMove}.
+     * @throws IOException if the record cannot be written or the journal is broken.
+     */
+    void append(int move) throws IOException;
+
+    /**
+     * Reads the moves journaled after the given move. Reading stops at the first torn or
+     * corrupted record, which is cut off so new moves are appended after the last valid one.
+     *
+     * @param fromMove the amount of moves already covered by the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read.
+     */
+    int[] readTail(int fromMove) throws IOException;
+
+    /**
+     * Returns the amount of moves of the match, counting the ones before the journal start.
+     *
+     * @return the sequence number of the next move.
+     */
+    int getMoveCount();
+
+    /**
+     * Checks whether an append failed since the journal was last started over or read.
+     *
+     * @return true if appends are rejected until the next {@link #reset}.
+     */
+    boolean isBroken();
+
+    /**
+     * Closes the journal file. The next write or read opens it again.
+     */
+    void close();
+}
@@ -0,0 +1,75 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.GameEngine;
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.PositionTable;
+import com.example.navalbattle.models.ShotResult;
+
+/**
+ * Interface representing an engine that rebuilds a match by applying its packed moves to the
+ * boards, without persistence or user interface, so stored or reported matches can be
+ * reproduced and analysed.
+ */
+public interface MatchReplayInterface {
+
+    /**
+     * Applies a single packed move.
+     *
+     * @param move the packed move, as built by {@link com.example.navalbattle.models.MatchMove}.
+     * @return the result of a shot, or null for a placement.
+     * @throws IllegalArgumentException if the move has no valid type.
+     */
+    ShotResult apply(int move);
+
+    /**
+     * Applies a range of packed moves, in order, stopping once the match is finished.
+     *
+     * @param moves the packed moves.
+     * @param from  the index of the first move to apply.
+     * @param to    the end of the range, exclusive.
+     * @return the amount of moves applied.
+     */
+    int fastForward(int[] moves, int from, int to);
+
+    /**
+     * Returns the engine the moves are applied to, so the replayed match can be continued.
+     *
+     * @return the game engine of the replay.
+     */
+    GameEngine getEngine();
+
+    /**
+     * Returns the machine's board.
+     *
+     * @return the main table being replayed.
+     */
+    MainTable getMainTable();
+
+    /**
+     * Returns the player's board.
+     *
+     * @return the position table being replayed.
+     */
+    PositionTable getPositionTable();
+
+    /**
+     * Returns the amount of moves of the match, counting the ones before the replay started.
+     *
+     * @return the amount of moves.
+     */
+    int getMoveCount();
+
+    /**
+     * Checks whether one of the fleets was sunk.
+     *
+     * @return true if the match has a winner, false otherwise.
+     */
+    boolean isFinished();
+
+    /**
+     * Checks whether the player won the match.
+     *
+     * @return true if the player sank the machine's fleet, false otherwise.
+     */
+    boolean isPlayerWinner();
+}
@@ -40,4 +40,32 @@ public interface MatchStatusSerializableInterface extends Serializable {
      * @param positionTable  the player's game board to save
      */
     void saveSnapShot(MainTable mainTable, PositionTable positionTable);
+
+    /**
+     * Returns the amount of moves of the match contained in the saved boards.
+     *
+     * @return the amount of placements and shots made before this snapshot.
+     */
+    int getMoveCount();
+
+    /**
+     * Sets the amount of moves of the match contained in the saved boards.
+     *
+     * @param moveCount the amount of placements and shots made before this snapshot.
+     */
+    void setMoveCount(int moveCount);
+
+    /**
+     * Returns the moves of the match contained in the saved boards.
+     *
+     * @return the packed moves made before this snapshot, in order, or null if they were not kept.
+     */
+    int[] getMoves();
+
+    /**
+     * Sets the moves of the match contained in the saved boards.
+     *
+     * @param moves the packed moves made before this snapshot, in order, or null if they are not known.
+     */
+    void setMoves(int[] moves);
 }
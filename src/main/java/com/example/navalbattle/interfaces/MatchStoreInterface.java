@@ -0,0 +1,107 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.MatchIndex;
+import com.example.navalbattle.models.MatchPhase;
+import com.example.navalbattle.models.MatchSummary;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface representing the store of the saved matches, one per nickname.
+ * Every match is saved in its own slot, and an index maps the nicknames to their slots,
+ * so finding the match of a player does not read any match.
+ */
+public interface MatchStoreInterface {
+
+    /**
+     * Looks up the saved match of a player in the index.
+     *
+     * @param nickname the player's nickname.
+     * @return the index entry of the match, or null if the player has no saved match.
+     */
+    MatchIndex.Entry find(String nickname);
+
+    /**
+     * Reads the summary in the header of a player's last checkpoint, brought up to date with
+     * the moves journaled after it, without reading the rest of the match.
+     *
+     * @param nickname the player's nickname.
+     * @return the summary, or null if the player has no saved match or it was saved without a summary.
+     * @throws IOException if the header or the journal cannot be read.
+     */
+    MatchSummary probe(String nickname) throws IOException;
+
+    /**
+     * Returns the last checkpoint of a player's match, from the cache of the recently used
+     * matches if possible. Queued writes must be flushed before reading from the disk.
+     *
+     * @param nickname the player's nickname.
+     * @return the encoded match.
+     * @throws IOException if the player has no saved match or it cannot be read.
+     */
+    byte[] load(String nickname) throws IOException;
+
+    /**
+     * Queues a checkpoint of a player's match and the update of the index.
+     * The journal of the match is started over after the checkpoint.
+     *
+     * @param nickname  the player's nickname.
+     * @param data      the encoded match.
+     * @param moveCount the amount of moves contained in the checkpoint.
+     * @param status    the phase of the match.
+     * @return the index entry of the match.
+     */
+    MatchIndex.Entry save(String nickname, byte[] data, int moveCount, MatchPhase status);
+
+    /**
+     * Queues the append of a move to the journal of a player's match.
+     *
+     * @param nickname the player's nickname.
+     * @param move     the packed move.
+     * @return true if the move was queued, false if the player has no saved match or the queue is full.
+     */
+    boolean append(String nickname, int move);
+
+    /**
+     * Checks whether the journal of a player's match lost a move since its last checkpoint
+     * was queued, so the match needs a new checkpoint to save every move.
+     *
+     * @param nickname the player's nickname.
+     * @return true if the journal lost a move, false otherwise or if the player has no saved match.
+     */
+    boolean isJournalBroken(String nickname);
+
+    /**
+     * Reads the moves journaled after the checkpoint of a player's match.
+     *
+     * @param nickname the player's nickname.
+     * @param fromMove the amount of moves contained in the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read.
+     */
+    int[] readJournal(String nickname, int fromMove) throws IOException;
+
+    /**
+     * Removes a player's match from the index and queues the deletion of its files.
+     *
+     * @param nickname the player's nickname.
+     */
+    void delete(String nickname);
+
+    /**
+     * Waits until every queued write was performed.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return true if the queue was drained, false if the timeout elapsed first.
+     */
+    boolean flush(long timeout, TimeUnit unit);
+
+    /**
+     * Sets the listener notified when a queued write fails.
+     *
+     * @param errorListener the listener, or null to only log the errors.
+     */
+    void setErrorListener(PersistenceErrorListener errorListener);
+}
@@ -0,0 +1,88 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.PlacementResult;
+import com.example.navalbattle.models.PositionTable;
+
+import java.io.IOException;
+
+/**
+ * Interface for a match between two players on the same host, joined through a match relay.
+ */
+public interface NetworkMatchInterface extends AutoCloseable {
+
+    /**
+     * Connects to the relay and waits for an opponent in a room. If no relay is running, one
+     * is started inside this process.
+     *
+     * @param port the port of the relay.
+     * @param room the room code shared by both players.
+     * @throws IOException              if the relay can neither be reached nor started.
+     * @throws IllegalArgumentException if the room code is blank or too long.
+     */
+    void connect(int port, String room) throws IOException;
+
+    /**
+     * Places one of the player's ships, before the player is ready.
+     *
+     * @param shipIndex the index of the ship to place (1 to 4).
+     * @param row the starting row of the ship.
+     * @param col the starting column of the ship.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     */
+    PlacementResult placeShip(int shipIndex, int row, int col, int orientation);
+
+    /**
+     * Tells the opponent that the player's fleet is placed.
+     *
+     * @param nickname the nickname of the player.
+     * @throws IllegalStateException if the fleet is not complete.
+     */
+    void ready(String nickname);
+
+    /**
+     * Fires a shot at the opponent's fleet. The outcome arrives through the listener.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @throws IllegalStateException if it is not the player's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    void fire(int row, int col);
+
+    /**
+     * @return true if both fleets are placed and the battle started.
+     */
+    boolean isStarted();
+
+    /**
+     * @return true if the player may fire now.
+     */
+    boolean isMyTurn();
+
+    /**
+     * @return true if a fleet was sunk or the opponent left.
+     */
+    boolean isFinished();
+
+    /**
+     * @return true if the player sank the opponent's fleet.
+     */
+    boolean isWinner();
+
+    /**
+     * @return the nickname of the opponent, or null until the opponent is ready.
+     */
+    String getOpponentName();
+
+    /**
+     * @return the player's fleet and the record of the player's shots.
+     */
+    PositionTable getPositionTable();
+
+    /**
+     * Leaves the match and closes the connection.
+     */
+    @Override
+    void close();
+}
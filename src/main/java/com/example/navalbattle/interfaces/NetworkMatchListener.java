@@ -0,0 +1,46 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.ShotOutcome;
+
+/**
+ * Listener notified of what happens in a network match. It is called from the thread
+ * reading the connection, so user interface code must hand the notifications over to its
+ * own thread.
+ */
+public interface NetworkMatchListener {
+
+    /**
+     * Called when an opponent joined the room.
+     *
+     * @param firstToFire true if the player fires first once both fleets are placed
+     */
+    void onPaired(boolean firstToFire);
+
+    /**
+     * Called when the opponent placed its fleet.
+     *
+     * @param nickname the nickname of the opponent
+     */
+    void onOpponentReady(String nickname);
+
+    /**
+     * Called when the opponent answered a shot of the player.
+     *
+     * @param outcome the outcome of the player's shot
+     */
+    void onShotResult(ShotOutcome outcome);
+
+    /**
+     * Called after a shot of the opponent was resolved against the player's fleet.
+     *
+     * @param outcome the outcome of the opponent's shot
+     */
+    void onOpponentShot(ShotOutcome outcome);
+
+    /**
+     * Called when the opponent left the match or the connection was lost.
+     *
+     * @param message a description of what ended the match
+     */
+    void onDisconnected(String message);
+}
@@ -0,0 +1,17 @@
+package com.example.navalbattle.interfaces;
+
+/**
+ * Listener notified when the background writer fails to save the match.
+ * It is called from the writer thread, so user interface code must hand the
+ * notification over to its own thread.
+ */
+@FunctionalInterface
+public interface PersistenceErrorListener {
+
+    /**
+     * Called after a save operation failed.
+     *
+     * @param message a description of the failed operation and its cause
+     */
+    void onPersistenceError(String message);
+}
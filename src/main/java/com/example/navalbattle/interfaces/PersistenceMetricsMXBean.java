@@ -0,0 +1,49 @@
+package com.example.navalbattle.interfaces;
+
+/**
+ * Management interface of the live metrics of the match persistence, published over JMX.
+ * The time spent saving on the game thread, loading, and writing on the writer thread is
+ * published as {@link LatencyHistogramMXBean}s of their own.
+ */
+public interface PersistenceMetricsMXBean {
+
+    /**
+     * @return the amount of checkpoints encoded and queued.
+     */
+    long getSaves();
+
+    /**
+     * @return the amount of matches loaded.
+     */
+    long getLoads();
+
+    /**
+     * @return the amount of moves queued to a journal.
+     */
+    long getJournalAppends();
+
+    /**
+     * @return the amount of moves left to the next checkpoint because the queue was full.
+     */
+    long getRejectedAppends();
+
+    /**
+     * @return the amount of bytes written to the save files and journals.
+     */
+    long getBytesWritten();
+
+    /**
+     * @return the amount of failed operations.
+     */
+    long getErrors();
+
+    /**
+     * @return the amount of operations waiting for the writer thread.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the largest amount of operations that waited for the writer thread at once.
+     */
+    int getMaxQueueDepth();
+}
@@ -0,0 +1,86 @@
+package com.example.navalbattle.interfaces;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface representing the background writer that performs the disk I/O of the match
+ * persistence, so the thread that records the moves never waits for the disk.
+ * Operations are written in submission order by a single thread.
+ */
+public interface PersistenceWriterInterface {
+
+    /**
+     * Queues the append of a packed move to a match journal.
+     *
+     * @param journalFile the journal of the match.
+     * @param move        the packed move.
+     * @return true if the move was queued, false if the queue is full.
+     */
+    boolean append(Path journalFile, int move);
+
+    /**
+     * Queues a checkpoint of a match. The checkpoint is written over the saved match and its
+     * journal is started over after it. Queued appends and checkpoints of the same match are
+     * skipped, since the new checkpoint contains every move before it.
+     *
+     * @param matchFile   the saved match.
+     * @param journalFile the journal of the match.
+     * @param data        the encoded match.
+     * @param moveCount   the amount of moves contained in the checkpoint.
+     */
+    void checkpoint(Path matchFile, Path journalFile, byte[] data, int moveCount);
+
+    /**
+     * Queues the replacement of a whole file. A queued write of the same file is skipped.
+     *
+     * @param file the file to write.
+     * @param data the new content of the file.
+     */
+    void write(Path file, byte[] data);
+
+    /**
+     * Queues the deletion of a saved match and its journal. Queued appends and checkpoints
+     * of the match are skipped.
+     *
+     * @param matchFile   the saved match.
+     * @param journalFile the journal of the match.
+     */
+    void delete(Path matchFile, Path journalFile);
+
+    /**
+     * Reads the moves journaled after a checkpoint, once every queued operation was written.
+     *
+     * @param journalFile the journal of the match.
+     * @param fromMove    the amount of moves contained in the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read.
+     */
+    int[] readJournal(Path journalFile, int fromMove) throws IOException;
+
+    /**
+     * Waits until every queued operation was written.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return true if the queue was drained, false if the timeout elapsed first.
+     */
+    boolean flush(long timeout, TimeUnit unit);
+
+    /**
+     * Checks whether a journal lost a move since the last checkpoint of its match was queued.
+     * Its appends are skipped until the next checkpoint.
+     *
+     * @param journalFile the journal of the match.
+     * @return true if the match needs a new checkpoint to save every move.
+     */
+    boolean isJournalBroken(Path journalFile);
+
+    /**
+     * Sets the listener notified when a queued operation fails.
+     *
+     * @param errorListener the listener, or null to only log the errors.
+     */
+    void setErrorListener(PersistenceErrorListener errorListener);
+}
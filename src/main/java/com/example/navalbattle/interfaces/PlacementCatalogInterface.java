@@ -0,0 +1,63 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.BitBoard;
+
+/**
+ * Interface representing a precomputed catalog of every legal placement of a ship
+ * on an empty board, stored as bit planes shared by every board, which are queried
+ * without being handed out.
+ * Placements are grouped by ship size and orientation and enumerated in row-major
+ * order of their starting cell.
+ */
+public interface PlacementCatalogInterface {
+
+    /**
+     * Returns the size of the largest ship covered by the catalog.
+     *
+     * @return the largest ship size.
+     */
+    int getMaxSize();
+
+    /**
+     * Returns the amount of placements of a ship size and orientation.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @return the amount of placements, or 0 if the size is not covered.
+     */
+    int count(int size, boolean horizontal);
+
+    /**
+     * Returns the starting cell of a placement.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param index      the index of the placement.
+     * @return the row-major index of the first cell of the placement.
+     */
+    int getStart(int size, boolean horizontal, int index);
+
+    /**
+     * Checks whether a placement covers any of the given cells.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param index      the index of the placement.
+     * @param cells      the plane of the cells to check.
+     * @return true if the placement covers at least one of the cells.
+     */
+    boolean intersects(int size, boolean horizontal, int index, BitBoard cells);
+
+    /**
+     * Checks whether a ship starting at a given cell fits on the board without covering
+     * any occupied cell.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param occupied   the plane of the occupied cells.
+     * @return true if the ship can be placed there.
+     */
+    boolean fits(int row, int col, int size, boolean horizontal, BitBoard occupied);
+}
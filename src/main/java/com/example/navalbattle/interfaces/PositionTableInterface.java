@@ -1,6 +1,10 @@
 package com.example.navalbattle.interfaces;
 
+import com.example.navalbattle.models.BitBoard;
+import com.example.navalbattle.models.FleetIndex;
+import com.example.navalbattle.models.PlacementResult;
 import com.example.navalbattle.models.Ship;
+import com.example.navalbattle.models.ShotResult;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +35,17 @@ public interface PositionTableInterface {
      */
     ArrayList<Ship> getShips();
 
+    /**
+     * Places a ship if every rule of the placement allows it.
+     *
+     * @param shipIndex the index of the ship to be placed.
+     * @param row the row where the ship should be placed.
+     * @param col the column where the ship should be placed.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     */
+    PlacementResult placeShip(int shipIndex, int row, int col, int orientation);
+
     /**
      * Sets the position of a ship on the board, given the ship index, row, column, and orientation.
      *
@@ -78,4 +93,50 @@ public interface PositionTableInterface {
      * @return the list of ship coordinates.
      */
     List<int[]> getShipCoordinatesList();
+
+    /**
+     * Records the result of a shot fired by the player.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @param hit true if the shot hit a ship, false if it landed on water.
+     */
+    void recordShot(int row, int col, boolean hit);
+
+    /**
+     * Resolves a shot fired by the machine at the player's fleet.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    ShotResult receiveShot(int row, int col);
+
+    /**
+     * Returns the index of the player's ships, in the order of the ship coordinates list.
+     *
+     * @return the fleet index.
+     */
+    FleetIndex getFleetIndex();
+
+    /**
+     * Returns the bit plane of the cells occupied by the player's ships.
+     *
+     * @return the ship plane.
+     */
+    BitBoard getShipMask();
+
+    /**
+     * Returns the bit plane of the player's shots that hit a ship.
+     *
+     * @return the hit plane.
+     */
+    BitBoard getHitMask();
+
+    /**
+     * Returns the bit plane of the player's shots that landed on water.
+     *
+     * @return the miss plane.
+     */
+    BitBoard getMissMask();
 }
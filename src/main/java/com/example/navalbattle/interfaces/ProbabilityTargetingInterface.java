@@ -0,0 +1,37 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.BitBoard;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Interface representing a targeting engine that ranks the cells of the opponent's board
+ * by the number of legal placements of the still-afloat ships that cover them.
+ */
+public interface ProbabilityTargetingInterface {
+
+    /**
+     * Computes the density heatmap of the board.
+     * Each cell receives the weighted amount of legal placements of the
+     * remaining ships that cover it, so misses and sunk cells always receive 0.
+     *
+     * @param hits           the plane of shots that hit a ship.
+     * @param misses         the plane of shots that landed on water.
+     * @param sunk           the plane of cells of ships already sunk.
+     * @param remainingShips the amount of afloat ships indexed by ship size.
+     * @return the heatmap, one value per cell in row-major order.
+     */
+    int[] computeDensity(BitBoard hits, BitBoard misses, BitBoard sunk, int[] remainingShips);
+
+    /**
+     * Selects the unshot cell with the highest density, breaking ties randomly.
+     *
+     * @param hits           the plane of shots that hit a ship.
+     * @param misses         the plane of shots that landed on water.
+     * @param sunk           the plane of cells of ships already sunk.
+     * @param remainingShips the amount of afloat ships indexed by ship size.
+     * @param random         the random generator used to break ties.
+     * @return the row-major index of the selected cell, or -1 if every cell was already shot.
+     */
+    int selectTarget(BitBoard hits, BitBoard misses, BitBoard sunk, int[] remainingShips, RandomGenerator random);
+}
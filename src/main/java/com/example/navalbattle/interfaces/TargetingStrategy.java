@@ -0,0 +1,34 @@
+package com.example.navalbattle.interfaces;
+
+import com.example.navalbattle.models.MainTable;
+
+/**
+ * Service interface of the machine's targeting engines. Strategies are discovered with
+ * {@link java.util.ServiceLoader}, from the providers declared by this module and by any
+ * other module or jar on the path, and a match picks one by its name through
+ * {@link com.example.navalbattle.models.TargetingStrategies}.
+ *
+ * <p>Every match gets its own instance, and only the thread playing the match calls it, so a
+ * strategy may keep state between shots. The board it fires at is described by the
+ * {@link MainTable} of the machine: its shot grid and its hit, miss and sunk planes. A strategy
+ * that makes random choices should draw them from {@link MainTable#getRandom()}, which is
+ * created from the seed of the table, so matches played with it can be reproduced from their
+ * seed. Replays take the machine's shots from the recorded moves and never call the strategy.</p>
+ */
+public interface TargetingStrategy {
+
+    /**
+     * Returns the name matches pick the strategy by. Names are compared ignoring case.
+     *
+     * @return the name of the strategy.
+     */
+    String getName();
+
+    /**
+     * Selects the next shot of the machine.
+     *
+     * @param table the machine's table, with the record of its previous shots.
+     * @return an array of two integers with the row and column of a cell that was not shot yet.
+     */
+    int[] selectShot(MainTable table);
+}
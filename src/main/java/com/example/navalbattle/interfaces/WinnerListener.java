@@ -0,0 +1,15 @@
+package com.example.navalbattle.interfaces;
+
+/**
+ * Listener notified by the game model when a match is won.
+ */
+@FunctionalInterface
+public interface WinnerListener {
+
+    /**
+     * Called once, right after the shot that hit the last afloat cell of a fleet.
+     *
+     * @param playerWon true if the player sank the machine's fleet, false if the machine sank the player's fleet
+     */
+    void onWinner(boolean playerWon);
+}
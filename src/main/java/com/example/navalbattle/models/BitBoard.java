@@ -0,0 +1,322 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.BitBoardInterface;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The BitBoard class stores one boolean plane of a game board (ships, hits or misses)
+ * as a packed array of {@code long} words, one bit per cell.
+ * Cell (row, col) is stored at bit {@code row * columns + col}, so a 10x10 board
+ * fits in two words and whole-board checks are a couple of AND/POPCNT operations.
+ *
+ * <p>Lines passed to the line methods must fit inside the board; bounds are
+ * validated by the tables before reaching this class.</p>
+ *
+ * @see BitBoardInterface
+ */
+public class BitBoard implements BitBoardInterface, Serializable {
+
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The packed cells of the plane, 64 cells per word.
+     */
+    private final long[] words;
+
+    /**
+     * Constructs an empty plane for a board of the given dimensions.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    public BitBoard(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.words = new long[(rows * columns + 63) >>> 6];
+    }
+
+    /**
+     * Returns the number of rows of the board covered by this plane.
+     *
+     * @return the number of rows.
+     */
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the board covered by this plane.
+     *
+     * @return the number of columns.
+     */
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Checks whether the bit of the given cell is set.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return true if the cell is set, false otherwise.
+     */
+    @Override
+    public boolean get(int row, int col) {
+        int index = row * columns + col;
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the given cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    @Override
+    public void set(int row, int col) {
+        int index = row * columns + col;
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clears the bit of the given cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    @Override
+    public void clear(int row, int col) {
+        int index = row * columns + col;
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Clears every bit of the plane.
+     */
+    @Override
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Returns the number of set bits of the plane.
+     *
+     * @return the amount of cells that are set.
+     */
+    @Override
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether no bit of the plane is set.
+     *
+     * @return true if the plane is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether this plane shares at least one set cell with another plane.
+     *
+     * @param other the plane to compare with.
+     * @return true if both planes have a common cell, false otherwise.
+     */
+    @Override
+    public boolean intersects(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the cells that are set in both this plane and another plane.
+     *
+     * @param other the plane to compare with.
+     * @return the amount of common cells.
+     */
+    @Override
+    public int countCommon(BitBoard other) {
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Sets every cell that is set in another plane.
+     *
+     * @param other the plane to merge into this one.
+     */
+    @Override
+    public void or(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * Checks whether every set cell of another plane is also set in this plane.
+     *
+     * @param other the plane to compare with.
+     * @return true if this plane is a superset of the other one, false otherwise.
+     */
+    @Override
+    public boolean containsAll(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether any cell of a straight line of cells is set.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return true if at least one cell of the line is set, false otherwise.
+     */
+    @Override
+    public boolean anyInLine(int row, int col, int size, boolean horizontal) {
+        int start = row * columns + col;
+        if (horizontal) {
+            int end = start + size - 1;
+            for (int w = start >>> 6; w <= end >>> 6; w++) {
+                if ((words[w] & rangeMask(w, start, end)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0, index = start; i < size; i++, index += columns) {
+            if ((words[index >>> 6] & (1L << index)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether every cell of a straight line of cells is set.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return true if all the cells of the line are set, false otherwise.
+     */
+    @Override
+    public boolean allInLine(int row, int col, int size, boolean horizontal) {
+        int start = row * columns + col;
+        if (horizontal) {
+            int end = start + size - 1;
+            for (int w = start >>> 6; w <= end >>> 6; w++) {
+                long mask = rangeMask(w, start, end);
+                if ((words[w] & mask) != mask) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0, index = start; i < size; i++, index += columns) {
+            if ((words[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the set cells of a straight line of cells.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     * @return the amount of cells of the line that are set.
+     */
+    @Override
+    public int countInLine(int row, int col, int size, boolean horizontal) {
+        int start = row * columns + col;
+        int count = 0;
+        if (horizontal) {
+            int end = start + size - 1;
+            for (int w = start >>> 6; w <= end >>> 6; w++) {
+                count += Long.bitCount(words[w] & rangeMask(w, start, end));
+            }
+            return count;
+        }
+        for (int i = 0, index = start; i < size; i++, index += columns) {
+            if ((words[index >>> 6] & (1L << index)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sets every cell of a straight line of cells.
+     *
+     * @param row        the starting row of the line.
+     * @param col        the starting column of the line.
+     * @param size       the amount of cells of the line.
+     * @param horizontal the orientation of the line (true for horizontal, false for vertical).
+     */
+    @Override
+    public void setLine(int row, int col, int size, boolean horizontal) {
+        int start = row * columns + col;
+        if (horizontal) {
+            int end = start + size - 1;
+            for (int w = start >>> 6; w <= end >>> 6; w++) {
+                words[w] |= rangeMask(w, start, end);
+            }
+            return;
+        }
+        for (int i = 0, index = start; i < size; i++, index += columns) {
+            words[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * Builds the mask of the bits of a word that fall inside an inclusive range of cells.
+     *
+     * @param word  the index of the word.
+     * @param start the first cell of the range.
+     * @param end   the last cell of the range.
+     * @return the mask of the word's bits covered by the range.
+     */
+    private static long rangeMask(int word, int start, int end) {
+        long mask = -1L;
+        if (word == start >>> 6) {
+            mask &= -1L << start;
+        }
+        if (word == end >>> 6) {
+            mask &= -1L >>> (63 - (end & 63));
+        }
+        return mask;
+    }
+}
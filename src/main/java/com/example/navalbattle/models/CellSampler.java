@@ -0,0 +1,112 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.CellSamplerInterface;
+
+import java.io.Serializable;
+import java.util.random.RandomGenerator;
+
+/**
+ * The CellSampler class keeps the cells of a board that have not been shot yet as a deck.
+ * The remaining cells live at the front of the deck and each cell knows its own position in it,
+ * so a random draw or the removal of a specific cell is a single swap with the last remaining
+ * cell: O(1), without rejection and without allocating.
+ *
+ * @see CellSamplerInterface
+ */
+public class CellSampler implements CellSamplerInterface, Serializable {
+
+    /**
+     * The cells of the board; the first {@code size} entries are the remaining ones.
+     */
+    private final int[] deck;
+
+    /**
+     * The position of each cell inside the deck, or -1 once the cell was drawn.
+     */
+    private final int[] position;
+
+    /**
+     * The amount of cells that have not been drawn yet.
+     */
+    private int size;
+
+    /**
+     * Constructs a sampler with every cell of a board available.
+     *
+     * @param cells the amount of cells of the board.
+     */
+    public CellSampler(int cells) {
+        deck = new int[cells];
+        position = new int[cells];
+        reset();
+    }
+
+    /**
+     * Draws a random cell among the remaining ones and removes it from the sampler.
+     *
+     * @param random the random generator used to pick the cell.
+     * @return the row-major index of the drawn cell, or -1 if no cell remains.
+     */
+    @Override
+    public int next(RandomGenerator random) {
+        if (size == 0) {
+            return -1;
+        }
+        int cell = deck[random.nextInt(size)];
+        remove(cell);
+        return cell;
+    }
+
+    /**
+     * Removes a specific cell from the sampler by swapping it with the last remaining cell.
+     *
+     * @param cell the row-major index of the cell.
+     * @return true if the cell was still available, false if it was already drawn.
+     */
+    @Override
+    public boolean remove(int cell) {
+        int index = position[cell];
+        if (index < 0) {
+            return false;
+        }
+        int last = deck[--size];
+        deck[index] = last;
+        position[last] = index;
+        deck[size] = cell;
+        position[cell] = -1;
+        return true;
+    }
+
+    /**
+     * Checks whether a cell has not been drawn yet.
+     *
+     * @param cell the row-major index of the cell.
+     * @return true if the cell is still available, false otherwise.
+     */
+    @Override
+    public boolean contains(int cell) {
+        return position[cell] >= 0;
+    }
+
+    /**
+     * Returns the amount of cells that have not been drawn yet.
+     *
+     * @return the amount of remaining cells.
+     */
+    @Override
+    public int remaining() {
+        return size;
+    }
+
+    /**
+     * Makes every cell of the board available again.
+     */
+    @Override
+    public void reset() {
+        for (int cell = 0; cell < deck.length; cell++) {
+            deck[cell] = cell;
+            position[cell] = cell;
+        }
+        size = deck.length;
+    }
+}
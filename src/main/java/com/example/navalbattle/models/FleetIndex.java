@@ -0,0 +1,173 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.FleetIndexInterface;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The FleetIndex class maps every cell of a board to the ship that occupies it and keeps
+ * the remaining health of each ship. Resolving a shot is a lookup and a decrement,
+ * so it takes the same work for any fleet size and no ship list has to be scanned.
+ *
+ * <p>Ships are indexed in placement order, which is the order of the tables'
+ * ship coordinates lists.</p>
+ *
+ * @see FleetIndexInterface
+ */
+public class FleetIndex implements FleetIndexInterface, Serializable {
+
+    private final int columns;
+
+    /**
+     * The index of the ship occupying each cell in row-major order, or -1 for water.
+     */
+    private final int[] cellShip;
+
+    /**
+     * Bit plane of the ship cells that were already hit.
+     */
+    private final BitBoard damaged;
+
+    /**
+     * The amount of intact cells of each ship, indexed by ship index.
+     */
+    private int[] health = new int[10];
+
+    /**
+     * The amount of registered ships.
+     */
+    private int shipCount;
+
+    /**
+     * The amount of ship cells that were not hit yet, over the whole fleet.
+     */
+    private int afloatCells;
+
+    /**
+     * Constructs an empty index for a board of the given dimensions.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    public FleetIndex(int rows, int columns) {
+        this.columns = columns;
+        this.cellShip = new int[rows * columns];
+        this.damaged = new BitBoard(rows, columns);
+        Arrays.fill(cellShip, -1);
+    }
+
+    /**
+     * Registers a ship placed on the board.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @return the index of the ship, in placement order.
+     */
+    @Override
+    public int addShip(int row, int col, int size, boolean horizontal) {
+        if (shipCount == health.length) {
+            health = Arrays.copyOf(health, shipCount * 2);
+        }
+        int ship = shipCount++;
+        health[ship] = size;
+        afloatCells += size;
+
+        int step = horizontal ? 1 : columns;
+        for (int i = 0, index = row * columns + col; i < size; i++, index += step) {
+            cellShip[index] = ship;
+        }
+        return ship;
+    }
+
+    /**
+     * Resolves a shot fired at the board and updates the health of the ship it hits.
+     * A cell that was already hit does not damage its ship again.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    @Override
+    public ShotResult receiveShot(int row, int col) {
+        int ship = cellShip[row * columns + col];
+        if (ship < 0) {
+            return ShotResult.MISS;
+        }
+        if (!damaged.get(row, col)) {
+            damaged.set(row, col);
+            health[ship]--;
+            afloatCells--;
+            if (health[ship] == 0) {
+                return ShotResult.SUNK;
+            }
+        }
+        return ShotResult.HIT;
+    }
+
+    /**
+     * Returns the ship that occupies a cell.
+     *
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return the index of the ship, or -1 if the cell is water.
+     */
+    @Override
+    public int getShipAt(int row, int col) {
+        return cellShip[row * columns + col];
+    }
+
+    /**
+     * Returns the amount of intact cells of a ship.
+     *
+     * @param shipIndex the index of the ship.
+     * @return the remaining health of the ship.
+     */
+    @Override
+    public int getRemainingHealth(int shipIndex) {
+        return health[shipIndex];
+    }
+
+    /**
+     * Checks whether a ship was sunk.
+     *
+     * @param shipIndex the index of the ship.
+     * @return true if every cell of the ship was hit, false otherwise.
+     */
+    @Override
+    public boolean isSunk(int shipIndex) {
+        return health[shipIndex] == 0;
+    }
+
+    /**
+     * Returns the amount of registered ships.
+     *
+     * @return the amount of ships.
+     */
+    @Override
+    public int getShipCount() {
+        return shipCount;
+    }
+
+    /**
+     * Returns the amount of ship cells that were not hit yet.
+     *
+     * @return the intact cells of the whole fleet.
+     */
+    @Override
+    public int getAfloatCells() {
+        return afloatCells;
+    }
+
+    /**
+     * Checks whether every ship of the fleet was sunk.
+     *
+     * @return true if at least one ship was registered and none of them is afloat, false otherwise.
+     */
+    @Override
+    public boolean isFleetSunk() {
+        return shipCount > 0 && afloatCells == 0;
+    }
+}
@@ -0,0 +1,493 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.GameEngineInterface;
+import com.example.navalbattle.interfaces.TargetingStrategy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The GameEngine class holds the rules of a match between the player and the machine, apart
+ * from any user interface or persistence, so matches can be played by simulations, servers or
+ * tests without starting JavaFX.
+ *
+ * <p>The player places a fleet of ten ships, then the player fires first. A shot that hits a
+ * ship lets the shooter fire again and a miss passes the turn. The match is over when the last
+ * cell of a fleet is hit. Shots are resolved through the fleet indexes of both tables, and the
+ * machine's targeting engine is told about every shot it fires and every ship it sinks.</p>
+ *
+ * <p>The machine chooses its shots with a {@link TargetingStrategy} picked by name, the
+ * {@value TargetingStrategies#DEFAULT} one unless another is given. Only the name is
+ * serialized; the engine gets a new instance of the strategy when it is read back.</p>
+ *
+ * <p>Every move is kept packed with {@link MatchMove}, so {@link #getMoveHistory()} and the seed
+ * of the main table are enough to replay a match. A match resumed from a checkpoint starts
+ * from the moves the checkpoint kept. {@link #apply(int)} replays a move without checking the
+ * turn; the turn after a move only depends on that move, so a replay ends in the same state as
+ * the match. A match resumed from a checkpoint starts on the player's turn, since checkpoints
+ * do not record it.</p>
+ *
+ * <p>Every shot fired through the engine is counted and timed in the {@link GameMetrics}, and so
+ * is every decision of the strategy; replayed moves are not.</p>
+ *
+ * @see GameEngineInterface
+ */
+public class GameEngine implements GameEngineInterface, Serializable {
+
+    private static final int BOARD_SIZE = 10;
+
+    private final MainTable mainTable;
+    private final PositionTable positionTable;
+    private final String strategyName;
+    private transient TargetingStrategy strategy;
+    private int moveCount;
+    private boolean playerTurn = true;
+    private boolean finished;
+    private boolean playerWinner;
+
+    /**
+     * The packed moves made on this engine, in order.
+     */
+    private int[] moveHistory = new int[64];
+    private int moveHistorySize;
+
+    /**
+     * Starts a new match against a machine fleet placed at random.
+     */
+    public GameEngine() {
+        this(new MainTable(), new PositionTable(), 0);
+    }
+
+    /**
+     * Starts a new match against the machine fleet drawn from a seed.
+     *
+     * @param seed the seed of the machine's table.
+     */
+    public GameEngine(long seed) {
+        this(new MainTable(seed), new PositionTable(), 0);
+    }
+
+    /**
+     * Starts a new match against the machine fleet drawn from a seed, where the machine fires
+     * with the given targeting strategy.
+     *
+     * @param seed     the seed of the machine's table.
+     * @param strategy the name of the machine's targeting strategy.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+    public GameEngine(long seed, String strategy) {
+        this(new MainTable(seed), new PositionTable(), 0, strategy);
+    }
+
+    /**
+     * Resumes a match from a checkpoint. The boards of the checkpoint are modified by the match,
+     * and its moves start the history of the engine.
+     *
+     * @param checkpoint the saved match status.
+     */
+    public GameEngine(MatchStatusSerializable checkpoint) {
+        this(checkpoint, TargetingStrategies.DEFAULT);
+    }
+
+    /**
+     * Resumes a match from a checkpoint, where the machine fires with the given targeting strategy.
+     *
+     * @param checkpoint the saved match status.
+     * @param strategy   the name of the machine's targeting strategy.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+    public GameEngine(MatchStatusSerializable checkpoint, String strategy) {
+        this(checkpoint.getMainTable(), checkpoint.getPositionTable(), checkpoint.getMoveCount(), strategy);
+        int[] moves = checkpoint.getMoves();
+        if (moves != null && moves.length == moveCount) {
+            moveHistory = Arrays.copyOf(moves, Math.max(moveHistory.length, moves.length * 2));
+            moveHistorySize = moves.length;
+        }
+    }
+
+    /**
+     * Plays a match on the given boards.
+     *
+     * @param mainTable     the machine's board.
+     * @param positionTable the player's board.
+     * @param moveCount     the amount of moves already made on the boards.
+     */
+    public GameEngine(MainTable mainTable, PositionTable positionTable, int moveCount) {
+        this(mainTable, positionTable, moveCount, TargetingStrategies.DEFAULT);
+    }
+
+    /**
+     * Plays a match on the given boards, where the machine fires with the given targeting strategy.
+     *
+     * @param mainTable     the machine's board.
+     * @param positionTable the player's board.
+     * @param moveCount     the amount of moves already made on the boards.
+     * @param strategy      the name of the machine's targeting strategy.
+     * @throws IllegalArgumentException if there is no strategy with that name.
+     */
+    public GameEngine(MainTable mainTable, PositionTable positionTable, int moveCount, String strategy) {
+        this.strategy = TargetingStrategies.create(strategy);
+        this.strategyName = this.strategy.getName();
+        this.mainTable = mainTable;
+        this.positionTable = positionTable;
+        this.moveCount = moveCount;
+        this.playerWinner = mainTable.getFleetIndex().isFleetSunk();
+        this.finished = playerWinner || positionTable.getFleetIndex().isFleetSunk();
+    }
+
+    /**
+     * Restores an engine written with Java serialization, with a new instance of its strategy.
+     *
+     * @param in the stream the engine is read from.
+     * @throws IOException            if the engine cannot be read.
+     * @throws ClassNotFoundException if a class of the engine cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        strategy = TargetingStrategies.create(strategyName);
+    }
+
+    /**
+     * Places one of the player's ships, if the placement is legal.
+     *
+     * @param shipIndex   the index of the ship to place (1 to 4).
+     * @param row         the starting row of the ship.
+     * @param col         the starting column of the ship.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     */
+    @Override
+    public PlacementResult placeShip(int shipIndex, int row, int col, int orientation) {
+        PlacementResult result = positionTable.placeShip(shipIndex, row, col, orientation);
+        if (result == PlacementResult.PLACED) {
+            record(MatchMove.placement(shipIndex, row, col, orientation));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a shot fired by the player at the machine's fleet.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the outcome of the shot.
+     * @throws IllegalStateException    if it is not the player's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    @Override
+    public ShotOutcome playerShot(int row, int col) {
+        checkTurn(true);
+        checkCell(row, col, positionTable.getShotGrid());
+        long start = System.nanoTime();
+        ShotResult result = resolvePlayerShot(row, col);
+        record(MatchMove.playerShot(row, col));
+        recordMetrics(true, result, start);
+        return outcome(row, col, true, result);
+    }
+
+    /**
+     * Resolves the shot chosen by the machine's targeting strategy.
+     *
+     * @return the outcome of the shot.
+     * @throws IllegalStateException    if it is not the machine's turn to fire.
+     * @throws IllegalArgumentException if the strategy chose a cell off the board or already fired at.
+     */
+    @Override
+    public ShotOutcome machineShot() {
+        checkTurn(false);
+        long start = System.nanoTime();
+        int[] shot = strategy.selectShot(mainTable);
+        GameMetrics.get().recordDecision(start);
+        checkCell(shot[0], shot[1], mainTable.getShotGrid());
+        return fireMachineShot(shot[0], shot[1]);
+    }
+
+    /**
+     * Resolves a shot fired by the machine at a given cell.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the outcome of the shot.
+     * @throws IllegalStateException    if it is not the machine's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    @Override
+    public ShotOutcome machineShot(int row, int col) {
+        checkTurn(false);
+        checkCell(row, col, mainTable.getShotGrid());
+        return fireMachineShot(row, col);
+    }
+
+    /**
+     * Applies a packed move without checking whose turn it is, as when a recorded match is replayed.
+     * Applying a move allocates nothing but the growth of the move history.
+     *
+     * @param move the packed move, as built by {@link MatchMove}.
+     * @return the result of a shot, or null for a placement.
+     * @throws IllegalArgumentException if the move has no valid type.
+     */
+    @Override
+    public ShotResult apply(int move) {
+        int row = MatchMove.row(move);
+        int col = MatchMove.col(move);
+        ShotResult result = switch (MatchMove.type(move)) {
+            case MatchMove.PLACEMENT -> {
+                positionTable.setShipPosition(MatchMove.shipIndex(move), row, col, MatchMove.orientation(move));
+                yield null;
+            }
+            case MatchMove.PLAYER_SHOT -> resolvePlayerShot(row, col);
+            case MatchMove.MACHINE_SHOT -> resolveMachineShot(row, col);
+            default -> throw new IllegalArgumentException("Invalid move " + move);
+        };
+        record(move);
+        return result;
+    }
+
+    /**
+     * Returns the phase of the match.
+     *
+     * @return {@link MatchPhase#PLACEMENT} until the player's fleet is complete, then {@link MatchPhase#BATTLE}.
+     */
+    @Override
+    public MatchPhase getPhase() {
+        return MatchPhase.of(positionTable);
+    }
+
+    /**
+     * Checks whose turn it is to fire.
+     *
+     * @return true if the player fires next, false if the machine does.
+     */
+    @Override
+    public boolean isPlayerTurn() {
+        return playerTurn;
+    }
+
+    /**
+     * Checks whether one of the fleets was sunk.
+     *
+     * @return true if the match has a winner, false otherwise.
+     */
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Checks whether the player won the match.
+     *
+     * @return true if the player sank the machine's fleet, false otherwise.
+     */
+    @Override
+    public boolean isPlayerWinner() {
+        return playerWinner;
+    }
+
+    /**
+     * Returns the amount of moves of the match, counting the ones made before a checkpoint it was resumed from.
+     *
+     * @return the amount of moves.
+     */
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the name of the machine's targeting strategy.
+     *
+     * @return the name of the strategy.
+     */
+    @Override
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    /**
+     * Returns the moves of the match, from its first one. For a match resumed from a checkpoint
+     * that did not keep its moves, as saved by older versions, they are the moves made after it.
+     *
+     * @return a copy of the packed moves, in order.
+     */
+    @Override
+    public int[] getMoveHistory() {
+        return Arrays.copyOf(moveHistory, moveHistorySize);
+    }
+
+    /**
+     * Returns the machine's board.
+     *
+     * @return the main table.
+     */
+    @Override
+    public MainTable getMainTable() {
+        return mainTable;
+    }
+
+    /**
+     * Returns the player's board.
+     *
+     * @return the position table.
+     */
+    @Override
+    public PositionTable getPositionTable() {
+        return positionTable;
+    }
+
+    /**
+     * Resolves and records a machine shot at a cell that was already validated.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the outcome of the shot.
+     */
+    private ShotOutcome fireMachineShot(int row, int col) {
+        long start = System.nanoTime();
+        ShotResult result = resolveMachineShot(row, col);
+        record(MatchMove.machineShot(row, col));
+        recordMetrics(false, result, start);
+        return outcome(row, col, false, result);
+    }
+
+    /**
+     * Applies a shot of the player to both boards and passes the turn on a miss.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    private ShotResult resolvePlayerShot(int row, int col) {
+        ShotResult result = mainTable.receiveShot(row, col);
+        positionTable.recordShot(row, col, result != ShotResult.MISS);
+        if (result == ShotResult.MISS) {
+            playerTurn = false;
+        } else if (result == ShotResult.SUNK && mainTable.getFleetIndex().isFleetSunk()) {
+            finish(true);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a shot of the machine to both boards, tells its targeting engine about a sunk
+     * ship and passes the turn on a miss.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    private ShotResult resolveMachineShot(int row, int col) {
+        ShotResult result = positionTable.receiveShot(row, col);
+        mainTable.recordShot(row, col, result != ShotResult.MISS);
+        if (result == ShotResult.MISS) {
+            playerTurn = true;
+        } else if (result == ShotResult.SUNK) {
+            int[] ship = positionTable.getShipCoordinatesList().get(positionTable.getFleetIndex().getShipAt(row, col));
+            boolean horizontal = ship[4] == 1;
+            int size = horizontal ? ship[3] - ship[1] + 1 : ship[2] - ship[0] + 1;
+            mainTable.recordSunk(ship[0], ship[1], size, horizontal);
+            if (positionTable.getFleetIndex().isFleetSunk()) {
+                finish(false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the outcome of a shot that was just resolved.
+     *
+     * @param row        the row of the shot.
+     * @param col        the column of the shot.
+     * @param playerShot true if the player fired the shot.
+     * @param result     the result of the shot.
+     * @return the outcome of the shot.
+     */
+    private ShotOutcome outcome(int row, int col, boolean playerShot, ShotResult result) {
+        int[] sunkShip = null;
+        if (result == ShotResult.SUNK) {
+            if (playerShot) {
+                sunkShip = mainTable.getShipCoordinatesList().get(mainTable.getFleetIndex().getShipAt(row, col));
+            } else {
+                sunkShip = positionTable.getShipCoordinatesList().get(positionTable.getFleetIndex().getShipAt(row, col));
+            }
+        }
+        return new ShotOutcome(row, col, playerShot, result, sunkShip, finished, playerTurn);
+    }
+
+    /**
+     * Checks that a shot may be fired now.
+     *
+     * @param player true for a shot of the player, false for one of the machine.
+     * @throws IllegalStateException if the match is over, the player's fleet is not complete or it is not the shooter's turn.
+     */
+    private void checkTurn(boolean player) {
+        if (finished) {
+            throw new IllegalStateException("The match is over");
+        }
+        if (!positionTable.isBoardFull()) {
+            throw new IllegalStateException("The player's fleet is not complete");
+        }
+        if (playerTurn != player) {
+            throw new IllegalStateException(playerTurn ? "It is the player's turn" : "It is the machine's turn");
+        }
+    }
+
+    /**
+     * Checks that a cell is on the board and was not fired at by the shooter yet.
+     *
+     * @param row       the row of the shot.
+     * @param col       the column of the shot.
+     * @param shotGrid  the shot grid of the shooter.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    private static void checkCell(int row, int col, int[][] shotGrid) {
+        if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE) {
+            throw new IllegalArgumentException("Cell " + row + "," + col + " is off the board");
+        }
+        if (shotGrid[row][col] != 0) {
+            throw new IllegalArgumentException("Cell " + row + "," + col + " was already fired at");
+        }
+    }
+
+    /**
+     * Adds a move to the history.
+     *
+     * @param move the packed move.
+     */
+    private void record(int move) {
+        if (moveHistorySize == moveHistory.length) {
+            moveHistory = Arrays.copyOf(moveHistory, moveHistorySize * 2);
+        }
+        moveHistory[moveHistorySize++] = move;
+        moveCount++;
+    }
+
+    /**
+     * Records a shot that was just fired, and the end of the match if the shot ended it, in
+     * the {@link GameMetrics}.
+     *
+     * @param playerShot true if the player fired the shot.
+     * @param result     the result of the shot.
+     * @param startNanos the time the shot started being resolved.
+     */
+    private void recordMetrics(boolean playerShot, ShotResult result, long startNanos) {
+        GameMetrics metrics = GameMetrics.get();
+        metrics.recordShot(playerShot, result, startNanos);
+        if (finished) {
+            metrics.recordMatchOver(playerWinner);
+        }
+    }
+
+    /**
+     * Records the winner the first time a fleet is sunk.
+     *
+     * @param playerWon true if the player sank the machine's fleet, false otherwise.
+     */
+    private void finish(boolean playerWon) {
+        if (!finished) {
+            finished = true;
+            playerWinner = playerWon;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.GameMetricsMXBean;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The GameMetrics class counts the shots and matches played in this JVM and times the
+ * resolution of every shot and every decision of the machine's targeting strategy. A single
+ * instance is shared by every match, and published over JMX the first time it is used:
+ * <ul>
+ *     <li>{@code com.example.navalbattle:type=Game}: the counters and the node counts of the fleet grids.</li>
+ *     <li>{@code com.example.navalbattle:type=Game,name=ShotLatency}: resolving a shot on both boards.</li>
+ *     <li>{@code com.example.navalbattle:type=Game,name=DecisionLatency}: the strategy choosing a shot.</li>
+ * </ul>
+ *
+ * <p>Recording is lock-free and allocates nothing, so the many matches of a server record into
+ * it at once. Moves replayed from a journal are not counted.</p>
+ *
+ * @see GameMetricsMXBean
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    /**
+     * Holds the instance shared by every match, published on first use.
+     */
+    private static class Holder {
+        private static final GameMetrics INSTANCE = register(new GameMetrics());
+
+        private static GameMetrics register(GameMetrics metrics) {
+            MetricsRegistry.register(metrics, "type=Game");
+            MetricsRegistry.register(metrics.shotLatency, "type=Game,name=ShotLatency");
+            MetricsRegistry.register(metrics.decisionLatency, "type=Game,name=DecisionLatency");
+            return metrics;
+        }
+    }
+
+    private final LongAdder playerShots = new LongAdder();
+    private final LongAdder machineShots = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder shipsSunk = new LongAdder();
+    private final LongAdder playerWins = new LongAdder();
+    private final LongAdder machineWins = new LongAdder();
+    private final LatencyHistogram shotLatency = new LatencyHistogram();
+    private final LatencyHistogram decisionLatency = new LatencyHistogram();
+    private volatile int userFleetNodes;
+    private volatile int machinesFleetNodes;
+
+    private GameMetrics() {
+    }
+
+    /**
+     * Returns the metrics shared by every match, publishing them over JMX on the first call.
+     *
+     * @return the metrics.
+     */
+    public static GameMetrics get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Records a resolved shot.
+     *
+     * @param playerShot true if the player fired the shot, false for the machine.
+     * @param result     the result of the shot.
+     * @param startNanos the time the shot started being resolved, from {@link System#nanoTime()}.
+     */
+    public void recordShot(boolean playerShot, ShotResult result, long startNanos) {
+        shotLatency.recordSince(startNanos);
+        (playerShot ? playerShots : machineShots).increment();
+        switch (result) {
+            case MISS -> misses.increment();
+            case HIT -> hits.increment();
+            case SUNK -> shipsSunk.increment();
+        }
+    }
+
+    /**
+     * Records a shot chosen by the machine's targeting strategy.
+     *
+     * @param startNanos the time the strategy was asked for the shot, from {@link System#nanoTime()}.
+     */
+    public void recordDecision(long startNanos) {
+        decisionLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Records the end of a match.
+     *
+     * @param playerWon true if the player won the match.
+     */
+    public void recordMatchOver(boolean playerWon) {
+        (playerWon ? playerWins : machineWins).increment();
+    }
+
+    /**
+     * Records the amount of nodes in the grids of the fleets. Called from the JavaFX
+     * application thread whenever they change.
+     *
+     * @param userFleet     the nodes in the grid of the player's fleet.
+     * @param machinesFleet the nodes in the grid of the machine's fleet.
+     */
+    public void recordFleetNodes(int userFleet, int machinesFleet) {
+        userFleetNodes = userFleet;
+        machinesFleetNodes = machinesFleet;
+    }
+
+    @Override
+    public long getPlayerShots() {
+        return playerShots.sum();
+    }
+
+    @Override
+    public long getMachineShots() {
+        return machineShots.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getShipsSunk() {
+        return shipsSunk.sum();
+    }
+
+    @Override
+    public long getPlayerWins() {
+        return playerWins.sum();
+    }
+
+    @Override
+    public long getMachineWins() {
+        return machineWins.sum();
+    }
+
+    @Override
+    public int getUserFleetNodes() {
+        return userFleetNodes;
+    }
+
+    @Override
+    public int getMachinesFleetNodes() {
+        return machinesFleetNodes;
+    }
+
+    /**
+     * @return the timings of the resolution of the shots.
+     */
+    public LatencyHistogram getShotLatency() {
+        return shotLatency;
+    }
+
+    /**
+     * @return the timings of the decisions of the machine's targeting strategies.
+     */
+    public LatencyHistogram getDecisionLatency() {
+        return decisionLatency;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.navalbattle.models;
 
 import com.example.navalbattle.interfaces.GameModelInterface;
+import com.example.navalbattle.interfaces.PersistenceErrorListener;
+import com.example.navalbattle.interfaces.WinnerListener;
 
 import java.io.IOException;
 import java.io.Serializable;
@@ -9,15 +11,17 @@ import java.io.Serializable;
  * The GameModel class represents the core data structure and state management
  * for the Naval Battle game. It holds the main game tables (player's position table
  * and machine's main table) and integrates persistence functionality to allow
- * saving and loading game progress.
+ * saving and loading game progress. The rules of the match are applied by a
+ * {@link GameEngine}; this class journals its moves and announces the winner.
  */
 public class GameModel implements GameModelInterface, Serializable {
 
-    private PositionTable positionTable;
-    private MainTable mainTable;
+    private GameEngine engine;
     private final GamePersistenceModel gamePersistenceModel;
     private MatchStatusSerializable previousMatch;
     private String nickname;
+    private String targetingStrategy = TargetingStrategies.DEFAULT;
+    private transient WinnerListener winnerListener;
     /**
      * Constructs a new GameModel, initializing the position and main tables.
      * Attempts to load a previous match from storage; if none is found,
@@ -44,7 +48,7 @@ public class GameModel implements GameModelInterface, Serializable {
      */
     @Override
     public MainTable getMainTable() {
-        return mainTable;
+        return engine.getMainTable();
     }
 
     /**
@@ -54,25 +58,47 @@ public class GameModel implements GameModelInterface, Serializable {
      */
     @Override
     public PositionTable getPositionTable() {
-        return positionTable;
+        return engine.getPositionTable();
+    }
+
+    /**
+     * Picks the targeting strategy the machine uses in the matches started or loaded from now on.
+     *
+     * @param name the name of the strategy
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    @Override
+    public void setTargetingStrategy(String name) {
+        targetingStrategy = TargetingStrategies.create(name).getName();
     }
 
     /**
      * Checks if there is a previous match saved for the given nickname.
-     * If a previous match is found, it loads the match; otherwise, creates a new match.
+     * Only the index of the saved matches is looked up; the match itself is read by
+     * {@link #loadPreviousMatch()}. If no previous match is found, creates a new match.
      *
      * @param nickname the nickname of the player
      * @return true if a previous match exists, false otherwise
      */
     @Override
     public boolean existsPreviousMatch(String nickname) {
-        try {
-            previousMatch = this.previousMatch();
-        } catch (ClassNotFoundException | IOException e) {
-            newMatch(nickname);
-            return false;
+        this.nickname = nickname;
+        if (gamePersistenceModel.hasMatch(nickname)) {
+            return true;
         }
-        return true;
+        newMatch(nickname);
+        return false;
+    }
+
+    /**
+     * Reads the summary of the previous match found by {@link #existsPreviousMatch(String)},
+     * from the header of the save. The boards are only read by {@link #loadPreviousMatch()}.
+     *
+     * @return the summary, or null if it cannot be read or the match was saved without one
+     */
+    @Override
+    public MatchSummary getPreviousMatchSummary() {
+        return gamePersistenceModel.probeMatch(nickname);
     }
 
     /**
@@ -83,43 +109,190 @@ public class GameModel implements GameModelInterface, Serializable {
      */
     @Override
     public void newMatch(String nickname) {
-        positionTable = new PositionTable();
-        mainTable = new MainTable();
-        gamePersistenceModel.registerNewMatch(mainTable ,positionTable, nickname);
+        this.nickname = nickname;
+        engine = new GameEngine(new MainTable(), new PositionTable(), 0, targetingStrategy);
+        gamePersistenceModel.registerNewMatch(engine.getMainTable(), engine.getPositionTable(), nickname);
     }
 
     /**
      * Loads the previous match from persistent storage.
      * This method restores the match's state by assigning the player's nickname,
-     * position table, and main table.
+     * position table, and main table, then replays the moves journaled after that state.
+     * The player has the first turn, unless the journal ends with a miss of the player.
+     *
+     * @return true if the match was loaded, false if it could not be read
      */
     @Override
-    public void loadPreviousMatch() {
+    public boolean loadPreviousMatch() {
+        try {
+            previousMatch = this.previousMatch();
+        } catch (ClassNotFoundException | IOException e) {
+            System.err.println("Error loading the previous match: " + e.getMessage());
+            return false;
+        }
         nickname = previousMatch.getNickName();
-        positionTable = previousMatch.getPositionTable();
-        mainTable = previousMatch.getMainTable();
+        engine = new GameEngine(previousMatch, targetingStrategy);
+
+        // Moves made after the last checkpoint were only journaled
+        for (int move : gamePersistenceModel.readJournal()) {
+            engine.apply(move);
+        }
+        if (engine.isFinished()) {
+            finishMatch(engine.isPlayerWinner());
+        }
+        return true;
     }
 
     /**
-     * Loads the previous match state from persistent storage.
+     * Loads the previous match state of the current player from persistent storage.
      * This method allows the game to resume from the last saved state.
      *
      * @return the deserialized MatchStatusSerializable containing the previous game state
      * @throws ClassNotFoundException if the class of a serialized object cannot be found
-     * @throws IOException if an I/O error occurs while reading the saved file
+     * @throws IOException if the player has no saved match or an I/O error occurs while reading it
      */
     @Override
     public MatchStatusSerializable previousMatch() throws ClassNotFoundException, IOException {
-        return gamePersistenceModel.deserialize();
+        return gamePersistenceModel.deserialize(nickname);
+    }
+
+    /**
+     * Places one of the player's ships on the position table, if the placement is legal,
+     * and journals the placement.
+     *
+     * @param shipIndex   the index of the ship to place
+     * @param row         the starting row of the ship
+     * @param col         the starting column of the ship
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal)
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed
+     */
+    @Override
+    public PlacementResult placeShip(int shipIndex, int row, int col, int orientation) {
+        PlacementResult result = engine.placeShip(shipIndex, row, col, orientation);
+        if (result == PlacementResult.PLACED) {
+            gamePersistenceModel.recordMove(MatchMove.placement(shipIndex, row, col, orientation));
+        }
+        return result;
+    }
+
+    /**
+     * Sets the listener notified when the shot that sinks the last ship of a fleet is resolved.
+     *
+     * @param winnerListener the listener, or null to stop the notifications
+     */
+    @Override
+    public void setWinnerListener(WinnerListener winnerListener) {
+        this.winnerListener = winnerListener;
+    }
+
+    /**
+     * Sets the listener notified when saving the match fails. Saves are written in the
+     * background, so the listener is called from the writer thread.
+     *
+     * @param errorListener the listener, or null to only log the errors
+     */
+    @Override
+    public void setPersistenceErrorListener(PersistenceErrorListener errorListener) {
+        gamePersistenceModel.setErrorListener(errorListener);
+    }
+
+    /**
+     * Checks whether the current match already has a winner.
+     *
+     * @return true if one of the fleets was sunk, false otherwise
+     */
+    @Override
+    public boolean isFinished() {
+        return engine.isFinished();
+    }
+
+    /**
+     * Checks whose turn it is to fire.
+     *
+     * @return true if the player fires next, false if the machine does
+     */
+    @Override
+    public boolean isPlayerTurn() {
+        return engine.isPlayerTurn();
+    }
+
+    /**
+     * Resolves a shot fired by the player at the machine's fleet and journals it.
+     * Sinking the machine's last ship finishes the match, removes its tracking and
+     * notifies the winner listener.
+     *
+     * @param row the row of the shot
+     * @param col the column of the shot
+     * @return the outcome of the shot
+     * @throws IllegalStateException    if it is not the player's turn to fire
+     * @throws IllegalArgumentException if the cell was already fired at
+     */
+    @Override
+    public ShotOutcome playerShot(int row, int col) {
+        ShotOutcome outcome = engine.playerShot(row, col);
+        gamePersistenceModel.recordMove(MatchMove.playerShot(row, col));
+        if (outcome.isMatchOver()) {
+            finishMatch(true);
+        }
+        return outcome;
+    }
+
+    /**
+     * Resolves the shot chosen by the machine's targeting engine and journals it.
+     * Sinking the player's last ship finishes the match, removes its tracking and
+     * notifies the winner listener.
+     *
+     * @return the outcome of the shot
+     * @throws IllegalStateException if it is not the machine's turn to fire
+     */
+    @Override
+    public ShotOutcome machineShot() {
+        ShotOutcome outcome = engine.machineShot();
+        gamePersistenceModel.recordMove(MatchMove.machineShot(outcome.getRow(), outcome.getCol()));
+        if (outcome.isMatchOver()) {
+            finishMatch(false);
+        }
+        return outcome;
+    }
+
+    /**
+     * Returns the moves of the current match. Together with the seed of the main table they
+     * rebuild the match with {@link MatchReplay#of(long, int[])}, even once it was saved and
+     * resumed. A match saved by a version that did not keep its moves only has the moves made
+     * after it was resumed, and is rebuilt from its checkpoint instead.
+     *
+     * @return a copy of the packed moves, in order
+     */
+    @Override
+    public int[] getMoveHistory() {
+        return engine.getMoveHistory();
+    }
+
+    /**
+     * Finishes the match once a fleet is sunk: its saved state is removed
+     * and the winner listener is notified.
+     *
+     * @param playerWon true if the player sank the machine's fleet, false otherwise
+     */
+    private void finishMatch(boolean playerWon) {
+        removeMatchTracking();
+        if (winnerListener != null) {
+            winnerListener.onWinner(playerWon);
+        }
     }
 
     /**
      * Saves the current game state to persistent storage.
-     * This method takes a snapshot of the current position and main tables and saves it.
+     * Moves are journaled as they are made, so this method only takes a snapshot of the
+     * current position and main tables once enough moves were journaled since the last one.
+     * A finished match is not saved.
      */
     @Override
     public void saveGame() {
-        gamePersistenceModel.takeSnapshot(mainTable, positionTable);
+        if (engine.isFinished()) {
+            return;
+        }
+        gamePersistenceModel.takeSnapshot(engine.getMainTable(), engine.getPositionTable());
     }
 
     /**
@@ -1,36 +1,143 @@
 package com.example.navalbattle.models;
 
 import com.example.navalbattle.interfaces.GamePersistenceInterface;
+import com.example.navalbattle.interfaces.PersistenceErrorListener;
+import com.example.navalbattle.models.legacy.LegacyMatchReader;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.FlightRecorder;
 
 /**
- * Handles the persistence of the game state for a single match in the Battleship game.
+ * Handles the persistence of the game state for the match of a player in the Battleship game.
  * This class is responsible for saving and loading the game state to allow players
  * to resume from their last saved position.
 
- * The class operates by serializing a single {@link MatchStatusSerializable} instance
- * which represents the boards of both the player and the machine.
+ * The class operates by saving a single {@link MatchStatusSerializable} instance
+ * which represents the boards of both the player and the machine, in the binary format
+ * of {@link MatchCodec}. Saves written with Java serialization by older versions are
+ * migrated on load. That checkpoint is only
+ * rewritten every {@value #CHECKPOINT_INTERVAL} moves; in between, each placement and shot
+ * is appended to a {@link MatchJournal} and replayed on load.
+ * Each player's match is kept in its own slot of a {@link MatchStore} shared by every instance,
+ * in the {@code .navalbattle} directory of the user's home, or in the directory named by the
+ * {@value #DIRECTORY_PROPERTY} system property.
+ * The match is encoded on the calling thread, but the files are written by a
+ * {@link PersistenceWriter}, so saving never waits for the disk. The time taken by saves and
+ * loads is recorded in the {@link PersistenceMetrics}.
  */
 public class GamePersistenceModel implements GamePersistenceInterface {
 
+    /**
+     * The system property naming the directory of the saved matches.
+     */
+    public static final String DIRECTORY_PROPERTY = "navalbattle.saves";
+
+    /**
+     * The directory of the saved matches under the user's home, unless {@value #DIRECTORY_PROPERTY} names another.
+     */
+    private static final String DIRECTORY = ".navalbattle";
+
+    /**
+     * The amount of journaled moves after which the next save writes a new checkpoint.
+     */
+    private static final int CHECKPOINT_INTERVAL = 32;
+
+    /**
+     * The maximum amount of save operations waiting for the writer thread.
+     */
+    private static final int WRITE_QUEUE_CAPACITY = 256;
+
+    /**
+     * The amount of recently used matches kept in memory by the store.
+     */
+    private static final int MATCH_CACHE_SIZE = 16;
+
+    /**
+     * The time the pending saves are given to be written when the application exits.
+     */
+    private static final long FLUSH_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Holds the store shared by every instance, so the operations on the save files
+     * are written in order by a single thread. Pending saves are flushed on exit.
+     */
+    private static class StoreHolder {
+        private static final MatchStore INSTANCE = createStore();
+
+        private static MatchStore createStore() {
+            PersistenceWriter writer = new PersistenceWriter(WRITE_QUEUE_CAPACITY);
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> writer.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS), "match-persistence-flush"));
+            return new MatchStore(directory(), writer, MATCH_CACHE_SIZE);
+        }
+
+        private static Path directory() {
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            if (directory != null && !directory.isBlank()) {
+                return Paths.get(directory);
+            }
+            return Paths.get(System.getProperty("user.home"), DIRECTORY);
+        }
+    }
+
     private MatchStatusSerializable currentMatchStatus;
+    private final MatchStore store = StoreHolder.INSTANCE;
+    private final MatchCodec codec = new MatchCodec();
+    private final PersistenceMetrics metrics = PersistenceMetrics.get();
+
+    /**
+     * The amount of moves of the current match, counting the ones before the last checkpoint.
+     */
+    private int moveCount;
 
     /**
-     * Constructor for the GamePersistenceModel class.
-     * Initializes the directory for storing previous match data.
-     * If the directory does not exist, it creates it.
+     * The moves of the current match, in order, kept in every checkpoint so the match can be
+     * replayed from its seed. Null if the match was saved by a version that did not keep them.
      */
-    public GamePersistenceModel() {
-        File directory = new File("./src/main/resources/com/example/navalbattle/previousMatch");
-        if (!directory.exists()) {
-            directory.mkdir();
+    private int[] moves;
+
+    /**
+     * True once a move could not be queued or the writer could not journal one. Moves are no
+     * longer journaled until the next save writes a checkpoint, so the journal never skips a move.
+     */
+    private boolean checkpointPending;
+
+    /**
+     * Checks whether a player has a saved match. Only the index of the store is looked up.
+     *
+     * @param nickname the player's nickname
+     * @return true if the player has a saved match, false otherwise
+     */
+    @Override
+    public boolean hasMatch(String nickname) {
+        return store.find(nickname) != null;
+    }
+
+    /**
+     * Reads the summary of a player's saved match from the header of the save,
+     * without rebuilding its boards.
+     *
+     * @param nickname the player's nickname
+     * @return the summary, or null if it cannot be read or the match was saved without one
+     */
+    @Override
+    public MatchSummary probeMatch(String nickname) {
+        try {
+            return store.probe(nickname);
+        } catch (IOException e) {
+            System.err.println("Error reading the saved match header: " + e.getMessage());
+            return null;
         }
     }
 
     /**
      * Registers a new match by creating a {@link MatchStatusSerializable} instance
-     * and serializing it to a file.
+     * and serializing it to the player's slot, replacing any match saved there.
+     * The journal is started over.
      *
      * @param mainTable     the game board of the machine
      * @param positionTable the game board of the player
@@ -38,70 +145,195 @@ public class GamePersistenceModel implements GamePersistenceInterface {
      */
     @Override
     public void registerNewMatch(MainTable mainTable, PositionTable positionTable, String nickname) {
+        long start = System.nanoTime();
         currentMatchStatus = new MatchStatusSerializable(mainTable, positionTable, nickname);
-        serialize(currentMatchStatus);
+        currentMatchStatus.setMoves(new int[0]);
+        moveCount = 0;
+        moves = new int[64];
+        checkpointPending = false;
+        store.save(nickname, codec.encode(currentMatchStatus), 0, MatchPhase.of(positionTable));
+        metrics.recordSave(start);
     }
 
     /**
-     * Serializes the current match status and saves it to a file.
+     * Serializes a match status and queues it to be saved to the slot of its player.
+     * The file is written next to the previous one and then moved over it,
+     * so a crash never leaves a half-written checkpoint. The journal is started over.
+     * The save is recorded as a {@link MatchSaveEvent} while Flight Recorder runs.
      *
      * @param match the {@link MatchStatusSerializable} object to be serialized.
      */
     @Override
     public void serialize(MatchStatusSerializable match) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream("./src/main/resources/com/example/navalbattle/previousMatch/previous_match.ser"))){
-            oos.writeObject(currentMatchStatus);
-            oos.flush();
-        } catch (IOException e) {
-            System.err.println("Error saving the current match status: " + e.getMessage());
+        MatchSaveEvent event = FlightRecorder.isInitialized() ? MatchSaveEvent.start() : null;
+        long start = System.nanoTime();
+        byte[] data = codec.encode(match);
+        MatchPhase phase = MatchPhase.of(match.getPositionTable());
+        store.save(match.getNickName(), data, match.getMoveCount(), phase);
+        metrics.recordSave(start);
+        if (event != null) {
+            MatchSaveEvent.commit(event, match.getNickName(), match.getMoveCount(), phase, data.length);
         }
     }
 
     /**
-     * Deserializes the match status from a saved file and returns it.
+     * Deserializes the match status of a player and returns it, once the pending saves were
+     * written. The moves journaled after it are read with {@link #readJournal()}.
+     * A match saved with Java serialization by an older version is migrated
+     * and saved again in the binary format.
      *
+     * @param nickname the player's nickname
      * @return the deserialized {@link MatchStatusSerializable} object representing the saved match state.
      * @throws ClassNotFoundException if the class for the object cannot be found.
-     * @throws IOException            if there is an issue reading the file.
+     * @throws IOException            if the player has no saved match or there is an issue reading it.
      */
     @Override
-    public MatchStatusSerializable deserialize() throws ClassNotFoundException, IOException{
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream("./src/main/resources/com/example/navalbattle/previousMatch/previous_match.ser"))) {
-            currentMatchStatus = (MatchStatusSerializable) ois.readObject();
+    public MatchStatusSerializable deserialize(String nickname) throws ClassNotFoundException, IOException{
+        long start = System.nanoTime();
+        flush();
+        byte[] data = store.load(nickname);
+        checkpointPending = false;
+        if (codec.isEncoded(data)) {
+            currentMatchStatus = codec.decode(data);
+            moveCount = currentMatchStatus.getMoveCount();
+            int[] saved = currentMatchStatus.getMoves();
+            moves = saved == null ? null : Arrays.copyOf(saved, 2 * moveCount + 64);
+            metrics.recordLoad(start);
+            return currentMatchStatus;
         }
+
+        currentMatchStatus = new LegacyMatchReader().read(data);
+        moveCount = currentMatchStatus.getMoveCount();
+        moves = null;
+        System.out.println("Previous match migrated to the binary save format");
+        serialize(currentMatchStatus);
+        metrics.recordLoad(start);
         return currentMatchStatus;
     }
 
     /**
-     * Takes a snapshot of the current game state by saving the match status.
-     * The snapshot is then serialized to store the current state.
+     * Reads the moves journaled after the last deserialized checkpoint.
+     *
+     * @return the packed moves to replay on top of the checkpoint, in order.
+     */
+    @Override
+    public int[] readJournal() {
+        int[] journaled;
+        try {
+            journaled = store.readJournal(currentMatchStatus.getNickName(), currentMatchStatus.getMoveCount());
+        } catch (IOException e) {
+            System.err.println("Error reading the match journal: " + e.getMessage());
+            journaled = new int[0];
+        }
+        moveCount = currentMatchStatus.getMoveCount();
+        for (int move : journaled) {
+            addMove(move);
+        }
+        return journaled;
+    }
+
+    /**
+     * Queues the append of a move of the current match to the journal.
+     * If the queue is full, or the journal lost one of the previous moves, the move is left
+     * to the checkpoint written by the next snapshot.
+     *
+     * @param move the packed move, as built by {@link MatchMove}.
+     */
+    @Override
+    public void recordMove(int move) {
+        addMove(move);
+        if (needsCheckpoint()) {
+            return;
+        }
+        boolean queued = store.append(currentMatchStatus.getNickName(), move);
+        metrics.recordAppend(queued);
+        if (!queued) {
+            System.err.println("Save queue full, the next save writes a checkpoint");
+            checkpointPending = true;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current game state once enough moves were journaled
+     * since the last one, or a move could not be journaled. The snapshot is then
+     * serialized and queued, and the journal started over.
      *
      * @param mainTable     the game board of the machine
      * @param positionTable the game board of the player
      */
     @Override
     public void takeSnapshot(MainTable mainTable, PositionTable positionTable) {
+        if (!needsCheckpoint() && moveCount - currentMatchStatus.getMoveCount() < CHECKPOINT_INTERVAL) {
+            return;
+        }
         currentMatchStatus.saveSnapShot(mainTable, positionTable);
+        currentMatchStatus.setMoveCount(moveCount);
+        currentMatchStatus.setMoves(moves == null ? null : Arrays.copyOf(moves, moveCount));
         serialize(currentMatchStatus);
+        checkpointPending = false;
     }
 
     /**
-     * Deletes the saved match status file if it exists.
+     * Counts a move of the current match and adds it to its moves, if they are known.
+     *
+     * @param move the packed move.
+     */
+    private void addMove(int move) {
+        if (moves != null) {
+            if (moveCount == moves.length) {
+                moves = Arrays.copyOf(moves, moves.length * 2);
+            }
+            moves[moveCount] = move;
+        }
+        moveCount++;
+    }
+
+    /**
+     * Checks whether the next save must write a checkpoint, because a move could not be
+     * queued or the writer failed to journal one. Moves are then left to that checkpoint.
+     *
+     * @return true if the next save must write a checkpoint.
+     */
+    private boolean needsCheckpoint() {
+        if (!checkpointPending && store.isJournalBroken(currentMatchStatus.getNickName())) {
+            System.err.println("The match journal lost a move, the next save writes a checkpoint");
+            checkpointPending = true;
+        }
+        return checkpointPending;
+    }
+
+    /**
+     * Removes the current match from the store and queues the deletion of its files.
      * Outputs a message indicating whether the deletion was successful.
      */
     @Override
     public void deleteMatchStatus() {
-        File matchStatus = new File("./src/main/resources/com/example/navalbattle/previousMatch/previous_match.ser");
-
-        if (matchStatus.exists()) {
-            boolean deleted = matchStatus.delete();
-            if (deleted) {
-                System.out.println("Match deleted successfully");
-            } else {
-                System.out.println("Error deleting match status: " + matchStatus.getAbsolutePath());
-            }
-        } else {
-            System.out.println("No match found");
+        if (currentMatchStatus != null) {
+            store.delete(currentMatchStatus.getNickName());
         }
     }
+
+    /**
+     * Waits until the pending saves were written, for at most {@value #FLUSH_TIMEOUT_SECONDS} seconds.
+     *
+     * @return true if every pending save was written, false if the timeout elapsed first.
+     */
+    @Override
+    public boolean flush() {
+        boolean flushed = store.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!flushed) {
+            System.err.println("Timed out waiting for the pending saves");
+        }
+        return flushed;
+    }
+
+    /**
+     * Sets the listener notified when a save fails on the writer thread.
+     *
+     * @param errorListener the listener, or null to only log the errors.
+     */
+    @Override
+    public void setErrorListener(PersistenceErrorListener errorListener) {
+        store.setErrorListener(errorListener);
+    }
 }
@@ -0,0 +1,149 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.LatencyHistogramMXBean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class counts the durations of an operation in buckets, so their
+ * percentiles can be read at any time without keeping every sample.
+ *
+ * <p>Each power of two of nanoseconds is split into eight buckets, which keeps the percentiles
+ * within an eighth of the recorded values from nanoseconds to hours in under 500 counters.
+ * Recording is lock-free and allocates nothing, so the game, server and writer threads record
+ * into the same histogram. A reset that runs while operations are recorded may keep some of
+ * them.</p>
+ *
+ * @see LatencyHistogramMXBean
+ */
+public class LatencyHistogram implements LatencyHistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the duration of an operation that started at the given time.
+     *
+     * @param startNanos the start of the operation, from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param nanos the duration, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long operations = count.sum();
+        return operations == 0 ? 0 : total.sum() / 1000.0 / operations;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentile(0.50);
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentile(0.90);
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return max.get() / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns a percentile of the recorded durations, as the upper bound of its bucket.
+     *
+     * @param fraction the percentile, between 0 and 1.
+     * @return the duration, in microseconds, or 0 if nothing was recorded.
+     */
+    public double percentile(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            recorded += snapshot[i];
+        }
+        long threshold = Math.max(1, (long) Math.ceil(recorded * fraction));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && recorded > 0; i++) {
+            seen += snapshot[i];
+            if (seen >= threshold) {
+                long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(upper, max.get()) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bucket of a duration: the duration itself below eight nanoseconds, then
+     * eight buckets for every power of two.
+     *
+     * @param nanos the duration, not negative.
+     * @return the index of its bucket.
+     */
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the smallest duration counted in a bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the duration, in nanoseconds.
+     */
+    private static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+}
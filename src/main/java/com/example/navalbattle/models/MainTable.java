@@ -2,8 +2,12 @@ package com.example.navalbattle.models;
 
 import com.example.navalbattle.interfaces.MainTableInterface;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.random.RandomGenerator;
+import jdk.jfr.FlightRecorder;
 
 /**
  * The MainTable class represents the machine's game board in a battleship game.
@@ -16,17 +20,62 @@ import java.util.*;
  */
 public class MainTable implements MainTableInterface, Serializable {
 
+    /**
+     * The number of rows of the board.
+     */
+    private static final int ROWS = 10;
+
+    /**
+     * The number of columns of the board.
+     */
+    private static final int COLUMNS = 10;
+
     /**
      * A 10x10 grid representing the game board.
      * Each cell can be either 0 (water) or a number corresponding to a ship.
      */
-    private int[][] board = new int[10][10];
+    private final int[][] board = new int[ROWS][COLUMNS];
 
     /**
      * A 10x10 grid representing the shot history grid.
-     * Each cell is either 0 (no shot), 1 (hit), or 2 (miss).
+     * Each cell is either 0 (no shot), 6 (hit), or 5 (miss).
+     */
+    private final int[][] shotGrid = new int[ROWS][COLUMNS];
+
+    /**
+     * Bit plane of the cells occupied by the machine's ships.
+     */
+    private final BitBoard shipMask = new BitBoard(ROWS, COLUMNS);
+
+    /**
+     * Bit plane of the machine's shots that hit a ship.
      */
-    private final int[][] shotGrid = new int[10][10];
+    private final BitBoard hitMask = new BitBoard(ROWS, COLUMNS);
+
+    /**
+     * Bit plane of the machine's shots that landed on water.
+     */
+    private final BitBoard missMask = new BitBoard(ROWS, COLUMNS);
+
+    /**
+     * Bit plane of the cells of the player's ships that the machine already sank.
+     */
+    private final BitBoard sunkMask = new BitBoard(ROWS, COLUMNS);
+
+    /**
+     * The index from the cells of the board to the machine's ships.
+     */
+    private final FleetIndex fleetIndex = new FleetIndex(ROWS, COLUMNS);
+
+    /**
+     * The amount of the player's ships still afloat, indexed by ship size.
+     */
+    private final int[] remainingTargets = {0, 4, 3, 2, 1};
+
+    /**
+     * The engine used to rank the cells of the player's board.
+     */
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting(ROWS, COLUMNS);
 
     /**
      * A list storing the coordinates and related data for each ship.
@@ -38,14 +87,38 @@ public class MainTable implements MainTableInterface, Serializable {
     private final List<int[]> shipCoordinatesList = new ArrayList<>();
 
     /**
-     * A list storing the coordinates of the shots fired by the machine.
+     * The shared catalog of every placement that fits on a 10x10 board.
+     */
+    private static final PlacementCatalog CATALOG = PlacementCatalog.of(ROWS, COLUMNS);
+
+    /**
+     * The cells of the player's board the machine has not shot yet.
+     */
+    private final CellSampler sampler = new CellSampler(ROWS * COLUMNS);
+
+    /**
+     * The coordinates of every cell, indexed by row-major cell index.
+     * Shots return these shared pairs instead of allocating a new array per shot,
+     * so callers must not modify them.
+     */
+    private static final int[][] CELL_COORDINATES = new int[ROWS * COLUMNS][];
+
+    static {
+        for (int cell = 0; cell < ROWS * COLUMNS; cell++) {
+            CELL_COORDINATES[cell] = new int[]{cell / COLUMNS, cell % COLUMNS};
+        }
+    }
+
+    /**
+     * The seed the fleet and the shots of this table were drawn from.
      */
-    private final List<int[]> shots = new ArrayList<>();
+    private final long seed;
 
     /**
      * A random number generator used for placing ships and selecting shots.
+     * It is created from the seed, or injected, and is not serialized.
      */
-    private final Random random = new Random();
+    private transient RandomGenerator random;
 
     /**
      * A list of ships placed on the board.
@@ -58,25 +131,96 @@ public class MainTable implements MainTableInterface, Serializable {
      * Initializes the game board, places the ships randomly, and displays the board.
      */
     public MainTable() {
-        ships.add(new Ship(4,4, 1));
-        ships.add(new Ship(3,3, 2));
-        ships.add(new Ship(2,2, 3));
-        ships.add(new Ship(1,1, 4));
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Constructor for the MainTable class that draws the seed of the table from the given
+     * random generator, so headless simulations can seed every table.
+     *
+     * @param random the random generator the seed of the table is drawn from.
+     */
+    public MainTable(RandomGenerator random) {
+        this(random.nextLong());
+    }
+
+    /**
+     * Constructor for the MainTable class that places the fleet and selects the shots
+     * from a {@link SplittableRandom} with the given seed, so the same seed always gives
+     * the same fleet and the same shots.
+     *
+     * @param seed the seed of the table.
+     */
+    public MainTable(long seed) {
+        this(seed, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructor for the MainTable class that places the fleet and selects the shots
+     * from an injected generator. The seed is only recorded, for the saves; the table is
+     * reproducible if the generator was created from it.
+     *
+     * @param seed   the seed recorded for the table.
+     * @param random the generator used for placing ships and selecting shots.
+     */
+    public MainTable(long seed, RandomGenerator random) {
+        this.seed = seed;
+        this.random = random;
+        addFleetShips();
         startBoard();
     }
 
     /**
-     * Constructor for the MainTable class that loads a previous game board.
+     * Constructor for the MainTable class that restores a saved table without placing a fleet.
+     * The ships are added back with {@link #placeShip(int, int, int, boolean)}. The shots are
+     * drawn from a generator derived from the seed and the amount of moves already made,
+     * so a restored match does not repeat the draws of its first moves.
      *
-     * @param board a 2D array representing the board to load.
+     * @param seed      the seed of the saved table.
+     * @param moveCount the amount of moves made before the save.
      */
-    public MainTable(int[][] board) {
-        ships.add(new Ship(4,4, 0));
-        ships.add(new Ship(3,3, 0));
-        ships.add(new Ship(2,2, 0));
-        ships.add(new Ship(1,1, 0));
-        this.board = board;
-        System.out.println("Previous Main Table loaded");
+    MainTable(long seed, int moveCount) {
+        this.seed = seed;
+        this.random = new SplittableRandom(RandomSeeds.derive(seed, moveCount));
+        addFleetShips();
+    }
+
+    /**
+     * Constructor for the MainTable class that places the same fleet as another table, with
+     * no shots fired, so many games can be played on a fleet drawn once. The other table is
+     * only read. The shots are drawn from a {@link SplittableRandom} derived from the seed.
+     *
+     * @param fleet the table whose fleet is copied.
+     * @param seed  the seed of the new table.
+     */
+    public MainTable(MainTable fleet, long seed) {
+        this(seed, 0);
+        for (int[] ship : fleet.getShipCoordinatesList()) {
+            placeShip(ship[0], ship[1], ship[5], ship[4] == 1);
+        }
+    }
+
+    /**
+     * Restores a table written with Java serialization. The generator is not serialized,
+     * so it is created again from the seed of the table and the amount of shots it fired.
+     *
+     * @param in the stream the table is read from.
+     * @throws IOException            if the table cannot be read.
+     * @throws ClassNotFoundException if a class of the table cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        random = new SplittableRandom(RandomSeeds.derive(seed, hitMask.cardinality() + missMask.cardinality()));
+    }
+
+    /**
+     * Adds the ships of the machine's fleet: one carrier, two submarines, three destroyers and four frigates.
+     */
+    private void addFleetShips() {
+        ships.add(new Ship(4,4, 1));
+        ships.add(new Ship(3,3, 2));
+        ships.add(new Ship(2,2, 3));
+        ships.add(new Ship(1,1, 4));
     }
 
     /**
@@ -87,6 +231,7 @@ public class MainTable implements MainTableInterface, Serializable {
         for (int[] nums : board) {
             Arrays.fill(nums, 0);
         }
+        shipMask.clearAll();
         setShips();
     }
 
@@ -102,43 +247,93 @@ public class MainTable implements MainTableInterface, Serializable {
 
     /**
      * Places ships randomly on the board based on the ship sizes defined in the ships ArrayList.
-     * Ships are placed in valid positions, ensuring they do not overlap or extend beyond the board boundaries.
+     * Each ship is drawn uniformly among the catalog placements that do not overlap the ships
+     * already placed, so generating a fleet takes a fixed amount of work with no retries.
+     *
+     * @throws IllegalStateException if a ship has no room left on the board.
      */
     @Override
     public void setShips() {
         for (Ship ship : ships) {
             int amount = ship.getShipAmount();
+            int size = ship.getShipSize();
             for (int i = 0; i < amount; i++) {
-                int size = ship.getShipSize();
-                boolean placed = false;
-                int aux = ship.getShipType();
-
-                while (!placed) {
-                    int row = random.nextInt(10);
-                    int column = random.nextInt(10);
-                    boolean horizontal = random.nextBoolean();
-
-                    if (canPlaced(row, column, size, horizontal)) {
-                        for (int j = 0; j < size; j++) {
-                            if (horizontal) {
-                                board[row][column + j] = aux;
-                            } else {
-                                board[row + j][column] = aux;
-                            }
-                        }
-                        int endX = horizontal ? row : row + size - 1;
-                        int endY = horizontal ? column + size - 1 : column;
-                        int orientation = horizontal ? 1 : 0;
-
-                        shipCoordinatesList.add(new int[]{row, column, endX, endY, orientation, aux, 0});
-
-                        placed = true;
-                    }
+                int horizontalCount = countFreePlacements(size, true);
+                // A single cell ship has the same placements in both orientations
+                int verticalCount = size > 1 ? countFreePlacements(size, false) : 0;
+                if (horizontalCount + verticalCount == 0) {
+                    throw new IllegalStateException("There is no room left for a ship of size " + size);
                 }
+
+                int pick = random.nextInt(horizontalCount + verticalCount);
+                boolean horizontal = pick < horizontalCount;
+                int index = findFreePlacement(size, horizontal, horizontal ? pick : pick - horizontalCount);
+                int start = CATALOG.getStart(size, horizontal, index);
+                placeShip(start / COLUMNS, start % COLUMNS, size, horizontal);
             }
         }
     }
 
+    /**
+     * Places one of the machine's ships on the board, its bit plane and its fleet index.
+     * The type of a machine ship is its size.
+     *
+     * @param row        the starting row of the ship.
+     * @param column     the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     */
+    void placeShip(int row, int column, int size, boolean horizontal) {
+        for (int j = 0; j < size; j++) {
+            if (horizontal) {
+                board[row][column + j] = size;
+            } else {
+                board[row + j][column] = size;
+            }
+        }
+        shipMask.or(CATALOG.find(row, column, size, horizontal));
+        int endX = horizontal ? row : row + size - 1;
+        int endY = horizontal ? column + size - 1 : column;
+        int orientation = horizontal ? 1 : 0;
+
+        shipCoordinatesList.add(new int[]{row, column, endX, endY, orientation, size, 0});
+        fleetIndex.addShip(row, column, size, horizontal);
+    }
+
+    /**
+     * Counts the catalog placements of a ship size and orientation that do not overlap a placed ship.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship.
+     * @return the amount of free placements.
+     */
+    private int countFreePlacements(int size, boolean horizontal) {
+        int count = 0;
+        for (int i = 0, total = CATALOG.count(size, horizontal); i < total; i++) {
+            if (!CATALOG.intersects(size, horizontal, i, shipMask)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the n-th catalog placement of a ship size and orientation that does not overlap a placed ship.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship.
+     * @param n          the position of the placement among the free ones.
+     * @return the catalog index of the placement.
+     */
+    private int findFreePlacement(int size, boolean horizontal, int n) {
+        for (int i = 0, total = CATALOG.count(size, horizontal); i < total; i++) {
+            if (!CATALOG.intersects(size, horizontal, i, shipMask) && n-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Checks if a ship of a given size can be placed at the specified position and orientation.
      *
@@ -150,101 +345,183 @@ public class MainTable implements MainTableInterface, Serializable {
      */
     @Override
     public boolean canPlaced(int row, int column, int size, boolean horizontal) {
-        if (horizontal) {
-            if (column + size > 10) return false;
-            for (int i = 0; i < size; i++) {
-                if (board[row][column + i] != 0) {
-                    return false;
-                }
-            }
-        } else {
-            if (row + size > 10) return false;
-            for (int i = 0; i < size; i++) {
-                if (board[row + i][column] != 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return CATALOG.fits(row, column, size, horizontal, shipMask);
     }
 
     /**
      * Generates a random shot that has not been previously fired.
+     * The cell is drawn from the sampler of unshot cells, so there are no retries.
+     * The choice is recorded as a {@link TargetingDecisionEvent} while Flight Recorder runs.
      *
      * @return an array of two integers representing the coordinates of the shot.
+     * @throws IllegalStateException if every cell of the board was already shot.
      */
     @Override
     public int[] shot() {
-        int x, y;
-        boolean isUnique;
-
-        do {
-            x = random.nextInt(10);
-            y = random.nextInt(10);
-            isUnique = true;
-
-            for (int[] shot : shots) {
-                if (shot[0] == x && shot[1] == y) {
-                    isUnique = false;
-                    break;
-                }
-            }
-        } while (!isUnique);
-
-        shots.add(new int[]{x, y});
-        return new int[]{x, y};
+        TargetingDecisionEvent event = FlightRecorder.isInitialized() ? TargetingDecisionEvent.start() : null;
+        int[] shot = randomCell();
+        if (event != null) {
+            TargetingDecisionEvent.commit(event, "random", shot, sampler.remaining(), false);
+        }
+        return shot;
     }
 
     /**
-     * Generates a smart shot based on the last shot fired.
+     * Generates a smart shot using the probability-density targeting engine.
+     * The engine fires at the unshot cell covered by the most legal placements of the
+     * player's ships still afloat, following up on any hit that has not sunk a ship yet.
+     * The choice is recorded as a {@link TargetingDecisionEvent} while Flight Recorder runs.
      *
      * @return an array of two integers representing the coordinates of the smart shot.
      */
     @Override
     public int[] smartShot() {
-        if (shots.isEmpty()) {
-            return shot();
+        TargetingDecisionEvent event = FlightRecorder.isInitialized() ? TargetingDecisionEvent.start() : null;
+        int target = targeting.selectTarget(hitMask, missMask, sunkMask, remainingTargets, random);
+        boolean fallback = target < 0 || !sampler.remove(target);
+        int[] shot = fallback ? randomCell() : CELL_COORDINATES[target];
+        if (event != null) {
+            TargetingDecisionEvent.commit(event, "smart", shot, sampler.remaining(), fallback);
         }
+        return shot;
+    }
 
-        int[] lastShot = shots.get(shots.size() - 1);
-        List<int[]> directions = new ArrayList<>();
-        directions.add(new int[]{0, 1});
-        directions.add(new int[]{0, -1});
-        directions.add(new int[]{1, 0});
-        directions.add(new int[]{-1, 0});
+    /**
+     * Draws an unshot cell from the sampler.
+     *
+     * @return the coordinates of the cell.
+     * @throws IllegalStateException if every cell of the board was already shot.
+     */
+    private int[] randomCell() {
+        int cell = sampler.next(random);
+        if (cell < 0) {
+            throw new IllegalStateException("Every cell of the board was already shot");
+        }
+        return CELL_COORDINATES[cell];
+    }
 
-        Collections.shuffle(directions);
+    /**
+     * Records that one of the player's ships was sunk by the machine, so the targeting
+     * engine stops considering its cells and its size.
+     * Recording the same ship more than once has no effect.
+     *
+     * @param row        the starting row of the sunk ship.
+     * @param col        the starting column of the sunk ship.
+     * @param size       the size of the sunk ship.
+     * @param horizontal the orientation of the sunk ship (true for horizontal, false for vertical).
+     */
+    @Override
+    public void recordSunk(int row, int col, int size, boolean horizontal) {
+        if (sunkMask.allInLine(row, col, size, horizontal)) {
+            return;
+        }
+        sunkMask.setLine(row, col, size, horizontal);
+        if (remainingTargets[size] > 0) {
+            remainingTargets[size]--;
+        }
+    }
 
-        for (int[] direction : directions) {
-            int newX = lastShot[0] + direction[0];
-            int newY = lastShot[1] + direction[1];
+    /**
+     * Records the result of a shot fired by the machine on the shot grid and its bit planes.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @param hit true if the shot hit a ship, false if it landed on water.
+     */
+    @Override
+    public void recordShot(int row, int col, boolean hit) {
+        sampler.remove(row * COLUMNS + col);
+        if (hit) {
+            shotGrid[row][col] = 6;
+            hitMask.set(row, col);
+        } else {
+            shotGrid[row][col] = 5;
+            missMask.set(row, col);
+        }
+    }
 
-            if (newX >= 0 && newX < 10 && newY >= 0 && newY < 10) {
-                int[] newShot = new int[]{newX, newY};
+    /**
+     * Resolves a shot fired by the player at the machine's fleet.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    @Override
+    public ShotResult receiveShot(int row, int col) {
+        return fleetIndex.receiveShot(row, col);
+    }
 
-                if (!isShot(newShot)) {
-                    shots.add(newShot);
-                    return newShot;
-                }
-            }
-        }
+    /**
+     * Returns the index of the machine's ships, in the order of the ship coordinates list.
+     *
+     * @return the fleet index.
+     */
+    @Override
+    public FleetIndex getFleetIndex() {
+        return fleetIndex;
+    }
 
-        return shot();
+    /**
+     * Returns the bit plane of the cells occupied by the machine's ships.
+     *
+     * @return the ship plane.
+     */
+    @Override
+    public BitBoard getShipMask() {
+        return shipMask;
     }
 
     /**
-     * Checks if a shot has already been fired at the specified coordinates.
+     * Returns the bit plane of the machine's shots that hit a ship.
      *
-     * @param shot an array of two integers representing the coordinates of the shot.
-     * @return true if the shot has already been fired, false otherwise.
+     * @return the hit plane.
      */
-    private boolean isShot(int[] shot) {
-        for (int[] existingShot : shots) {
-            if (existingShot[0] == shot[0] && existingShot[1] == shot[1]) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public BitBoard getHitMask() {
+        return hitMask;
+    }
+
+    /**
+     * Returns the bit plane of the machine's shots that landed on water.
+     *
+     * @return the miss plane.
+     */
+    @Override
+    public BitBoard getMissMask() {
+        return missMask;
+    }
+
+    /**
+     * Returns the bit plane of the cells of the player's ships already sunk by the machine.
+     *
+     * @return the sunk plane.
+     */
+    @Override
+    public BitBoard getSunkMask() {
+        return sunkMask;
+    }
+
+    /**
+     * Returns the seed the fleet and the shots of this table were drawn from.
+     *
+     * @return the seed of the table.
+     */
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the generator the fleet was placed with and the shots of this table are drawn
+     * from. It is created from the seed, so a targeting strategy drawing its random choices
+     * from it fires the same shots in every match played from the same seed.
+     *
+     * @return the generator of the table.
+     */
+    @Override
+    public RandomGenerator getRandom() {
+        return random;
     }
 
     /**
@@ -283,8 +560,8 @@ public class MainTable implements MainTableInterface, Serializable {
      */
     @Override
     public void printMainBoard(int[][] board) {
-        for (int row = 0; row < 10; row++) {
-            for (int col = 0; col < 10; col++) {
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
                 System.out.print(board[row][col] + " ");
             }
             System.out.println();
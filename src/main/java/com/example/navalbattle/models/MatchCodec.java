@@ -0,0 +1,455 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.MatchCodecInterface;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The MatchCodec class writes the status of a match in a compact, versioned binary format
+ * instead of Java serialization.
+ *
+ * <p>The data starts with a 16 byte header: the magic number "NBSF", the format version,
+ * a reserved short, the payload length and the CRC-32 of the payload. Since version 2 the
+ * payload starts with a {@value #SUMMARY_SIZE} byte summary, so the first {@value #PROBE_SIZE}
+ * bytes of a save are enough for {@link #probe}: the time of the save, the move count, the
+ * phase, a flag byte and the nickname, cut to {@value #SUMMARY_NICKNAME_SIZE} bytes. The rest
+ * of the payload holds the nickname, the move count, the seed of the machine's table, the board dimensions, the two
+ * fleets as two-byte ship descriptors (start cell, size and orientation) and the shots of each
+ * side as one bit per cell. Everything else, such as hits, misses, sunk ships and the remaining
+ * ships to place, is derived from those while the boards are rebuilt. Since version 3 the
+ * payload ends with the moves of the match as two-byte {@link MatchMove}s, or -1 if they are
+ * not known, so a saved match can be replayed from its seed.</p>
+ *
+ * @see MatchCodecInterface
+ */
+public class MatchCodec implements MatchCodecInterface {
+
+    /**
+     * The magic number at the start of a save, "NBSF".
+     */
+    private static final int MAGIC = 0x4E425346;
+
+    /**
+     * The version written by this codec.
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * The first version with a summary.
+     */
+    private static final int SUMMARY_VERSION = 2;
+
+    /**
+     * The first version with the moves of the match.
+     */
+    private static final int MOVES_VERSION = 3;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int SUMMARY_SIZE = 64;
+    private static final int SUMMARY_NICKNAME_SIZE = SUMMARY_SIZE - 16;
+
+    /**
+     * The amount of bytes at the start of a save that {@link #probe} needs.
+     */
+    public static final int PROBE_SIZE = HEADER_SIZE + SUMMARY_SIZE;
+
+    /**
+     * The flag of the summary set when the nickname did not fit.
+     */
+    private static final int NICKNAME_TRUNCATED = 1;
+    private static final int ROWS = 10;
+    private static final int COLUMNS = 10;
+
+    /**
+     * Encodes the status of a match.
+     *
+     * @param match the match status to encode.
+     * @return the encoded match, header included.
+     */
+    @Override
+    public byte[] encode(MatchStatusSerializable match) {
+        MainTable mainTable = match.getMainTable();
+        PositionTable positionTable = match.getPositionTable();
+        byte[] nickname = match.getNickName() == null ? null : match.getNickName().getBytes(StandardCharsets.UTF_8);
+        List<int[]> machineFleet = mainTable.getShipCoordinatesList();
+        List<int[]> playerFleet = positionTable.getShipCoordinatesList();
+        int[] moves = match.getMoves();
+        int planeSize = (ROWS * COLUMNS + 7) / 8;
+
+        int payloadSize = SUMMARY_SIZE + 2 + (nickname == null ? 0 : nickname.length) + 4 + 8 + 2
+                + 1 + 2 * machineFleet.size() + 1 + 2 * playerFleet.size() + 2 * planeSize
+                + 2 + (moves == null ? 0 : 2 * moves.length);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.position(HEADER_SIZE);
+        putSummary(buffer, nickname, match);
+
+        if (nickname == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) nickname.length).put(nickname);
+        }
+        buffer.putInt(match.getMoveCount());
+        buffer.putLong(mainTable.getSeed());
+        buffer.put((byte) ROWS).put((byte) COLUMNS);
+        putFleet(buffer, machineFleet);
+        putFleet(buffer, playerFleet);
+        putPlane(buffer, positionTable.getHitMask(), positionTable.getMissMask());
+        putPlane(buffer, mainTable.getHitMask(), mainTable.getMissMask());
+        putMoves(buffer, moves);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, (short) VERSION);
+        buffer.putShort(6, (short) 0);
+        buffer.putInt(8, payloadSize);
+        buffer.putInt(12, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a match status and rebuilds its boards.
+     *
+     * @param data the encoded match.
+     * @return the decoded match status.
+     * @throws IOException if the data is not a valid save of a supported version.
+     */
+    @Override
+    public MatchStatusSerializable decode(byte[] data) throws IOException {
+        if (!isEncoded(data)) {
+            throw new StreamCorruptedException("Not a saved match");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.getShort(4);
+        int payloadSize = buffer.getInt(8);
+        if (version < 1 || version > VERSION) {
+            throw new InvalidObjectException("Unsupported saved match version " + version);
+        }
+        if (payloadSize != data.length - HEADER_SIZE) {
+            throw new StreamCorruptedException("Truncated saved match");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, HEADER_SIZE, payloadSize);
+        if ((int) crc.getValue() != buffer.getInt(12)) {
+            throw new StreamCorruptedException("Saved match checksum mismatch");
+        }
+
+        try {
+            buffer.position(version >= SUMMARY_VERSION ? PROBE_SIZE : HEADER_SIZE);
+            int nicknameLength = buffer.getShort();
+            String nickname = null;
+            if (nicknameLength >= 0) {
+                byte[] bytes = new byte[nicknameLength];
+                buffer.get(bytes);
+                nickname = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int moveCount = buffer.getInt();
+            long seed = buffer.getLong();
+            if (buffer.get() != ROWS || buffer.get() != COLUMNS) {
+                throw new InvalidObjectException("Unsupported board size");
+            }
+            int[] machineFleet = getFleet(buffer);
+            int[] playerFleet = getFleet(buffer);
+            BitBoard playerShots = getPlane(buffer);
+            BitBoard machineShots = getPlane(buffer);
+            int[] moves = version >= MOVES_VERSION ? getMoves(buffer) : null;
+            if (moves != null && moves.length != moveCount) {
+                throw new InvalidObjectException("The moves of the saved match do not match its move count");
+            }
+            MatchStatusSerializable match = rebuild(nickname, moveCount, seed, machineFleet, playerFleet,
+                    playerShots, machineShots);
+            match.setMoves(moves);
+            return match;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new StreamCorruptedException("Malformed saved match");
+        }
+    }
+
+    /**
+     * Reads the summary of a save from its first {@value #PROBE_SIZE} bytes, without rebuilding
+     * the boards or checking the payload checksum.
+     *
+     * @param header the start of the saved data; longer data is accepted.
+     * @return the summary, or null if the data is not a save of a version with a summary.
+     */
+    @Override
+    public MatchSummary probe(byte[] header) {
+        if (header.length < PROBE_SIZE || !isEncoded(header)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        int version = buffer.getShort(4);
+        if (version < SUMMARY_VERSION || version > VERSION) {
+            return null;
+        }
+        buffer.position(HEADER_SIZE);
+        long lastModified = buffer.getLong();
+        int moveCount = buffer.getInt();
+        int phase = buffer.get();
+        int flags = buffer.get();
+        int nicknameLength = buffer.getShort();
+        if (phase < 0 || phase >= MatchPhase.values().length || nicknameLength > SUMMARY_NICKNAME_SIZE) {
+            return null;
+        }
+        String nickname = null;
+        if (nicknameLength >= 0) {
+            nickname = new String(header, buffer.position(), nicknameLength, StandardCharsets.UTF_8);
+        }
+        return new MatchSummary(nickname, (flags & NICKNAME_TRUNCATED) != 0, MatchPhase.values()[phase],
+                moveCount, lastModified);
+    }
+
+    /**
+     * Checks whether the data starts with the header of this format.
+     *
+     * @param data the saved data.
+     * @return true if the data was written by this format, false otherwise.
+     */
+    @Override
+    public boolean isEncoded(byte[] data) {
+        return data.length >= HEADER_SIZE && ByteBuffer.wrap(data).getInt(0) == MAGIC;
+    }
+
+    /**
+     * Packs a ship descriptor into two bytes: the start cell, then the size and orientation.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship.
+     * @return the packed descriptor.
+     */
+    public static int ship(int row, int col, int size, boolean horizontal) {
+        return row << 12 | col << 8 | size << 1 | (horizontal ? 1 : 0);
+    }
+
+    /**
+     * Rebuilds a match read from an older save format, which had no move count.
+     *
+     * @param nickname     the player's nickname.
+     * @param seed         the seed of the machine's table.
+     * @param machineFleet the packed descriptors of the machine's ships.
+     * @param playerFleet  the packed descriptors of the player's ships.
+     * @param playerShots  the cells the player fired at.
+     * @param machineShots the cells the machine fired at.
+     * @return the rebuilt match status, with a move count of 0.
+     * @throws InvalidObjectException if a ship does not fit on the board.
+     */
+    public static MatchStatusSerializable migrate(String nickname, long seed, int[] machineFleet, int[] playerFleet,
+                                                  BitBoard playerShots, BitBoard machineShots)
+            throws InvalidObjectException {
+        return rebuild(nickname, 0, seed, machineFleet, playerFleet, playerShots, machineShots);
+    }
+
+    /**
+     * Rebuilds the boards of a match from its fleets and shots. Ships are placed in order,
+     * then every shot is resolved again against the opponent fleet, and the player's sunk
+     * ships are fed to the machine's targeting engine.
+     *
+     * @param nickname     the player's nickname.
+     * @param moveCount    the amount of moves made before the save.
+     * @param seed         the seed of the machine's table.
+     * @param machineFleet the packed descriptors of the machine's ships.
+     * @param playerFleet  the packed descriptors of the player's ships.
+     * @param playerShots  the cells the player fired at.
+     * @param machineShots the cells the machine fired at.
+     * @return the rebuilt match status.
+     * @throws InvalidObjectException if a ship does not fit on the board.
+     */
+    private static MatchStatusSerializable rebuild(String nickname, int moveCount, long seed, int[] machineFleet,
+                                                   int[] playerFleet, BitBoard playerShots, BitBoard machineShots)
+            throws InvalidObjectException {
+        MainTable mainTable = new MainTable(seed, moveCount);
+        for (int ship : machineFleet) {
+            int row = ship >>> 12 & 0xF, col = ship >>> 8 & 0xF, size = ship >>> 1 & 0x7;
+            if (!mainTable.canPlaced(row, col, size, (ship & 1) == 1)) {
+                throw new InvalidObjectException("Invalid machine ship in saved match");
+            }
+            mainTable.placeShip(row, col, size, (ship & 1) == 1);
+        }
+
+        PositionTable positionTable = new PositionTable();
+        for (int ship : playerFleet) {
+            int row = ship >>> 12 & 0xF, col = ship >>> 8 & 0xF, size = ship >>> 1 & 0x7;
+            if (size < 1 || size >= positionTable.getShips().size()
+                    || !positionTable.checkPosition(size, row, col, ship & 1)
+                    || !positionTable.checkAmount(size)) {
+                throw new InvalidObjectException("Invalid player ship in saved match");
+            }
+            positionTable.setShipPosition(size, row, col, ship & 1);
+        }
+
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                if (playerShots.get(row, col)) {
+                    positionTable.recordShot(row, col, mainTable.receiveShot(row, col) != ShotResult.MISS);
+                }
+                if (machineShots.get(row, col)) {
+                    mainTable.recordShot(row, col, positionTable.receiveShot(row, col) != ShotResult.MISS);
+                }
+            }
+        }
+        FleetIndex playerIndex = positionTable.getFleetIndex();
+        for (int ship = 0; ship < playerIndex.getShipCount(); ship++) {
+            if (playerIndex.isSunk(ship)) {
+                int[] coordinates = positionTable.getShipCoordinatesList().get(ship);
+                boolean horizontal = coordinates[4] == 1;
+                int size = horizontal ? coordinates[3] - coordinates[1] + 1 : coordinates[2] - coordinates[0] + 1;
+                mainTable.recordSunk(coordinates[0], coordinates[1], size, horizontal);
+            }
+        }
+
+        MatchStatusSerializable match = new MatchStatusSerializable(mainTable, positionTable, nickname);
+        match.setMoveCount(moveCount);
+        return match;
+    }
+
+    /**
+     * Writes the fixed-size summary of a match: the time of the save, the move count, the phase,
+     * the flags and the nickname, cut at a character boundary if it does not fit.
+     *
+     * @param buffer   the buffer to write to.
+     * @param nickname the UTF-8 nickname, or null.
+     * @param match    the match status being encoded.
+     */
+    private static void putSummary(ByteBuffer buffer, byte[] nickname, MatchStatusSerializable match) {
+        int start = buffer.position();
+        int length = nickname == null ? -1 : nickname.length;
+        int flags = 0;
+        if (length > SUMMARY_NICKNAME_SIZE) {
+            length = SUMMARY_NICKNAME_SIZE;
+            // Do not split a multi-byte character
+            while ((nickname[length] & 0xC0) == 0x80) {
+                length--;
+            }
+            flags |= NICKNAME_TRUNCATED;
+        }
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putInt(match.getMoveCount());
+        buffer.put((byte) MatchPhase.of(match.getPositionTable()).ordinal());
+        buffer.put((byte) flags);
+        buffer.putShort((short) length);
+        if (length > 0) {
+            buffer.put(nickname, 0, length);
+        }
+        buffer.position(start + SUMMARY_SIZE);
+    }
+
+    /**
+     * Writes the descriptors of a fleet, preceded by its amount of ships.
+     *
+     * @param buffer the buffer to write to.
+     * @param fleet  the ship coordinates list of a table.
+     */
+    private static void putFleet(ByteBuffer buffer, List<int[]> fleet) {
+        buffer.put((byte) fleet.size());
+        for (int[] coordinates : fleet) {
+            boolean horizontal = coordinates[4] == 1;
+            int size = horizontal ? coordinates[3] - coordinates[1] + 1 : coordinates[2] - coordinates[0] + 1;
+            buffer.putShort((short) ship(coordinates[0], coordinates[1], size, horizontal));
+        }
+    }
+
+    /**
+     * Reads the descriptors of a fleet.
+     *
+     * @param buffer the buffer to read from.
+     * @return the packed ship descriptors.
+     */
+    private static int[] getFleet(ByteBuffer buffer) {
+        int[] fleet = new int[buffer.get() & 0xFF];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = buffer.getShort() & 0xFFFF;
+        }
+        return fleet;
+    }
+
+    /**
+     * Writes the moves of a match, preceded by their amount, or -1 if they are not known.
+     *
+     * @param buffer the buffer to write to.
+     * @param moves  the packed moves, or null.
+     */
+    private static void putMoves(ByteBuffer buffer, int[] moves) {
+        if (moves == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) moves.length);
+        for (int move : moves) {
+            buffer.putShort((short) move);
+        }
+    }
+
+    /**
+     * Reads the moves of a match.
+     *
+     * @param buffer the buffer to read from.
+     * @return the packed moves, or null if they are not known.
+     */
+    private static int[] getMoves(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        int[] moves = new int[length];
+        for (int i = 0; i < length; i++) {
+            moves[i] = buffer.getShort() & 0xFFFF;
+        }
+        return moves;
+    }
+
+    /**
+     * Writes the shots of one side as one bit per cell, in row-major order.
+     *
+     * @param buffer the buffer to write to.
+     * @param hits   the shots of the side that hit a ship.
+     * @param misses the shots of the side that landed on water.
+     */
+    private static void putPlane(ByteBuffer buffer, BitBoard hits, BitBoard misses) {
+        int bits = 0;
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                if (hits.get(row, col) || misses.get(row, col)) {
+                    bits |= 1 << count;
+                }
+                if (++count == 8) {
+                    buffer.put((byte) bits);
+                    bits = 0;
+                    count = 0;
+                }
+            }
+        }
+        if (count > 0) {
+            buffer.put((byte) bits);
+        }
+    }
+
+    /**
+     * Reads the shots of one side.
+     *
+     * @param buffer the buffer to read from.
+     * @return the plane of the cells the side fired at.
+     */
+    private static BitBoard getPlane(ByteBuffer buffer) {
+        BitBoard plane = new BitBoard(ROWS, COLUMNS);
+        int bits = 0;
+        for (int cell = 0; cell < ROWS * COLUMNS; cell++) {
+            if ((cell & 7) == 0) {
+                bits = buffer.get();
+            }
+            if ((bits & 1 << (cell & 7)) != 0) {
+                plane.set(cell / COLUMNS, cell % COLUMNS);
+            }
+        }
+        return plane;
+    }
+}
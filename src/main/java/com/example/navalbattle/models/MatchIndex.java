@@ -0,0 +1,266 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.MatchIndexInterface;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The MatchIndex class maps each nickname to the slot its match is saved in.
+ *
+ * <p>The encoded index starts with the same kind of 16 byte header as {@link MatchCodec}: the
+ * magic number "NBIX", the format version, a reserved short, the payload length and the CRC-32
+ * of the payload. The payload holds the amount of entries, then for each one the nickname,
+ * the slot, the time of the last save and the phase of the match.</p>
+ *
+ * @see MatchIndexInterface
+ */
+public class MatchIndex implements MatchIndexInterface {
+
+    /**
+     * The magic number at the start of an index, "NBIX".
+     */
+    private static final int MAGIC = 0x4E424958;
+
+    /**
+     * The version written by this index.
+     */
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * An entry of the index. Entries are immutable; saving a match replaces its entry.
+     */
+    public static final class Entry {
+        private final String nickname;
+        private final int slot;
+        private final long lastModified;
+        private final MatchPhase status;
+
+        private Entry(String nickname, int slot, long lastModified, MatchPhase status) {
+            this.nickname = nickname;
+            this.slot = slot;
+            this.lastModified = lastModified;
+            this.status = status;
+        }
+
+        /**
+         * @return the player's nickname.
+         */
+        public String getNickname() {
+            return nickname;
+        }
+
+        /**
+         * @return the slot the match is saved in.
+         */
+        public int getSlot() {
+            return slot;
+        }
+
+        /**
+         * @return the time of the last save, in milliseconds since the epoch.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the phase of the match at the last save.
+         */
+        public MatchPhase getStatus() {
+            return status;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * The slots in use, so a new match takes the lowest free one.
+     */
+    private final BitSet slots = new BitSet();
+
+    /**
+     * Looks up the saved match of a player.
+     *
+     * @param nickname the player's nickname.
+     * @return the entry of the match, or null if the player has no saved match.
+     */
+    @Override
+    public Entry get(String nickname) {
+        return entries.get(nickname);
+    }
+
+    /**
+     * Records that the match of a player was saved. A player without a saved match is given
+     * the lowest free slot.
+     *
+     * @param nickname     the player's nickname.
+     * @param status       the phase of the match.
+     * @param lastModified the time of the save, in milliseconds since the epoch.
+     * @return the updated entry.
+     */
+    @Override
+    public Entry put(String nickname, MatchPhase status, long lastModified) {
+        Entry previous = entries.get(nickname);
+        int slot;
+        if (previous != null) {
+            slot = previous.slot;
+        } else {
+            slot = slots.nextClearBit(0);
+            slots.set(slot);
+        }
+        Entry entry = new Entry(nickname, slot, lastModified, status);
+        entries.put(nickname, entry);
+        return entry;
+    }
+
+    /**
+     * Adds a match found in a given slot while the index is rebuilt. If the player already has
+     * an entry, the most recently saved match is kept and the slot of the other one is freed.
+     *
+     * @param nickname     the player's nickname.
+     * @param slot         the slot the match is saved in.
+     * @param status       the phase of the match.
+     * @param lastModified the time of the save, in milliseconds since the epoch.
+     * @return the entry kept for the player.
+     */
+    @Override
+    public Entry restore(String nickname, int slot, MatchPhase status, long lastModified) {
+        Entry previous = entries.get(nickname);
+        if (previous != null) {
+            if (previous.lastModified >= lastModified) {
+                return previous;
+            }
+            slots.clear(previous.slot);
+        }
+        Entry entry = new Entry(nickname, slot, lastModified, status);
+        entries.put(nickname, entry);
+        slots.set(slot);
+        return entry;
+    }
+
+    /**
+     * Removes the saved match of a player and frees its slot.
+     *
+     * @param nickname the player's nickname.
+     * @return the removed entry, or null if the player had no saved match.
+     */
+    @Override
+    public Entry remove(String nickname) {
+        Entry entry = entries.remove(nickname);
+        if (entry != null) {
+            slots.clear(entry.slot);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the entries of every saved match.
+     *
+     * @return an unmodifiable view of the entries.
+     */
+    @Override
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Encodes the whole index.
+     *
+     * @return the encoded index, header included.
+     */
+    @Override
+    public byte[] encode() {
+        byte[][] nicknames = new byte[entries.size()][];
+        int payloadSize = 4;
+        int i = 0;
+        for (Entry entry : entries.values()) {
+            nicknames[i] = entry.nickname.getBytes(StandardCharsets.UTF_8);
+            payloadSize += 2 + nicknames[i].length + 4 + 8 + 1;
+            i++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.position(HEADER_SIZE);
+        buffer.putInt(entries.size());
+        i = 0;
+        for (Entry entry : entries.values()) {
+            buffer.putShort((short) nicknames[i].length).put(nicknames[i]);
+            buffer.putInt(entry.slot);
+            buffer.putLong(entry.lastModified);
+            buffer.put((byte) entry.status.ordinal());
+            i++;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, (short) VERSION);
+        buffer.putShort(6, (short) 0);
+        buffer.putInt(8, payloadSize);
+        buffer.putInt(12, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Replaces the content of the index with an encoded one. The index is left empty if the
+     * data is not valid.
+     *
+     * @param data the encoded index.
+     * @throws IOException if the data is not a valid index of a supported version.
+     */
+    @Override
+    public void load(byte[] data) throws IOException {
+        entries.clear();
+        slots.clear();
+        if (data.length < HEADER_SIZE || ByteBuffer.wrap(data).getInt(0) != MAGIC) {
+            throw new StreamCorruptedException("Not a match index");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int version = buffer.getShort(4);
+        int payloadSize = buffer.getInt(8);
+        if (version != VERSION) {
+            throw new InvalidObjectException("Unsupported match index version " + version);
+        }
+        if (payloadSize != data.length - HEADER_SIZE) {
+            throw new StreamCorruptedException("Truncated match index");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, HEADER_SIZE, payloadSize);
+        if ((int) crc.getValue() != buffer.getInt(12)) {
+            throw new StreamCorruptedException("Match index checksum mismatch");
+        }
+
+        try {
+            buffer.position(HEADER_SIZE);
+            int count = buffer.getInt();
+            MatchPhase[] phases = MatchPhase.values();
+            for (int i = 0; i < count; i++) {
+                byte[] nickname = new byte[buffer.getShort()];
+                buffer.get(nickname);
+                int slot = buffer.getInt();
+                long lastModified = buffer.getLong();
+                MatchPhase status = phases[buffer.get()];
+                Entry entry = new Entry(new String(nickname, StandardCharsets.UTF_8), slot, lastModified, status);
+                entries.put(entry.nickname, entry);
+                slots.set(slot);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            entries.clear();
+            slots.clear();
+            throw new StreamCorruptedException("Malformed match index");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.MatchJournalInterface;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The MatchJournal class stores the moves of a match in an append-only file.
+ *
+ * <p>The file starts with an 8 byte header holding a magic number and the amount of moves
+ * made before the journal start. Each move follows as a 4 byte record: the packed move and a
+ * 16 bit checksum of the move and its sequence number. A record cut short or damaged by a crash
+ * fails its checksum, so replay stops at the last complete move, and a record left over from
+ * an older journal never matches the sequence number of its new position.</p>
+ *
+ * <p>A failed append cuts the file back to the last complete record and breaks the journal:
+ * further appends are rejected until the next {@link #reset}, since a record written after a
+ * lost move would be checksummed with the sequence number of that move and replayed in its
+ * place. A journal is also broken until it was started over or read, since only then the
+ * sequence number of the next move is known.</p>
+ *
+ * @see MatchJournalInterface
+ */
+public class MatchJournal implements MatchJournalInterface {
+
+    /**
+     * The magic number at the start of a journal file, "NBJ1".
+     */
+    private static final int MAGIC = 0x4E424A31;
+
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 4;
+
+    private final Path path;
+
+    /**
+     * The buffer of the record being written, reused by every append.
+     */
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    /**
+     * The sequence number and move the checksum is computed over, reused by every record.
+     */
+    private final ByteBuffer checksumInput = ByteBuffer.allocate(6);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private int baseMove;
+    private int moveCount;
+
+    /**
+     * True until the journal was started over or read, and once an append failed.
+     */
+    private boolean broken = true;
+
+    /**
+     * Constructs a journal stored in the given file. The file is opened on first use.
+     *
+     * @param path the path of the journal file.
+     */
+    public MatchJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Empties the journal and starts it after the given amount of moves, usually
+     * right after a checkpoint that already contains them.
+     *
+     * @param baseMove the amount of moves covered by the checkpoint.
+     * @throws IOException if the journal cannot be written.
+     */
+    @Override
+    public void reset(int baseMove) throws IOException {
+        broken = true;
+        FileChannel channel = channel();
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(baseMove).flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        this.baseMove = baseMove;
+        moveCount = baseMove;
+        broken = false;
+    }
+
+    /**
+     * Appends a packed move to the journal. If the record cannot be written, the part of it
+     * already written is cut off and the journal is broken until the next {@link #reset}.
+     *
+     * @param move the packed move, as built by {@link MatchMove}.
+     * @throws IOException if the record cannot be written or the journal is broken.
+     */
+    @Override
+    public void append(int move) throws IOException {
+        if (broken) {
+            throw new IOException("The match journal takes no moves until the next checkpoint");
+        }
+        try {
+            FileChannel channel = channel();
+            record.clear();
+            record.putShort((short) move).putShort((short) checksum(moveCount, move)).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            broken = true;
+            truncateToLastRecord(e);
+            throw e;
+        }
+        moveCount++;
+    }
+
+    /**
+     * Reads the moves journaled after the given move. Reading stops at the first torn or
+     * corrupted record, which is cut off so new moves are appended after the last valid one.
+     * A journal that is missing, damaged or does not continue the checkpoint is started over.
+     *
+     * @param fromMove the amount of moves already covered by the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read.
+     */
+    @Override
+    public int[] readTail(int fromMove) throws IOException {
+        FileChannel channel = channel();
+        long size = channel.size();
+        ByteBuffer content = ByteBuffer.allocate((int) size);
+        channel.position(0);
+        while (content.hasRemaining()) {
+            if (channel.read(content) < 0) {
+                break;
+            }
+        }
+        content.flip();
+
+        if (content.remaining() < HEADER_SIZE || content.getInt() != MAGIC) {
+            reset(fromMove);
+            return new int[0];
+        }
+        int baseMove = content.getInt();
+        int[] moves = new int[content.remaining() / RECORD_SIZE];
+        int valid = 0;
+        while (valid < moves.length) {
+            int move = content.getShort() & 0xFFFF;
+            int check = content.getShort() & 0xFFFF;
+            if (MatchMove.type(move) == 0 || check != checksum(baseMove + valid, move)) {
+                break;
+            }
+            moves[valid++] = move;
+        }
+
+        if (baseMove > fromMove || baseMove + valid < fromMove) {
+            reset(fromMove);
+            return new int[0];
+        }
+        channel.truncate(HEADER_SIZE + (long) valid * RECORD_SIZE);
+        channel.position(channel.size());
+        this.baseMove = baseMove;
+        moveCount = baseMove + valid;
+        broken = false;
+        return Arrays.copyOfRange(moves, fromMove - baseMove, valid);
+    }
+
+    /**
+     * Returns the amount of moves of the match, counting the ones before the journal start.
+     *
+     * @return the sequence number of the next move.
+     */
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Checks whether an append failed since the journal was last started over or read.
+     *
+     * @return true if appends are rejected until the next {@link #reset}.
+     */
+    @Override
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Closes the journal file. The next write or read opens it again.
+     */
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing the match journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Returns the open channel of the journal file, opening it when needed.
+     *
+     * @return the journal channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        return channel;
+    }
+
+    /**
+     * Cuts the file back to the end of the last complete record, after a failed append.
+     * A failure to do so is added to the failure of the append.
+     *
+     * @param failure the failure of the append.
+     */
+    private void truncateToLastRecord(IOException failure) {
+        try {
+            FileChannel channel = channel();
+            channel.truncate(HEADER_SIZE + (long) (moveCount - baseMove) * RECORD_SIZE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Computes the 16 bit checksum of a record.
+     *
+     * @param sequence the sequence number of the move in the match.
+     * @param move     the packed move.
+     * @return the low 16 bits of the CRC-32 of the sequence number and the move.
+     */
+    private int checksum(int sequence, int move) {
+        checksumInput.clear();
+        checksumInput.putInt(sequence).putShort((short) move);
+        crc.reset();
+        crc.update(checksumInput.array(), 0, checksumInput.position());
+        return (int) crc.getValue() & 0xFFFF;
+    }
+}
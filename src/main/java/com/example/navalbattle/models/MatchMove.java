@@ -0,0 +1,115 @@
+package com.example.navalbattle.models;
+
+/**
+ * Packs the moves of a match (ship placements and shots) into small integers, so they can be
+ * journaled and replayed without allocating an object per move.
+ *
+ * <p>A packed move uses 14 bits: the column in bits 0-3, the row in bits 4-7, the ship index
+ * in bits 8-10, the orientation in bit 11 and the move type in bits 12-13. It always fits in
+ * an unsigned {@code short}.</p>
+ */
+public final class MatchMove {
+
+    /**
+     * The player placed a ship on the position table.
+     */
+    public static final int PLACEMENT = 1;
+
+    /**
+     * The player fired at the machine's fleet.
+     */
+    public static final int PLAYER_SHOT = 2;
+
+    /**
+     * The machine fired at the player's fleet.
+     */
+    public static final int MACHINE_SHOT = 3;
+
+    private MatchMove() {
+    }
+
+    /**
+     * Packs the placement of one of the player's ships.
+     *
+     * @param shipIndex   the index of the placed ship.
+     * @param row         the starting row of the ship.
+     * @param col         the starting column of the ship.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return the packed move.
+     */
+    public static int placement(int shipIndex, int row, int col, int orientation) {
+        return PLACEMENT << 12 | orientation << 11 | shipIndex << 8 | row << 4 | col;
+    }
+
+    /**
+     * Packs a shot fired by the player.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the packed move.
+     */
+    public static int playerShot(int row, int col) {
+        return PLAYER_SHOT << 12 | row << 4 | col;
+    }
+
+    /**
+     * Packs a shot fired by the machine.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the packed move.
+     */
+    public static int machineShot(int row, int col) {
+        return MACHINE_SHOT << 12 | row << 4 | col;
+    }
+
+    /**
+     * Returns the type of a packed move.
+     *
+     * @param move the packed move.
+     * @return {@link #PLACEMENT}, {@link #PLAYER_SHOT} or {@link #MACHINE_SHOT}.
+     */
+    public static int type(int move) {
+        return move >>> 12 & 0x3;
+    }
+
+    /**
+     * Returns the row of a packed move.
+     *
+     * @param move the packed move.
+     * @return the row of the placement or the shot.
+     */
+    public static int row(int move) {
+        return move >>> 4 & 0xF;
+    }
+
+    /**
+     * Returns the column of a packed move.
+     *
+     * @param move the packed move.
+     * @return the column of the placement or the shot.
+     */
+    public static int col(int move) {
+        return move & 0xF;
+    }
+
+    /**
+     * Returns the ship index of a packed placement.
+     *
+     * @param move the packed move.
+     * @return the index of the placed ship.
+     */
+    public static int shipIndex(int move) {
+        return move >>> 8 & 0x7;
+    }
+
+    /**
+     * Returns the orientation of a packed placement.
+     *
+     * @param move the packed move.
+     * @return 0 for vertical, 1 for horizontal.
+     */
+    public static int orientation(int move) {
+        return move >>> 11 & 0x1;
+    }
+}
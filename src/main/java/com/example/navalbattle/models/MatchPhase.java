@@ -0,0 +1,26 @@
+package com.example.navalbattle.models;
+
+/**
+ * The phase a saved match is in.
+ */
+public enum MatchPhase {
+    /**
+     * The player is still placing the fleet.
+     */
+    PLACEMENT,
+
+    /**
+     * Every ship was placed and the players are firing.
+     */
+    BATTLE;
+
+    /**
+     * Returns the phase of a match from the player's board.
+     *
+     * @param positionTable the player's board.
+     * @return {@link #BATTLE} if the whole fleet was placed, {@link #PLACEMENT} otherwise.
+     */
+    public static MatchPhase of(PositionTable positionTable) {
+        return positionTable.isBoardFull() ? BATTLE : PLACEMENT;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.MatchReplayInterface;
+
+/**
+ * The MatchReplay class rebuilds a match from the seed of the machine's table and the list of
+ * its moves, or from a checkpoint and the moves journaled after it. Saved matches keep their
+ * moves, see {@link MatchStatusSerializable#getMoves()}; the ones saved by older versions did
+ * not, and only replay from their checkpoint.
+ *
+ * <p>The seed gives back the machine's fleet and every move is applied by a {@link GameEngine},
+ * the same rules the game is played with, so a move costs a few array accesses. Machine shots
+ * are taken from the moves instead of being drawn again, so a match resumed from a save, whose
+ * generator was derived again, replays exactly as well.</p>
+ *
+ * @see MatchReplayInterface
+ */
+public class MatchReplay implements MatchReplayInterface {
+
+    private final GameEngine engine;
+
+    /**
+     * Starts the replay of a match from its first move.
+     *
+     * @param seed the seed of the machine's table.
+     */
+    public MatchReplay(long seed) {
+        this.engine = new GameEngine(seed);
+    }
+
+    /**
+     * Starts the replay of a match from a checkpoint. The boards of the checkpoint are
+     * modified by the replay.
+     *
+     * @param checkpoint the saved match status.
+     */
+    public MatchReplay(MatchStatusSerializable checkpoint) {
+        this.engine = new GameEngine(checkpoint);
+    }
+
+    /**
+     * Rebuilds a match from the seed of the machine's table and all of its moves.
+     *
+     * @param seed  the seed of the machine's table.
+     * @param moves the packed moves of the match, in order.
+     * @return the replay, positioned after the last move or the move that finished the match.
+     */
+    public static MatchReplay of(long seed, int[] moves) {
+        MatchReplay replay = new MatchReplay(seed);
+        replay.fastForward(moves, 0, moves.length);
+        return replay;
+    }
+
+    /**
+     * Applies a single packed move.
+     *
+     * @param move the packed move, as built by {@link MatchMove}.
+     * @return the result of a shot, or null for a placement.
+     * @throws IllegalArgumentException if the move has no valid type.
+     */
+    @Override
+    public ShotResult apply(int move) {
+        return engine.apply(move);
+    }
+
+    /**
+     * Applies a range of packed moves, in order, stopping once the match is finished.
+     *
+     * @param moves the packed moves.
+     * @param from  the index of the first move to apply.
+     * @param to    the end of the range, exclusive.
+     * @return the amount of moves applied.
+     */
+    @Override
+    public int fastForward(int[] moves, int from, int to) {
+        int i = from;
+        while (i < to && !engine.isFinished()) {
+            engine.apply(moves[i++]);
+        }
+        return i - from;
+    }
+
+    /**
+     * Returns the engine the moves are applied to, so the replayed match can be continued.
+     *
+     * @return the game engine of the replay.
+     */
+    @Override
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the machine's board.
+     *
+     * @return the main table being replayed.
+     */
+    @Override
+    public MainTable getMainTable() {
+        return engine.getMainTable();
+    }
+
+    /**
+     * Returns the player's board.
+     *
+     * @return the position table being replayed.
+     */
+    @Override
+    public PositionTable getPositionTable() {
+        return engine.getPositionTable();
+    }
+
+    /**
+     * Returns the amount of moves of the match, counting the ones before the replay started.
+     *
+     * @return the amount of moves.
+     */
+    @Override
+    public int getMoveCount() {
+        return engine.getMoveCount();
+    }
+
+    /**
+     * Checks whether one of the fleets was sunk.
+     *
+     * @return true if the match has a winner, false otherwise.
+     */
+    @Override
+    public boolean isFinished() {
+        return engine.isFinished();
+    }
+
+    /**
+     * Checks whether the player won the match.
+     *
+     * @return true if the player sank the machine's fleet, false otherwise.
+     */
+    @Override
+    public boolean isPlayerWinner() {
+        return engine.isPlayerWinner();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.navalbattle.models;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a checkpoint encoded and queued by the {@link GamePersistenceModel},
+ * with the time it took on the calling thread. The file itself is written later by the
+ * {@link PersistenceWriter}.
+ *
+ * <p>Like the {@link TargetingDecisionEvent}, it is only created once a recording was started,
+ * through its static methods.</p>
+ */
+@Name("com.example.navalbattle.MatchSave")
+@Label("Match Save")
+@Category({"Naval Battle", "Persistence"})
+@Description("A checkpoint of a match encoded and queued to be written")
+@StackTrace(false)
+final class MatchSaveEvent extends Event {
+
+    @Label("Nickname")
+    String nickname;
+
+    @Label("Move Count")
+    @Description("The amount of moves contained in the checkpoint")
+    int moveCount;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Size")
+    @DataAmount
+    int bytes;
+
+    /**
+     * Creates the event of a save and starts timing it.
+     *
+     * @return the event.
+     */
+    static MatchSaveEvent start() {
+        MatchSaveEvent event = new MatchSaveEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fills in and commits the event of a save, if the recording enables it.
+     *
+     * @param event     the event, started before the checkpoint was encoded.
+     * @param nickname  the nickname of the player.
+     * @param moveCount the amount of moves contained in the checkpoint.
+     * @param phase     the phase of the match.
+     * @param bytes     the size of the encoded checkpoint.
+     */
+    static void commit(MatchSaveEvent event, String nickname, int moveCount, MatchPhase phase, int bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.nickname = nickname;
+            event.moveCount = moveCount;
+            event.phase = phase.name();
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+}
@@ -16,6 +16,8 @@ public class MatchStatusSerializable implements MatchStatusSerializableInterface
     private MainTable mainTable;
     private PositionTable positionTable;
     private final String nickName;
+    private int moveCount;
+    private int[] moves;
 
     /**
      * Constructs a new MatchStatusSerializable with the given player
@@ -71,4 +73,46 @@ public class MatchStatusSerializable implements MatchStatusSerializableInterface
         this.mainTable = mainTable;
         this.positionTable = positionTable;
     }
+
+    /**
+     * Returns the amount of moves of the match contained in the saved boards.
+     *
+     * @return the amount of placements and shots made before this snapshot.
+     */
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Sets the amount of moves of the match contained in the saved boards.
+     *
+     * @param moveCount the amount of placements and shots made before this snapshot.
+     */
+    @Override
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    /**
+     * Returns the moves of the match contained in the saved boards. With the seed of the main
+     * table they rebuild the match from its start, see {@link MatchReplay#of(long, int[])}.
+     *
+     * @return the packed moves made before this snapshot, in order, or null if the match was
+     * saved by a version that did not keep them.
+     */
+    @Override
+    public int[] getMoves() {
+        return moves;
+    }
+
+    /**
+     * Sets the moves of the match contained in the saved boards.
+     *
+     * @param moves the packed moves made before this snapshot, in order, or null if they are not known.
+     */
+    @Override
+    public void setMoves(int[] moves) {
+        this.moves = moves;
+    }
 }
@@ -0,0 +1,392 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.MatchStoreInterface;
+import com.example.navalbattle.interfaces.PersistenceErrorListener;
+import com.example.navalbattle.models.legacy.LegacyMatchReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The MatchStore class keeps the saved match of every player in its own slot of the save
+ * directory: {@code match-<slot>.ser} holds the last checkpoint and {@code match-<slot>.journal}
+ * the moves made after it.
+ *
+ * <p>The {@link MatchIndex} is read once when the store is opened and then kept in memory, so
+ * checking whether a player has a saved match is a map lookup. Every change of the index queues
+ * a rewrite of {@value #INDEX_FILE}; the files are written by a {@link PersistenceWriter}. The
+ * checkpoints of the last {@code cacheSize} matches saved or loaded are also kept in memory,
+ * so resuming one of them does not read it again.</p>
+ *
+ * <p>A missing or damaged index is rebuilt from the headers of the saved matches, read with
+ * {@link MatchCodec#probe}. A store opened on a directory without an index also adopts the
+ * single match saved there by older versions, under the nickname it was saved with.</p>
+ *
+ * @see MatchStoreInterface
+ */
+public class MatchStore implements MatchStoreInterface {
+
+    private static final String INDEX_FILE = "matches.index";
+    private static final String LEGACY_MATCH_FILE = "previous_match.ser";
+    private static final String LEGACY_JOURNAL_FILE = "previous_match.journal";
+    private static final Pattern MATCH_FILE = Pattern.compile("match-(\\d+)\\.ser");
+    private static final int FLEET_SIZE = 10;
+
+    private final Path directory;
+    private final Path indexFile;
+    private final PersistenceWriter writer;
+    private final MatchIndex index = new MatchIndex();
+    private final MatchCodec codec = new MatchCodec();
+
+    /**
+     * The checkpoints of the recently used matches, by nickname, least recently used first.
+     */
+    private final Map<String, byte[]> cache;
+
+    /**
+     * Opens the store kept in the given directory, creating the directory if needed.
+     *
+     * @param directory the save directory.
+     * @param writer    the writer that performs the disk I/O of the store.
+     * @param cacheSize the amount of checkpoints kept in memory.
+     */
+    public MatchStore(Path directory, PersistenceWriter writer, int cacheSize) {
+        this.directory = directory;
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.writer = writer;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Error creating the save directory: " + e.getMessage());
+        }
+        if (Files.exists(indexFile)) {
+            if (!loadIndex()) {
+                rebuildIndex();
+            }
+        } else {
+            rebuildIndex();
+            adoptLegacyMatch();
+        }
+    }
+
+    /**
+     * Looks up the saved match of a player in the index.
+     *
+     * @param nickname the player's nickname.
+     * @return the index entry of the match, or null if the player has no saved match.
+     */
+    @Override
+    public synchronized MatchIndex.Entry find(String nickname) {
+        return index.get(key(nickname));
+    }
+
+    /**
+     * Reads the summary in the header of a player's last checkpoint, without reading the rest
+     * of the match. A checkpoint in the cache is not read again. The moves journaled after the
+     * checkpoint are added to its summary, since the checkpoint is only rewritten every few moves,
+     * and the summary is dated by the last of them.
+     *
+     * @param nickname the player's nickname.
+     * @return the summary, or null if the player has no saved match or it was saved without a summary.
+     * @throws IOException if the header or the journal cannot be read.
+     */
+    @Override
+    public synchronized MatchSummary probe(String nickname) throws IOException {
+        String key = key(nickname);
+        MatchIndex.Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        byte[] data = cache.get(key);
+        MatchSummary summary = codec.probe(data != null ? data : readHeader(matchFile(entry.getSlot())));
+        if (summary == null) {
+            return null;
+        }
+        Path journalFile = journalFile(entry.getSlot());
+        int[] journal = writer.readJournal(journalFile, summary.getMoveCount());
+        if (journal.length == 0) {
+            return summary;
+        }
+        // Every move of a checkpoint still placing the fleet is a placement
+        MatchPhase phase = summary.getPhase();
+        int placed = summary.getMoveCount();
+        for (int move : journal) {
+            if (MatchMove.type(move) == MatchMove.PLACEMENT) {
+                placed++;
+            } else {
+                phase = MatchPhase.BATTLE;
+            }
+        }
+        if (placed >= FLEET_SIZE) {
+            phase = MatchPhase.BATTLE;
+        }
+        return new MatchSummary(summary.getNickname(), summary.isNicknameTruncated(), phase,
+                summary.getMoveCount() + journal.length,
+                Math.max(summary.getLastModified(), Files.getLastModifiedTime(journalFile).toMillis()));
+    }
+
+    /**
+     * Returns the last checkpoint of a player's match, from the cache of the recently used
+     * matches if possible. Queued writes must be flushed before reading from the disk.
+     *
+     * @param nickname the player's nickname.
+     * @return the encoded match.
+     * @throws IOException if the player has no saved match or it cannot be read.
+     */
+    @Override
+    public synchronized byte[] load(String nickname) throws IOException {
+        String key = key(nickname);
+        MatchIndex.Entry entry = index.get(key);
+        if (entry == null) {
+            throw new NoSuchFileException("No saved match for " + key);
+        }
+        byte[] data = cache.get(key);
+        if (data == null) {
+            data = Files.readAllBytes(matchFile(entry.getSlot()));
+            cache.put(key, data);
+        }
+        return data;
+    }
+
+    /**
+     * Queues a checkpoint of a player's match and the update of the index.
+     * The journal of the match is started over after the checkpoint.
+     *
+     * @param nickname  the player's nickname.
+     * @param data      the encoded match.
+     * @param moveCount the amount of moves contained in the checkpoint.
+     * @param status    the phase of the match.
+     * @return the index entry of the match.
+     */
+    @Override
+    public synchronized MatchIndex.Entry save(String nickname, byte[] data, int moveCount, MatchPhase status) {
+        String key = key(nickname);
+        MatchIndex.Entry entry = index.put(key, status, System.currentTimeMillis());
+        cache.put(key, data);
+        writer.checkpoint(matchFile(entry.getSlot()), journalFile(entry.getSlot()), data, moveCount);
+        writer.write(indexFile, index.encode());
+        return entry;
+    }
+
+    /**
+     * Queues the append of a move to the journal of a player's match.
+     *
+     * @param nickname the player's nickname.
+     * @param move     the packed move.
+     * @return true if the move was queued, false if the player has no saved match or the queue is full.
+     */
+    @Override
+    public synchronized boolean append(String nickname, int move) {
+        MatchIndex.Entry entry = index.get(key(nickname));
+        return entry != null && writer.append(journalFile(entry.getSlot()), move);
+    }
+
+    /**
+     * Checks whether the journal of a player's match lost a move since its last checkpoint
+     * was queued, so the match needs a new checkpoint to save every move.
+     *
+     * @param nickname the player's nickname.
+     * @return true if the journal lost a move, false otherwise or if the player has no saved match.
+     */
+    @Override
+    public synchronized boolean isJournalBroken(String nickname) {
+        MatchIndex.Entry entry = index.get(key(nickname));
+        return entry != null && writer.isJournalBroken(journalFile(entry.getSlot()));
+    }
+
+    /**
+     * Reads the moves journaled after the checkpoint of a player's match.
+     *
+     * @param nickname the player's nickname.
+     * @param fromMove the amount of moves contained in the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read.
+     */
+    @Override
+    public int[] readJournal(String nickname, int fromMove) throws IOException {
+        MatchIndex.Entry entry = find(nickname);
+        if (entry == null) {
+            return new int[0];
+        }
+        return writer.readJournal(journalFile(entry.getSlot()), fromMove);
+    }
+
+    /**
+     * Removes a player's match from the index and queues the deletion of its files.
+     *
+     * @param nickname the player's nickname.
+     */
+    @Override
+    public synchronized void delete(String nickname) {
+        String key = key(nickname);
+        MatchIndex.Entry entry = index.remove(key);
+        cache.remove(key);
+        if (entry == null) {
+            System.out.println("No match found");
+            return;
+        }
+        writer.delete(matchFile(entry.getSlot()), journalFile(entry.getSlot()));
+        writer.write(indexFile, index.encode());
+    }
+
+    /**
+     * Waits until every queued write was performed.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return true if the queue was drained, false if the timeout elapsed first.
+     */
+    @Override
+    public boolean flush(long timeout, TimeUnit unit) {
+        return writer.flush(timeout, unit);
+    }
+
+    /**
+     * Sets the listener notified when a queued write fails.
+     *
+     * @param errorListener the listener, or null to only log the errors.
+     */
+    @Override
+    public void setErrorListener(PersistenceErrorListener errorListener) {
+        writer.setErrorListener(errorListener);
+    }
+
+    /**
+     * Reads the index file.
+     *
+     * @return true if the index was read, false if it is damaged and was left empty.
+     */
+    private boolean loadIndex() {
+        try {
+            index.load(Files.readAllBytes(indexFile));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error reading the match index: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rebuilds the index from the matches saved in the slots of the directory. Only the header of
+     * a match is read, unless it was saved without a summary or its nickname did not fit in it.
+     */
+    private void rebuildIndex() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "match-*.ser")) {
+            for (Path file : files) {
+                Matcher matcher = MATCH_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int slot = Integer.parseInt(matcher.group(1));
+                try {
+                    MatchSummary summary = codec.probe(readHeader(file));
+                    if (summary == null || summary.isNicknameTruncated()) {
+                        byte[] data = Files.readAllBytes(file);
+                        MatchStatusSerializable match = codec.isEncoded(data) ? codec.decode(data) : new LegacyMatchReader().read(data);
+                        summary = new MatchSummary(match.getNickName(), false, MatchPhase.of(match.getPositionTable()),
+                                match.getMoveCount(), Files.getLastModifiedTime(file).toMillis());
+                    }
+                    index.restore(key(summary.getNickname()), slot, summary.getPhase(), summary.getLastModified());
+                } catch (IOException | ClassNotFoundException e) {
+                    System.err.println("Error reading " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error listing the saved matches: " + e.getMessage());
+        }
+        if (!index.entries().isEmpty()) {
+            writer.write(indexFile, index.encode());
+            System.out.println("Match index rebuilt from " + index.entries().size() + " saved matches");
+        }
+    }
+
+    /**
+     * Reads the first {@link MatchCodec#PROBE_SIZE} bytes of a saved match.
+     *
+     * @param file the saved match.
+     * @return the start of the file, shorter if the file is.
+     * @throws IOException if the file cannot be read.
+     */
+    private static byte[] readHeader(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.readNBytes(MatchCodec.PROBE_SIZE);
+        }
+    }
+
+    /**
+     * Moves the single match saved by older versions, and its journal, into a slot of the store.
+     */
+    private void adoptLegacyMatch() {
+        Path legacyMatch = directory.resolve(LEGACY_MATCH_FILE);
+        if (!Files.exists(legacyMatch)) {
+            return;
+        }
+        String key = null;
+        try {
+            byte[] data = Files.readAllBytes(legacyMatch);
+            MatchStatusSerializable match = codec.isEncoded(data) ? codec.decode(data) : new LegacyMatchReader().read(data);
+            key = key(match.getNickName());
+            MatchIndex.Entry entry = index.put(key, MatchPhase.of(match.getPositionTable()),
+                    Files.getLastModifiedTime(legacyMatch).toMillis());
+
+            Path legacyJournal = directory.resolve(LEGACY_JOURNAL_FILE);
+            if (Files.exists(legacyJournal)) {
+                Files.move(legacyJournal, journalFile(entry.getSlot()));
+            }
+            Files.move(legacyMatch, matchFile(entry.getSlot()));
+            writer.write(indexFile, index.encode());
+            System.out.println("Previous match moved to slot " + entry.getSlot());
+        } catch (IOException | ClassNotFoundException e) {
+            if (key != null) {
+                index.remove(key);
+            }
+            System.err.println("Error moving the previous match to the match store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the file of the checkpoint saved in a slot.
+     *
+     * @param slot the slot of the match.
+     * @return the path of the checkpoint.
+     */
+    private Path matchFile(int slot) {
+        return directory.resolve("match-" + slot + ".ser");
+    }
+
+    /**
+     * Returns the file of the journal saved in a slot.
+     *
+     * @param slot the slot of the match.
+     * @return the path of the journal.
+     */
+    private Path journalFile(int slot) {
+        return directory.resolve("match-" + slot + ".journal");
+    }
+
+    /**
+     * Returns the index key of a nickname. Matches saved without a nickname use the empty one.
+     *
+     * @param nickname the player's nickname.
+     * @return the key of the nickname in the index.
+     */
+    private static String key(String nickname) {
+        return nickname == null ? "" : nickname;
+    }
+}
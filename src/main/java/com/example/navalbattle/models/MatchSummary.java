@@ -0,0 +1,66 @@
+package com.example.navalbattle.models;
+
+/**
+ * The summary stored in the fixed-size header of a saved match, read by
+ * {@link MatchCodec#probe} without rebuilding the boards.
+ */
+public final class MatchSummary {
+
+    private final String nickname;
+    private final boolean nicknameTruncated;
+    private final MatchPhase phase;
+    private final int moveCount;
+    private final long lastModified;
+
+    /**
+     * Constructs the summary of a saved match.
+     *
+     * @param nickname          the player's nickname, possibly shortened to fit the header.
+     * @param nicknameTruncated true if the nickname was shortened.
+     * @param phase             the phase of the match.
+     * @param moveCount         the amount of moves contained in the save.
+     * @param lastModified      the time of the save, in milliseconds since the epoch.
+     */
+    public MatchSummary(String nickname, boolean nicknameTruncated, MatchPhase phase, int moveCount, long lastModified) {
+        this.nickname = nickname;
+        this.nicknameTruncated = nicknameTruncated;
+        this.phase = phase;
+        this.moveCount = moveCount;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the player's nickname, possibly shortened to fit the header.
+     */
+    public String getNickname() {
+        return nickname;
+    }
+
+    /**
+     * @return true if the nickname was shortened, so the full one must be decoded from the save.
+     */
+    public boolean isNicknameTruncated() {
+        return nicknameTruncated;
+    }
+
+    /**
+     * @return the phase of the match.
+     */
+    public MatchPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the amount of moves contained in the save.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return the time of the save, in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
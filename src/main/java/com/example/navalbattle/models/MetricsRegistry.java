@@ -0,0 +1,38 @@
+package com.example.navalbattle.models;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Publishes the metrics of the game as MBeans of the platform MBean server, under the
+ * {@value #DOMAIN} domain, where JConsole, VisualVM or any JMX client can read them.
+ * A failed registration is logged and the game goes on without those metrics.
+ */
+final class MetricsRegistry {
+
+    /**
+     * The domain of the object names of the game's MBeans.
+     */
+    static final String DOMAIN = "com.example.navalbattle";
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Registers an MBean.
+     *
+     * @param mbean      the MBean.
+     * @param properties the key properties of its object name, such as {@code type=Game}.
+     */
+    static void register(Object mbean, String properties) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, new ObjectName(DOMAIN + ":" + properties));
+        } catch (InstanceAlreadyExistsException e) {
+            // Another copy of the game's classes in this JVM already publishes these metrics
+        } catch (JMException | SecurityException e) {
+            System.err.println("Error publishing the metrics " + properties + ": " + e.getMessage());
+        }
+    }
+}
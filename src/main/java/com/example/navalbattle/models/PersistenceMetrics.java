@@ -0,0 +1,160 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.PersistenceMetricsMXBean;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The PersistenceMetrics class counts the saves, loads and writes of the match persistence
+ * and the bytes they wrote, and times them. A single instance is shared by every store, and
+ * published over JMX the first time it is used:
+ * <ul>
+ *     <li>{@code com.example.navalbattle:type=Persistence}: the counters and the depth of the write queue.</li>
+ *     <li>{@code com.example.navalbattle:type=Persistence,name=SaveLatency}: encoding and queueing a checkpoint on the game thread.</li>
+ *     <li>{@code com.example.navalbattle:type=Persistence,name=LoadLatency}: loading a saved match and its journal.</li>
+ *     <li>{@code com.example.navalbattle:type=Persistence,name=WriteLatency}: an operation of the writer thread on the disk.</li>
+ * </ul>
+ *
+ * @see PersistenceMetricsMXBean
+ */
+public class PersistenceMetrics implements PersistenceMetricsMXBean {
+
+    /**
+     * Holds the instance shared by every store, published on first use.
+     */
+    private static class Holder {
+        private static final PersistenceMetrics INSTANCE = register(new PersistenceMetrics());
+
+        private static PersistenceMetrics register(PersistenceMetrics metrics) {
+            MetricsRegistry.register(metrics, "type=Persistence");
+            MetricsRegistry.register(metrics.saveLatency, "type=Persistence,name=SaveLatency");
+            MetricsRegistry.register(metrics.loadLatency, "type=Persistence,name=LoadLatency");
+            MetricsRegistry.register(metrics.writeLatency, "type=Persistence,name=WriteLatency");
+            return metrics;
+        }
+    }
+
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder journalAppends = new LongAdder();
+    private final LongAdder rejectedAppends = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram saveLatency = new LatencyHistogram();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    private volatile int queueDepth;
+    private volatile int maxQueueDepth;
+
+    private PersistenceMetrics() {
+    }
+
+    /**
+     * Returns the metrics shared by every store, publishing them over JMX on the first call.
+     *
+     * @return the metrics.
+     */
+    public static PersistenceMetrics get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Records a checkpoint encoded and queued on the calling thread.
+     *
+     * @param startNanos the time the save started, from {@link System#nanoTime()}.
+     */
+    public void recordSave(long startNanos) {
+        saveLatency.recordSince(startNanos);
+        saves.increment();
+    }
+
+    /**
+     * Records a loaded match.
+     *
+     * @param startNanos the time the load started, from {@link System#nanoTime()}.
+     */
+    public void recordLoad(long startNanos) {
+        loadLatency.recordSince(startNanos);
+        loads.increment();
+    }
+
+    /**
+     * Records a move offered to the journal.
+     *
+     * @param queued true if the move was queued, false if the queue was full.
+     */
+    public void recordAppend(boolean queued) {
+        (queued ? journalAppends : rejectedAppends).increment();
+    }
+
+    /**
+     * Records an operation performed by the writer thread.
+     *
+     * @param bytes      the amount of bytes it wrote.
+     * @param startNanos the time the operation started, from {@link System#nanoTime()}.
+     */
+    public void recordWrite(long bytes, long startNanos) {
+        writeLatency.recordSince(startNanos);
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Records a failed operation.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Records the amount of operations waiting for the writer thread. Called by the writer
+     * while it holds the lock of its queue.
+     *
+     * @param depth the amount of queued operations.
+     */
+    public void recordQueueDepth(int depth) {
+        queueDepth = depth;
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+    }
+
+    @Override
+    public long getSaves() {
+        return saves.sum();
+    }
+
+    @Override
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    @Override
+    public long getJournalAppends() {
+        return journalAppends.sum();
+    }
+
+    @Override
+    public long getRejectedAppends() {
+        return rejectedAppends.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.PersistenceErrorListener;
+import com.example.navalbattle.interfaces.PersistenceWriterInterface;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The PersistenceWriter class performs the disk I/O of the match persistence on a single
+ * background thread, so saving a move never blocks the JavaFX application thread.
+ *
+ * <p>Operations are kept in a bounded queue and written in submission order. Appends are
+ * rejected once the queue is full, while a checkpoint drops every queued append and checkpoint
+ * of its match, since it already contains those moves. Errors are logged and reported to the
+ * {@link PersistenceErrorListener}, from the writer thread. An unexpected exception thrown by
+ * an operation is reported the same way and one thrown by the listener is logged, so neither
+ * stops the thread. The depth of the queue, the time taken by every operation and the bytes
+ * it wrote are recorded in the {@link PersistenceMetrics}.</p>
+ *
+ * <p>Only the journal of the last match written stays open; writing another match closes it.</p>
+ *
+ * <p>A journal that lost a move, because an append or the checkpoint before it failed, is
+ * broken: its next appends are skipped, since they would be replayed in place of the lost
+ * move, until a new checkpoint of its match is queued. The owner of the match checks
+ * {@link #isJournalBroken} to write that checkpoint.</p>
+ *
+ * @see PersistenceWriterInterface
+ */
+public class PersistenceWriter implements PersistenceWriterInterface {
+
+    /**
+     * The kinds of operation the writer performs.
+     */
+    private enum Kind {
+        APPEND, CHECKPOINT, WRITE, DELETE, READ
+    }
+
+    /**
+     * A queued operation. Only the fields of its kind are set.
+     */
+    private static final class Operation {
+        private final Kind kind;
+        private final Path file;
+        private final Path journalFile;
+        private final int move;
+        private final byte[] data;
+        private final CompletableFuture<int[]> journal;
+
+        private Operation(Kind kind, Path file, Path journalFile, int move, byte[] data, CompletableFuture<int[]> journal) {
+            this.kind = kind;
+            this.file = file;
+            this.journalFile = journalFile;
+            this.move = move;
+            this.data = data;
+            this.journal = journal;
+        }
+
+        /**
+         * Checks whether a newer checkpoint or deletion of the given journal makes this operation useless.
+         *
+         * @param journalFile the journal of the newer checkpoint or deletion.
+         * @return true if this operation can be skipped.
+         */
+        private boolean isSupersededBy(Path journalFile) {
+            return (kind == Kind.APPEND || kind == Kind.CHECKPOINT) && this.journalFile.equals(journalFile);
+        }
+    }
+
+    /**
+     * The maximum time a read of a journal waits for the writer thread.
+     */
+    private static final long READ_TIMEOUT_SECONDS = 10;
+
+    private final int capacity;
+    private final ArrayDeque<Operation> queue = new ArrayDeque<>();
+    private final PersistenceMetrics metrics = PersistenceMetrics.get();
+
+    /**
+     * True while the writer thread performs an operation it already took from the queue.
+     */
+    private boolean writing;
+    private volatile PersistenceErrorListener errorListener;
+
+    /**
+     * The open journal, only used by the writer thread.
+     */
+    private MatchJournal journal;
+    private Path journalPath;
+
+    /**
+     * The journals that lost a move since the last checkpoint of their match was queued.
+     */
+    private final Set<Path> brokenJournals = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a writer and starts its thread.
+     * The thread is a daemon, so pending operations must be flushed before the application exits.
+     *
+     * @param capacity the maximum amount of queued operations.
+     */
+    public PersistenceWriter(int capacity) {
+        this.capacity = capacity;
+
+        Thread thread = new Thread(this::run, "match-persistence-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues the append of a packed move to a match journal.
+     *
+     * @param journalFile the journal of the match.
+     * @param move        the packed move, as built by {@link MatchMove}.
+     * @return true if the move was queued, false if the queue is full.
+     */
+    @Override
+    public synchronized boolean append(Path journalFile, int move) {
+        if (queue.size() >= capacity) {
+            return false;
+        }
+        enqueue(new Operation(Kind.APPEND, null, journalFile, move, null, null));
+        return true;
+    }
+
+    /**
+     * Queues a checkpoint of a match. The checkpoint is written over the saved match and its
+     * journal is started over after it. Queued appends and checkpoints of the same match are
+     * skipped, since the new checkpoint contains every move before it.
+     *
+     * @param matchFile   the saved match.
+     * @param journalFile the journal of the match.
+     * @param data        the encoded match.
+     * @param moveCount   the amount of moves contained in the checkpoint.
+     */
+    @Override
+    public synchronized void checkpoint(Path matchFile, Path journalFile, byte[] data, int moveCount) {
+        queue.removeIf(operation -> operation.isSupersededBy(journalFile));
+        brokenJournals.remove(journalFile);
+        enqueue(new Operation(Kind.CHECKPOINT, matchFile, journalFile, moveCount, data, null));
+    }
+
+    /**
+     * Queues the replacement of a whole file. A queued write of the same file is skipped.
+     *
+     * @param file the file to write.
+     * @param data the new content of the file.
+     */
+    @Override
+    public synchronized void write(Path file, byte[] data) {
+        queue.removeIf(operation -> operation.kind == Kind.WRITE && operation.file.equals(file));
+        enqueue(new Operation(Kind.WRITE, file, null, 0, data, null));
+    }
+
+    /**
+     * Queues the deletion of a saved match and its journal. Queued appends and checkpoints
+     * of the match are skipped, since they would be deleted right after being written.
+     *
+     * @param matchFile   the saved match.
+     * @param journalFile the journal of the match.
+     */
+    @Override
+    public synchronized void delete(Path matchFile, Path journalFile) {
+        queue.removeIf(operation -> operation.isSupersededBy(journalFile));
+        enqueue(new Operation(Kind.DELETE, matchFile, journalFile, 0, null, null));
+    }
+
+    /**
+     * Reads the moves journaled after a checkpoint, once every queued operation was written.
+     * The journal is read on the writer thread, which is the only one that touches it.
+     *
+     * @param journalFile the journal of the match.
+     * @param fromMove    the amount of moves contained in the checkpoint.
+     * @return the packed moves to replay, in order.
+     * @throws IOException if the journal cannot be read, or was not read within
+     *                     {@value #READ_TIMEOUT_SECONDS} seconds.
+     */
+    @Override
+    public int[] readJournal(Path journalFile, int fromMove) throws IOException {
+        CompletableFuture<int[]> result = new CompletableFuture<>();
+        synchronized (this) {
+            enqueue(new Operation(Kind.READ, null, journalFile, fromMove, null, result));
+        }
+        try {
+            return result.get(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out waiting for the match journal to be read");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading the match journal");
+        }
+    }
+
+    /**
+     * Checks whether a journal lost a move since the last checkpoint of its match was queued.
+     * Its appends are skipped until the next checkpoint.
+     *
+     * @param journalFile the journal of the match.
+     * @return true if the match needs a new checkpoint to save every move.
+     */
+    @Override
+    public boolean isJournalBroken(Path journalFile) {
+        return brokenJournals.contains(journalFile);
+    }
+
+    /**
+     * Waits until every queued operation was written.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return true if the queue was drained, false if the timeout elapsed first.
+     */
+    @Override
+    public synchronized boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!queue.isEmpty() || writing) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the listener notified when a queued operation fails.
+     *
+     * @param errorListener the listener, or null to only log the errors.
+     */
+    @Override
+    public void setErrorListener(PersistenceErrorListener errorListener) {
+        this.errorListener = errorListener;
+    }
+
+    /**
+     * Adds an operation at the end of the queue and wakes the writer thread up.
+     * Must be called while holding the lock of the writer.
+     *
+     * @param operation the operation to queue.
+     */
+    private void enqueue(Operation operation) {
+        queue.addLast(operation);
+        metrics.recordQueueDepth(queue.size());
+        notifyAll();
+    }
+
+    /**
+     * The loop of the writer thread: takes the operations in order and performs them.
+     */
+    private void run() {
+        while (true) {
+            Operation operation;
+            synchronized (this) {
+                while (queue.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                operation = queue.pollFirst();
+                writing = true;
+                metrics.recordQueueDepth(queue.size());
+            }
+            long start = System.nanoTime();
+            try {
+                metrics.recordWrite(perform(operation), start);
+            } catch (RuntimeException e) {
+                if (operation.journal != null) {
+                    operation.journal.completeExceptionally(e);
+                }
+                if (operation.kind == Kind.APPEND || operation.kind == Kind.CHECKPOINT) {
+                    brokenJournals.add(operation.journalFile);
+                }
+                report("Unexpected error saving the match: " + e);
+            } finally {
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs a single operation, reporting its failure instead of throwing it.
+     *
+     * @param operation the operation to perform.
+     * @return the amount of bytes written.
+     */
+    private long perform(Operation operation) {
+        switch (operation.kind) {
+            case APPEND -> {
+                if (brokenJournals.contains(operation.journalFile)) {
+                    return 0;
+                }
+                try {
+                    journal(operation.journalFile).append(operation.move);
+                    return MatchJournal.RECORD_SIZE;
+                } catch (IOException e) {
+                    brokenJournals.add(operation.journalFile);
+                    report("Error saving the last move, the next save writes a checkpoint: " + e.getMessage());
+                }
+            }
+            case CHECKPOINT -> {
+                if (!replace(operation.file, operation.data, "Error saving the current match status: ")) {
+                    brokenJournals.add(operation.journalFile);
+                    return 0;
+                }
+                try {
+                    journal(operation.journalFile).reset(operation.move);
+                    return operation.data.length + MatchJournal.HEADER_SIZE;
+                } catch (IOException e) {
+                    brokenJournals.add(operation.journalFile);
+                    report("Error starting the match journal: " + e.getMessage());
+                    return operation.data.length;
+                }
+            }
+            case WRITE -> {
+                if (replace(operation.file, operation.data, "Error saving " + operation.file.getFileName() + ": ")) {
+                    return operation.data.length;
+                }
+            }
+            case DELETE -> {
+                brokenJournals.remove(operation.journalFile);
+                deleteFiles(operation.file, operation.journalFile);
+            }
+            case READ -> {
+                try {
+                    operation.journal.complete(journal(operation.journalFile).readTail(operation.move));
+                    brokenJournals.remove(operation.journalFile);
+                } catch (IOException | RuntimeException e) {
+                    operation.journal.completeExceptionally(e);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the journal stored in the given file, closing the previously open one if it differs.
+     *
+     * @param journalFile the file of the journal.
+     * @return the journal.
+     */
+    private MatchJournal journal(Path journalFile) {
+        if (!journalFile.equals(journalPath)) {
+            closeJournal();
+            journal = new MatchJournal(journalFile);
+            journalPath = journalFile;
+        }
+        return journal;
+    }
+
+    /**
+     * Closes the open journal, if any.
+     */
+    private void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+            journalPath = null;
+        }
+    }
+
+    /**
+     * Writes a file to a temporary file and moves it over the target,
+     * so a crash never leaves it half-written.
+     *
+     * @param target      the file to replace.
+     * @param data        the new content of the file.
+     * @param errorPrefix the start of the message reported if the write fails.
+     * @return true if the file was saved, false otherwise.
+     */
+    private boolean replace(Path target, byte[] data, String errorPrefix) {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, data);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            report(errorPrefix + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes a saved match status file and its journal if they exist.
+     *
+     * @param matchFile   the saved match.
+     * @param journalFile the journal of the match.
+     */
+    private void deleteFiles(Path matchFile, Path journalFile) {
+        if (journalFile.equals(journalPath)) {
+            closeJournal();
+        }
+        journalFile.toFile().delete();
+        File matchStatus = matchFile.toFile();
+
+        if (matchStatus.exists()) {
+            boolean deleted = matchStatus.delete();
+            if (deleted) {
+                System.out.println("Match deleted successfully");
+            } else {
+                report("Error deleting match status: " + matchStatus.getAbsolutePath());
+            }
+        } else {
+            System.out.println("No match found");
+        }
+    }
+
+    /**
+     * Logs a failed operation and notifies the error listener.
+     *
+     * @param message the description of the failure.
+     */
+    private void report(String message) {
+        System.err.println(message);
+        metrics.recordError();
+        PersistenceErrorListener listener = errorListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onPersistenceError(message);
+        } catch (RuntimeException e) {
+            System.err.println("Error notifying a failed save: " + e);
+        }
+    }
+}
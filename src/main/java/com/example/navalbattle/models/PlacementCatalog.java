@@ -0,0 +1,195 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.PlacementCatalogInterface;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The PlacementCatalog class holds every placement of every ship size that fits on an
+ * empty board of given dimensions, as bit planes built once and shared by all the tables.
+ *
+ * <p>Fleet generation samples directly from the catalog, placement checks become a single
+ * {@link BitBoard#intersects(BitBoard)} against the occupied cells, and the targeting engine
+ * walks the same planes to build its heatmap. Catalogs are cached per board size and shared
+ * by every table and thread, so the planes are only handed out inside this package, which never
+ * modifies them; other callers query them through {@link #intersects} and {@link #fits}.</p>
+ *
+ * @see PlacementCatalogInterface
+ */
+public class PlacementCatalog implements PlacementCatalogInterface {
+
+    /**
+     * The catalogs built so far, keyed by board dimensions.
+     */
+    private static final Map<Long, PlacementCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The placement planes, indexed by size, orientation (1 horizontal, 0 vertical) and placement.
+     */
+    private final BitBoard[][][] masks;
+
+    /**
+     * The row-major starting cell of each placement, with the same indexing as {@link #masks}.
+     */
+    private final int[][][] starts;
+
+    /**
+     * Builds the catalog of a board of the given dimensions.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    private PlacementCatalog(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        int maxSize = Math.max(rows, columns);
+        masks = new BitBoard[maxSize + 1][2][];
+        starts = new int[maxSize + 1][2][];
+
+        for (int size = 1; size <= maxSize; size++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                boolean horizontal = orientation == 1;
+                int lastRow = horizontal ? rows - 1 : rows - size;
+                int lastCol = horizontal ? columns - size : columns - 1;
+                int amount = Math.max(0, lastRow + 1) * Math.max(0, lastCol + 1);
+
+                masks[size][orientation] = new BitBoard[amount];
+                starts[size][orientation] = new int[amount];
+                int index = 0;
+                for (int row = 0; row <= lastRow; row++) {
+                    for (int col = 0; col <= lastCol; col++) {
+                        BitBoard mask = new BitBoard(rows, columns);
+                        mask.setLine(row, col, size, horizontal);
+                        masks[size][orientation][index] = mask;
+                        starts[size][orientation][index] = row * columns + col;
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared catalog of a board of the given dimensions, building it on first use.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @return the placement catalog of the board.
+     */
+    public static PlacementCatalog of(int rows, int columns) {
+        return CATALOGS.computeIfAbsent(((long) rows << 32) | columns, key -> new PlacementCatalog(rows, columns));
+    }
+
+    /**
+     * Returns the size of the largest ship covered by the catalog.
+     *
+     * @return the largest ship size.
+     */
+    @Override
+    public int getMaxSize() {
+        return masks.length - 1;
+    }
+
+    /**
+     * Returns the amount of placements of a ship size and orientation.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @return the amount of placements, or 0 if the size is not covered.
+     */
+    @Override
+    public int count(int size, boolean horizontal) {
+        if (size < 1 || size >= masks.length) {
+            return 0;
+        }
+        return masks[size][horizontal ? 1 : 0].length;
+    }
+
+    /**
+     * Returns the cells covered by a placement. The plane is shared by every table,
+     * so it must only be read.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param index      the index of the placement.
+     * @return the shared plane of the cells covered by the placement.
+     */
+    BitBoard getMask(int size, boolean horizontal, int index) {
+        return masks[size][horizontal ? 1 : 0][index];
+    }
+
+    /**
+     * Returns the starting cell of a placement.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param index      the index of the placement.
+     * @return the row-major index of the first cell of the placement.
+     */
+    @Override
+    public int getStart(int size, boolean horizontal, int index) {
+        return starts[size][horizontal ? 1 : 0][index];
+    }
+
+    /**
+     * Checks whether a placement covers any of the given cells.
+     *
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param index      the index of the placement.
+     * @param cells      the plane of the cells to check.
+     * @return true if the placement covers at least one of the cells.
+     */
+    @Override
+    public boolean intersects(int size, boolean horizontal, int index, BitBoard cells) {
+        return cells.intersects(getMask(size, horizontal, index));
+    }
+
+    /**
+     * Checks whether a ship starting at a given cell fits on the board without covering
+     * any occupied cell.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @param occupied   the plane of the occupied cells.
+     * @return true if the ship can be placed there.
+     */
+    @Override
+    public boolean fits(int row, int col, int size, boolean horizontal, BitBoard occupied) {
+        BitBoard placement = find(row, col, size, horizontal);
+        return placement != null && !occupied.intersects(placement);
+    }
+
+    /**
+     * Looks up the placement that starts at a given cell. The plane is shared by every table,
+     * so it must only be read.
+     *
+     * @param row        the starting row of the ship.
+     * @param col        the starting column of the ship.
+     * @param size       the size of the ship.
+     * @param horizontal the orientation of the ship (true for horizontal, false for vertical).
+     * @return the shared plane of the cells covered by the placement, or null if the ship does not fit there.
+     */
+    BitBoard find(int row, int col, int size, boolean horizontal) {
+        if (size < 1 || size >= masks.length || row < 0 || col < 0) {
+            return null;
+        }
+        if (horizontal) {
+            int placementsPerRow = columns - size + 1;
+            if (row >= rows || col >= placementsPerRow) {
+                return null;
+            }
+            return masks[size][1][row * placementsPerRow + col];
+        }
+        if (row > rows - size || col >= columns) {
+            return null;
+        }
+        return masks[size][0][row * columns + col];
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.navalbattle.models;
+
+/**
+ * The outcome of an attempt to place one of the player's ships.
+ */
+public enum PlacementResult {
+    /**
+     * The ship was placed on the board.
+     */
+    PLACED,
+
+    /**
+     * There is no ship with the given index.
+     */
+    INVALID_SHIP,
+
+    /**
+     * The ship does not fit on the board from the given cell and orientation.
+     */
+    OUT_OF_BOUNDS,
+
+    /**
+     * The ship would overlap a ship already placed.
+     */
+    OCCUPIED,
+
+    /**
+     * Every ship of that type was already placed.
+     */
+    NO_SHIPS_LEFT
+}
@@ -18,6 +18,11 @@ import java.util.List;
  * @see PositionTableInterface
  */
 public class PositionTable implements PositionTableInterface, Serializable {
+    /**
+     * The shared catalog of every placement that fits on a 10x10 board.
+     */
+    private static final PlacementCatalog CATALOG = PlacementCatalog.of(10, 10);
+
     /**
      * The 10x10 matrix representing the player's table where ships are placed.
      */
@@ -28,6 +33,26 @@ public class PositionTable implements PositionTableInterface, Serializable {
      */
     private final int[][] shotGrid = new int[10][10];
 
+    /**
+     * Bit plane of the cells occupied by the player's ships.
+     */
+    private final BitBoard shipMask = new BitBoard(10, 10);
+
+    /**
+     * Bit plane of the player's shots that hit a ship.
+     */
+    private final BitBoard hitMask = new BitBoard(10, 10);
+
+    /**
+     * Bit plane of the player's shots that landed on water.
+     */
+    private final BitBoard missMask = new BitBoard(10, 10);
+
+    /**
+     * The index from the cells of the board to the player's ships.
+     */
+    private final FleetIndex fleetIndex = new FleetIndex(10, 10);
+
     /**
      * A list that stores information about ships, including their size, type, and remaining amount.
      */
@@ -80,6 +105,36 @@ public class PositionTable implements PositionTableInterface, Serializable {
         return ships;
     }
 
+    /**
+     * Places a ship after checking every rule of the placement, and tells which rule refused it
+     * otherwise. The rules are checked in the order of {@link PlacementResult}.
+     *
+     * @param shipIndex the index of the ship to be placed.
+     * @param row the starting row where the ship should be placed.
+     * @param col the starting column where the ship should be placed.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     */
+    @Override
+    public PlacementResult placeShip(int shipIndex, int row, int col, int orientation) {
+        if (shipIndex < 1 || shipIndex >= ships.size()) {
+            return PlacementResult.INVALID_SHIP;
+        }
+        int size = ships.get(shipIndex).getShipSize();
+        if (orientation < 0 || orientation > 1 || row < 0 || col < 0
+                || (orientation == 1 ? row >= 10 || col + size > 10 : col >= 10 || row + size > 10)) {
+            return PlacementResult.OUT_OF_BOUNDS;
+        }
+        if (!checkPosition(shipIndex, row, col, orientation)) {
+            return PlacementResult.OCCUPIED;
+        }
+        if (!checkAmount(shipIndex)) {
+            return PlacementResult.NO_SHIPS_LEFT;
+        }
+        setShipPosition(shipIndex, row, col, orientation);
+        return PlacementResult.PLACED;
+    }
+
     /**
      * Sets the position of a ship on the board based on the given index, row, column, and orientation.
      *
@@ -108,6 +163,8 @@ public class PositionTable implements PositionTableInterface, Serializable {
             }
             shipCoordinatesList.add(new int[]{row, col, row, col + shipSize - 1, orientation, shipType });
         }
+        shipMask.or(CATALOG.find(row, col, shipSize, orientation == 1));
+        fleetIndex.addShip(row, col, shipSize, orientation == 1);
         ship.setShipAmount(ship.getShipAmount() - 1);
     }
 
@@ -124,26 +181,7 @@ public class PositionTable implements PositionTableInterface, Serializable {
     public boolean checkPosition(int shipIndex, int row, int col, int orientation) {
         Ship ship = ships.get(shipIndex);
         int shipSize = ship.getShipSize();
-        int checkCounter = 0;
-
-        //VERTICAL ORIENTATION
-        if (orientation == 0){
-            for (int i = row; i < shipSize + row; i++){
-                if (positionTable[i][col] == 0)
-                    checkCounter++;
-            }
-        }
-        //HORIZONTAL ORIENTATION
-        else if (orientation == 1){
-            for (int j = col; j < shipSize + col; j++){
-                if (positionTable[row][j] == 0)
-                    checkCounter++;
-            }
-        }
-
-        if (checkCounter == shipSize)
-            return true;
-        return false;
+        return CATALOG.fits(row, col, shipSize, orientation == 1, shipMask);
     }
 
     /**
@@ -192,6 +230,76 @@ public class PositionTable implements PositionTableInterface, Serializable {
         return true;
     }
 
+    /**
+     * Records the result of a shot fired by the player on the shot grid and its bit planes.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @param hit true if the shot hit a ship, false if it landed on water.
+     */
+    @Override
+    public void recordShot(int row, int col, boolean hit) {
+        if (hit) {
+            shotGrid[row][col] = 6;
+            hitMask.set(row, col);
+        } else {
+            shotGrid[row][col] = 5;
+            missMask.set(row, col);
+        }
+    }
+
+    /**
+     * Resolves a shot fired by the machine at the player's fleet.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @return the result of the shot.
+     */
+    @Override
+    public ShotResult receiveShot(int row, int col) {
+        return fleetIndex.receiveShot(row, col);
+    }
+
+    /**
+     * Returns the index of the player's ships, in the order of the ship coordinates list.
+     *
+     * @return the fleet index.
+     */
+    @Override
+    public FleetIndex getFleetIndex() {
+        return fleetIndex;
+    }
+
+    /**
+     * Returns the bit plane of the cells occupied by the player's ships.
+     *
+     * @return the ship plane.
+     */
+    @Override
+    public BitBoard getShipMask() {
+        return shipMask;
+    }
+
+    /**
+     * Returns the bit plane of the player's shots that hit a ship.
+     *
+     * @return the hit plane.
+     */
+    @Override
+    public BitBoard getHitMask() {
+        return hitMask;
+    }
+
+    /**
+     * Returns the bit plane of the player's shots that landed on water.
+     *
+     * @return the miss plane.
+     */
+    @Override
+    public BitBoard getMissMask() {
+        return missMask;
+    }
+
     /**
      * Returns the list of coordinates where ships have been placed on the board.
      *
@@ -0,0 +1,155 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.ProbabilityTargetingInterface;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The ProbabilityTargeting class implements the machine's targeting engine.
+ * For every unshot cell it counts how many legal placements of the ships still afloat
+ * cover it, given the known hits, misses and sunk ships, and the machine fires at the
+ * cell with the highest count.
+ *
+ * <p>A placement is legal when it fits inside the board and does not overlap a miss or a
+ * sunk ship. Placements that go through hits not yet explained by a sunk ship are
+ * weighted much higher, so once a ship is hit the engine naturally follows it.
+ * Placements come from the shared {@link PlacementCatalog} and the heatmap buffer is
+ * reused between calls, so a decision does not allocate.</p>
+ *
+ * @see ProbabilityTargetingInterface
+ */
+public class ProbabilityTargeting implements ProbabilityTargetingInterface, Serializable {
+
+    /**
+     * Extra weight given to a placement for each unresolved hit it covers.
+     */
+    private static final int HIT_WEIGHT = 25;
+
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The heatmap of the last computation, one value per cell in row-major order.
+     */
+    private final int[] density;
+
+    /**
+     * The shared catalog of the placements walked to build the heatmap.
+     */
+    private transient PlacementCatalog catalog;
+
+    /**
+     * Constructs a targeting engine for a board of the given dimensions.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     */
+    public ProbabilityTargeting(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.density = new int[rows * columns];
+    }
+
+    /**
+     * Computes the density heatmap of the board.
+     * Each cell receives the weighted amount of legal placements of the
+     * remaining ships that cover it, so misses and sunk cells always receive 0.
+     *
+     * @param hits           the plane of shots that hit a ship.
+     * @param misses         the plane of shots that landed on water.
+     * @param sunk           the plane of cells of ships already sunk.
+     * @param remainingShips the amount of afloat ships indexed by ship size.
+     * @return the heatmap, one value per cell in row-major order.
+     */
+    @Override
+    public int[] computeDensity(BitBoard hits, BitBoard misses, BitBoard sunk, int[] remainingShips) {
+        Arrays.fill(density, 0);
+        for (int size = 1; size < remainingShips.length; size++) {
+            int amount = remainingShips[size];
+            if (amount == 0) continue;
+
+            addPlacements(hits, misses, sunk, size, amount, true);
+            // A single cell ship has the same placements in both orientations
+            if (size > 1) {
+                addPlacements(hits, misses, sunk, size, amount, false);
+            }
+        }
+        return density;
+    }
+
+    /**
+     * Selects the unshot cell with the highest density, breaking ties randomly.
+     *
+     * @param hits           the plane of shots that hit a ship.
+     * @param misses         the plane of shots that landed on water.
+     * @param sunk           the plane of cells of ships already sunk.
+     * @param remainingShips the amount of afloat ships indexed by ship size.
+     * @param random         the random generator used to break ties.
+     * @return the row-major index of the selected cell, or -1 if every cell was already shot.
+     */
+    @Override
+    public int selectTarget(BitBoard hits, BitBoard misses, BitBoard sunk, int[] remainingShips, RandomGenerator random) {
+        computeDensity(hits, misses, sunk, remainingShips);
+
+        int best = -1;
+        int bestValue = -1;
+        int ties = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (hits.get(row, col) || misses.get(row, col)) continue;
+
+                int index = row * columns + col;
+                int value = density[index];
+                if (value > bestValue) {
+                    best = index;
+                    bestValue = value;
+                    ties = 1;
+                } else if (value == bestValue && random.nextInt(++ties) == 0) {
+                    best = index;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds the weight of every legal placement of a ship size and orientation to the heatmap.
+     *
+     * @param hits       the plane of shots that hit a ship.
+     * @param misses     the plane of shots that landed on water.
+     * @param sunk       the plane of cells of ships already sunk.
+     * @param size       the size of the ship.
+     * @param amount     the amount of afloat ships of this size.
+     * @param horizontal the orientation of the placements.
+     */
+    private void addPlacements(BitBoard hits, BitBoard misses, BitBoard sunk, int size, int amount, boolean horizontal) {
+        PlacementCatalog catalog = catalog();
+        int step = horizontal ? 1 : columns;
+
+        for (int i = 0, total = catalog.count(size, horizontal); i < total; i++) {
+            BitBoard placement = catalog.getMask(size, horizontal, i);
+            if (misses.intersects(placement) || sunk.intersects(placement)) {
+                continue;
+            }
+            int weight = amount * (1 + HIT_WEIGHT * hits.countCommon(placement));
+
+            for (int j = 0, index = catalog.getStart(size, horizontal, i); j < size; j++, index += step) {
+                density[index] += weight;
+            }
+        }
+    }
+
+    /**
+     * Returns the placement catalog of the board, looking it up again after deserialization.
+     *
+     * @return the shared placement catalog.
+     */
+    private PlacementCatalog catalog() {
+        if (catalog == null) {
+            catalog = PlacementCatalog.of(rows, columns);
+        }
+        return catalog;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.navalbattle.models;
+
+/**
+ * Derives independent seeds from a parent seed, so every table, game or resumed match gets its
+ * own reproducible generator no matter in which order or on which thread it is created.
+ *
+ * <p>The parent seed and the stream number are mixed with the SplitMix64 finalizer, which
+ * spreads nearby inputs over unrelated outputs. Generators seeded this way do not share the
+ * correlated sequences that {@code new Random(seed + n)} gives for nearby seeds.</p>
+ */
+public final class RandomSeeds {
+
+    /**
+     * The 64 bit golden ratio, used to space the streams apart.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private RandomSeeds() {
+    }
+
+    /**
+     * Derives the seed of a stream from a parent seed.
+     *
+     * @param seed   the parent seed.
+     * @param stream the number of the stream, such as a game number or a move count.
+     * @return the seed of the stream.
+     */
+    public static long derive(long seed, long stream) {
+        long z = seed + (stream + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+
+/**
+ * Targeting strategy that fires at a random cell that was not shot yet, as drawn by
+ * {@link MainTable#shot()}.
+ */
+public class RandomTargetingStrategy implements TargetingStrategy {
+
+    /**
+     * @return "random".
+     */
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    /**
+     * Selects a random cell that was not shot yet.
+     *
+     * @param table the machine's table.
+     * @return the coordinates of the shot.
+     */
+    @Override
+    public int[] selectShot(MainTable table) {
+        return table.shot();
+    }
+}
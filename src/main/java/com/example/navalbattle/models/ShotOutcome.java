@@ -0,0 +1,88 @@
+package com.example.navalbattle.models;
+
+/**
+ * The outcome of a shot resolved by the {@link GameEngine}: where it landed, what it hit and
+ * the state of the match right after it.
+ */
+public final class ShotOutcome {
+
+    private final int row;
+    private final int col;
+    private final boolean playerShot;
+    private final ShotResult result;
+    private final int[] sunkShip;
+    private final boolean matchOver;
+    private final boolean playerTurn;
+
+    /**
+     * Constructs the outcome of a shot.
+     *
+     * @param row        the row of the shot.
+     * @param col        the column of the shot.
+     * @param playerShot true if the player fired the shot, false if the machine did.
+     * @param result     the result of the shot.
+     * @param sunkShip   the coordinates of the ship sunk by the shot, or null if it sank none.
+     * @param matchOver  true if the shot sank the last ship of a fleet.
+     * @param playerTurn true if the player fires the next shot.
+     */
+    public ShotOutcome(int row, int col, boolean playerShot, ShotResult result, int[] sunkShip,
+                       boolean matchOver, boolean playerTurn) {
+        this.row = row;
+        this.col = col;
+        this.playerShot = playerShot;
+        this.result = result;
+        this.sunkShip = sunkShip;
+        this.matchOver = matchOver;
+        this.playerTurn = playerTurn;
+    }
+
+    /**
+     * @return the row of the shot.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the column of the shot.
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * @return true if the player fired the shot, false if the machine did.
+     */
+    public boolean isPlayerShot() {
+        return playerShot;
+    }
+
+    /**
+     * @return the result of the shot.
+     */
+    public ShotResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return the coordinates of the sunk ship, as kept in the ship coordinates list of its table,
+     * or null if the shot did not sink a ship.
+     */
+    public int[] getSunkShip() {
+        return sunkShip;
+    }
+
+    /**
+     * @return true if the shot sank the last ship of a fleet.
+     */
+    public boolean isMatchOver() {
+        return matchOver;
+    }
+
+    /**
+     * @return true if the player fires the next shot, false if the machine does.
+     */
+    public boolean isPlayerTurn() {
+        return playerTurn;
+    }
+}
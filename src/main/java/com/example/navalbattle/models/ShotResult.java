@@ -0,0 +1,21 @@
+package com.example.navalbattle.models;
+
+/**
+ * The outcome of a shot fired at a fleet.
+ */
+public enum ShotResult {
+    /**
+     * The shot landed on water.
+     */
+    MISS,
+
+    /**
+     * The shot hit a ship that is still afloat.
+     */
+    HIT,
+
+    /**
+     * The shot hit the last intact cell of a ship, sinking it.
+     */
+    SUNK
+}
@@ -0,0 +1,29 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+
+/**
+ * Targeting strategy that fires at the best cell of the probability-density heatmap, as
+ * selected by {@link MainTable#smartShot()}. It is the strategy matches use by default.
+ */
+public class SmartTargetingStrategy implements TargetingStrategy {
+
+    /**
+     * @return "smart".
+     */
+    @Override
+    public String getName() {
+        return "smart";
+    }
+
+    /**
+     * Selects the unshot cell covered by the most legal placements of the ships still afloat.
+     *
+     * @param table the machine's table.
+     * @return the coordinates of the shot.
+     */
+    @Override
+    public int[] selectShot(MainTable table) {
+        return table.smartShot();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.navalbattle.models;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a shot chosen by the machine's {@link MainTable}, with the time the
+ * choice took.
+ *
+ * <p>Loading a Flight Recorder event starts the recorder's instrumentation, which adds about
+ * 200 ms to the start of the application, so the callers only create it once a recording was
+ * started, as told by {@link jdk.jfr.FlightRecorder#isInitialized()}. They go through the
+ * static methods of this class, which keeps it from being loaded along with them.</p>
+ */
+@Name("com.example.navalbattle.TargetingDecision")
+@Label("Targeting Decision")
+@Category({"Naval Battle", "Game"})
+@Description("A shot chosen by the machine's targeting engine")
+@StackTrace(false)
+final class TargetingDecisionEvent extends Event {
+
+    @Label("Mode")
+    @Description("smart for the probability-density engine, random for a uniform draw")
+    String mode;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int column;
+
+    @Label("Unshot Cells")
+    @Description("The cells left unshot besides the chosen one")
+    int unshotCells;
+
+    @Label("Random Fallback")
+    @Description("True if the smart engine found no target and a random cell was drawn")
+    boolean fallback;
+
+    /**
+     * Creates the event of a choice and starts timing it.
+     *
+     * @return the event.
+     */
+    static TargetingDecisionEvent start() {
+        TargetingDecisionEvent event = new TargetingDecisionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fills in and commits the event of a choice, if the recording enables it.
+     *
+     * @param event       the event, started before the choice.
+     * @param mode        the targeting mode.
+     * @param shot        the chosen cell.
+     * @param unshotCells the cells left unshot besides the chosen one.
+     * @param fallback    true if the smart engine fell back to a random cell.
+     */
+    static void commit(TargetingDecisionEvent event, String mode, int[] shot, int unshotCells, boolean fallback) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode;
+            event.row = shot[0];
+            event.column = shot[1];
+            event.unshotCells = unshotCells;
+            event.fallback = fallback;
+            event.commit();
+        }
+    }
+}
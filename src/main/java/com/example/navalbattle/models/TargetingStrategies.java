@@ -0,0 +1,82 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The registry of the {@link TargetingStrategy} providers, by name.
+ *
+ * <p>The providers are looked up with {@link ServiceLoader} the first time a strategy is
+ * asked for: those declared with {@code provides} in a module descriptor, and those listed in
+ * {@code META-INF/services} by a jar on the class path. A strategy packaged in its own jar is
+ * picked up by adding the jar, without touching the game. Each name is bound to its provider
+ * once, and {@link #create(String)} builds a new instance for every match.</p>
+ */
+public final class TargetingStrategies {
+
+    /**
+     * The name of the strategy matches use when none is picked.
+     */
+    public static final String DEFAULT = "smart";
+
+    private TargetingStrategies() {
+    }
+
+    /**
+     * Holds the providers, loaded on first use.
+     */
+    private static final class Holder {
+        private static final Map<String, ServiceLoader.Provider<TargetingStrategy>> PROVIDERS = load();
+    }
+
+    /**
+     * Looks up every provider and binds it to the name of the strategy it provides. A
+     * provider that cannot be loaded, or whose name is taken, is skipped.
+     *
+     * @return the providers, by lower case name.
+     */
+    private static Map<String, ServiceLoader.Provider<TargetingStrategy>> load() {
+        Map<String, ServiceLoader.Provider<TargetingStrategy>> providers = new TreeMap<>();
+        ServiceLoader.load(TargetingStrategy.class, TargetingStrategies.class.getClassLoader()).stream().forEach(provider -> {
+            try {
+                String name = provider.get().getName().toLowerCase(Locale.ROOT);
+                if (providers.putIfAbsent(name, provider) != null) {
+                    System.err.println("Ignoring " + provider.type().getName() + ": the targeting strategy " + name
+                            + " is already provided");
+                }
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Error loading a targeting strategy: " + e.getMessage());
+            }
+        });
+        return Collections.unmodifiableMap(providers);
+    }
+
+    /**
+     * Creates a new instance of a strategy, for one match.
+     *
+     * @param name the name of the strategy, in any case.
+     * @return the strategy.
+     * @throws IllegalArgumentException if no provider offers a strategy with that name.
+     */
+    public static TargetingStrategy create(String name) {
+        ServiceLoader.Provider<TargetingStrategy> provider = Holder.PROVIDERS.get(name.toLowerCase(Locale.ROOT));
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown targeting strategy " + name + "; available: " + names());
+        }
+        return provider.get();
+    }
+
+    /**
+     * @return the names of the available strategies, in alphabetical order.
+     */
+    public static Set<String> names() {
+        return Holder.PROVIDERS.keySet();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.navalbattle.models.legacy;
+
+import com.example.navalbattle.models.BitBoard;
+import com.example.navalbattle.models.MatchCodec;
+
+import java.io.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Reads matches saved with Java serialization before the binary save format and
+ * migrates them to the current model.
+ *
+ * <p>The old classes are read into the shadow classes of this package, which share their
+ * simple names and serialVersionUIDs, and the fleets and shot grids are then replayed into
+ * new tables through {@link MatchCodec#migrate}. The old random generator cannot be
+ * carried over, so the migrated machine table gets a new seed.</p>
+ */
+public class LegacyMatchReader {
+
+    private static final String MODELS_PACKAGE = "com.example.navalbattle.models.";
+
+    /**
+     * The shadow class of each class of the old save.
+     */
+    private static final Map<String, Class<?>> SHADOWS = Map.of(
+            MODELS_PACKAGE + "MatchStatusSerializable", MatchStatusSerializable.class,
+            MODELS_PACKAGE + "MainTable", MainTable.class,
+            MODELS_PACKAGE + "PositionTable", PositionTable.class,
+            MODELS_PACKAGE + "Ship", Ship.class);
+
+    /**
+     * Reads a match saved in the old format.
+     *
+     * @param data the content of the old save file.
+     * @return the migrated match status, with a move count of 0.
+     * @throws IOException            if the data is not an old save.
+     * @throws ClassNotFoundException if the save references an unknown class.
+     */
+    public com.example.navalbattle.models.MatchStatusSerializable read(byte[] data) throws IOException, ClassNotFoundException {
+        MatchStatusSerializable legacy;
+        try (ObjectInputStream ois = new ShadowInputStream(new ByteArrayInputStream(data))) {
+            legacy = (MatchStatusSerializable) ois.readObject();
+        } catch (ClassCastException e) {
+            throw new InvalidObjectException("Not a saved match");
+        }
+        if (legacy.mainTable == null || legacy.positionTable == null) {
+            throw new InvalidObjectException("Incomplete saved match");
+        }
+
+        return MatchCodec.migrate(legacy.nickName, new Random().nextLong(),
+                fleet(legacy.mainTable.shipCoordinatesList), fleet(legacy.positionTable.shipCoordinatesList),
+                shots(legacy.positionTable.shotGrid), shots(legacy.mainTable.shotGrid));
+    }
+
+    /**
+     * Converts an old ship coordinates list to packed ship descriptors.
+     *
+     * @param coordinates the old ship coordinates list.
+     * @return the packed ship descriptors.
+     */
+    private static int[] fleet(List<int[]> coordinates) {
+        int[] fleet = new int[coordinates.size()];
+        for (int i = 0; i < fleet.length; i++) {
+            int[] ship = coordinates.get(i);
+            boolean horizontal = ship[4] == 1;
+            int size = horizontal ? ship[3] - ship[1] + 1 : ship[2] - ship[0] + 1;
+            fleet[i] = MatchCodec.ship(ship[0], ship[1], size, horizontal);
+        }
+        return fleet;
+    }
+
+    /**
+     * Converts an old shot grid (5 for a miss, 6 for a hit) to the plane of the cells fired at.
+     *
+     * @param shotGrid the old shot grid.
+     * @return the plane of the shots.
+     */
+    private static BitBoard shots(int[][] shotGrid) {
+        BitBoard plane = new BitBoard(shotGrid.length, shotGrid[0].length);
+        for (int row = 0; row < shotGrid.length; row++) {
+            for (int col = 0; col < shotGrid[row].length; col++) {
+                if (shotGrid[row][col] != 0) {
+                    plane.set(row, col);
+                }
+            }
+        }
+        return plane;
+    }
+
+    /**
+     * Object stream that reads the classes of the old save into their shadow classes.
+     */
+    private static class ShadowInputStream extends ObjectInputStream {
+
+        ShadowInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> shadow = SHADOWS.get(desc.getName());
+            return shadow != null ? shadow : super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.navalbattle.models.legacy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The machine's table as it was written by Java serialization before the binary save format.
+ * Only the fleet and the shot grid are migrated.
+ */
+class MainTable implements Serializable {
+    private static final long serialVersionUID = -6652984622275023425L;
+
+    int[][] board;
+    int[][] shotGrid;
+    List<int[]> shots;
+    List<int[]> shipCoordinatesList;
+    Random random;
+    ArrayList<Ship> ships;
+}
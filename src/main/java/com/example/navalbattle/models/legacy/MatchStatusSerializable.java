@@ -0,0 +1,16 @@
+package com.example.navalbattle.models.legacy;
+
+import java.io.Serializable;
+
+/**
+ * The match status as it was written by Java serialization before the binary save format.
+ * It only exists so {@link LegacyMatchReader} can read old saves; its name, fields and
+ * serialVersionUID must match the class that wrote them.
+ */
+class MatchStatusSerializable implements Serializable {
+    private static final long serialVersionUID = 1149000598190857614L;
+
+    MainTable mainTable;
+    PositionTable positionTable;
+    String nickName;
+}
@@ -0,0 +1,18 @@
+package com.example.navalbattle.models.legacy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The player's table as it was written by Java serialization before the binary save format.
+ * Only the fleet and the shot grid are migrated.
+ */
+class PositionTable implements Serializable {
+    private static final long serialVersionUID = 7535843564474869348L;
+
+    int[][] positionTable;
+    int[][] shotGrid;
+    List<int[]> shipCoordinatesList;
+    ArrayList<Ship> ships;
+}
@@ -0,0 +1,14 @@
+package com.example.navalbattle.models.legacy;
+
+import java.io.Serializable;
+
+/**
+ * A ship as it was written by Java serialization before the binary save format.
+ */
+class Ship implements Serializable {
+    private static final long serialVersionUID = -3355375566384428980L;
+
+    int shipAmount;
+    int shipSize;
+    int shipType;
+}
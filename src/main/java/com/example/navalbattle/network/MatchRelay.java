@@ -0,0 +1,344 @@
+package com.example.navalbattle.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Pairs the players of network matches and carries their frames, on a single thread.
+ *
+ * <p>Every socket is non-blocking and registered with one {@link Selector}, so hundreds of
+ * connections cost a key and two buffers each, not a thread. A player sends {@link NetworkFrame#JOIN}
+ * with a room; the first player in a room waits, the second one is paired with it and both are
+ * sent {@link NetworkFrame#PAIRED} with their seat. After that the relay does not decode the
+ * frames of the match: the whole frames of each read are written to the opponent's socket
+ * straight from the direct buffer they were read into. Bytes the opponent's socket does not
+ * take at once are queued in its output buffer and flushed when the selector reports it
+ * writable; an opponent whose queue overflows is too slow to play and is disconnected.</p>
+ *
+ * <p>When a player disconnects, its opponent is sent {@link NetworkFrame#LEFT}. Frames sent
+ * before joining, other than {@code JOIN}, close the connection; frames sent while waiting or
+ * after the opponent left are dropped.</p>
+ *
+ * <p>The relay only listens on the loopback interface. The first player of a match hosts it
+ * inside the game when none is running, or it can be run alone with
+ * {@code java -cp target/classes com.example.navalbattle.network.MatchRelay [port]}.</p>
+ */
+public class MatchRelay implements Runnable, AutoCloseable {
+
+    /**
+     * The port the relay listens on when none is given.
+     */
+    public static final int DEFAULT_PORT = 5556;
+
+    /**
+     * The size of the input and output buffers of a connection.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Map<String, Connection> waiting = new HashMap<>();
+
+    /**
+     * The buffer the frames written by the relay itself are built in.
+     */
+    private final ByteBuffer control = ByteBuffer.allocateDirect(NetworkFrame.MAX_FRAME);
+
+    private volatile boolean running = true;
+
+    /**
+     * Opens the relay on the loopback interface. Connections are served by {@link #run()}.
+     *
+     * @param port the port to listen on, or 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public MatchRelay(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Serves the relay on a daemon thread, so it ends with the game.
+     *
+     * @return the thread of the relay.
+     */
+    public Thread start() {
+        Thread thread = new Thread(this, "match-relay");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * @return the port the relay listens on.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Accepts connections and carries their frames until the relay is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isWritable()) {
+                            flush(connection);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(connection);
+                        }
+                    } catch (IOException e) {
+                        disconnect(connection);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error in the match relay: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Error closing the match relay: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Accepts a pending connection, if any.
+     *
+     * @throws IOException if the connection cannot be set up.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    /**
+     * Reads what a connection sent, handles its {@code JOIN} and forwards its other whole
+     * frames to the opponent in a single write. A partial frame stays in the buffer until the
+     * rest of it arrives.
+     *
+     * @param connection the readable connection.
+     * @throws IOException if the connection was lost or broke the protocol.
+     */
+    private void read(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        if (connection.channel.read(in) < 0) {
+            disconnect(connection);
+            return;
+        }
+        in.flip();
+        int start = in.position();
+        int length;
+        while ((length = NetworkFrame.frameLength(in)) > 0) {
+            if (connection.room == null) {
+                if (NetworkFrame.type(in) != NetworkFrame.JOIN || length == NetworkFrame.HEADER) {
+                    throw new IOException("Expected JOIN");
+                }
+                join(connection, NetworkFrame.room(in));
+                start = in.position() + length;
+            } else if (connection.partner == null) {
+                start = in.position() + length;
+            }
+            in.position(in.position() + length);
+        }
+        if (connection.partner != null && in.position() > start) {
+            forward(connection.partner, in, start, in.position());
+        }
+        in.compact();
+    }
+
+    /**
+     * Puts a connection in a room, pairing it with the player waiting there if there is one.
+     * If the waiting player is found disconnected when it is told about the pairing, the
+     * joining connection waits in the room instead.
+     *
+     * @param connection the joining connection.
+     * @param room       the room.
+     */
+    private void join(Connection connection, String room) {
+        connection.room = room;
+        Connection opponent = waiting.remove(room);
+        if (opponent != null) {
+            NetworkFrame.putPaired(control.clear(), 0).flip();
+            forward(opponent, control, 0, control.limit());
+            if (!opponent.key.isValid()) {
+                opponent = null;
+            }
+        }
+        if (opponent == null) {
+            waiting.put(room, connection);
+            return;
+        }
+        opponent.partner = connection;
+        connection.partner = opponent;
+        NetworkFrame.putPaired(control.clear(), 1).flip();
+        forward(connection, control, 0, control.limit());
+    }
+
+    /**
+     * Writes bytes to a connection, queueing what its socket does not take. A failing or too
+     * slow connection is disconnected.
+     *
+     * @param to     the receiving connection.
+     * @param source the buffer holding the bytes.
+     * @param start  the index of the first byte.
+     * @param end    the index after the last byte.
+     */
+    private void forward(Connection to, ByteBuffer source, int start, int end) {
+        int limit = source.limit();
+        source.limit(end).position(start);
+        try {
+            if (to.out.position() == 0) {
+                to.channel.write(source);
+            }
+            if (source.hasRemaining()) {
+                if (source.remaining() > to.out.remaining()) {
+                    throw new IOException("Output queue full");
+                }
+                to.out.put(source);
+                to.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            disconnect(to);
+        } finally {
+            source.limit(limit).position(end);
+        }
+    }
+
+    /**
+     * Writes the queued bytes of a connection, and stops watching for writability once the
+     * queue is empty.
+     *
+     * @param connection the writable connection.
+     * @throws IOException if the connection was lost.
+     */
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer out = connection.out;
+        out.flip();
+        connection.channel.write(out);
+        out.compact();
+        if (out.position() == 0) {
+            connection.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes a connection, takes it out of its room and tells its opponent.
+     *
+     * @param connection the connection to close.
+     */
+    private void disconnect(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        closeQuietly(connection.key);
+        if (connection.room != null) {
+            waiting.remove(connection.room, connection);
+        }
+        Connection opponent = connection.partner;
+        if (opponent != null) {
+            connection.partner = null;
+            opponent.partner = null;
+            if (opponent.key.isValid()) {
+                NetworkFrame.putLeft(control.clear()).flip();
+                forward(opponent, control, 0, control.limit());
+            }
+        }
+    }
+
+    /**
+     * Cancels a key and closes its channel.
+     *
+     * @param key the key.
+     */
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Nothing left to do with a connection that cannot even be closed
+        }
+    }
+
+    /**
+     * Stops the relay and closes every connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Runs a relay from the command line until the JVM is stopped.
+     *
+     * @param args the optional port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        MatchRelay relay = new MatchRelay(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        System.out.println("Naval Battle match relay listening on " + relay.getPort());
+        relay.run();
+    }
+
+    /**
+     * The state of one player's connection.
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private SelectionKey key;
+        private String room;
+        private Connection partner;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
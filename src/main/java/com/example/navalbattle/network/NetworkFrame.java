@@ -0,0 +1,198 @@
+package com.example.navalbattle.network;
+
+import com.example.navalbattle.models.MatchMove;
+import com.example.navalbattle.models.ShotResult;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Binary frames exchanged by the players of a network match and the {@link MatchRelay}.
+ *
+ * <p>Every frame is a one byte type, a one byte payload length and the payload, so the longest
+ * frame is 257 bytes and a shot travels in four. Only {@link #JOIN} is read by the relay; every
+ * other frame sent by a paired player is forwarded untouched to the opponent, and
+ * {@link #PAIRED} and {@link #LEFT} are written by the relay itself.</p>
+ * <ul>
+ *     <li>{@link #JOIN}: the room code, trimmed and upper-cased, in UTF-8.</li>
+ *     <li>{@link #PAIRED}: the seat of the player; seat 0 fires first.</li>
+ *     <li>{@link #READY}: the nickname of the player, in UTF-8, once the fleet is placed.</li>
+ *     <li>{@link #SHOT}: the cell fired at, as a two byte {@link MatchMove#playerShot} move.</li>
+ *     <li>{@link #RESULT}: the row, column and {@link ShotResult} of the shot, a flags byte
+ *     telling whether the fleet is sunk, and the coordinates of the ship it sank, if any.</li>
+ *     <li>{@link #LEFT}: the opponent left the match. No payload.</li>
+ * </ul>
+ *
+ * <p>Frames are written into buffers owned by the caller, so sending a move allocates
+ * nothing.</p>
+ */
+public final class NetworkFrame {
+
+    public static final int JOIN = 1;
+    public static final int PAIRED = 2;
+    public static final int READY = 3;
+    public static final int SHOT = 4;
+    public static final int RESULT = 5;
+    public static final int LEFT = 6;
+
+    /**
+     * The size of the type and length bytes in front of the payload.
+     */
+    public static final int HEADER = 2;
+
+    /**
+     * The size of the longest frame.
+     */
+    public static final int MAX_FRAME = HEADER + 255;
+
+    /**
+     * The longest room code sent in a {@link #JOIN} frame, in bytes.
+     */
+    public static final int MAX_ROOM = 255;
+
+    /**
+     * The longest nickname sent in a {@link #READY} frame, in bytes.
+     */
+    public static final int MAX_NICKNAME = 48;
+
+    /**
+     * The {@link #RESULT} flag set when the shot sank the last ship of the fleet.
+     */
+    public static final int FLEET_SUNK = 1;
+
+    private NetworkFrame() {
+    }
+
+    /**
+     * Returns the length of the frame at the position of a buffer, if it was received whole.
+     *
+     * @param buffer the received bytes, between its position and limit.
+     * @return the length of the frame, header included, or -1 if its bytes are not all there.
+     */
+    public static int frameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER) {
+            return -1;
+        }
+        int length = HEADER + (buffer.get(buffer.position() + 1) & 0xFF);
+        return buffer.remaining() < length ? -1 : length;
+    }
+
+    /**
+     * Returns the type of the frame at the position of a buffer.
+     *
+     * @param buffer a buffer holding a whole frame at its position.
+     * @return the type of the frame.
+     */
+    public static int type(ByteBuffer buffer) {
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    /**
+     * Returns the code of a room as sent in a {@link #JOIN} frame: trimmed, upper-cased and in
+     * UTF-8, so room codes are case insensitive.
+     *
+     * @param room the room code entered by the player.
+     * @return the bytes of the code.
+     * @throws IllegalArgumentException if the code is blank or longer than {@value #MAX_ROOM} bytes.
+     */
+    public static byte[] roomCode(String room) {
+        byte[] code = room.trim().toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        if (code.length == 0 || code.length > MAX_ROOM) {
+            throw new IllegalArgumentException("The room code must take 1 to " + MAX_ROOM + " bytes");
+        }
+        return code;
+    }
+
+    /**
+     * Reads the room code of the {@link #JOIN} frame at the position of a buffer.
+     *
+     * @param buffer a buffer holding a whole {@link #JOIN} frame at its position.
+     * @return the room code.
+     */
+    public static String room(ByteBuffer buffer) {
+        byte[] code = new byte[buffer.get(buffer.position() + 1) & 0xFF];
+        buffer.get(buffer.position() + HEADER, code);
+        return new String(code, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a {@link #JOIN} frame.
+     *
+     * @param out  the buffer the frame is written to.
+     * @param room the code of the room to wait for an opponent in, as built by {@link #roomCode}.
+     * @return the buffer.
+     */
+    public static ByteBuffer putJoin(ByteBuffer out, byte[] room) {
+        return out.put((byte) JOIN).put((byte) room.length).put(room);
+    }
+
+    /**
+     * Writes a {@link #PAIRED} frame.
+     *
+     * @param out  the buffer the frame is written to.
+     * @param seat the seat of the player, 0 or 1.
+     * @return the buffer.
+     */
+    public static ByteBuffer putPaired(ByteBuffer out, int seat) {
+        return out.put((byte) PAIRED).put((byte) 1).put((byte) seat);
+    }
+
+    /**
+     * Writes a {@link #READY} frame, cutting the nickname to {@value #MAX_NICKNAME} bytes.
+     *
+     * @param out      the buffer the frame is written to.
+     * @param nickname the nickname of the player.
+     * @return the buffer.
+     */
+    public static ByteBuffer putReady(ByteBuffer out, String nickname) {
+        byte[] bytes = nickname.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_NICKNAME);
+        return out.put((byte) READY).put((byte) length).put(bytes, 0, length);
+    }
+
+    /**
+     * Writes a {@link #SHOT} frame.
+     *
+     * @param out the buffer the frame is written to.
+     * @param row the row fired at.
+     * @param col the column fired at.
+     * @return the buffer.
+     */
+    public static ByteBuffer putShot(ByteBuffer out, int row, int col) {
+        return out.put((byte) SHOT).put((byte) 2).putShort((short) MatchMove.playerShot(row, col));
+    }
+
+    /**
+     * Writes a {@link #RESULT} frame.
+     *
+     * @param out       the buffer the frame is written to.
+     * @param row       the row of the shot.
+     * @param col       the column of the shot.
+     * @param result    the result of the shot.
+     * @param fleetSunk true if the shot sank the last ship of the fleet.
+     * @param sunkShip  the coordinates of the ship sunk by the shot, or null if it sank none.
+     * @return the buffer.
+     */
+    public static ByteBuffer putResult(ByteBuffer out, int row, int col, ShotResult result, boolean fleetSunk,
+                                       int[] sunkShip) {
+        out.put((byte) RESULT).put((byte) (sunkShip == null ? 4 : 10))
+                .put((byte) row).put((byte) col).put((byte) result.ordinal()).put((byte) (fleetSunk ? FLEET_SUNK : 0));
+        if (sunkShip != null) {
+            for (int i = 0; i < 6; i++) {
+                out.put((byte) sunkShip[i]);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Writes a {@link #LEFT} frame.
+     *
+     * @param out the buffer the frame is written to.
+     * @return the buffer.
+     */
+    public static ByteBuffer putLeft(ByteBuffer out) {
+        return out.put((byte) LEFT).put((byte) 0);
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.navalbattle.network;
+
+import com.example.navalbattle.interfaces.NetworkMatchInterface;
+import com.example.navalbattle.interfaces.NetworkMatchListener;
+import com.example.navalbattle.models.BitBoard;
+import com.example.navalbattle.models.MatchMove;
+import com.example.navalbattle.models.PlacementResult;
+import com.example.navalbattle.models.PositionTable;
+import com.example.navalbattle.models.ShotOutcome;
+import com.example.navalbattle.models.ShotResult;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One side of a match between two players on the same host, who reach each other through a
+ * {@link MatchRelay}.
+ *
+ * <p>Each side only knows its own fleet. A shot is sent to the opponent, whose side resolves
+ * it against its {@link PositionTable} and answers with the result, so every shot costs one
+ * round trip through the relay. The rules are those of the game against the machine: the
+ * player in seat 0 fires first once both fleets are placed, a hit keeps the turn and a miss
+ * passes it, and the match is over when the last cell of a fleet is hit. A frame that breaks
+ * these rules ends the match.</p>
+ *
+ * <p>The connection is a blocking {@link SocketChannel} read by a daemon thread, which decodes
+ * the frames and calls the {@link NetworkMatchListener}. The player's methods and the frames
+ * are handled under the lock of the match, so the listener sees the state right after each
+ * frame.</p>
+ *
+ * @see NetworkMatchInterface
+ */
+public class NetworkMatch implements NetworkMatchInterface {
+
+    private static final int BOARD_SIZE = 10;
+
+    /**
+     * The relay started by this process, when none was running at the first connection.
+     */
+    private static MatchRelay hostedRelay;
+
+    private final NetworkMatchListener listener;
+    private final PositionTable positionTable = new PositionTable();
+    private final BitBoard opponentShots = new BitBoard(BOARD_SIZE, BOARD_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(NetworkFrame.MAX_FRAME);
+    private SocketChannel channel;
+    private String nickname;
+    private String opponentName;
+    private int seat = -1;
+    private boolean ready;
+    private boolean opponentReady;
+    private boolean myTurn;
+    private int pendingShot = -1;
+    private boolean finished;
+    private boolean winner;
+    private boolean closed;
+
+    /**
+     * Constructs a match that reports to a listener.
+     *
+     * @param listener the listener notified of the opponent's moves.
+     */
+    public NetworkMatch(NetworkMatchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Connects to the relay on this host and joins a room. The room code is case insensitive.
+     *
+     * @param port the port of the relay.
+     * @param room the room code shared by both players.
+     * @throws IOException              if the relay can neither be reached nor started.
+     * @throws IllegalArgumentException if the room code is blank or longer than
+     *                                  {@value NetworkFrame#MAX_ROOM} bytes.
+     */
+    @Override
+    public void connect(int port, String room) throws IOException {
+        byte[] code = NetworkFrame.roomCode(room);
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        SocketChannel opened;
+        try {
+            opened = SocketChannel.open(address);
+        } catch (ConnectException e) {
+            hostRelay(port);
+            opened = SocketChannel.open(address);
+        }
+        opened.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        synchronized (this) {
+            channel = opened;
+            send(NetworkFrame.putJoin(out.clear(), code));
+        }
+        Thread reader = new Thread(this::readFrames, "network-match-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Starts a relay inside this process, unless it already hosts one. Another game may bind
+     * the port first, in which case its relay is used.
+     *
+     * @param port the port of the relay.
+     * @throws IOException if the relay cannot be started.
+     */
+    private static synchronized void hostRelay(int port) throws IOException {
+        if (hostedRelay != null) {
+            return;
+        }
+        try {
+            hostedRelay = new MatchRelay(port);
+            hostedRelay.start();
+        } catch (BindException e) {
+            // Another game started a relay on the port in the meantime
+        }
+    }
+
+    /**
+     * Places one of the player's ships, if the placement is legal.
+     *
+     * @param shipIndex   the index of the ship to place (1 to 4).
+     * @param row         the starting row of the ship.
+     * @param col         the starting column of the ship.
+     * @param orientation the orientation of the ship (0 for vertical, 1 for horizontal).
+     * @return {@link PlacementResult#PLACED}, or the reason the ship was not placed.
+     * @throws IllegalStateException if the player is already ready.
+     */
+    @Override
+    public synchronized PlacementResult placeShip(int shipIndex, int row, int col, int orientation) {
+        if (ready) {
+            throw new IllegalStateException("The fleet is already placed");
+        }
+        return positionTable.placeShip(shipIndex, row, col, orientation);
+    }
+
+    /**
+     * Tells the opponent that the player's fleet is placed, as soon as there is an opponent.
+     *
+     * @param nickname the nickname of the player.
+     * @throws IllegalStateException if the fleet is not complete.
+     */
+    @Override
+    public synchronized void ready(String nickname) {
+        if (!positionTable.isBoardFull()) {
+            throw new IllegalStateException("The fleet is not complete");
+        }
+        if (ready) {
+            return;
+        }
+        ready = true;
+        this.nickname = nickname;
+        if (seat >= 0) {
+            send(NetworkFrame.putReady(out.clear(), nickname));
+        }
+    }
+
+    /**
+     * Fires a shot at the opponent's fleet. The outcome is reported to
+     * {@link NetworkMatchListener#onShotResult} once the opponent answers.
+     *
+     * @param row the row of the shot.
+     * @param col the column of the shot.
+     * @throws IllegalStateException    if it is not the player's turn to fire.
+     * @throws IllegalArgumentException if the cell is off the board or was already fired at.
+     */
+    @Override
+    public synchronized void fire(int row, int col) {
+        if (!isMyTurn()) {
+            throw new IllegalStateException("It is not the player's turn");
+        }
+        if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE) {
+            throw new IllegalArgumentException("Cell " + row + "," + col + " is off the board");
+        }
+        if (positionTable.getShotGrid()[row][col] != 0) {
+            throw new IllegalArgumentException("Cell " + row + "," + col + " was already fired at");
+        }
+        pendingShot = row * BOARD_SIZE + col;
+        send(NetworkFrame.putShot(out.clear(), row, col));
+    }
+
+    /**
+     * Reads and handles frames until the connection is closed.
+     */
+    private void readFrames() {
+        ByteBuffer in = ByteBuffer.allocateDirect(2 * NetworkFrame.MAX_FRAME);
+        String message = "The connection to your opponent was lost";
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                int length;
+                while ((length = NetworkFrame.frameLength(in)) > 0) {
+                    int type = NetworkFrame.type(in);
+                    int end = in.position() + length;
+                    int limit = in.limit();
+                    in.limit(end).position(end - length + NetworkFrame.HEADER);
+                    receive(type, in);
+                    in.limit(limit).position(end);
+                }
+                in.compact();
+            }
+        } catch (ProtocolException e) {
+            message = "Your opponent broke the rules: " + e.getMessage();
+        } catch (IOException e) {
+            // The connection is reported as lost below
+        }
+        end(message);
+    }
+
+    /**
+     * Handles a frame from the relay or the opponent.
+     *
+     * @param type    the type of the frame.
+     * @param payload the payload of the frame, between its position and limit.
+     * @throws ProtocolException if the frame is invalid or breaks the rules.
+     */
+    private synchronized void receive(int type, ByteBuffer payload) throws ProtocolException {
+        if (closed) {
+            return;
+        }
+        switch (type) {
+            case NetworkFrame.PAIRED -> {
+                if (seat >= 0 || payload.remaining() != 1) {
+                    throw new ProtocolException("Unexpected PAIRED");
+                }
+                seat = payload.get();
+                myTurn = seat == 0;
+                if (ready) {
+                    send(NetworkFrame.putReady(out.clear(), nickname));
+                }
+                listener.onPaired(myTurn);
+            }
+            case NetworkFrame.READY -> {
+                if (opponentReady) {
+                    throw new ProtocolException("Unexpected READY");
+                }
+                byte[] bytes = new byte[Math.min(payload.remaining(), NetworkFrame.MAX_NICKNAME)];
+                payload.get(bytes);
+                opponentName = new String(bytes, StandardCharsets.UTF_8);
+                opponentReady = true;
+                listener.onOpponentReady(opponentName);
+            }
+            case NetworkFrame.SHOT -> receiveShot(payload);
+            case NetworkFrame.RESULT -> receiveResult(payload);
+            case NetworkFrame.LEFT -> {
+                if (!finished) {
+                    finished = true;
+                    listener.onDisconnected((opponentName == null ? "Your opponent" : opponentName) + " left the match");
+                }
+            }
+            default -> throw new ProtocolException("Unknown frame " + type);
+        }
+    }
+
+    /**
+     * Resolves a shot of the opponent against the player's fleet and sends back its result.
+     *
+     * @param payload the payload of the {@link NetworkFrame#SHOT} frame.
+     * @throws ProtocolException if the shot is invalid or it is not the opponent's turn.
+     */
+    private void receiveShot(ByteBuffer payload) throws ProtocolException {
+        if (!isStarted() || finished || myTurn || payload.remaining() != 2) {
+            throw new ProtocolException("Unexpected SHOT");
+        }
+        int move = payload.getShort() & 0xFFFF;
+        int row = MatchMove.row(move);
+        int col = MatchMove.col(move);
+        if (MatchMove.type(move) != MatchMove.PLAYER_SHOT || row >= BOARD_SIZE || col >= BOARD_SIZE
+                || opponentShots.get(row, col)) {
+            throw new ProtocolException("Invalid SHOT");
+        }
+        opponentShots.set(row, col);
+        ShotResult result = positionTable.receiveShot(row, col);
+        int[] sunkShip = result == ShotResult.SUNK
+                ? positionTable.getShipCoordinatesList().get(positionTable.getFleetIndex().getShipAt(row, col))
+                : null;
+        boolean fleetSunk = positionTable.getFleetIndex().isFleetSunk();
+        if (fleetSunk) {
+            finished = true;
+        } else if (result == ShotResult.MISS) {
+            myTurn = true;
+        }
+        send(NetworkFrame.putResult(out.clear(), row, col, result, fleetSunk, sunkShip));
+        listener.onOpponentShot(new ShotOutcome(row, col, false, result, sunkShip, fleetSunk, myTurn && !finished));
+    }
+
+    /**
+     * Records the opponent's answer to the player's pending shot.
+     *
+     * @param payload the payload of the {@link NetworkFrame#RESULT} frame.
+     * @throws ProtocolException if no shot is pending or the answer does not match it.
+     */
+    private void receiveResult(ByteBuffer payload) throws ProtocolException {
+        if (pendingShot < 0 || (payload.remaining() != 4 && payload.remaining() != 10)) {
+            throw new ProtocolException("Unexpected RESULT");
+        }
+        int row = payload.get();
+        int col = payload.get();
+        int ordinal = payload.get();
+        int flags = payload.get();
+        if (row * BOARD_SIZE + col != pendingShot || ordinal < 0 || ordinal >= ShotResult.values().length
+                || (ordinal == ShotResult.SUNK.ordinal()) != (payload.remaining() == 6)) {
+            throw new ProtocolException("Invalid RESULT");
+        }
+        ShotResult result = ShotResult.values()[ordinal];
+        int[] sunkShip = null;
+        if (result == ShotResult.SUNK) {
+            sunkShip = new int[6];
+            for (int i = 0; i < sunkShip.length; i++) {
+                sunkShip[i] = payload.get();
+            }
+        }
+        pendingShot = -1;
+        positionTable.recordShot(row, col, result != ShotResult.MISS);
+        boolean fleetSunk = (flags & NetworkFrame.FLEET_SUNK) != 0;
+        if (fleetSunk) {
+            finished = true;
+            winner = true;
+        } else if (result == ShotResult.MISS) {
+            myTurn = false;
+        }
+        listener.onShotResult(new ShotOutcome(row, col, true, result, sunkShip, fleetSunk, myTurn && !finished));
+    }
+
+    /**
+     * Writes a frame to the relay. A failed write is reported when the reader sees the
+     * connection closed.
+     *
+     * @param frame the buffer holding the frame, before it is flipped.
+     */
+    private void send(ByteBuffer frame) {
+        frame.flip();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        } catch (IOException e) {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Ends the match after the connection was lost, telling the listener unless the match was
+     * already over or closed by the player.
+     *
+     * @param message the description of what ended the match.
+     */
+    private synchronized void end(String message) {
+        closeChannel();
+        if (!closed && !finished) {
+            finished = true;
+            listener.onDisconnected(message);
+        }
+    }
+
+    /**
+     * @return true if both fleets are placed and the battle started.
+     */
+    @Override
+    public synchronized boolean isStarted() {
+        return ready && opponentReady && seat >= 0;
+    }
+
+    /**
+     * @return true if the player may fire now: the battle started, it is the player's turn and
+     * the last shot was answered.
+     */
+    @Override
+    public synchronized boolean isMyTurn() {
+        return isStarted() && !finished && myTurn && pendingShot < 0;
+    }
+
+    /**
+     * @return true if a fleet was sunk or the opponent left.
+     */
+    @Override
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return true if the player sank the opponent's fleet.
+     */
+    @Override
+    public synchronized boolean isWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the nickname of the opponent, or null until the opponent is ready.
+     */
+    @Override
+    public synchronized String getOpponentName() {
+        return opponentName;
+    }
+
+    /**
+     * Returns the player's fleet. Its shot grid records the player's shots at the opponent.
+     *
+     * @return the player's position table.
+     */
+    @Override
+    public PositionTable getPositionTable() {
+        return positionTable;
+    }
+
+    /**
+     * Leaves the match. The relay tells the opponent.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        closeChannel();
+    }
+
+    /**
+     * Closes the connection, which also stops the reader thread.
+     */
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing the network match: " + e.getMessage());
+        }
+    }
+}
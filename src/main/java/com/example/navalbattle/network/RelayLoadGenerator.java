@@ -0,0 +1,251 @@
+package com.example.navalbattle.network;
+
+import com.example.navalbattle.interfaces.NetworkMatchListener;
+import com.example.navalbattle.models.ShotOutcome;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for the {@link MatchRelay}. It opens many pairs of {@link NetworkMatch}es,
+ * places their fleets and keeps them idle, so the relay holds hundreds of sockets on its
+ * single thread. Then a few more pairs play whole matches at the same time, firing at random
+ * cells, and every shot is timed from {@link NetworkMatch#fire} to the opponent's answer: two
+ * trips through the relay and the opponent resolving the shot.
+ *
+ * <p>The playing pairs play a first round to warm up the code before the timed rounds. Every
+ * match has its own reader thread, so the client side costs a thread per socket while the
+ * relay costs none.</p>
+ *
+ * <p>Run with {@code java -cp target/classes com.example.navalbattle.network.RelayLoadGenerator
+ * [idle pairs] [playing pairs] [port]}. A relay is started in the same process if none is
+ * running on the port.</p>
+ */
+public class RelayLoadGenerator {
+
+    /**
+     * A player's fleet, as {ship, row, col, orientation}: a legal layout of the ten ships.
+     */
+    private static final int[][] FLEET = {
+            {4, 0, 0, 1},
+            {3, 2, 0, 1}, {3, 2, 5, 1},
+            {2, 4, 0, 1}, {2, 4, 4, 1}, {2, 4, 8, 1},
+            {1, 6, 0, 1}, {1, 6, 2, 1}, {1, 6, 4, 1}, {1, 6, 6, 1}
+    };
+
+    /**
+     * The amount of timed rounds, after the warm-up round.
+     */
+    private static final int TIMED_ROUNDS = 5;
+
+    private final int port;
+    private final AtomicInteger failures = new AtomicInteger();
+    private int nextRoom;
+
+    /**
+     * Set while the players are closed, when an opponent leaving is expected.
+     */
+    private volatile boolean closing;
+
+    /**
+     * Creates a load generator for the relay on a port of this host.
+     *
+     * @param port the port of the relay.
+     */
+    public RelayLoadGenerator(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Runs the load test and prints its report.
+     *
+     * @param idlePairs    the amount of pairs that stay connected without playing.
+     * @param playingPairs the amount of pairs playing in each round.
+     * @throws Exception if the test is interrupted or the relay cannot be reached.
+     */
+    public void run(int idlePairs, int playingPairs) throws Exception {
+        long start = System.nanoTime();
+        List<Player> idle = openPairs(idlePairs, 0);
+        System.out.printf("%d idle pairs (%d sockets) set up in %d ms%n", idlePairs, 2 * idlePairs,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        long[] latencies = new long[0];
+        long elapsed = 0;
+        for (int round = 0; round <= TIMED_ROUNDS; round++) {
+            List<Player> players = openPairs(playingPairs, round);
+            CountDownLatch done = new CountDownLatch(players.size());
+            players.forEach(player -> player.done = done);
+            long roundStart = System.nanoTime();
+            for (Player player : players) {
+                player.start();
+            }
+            if (!done.await(1, TimeUnit.MINUTES)) {
+                throw new IOException("The round did not finish");
+            }
+            if (round > 0) {
+                elapsed += System.nanoTime() - roundStart;
+                for (Player player : players) {
+                    int offset = latencies.length;
+                    latencies = Arrays.copyOf(latencies, offset + player.moves);
+                    System.arraycopy(player.latencies, 0, latencies, offset, player.moves);
+                }
+            }
+            players.forEach(player -> player.match.close());
+        }
+        closing = true;
+        idle.forEach(player -> player.match.close());
+
+        Arrays.sort(latencies);
+        System.out.printf("%d pairs played %d timed matches in %d ms, %d timed shots, %d failed players%n", playingPairs,
+                playingPairs * TIMED_ROUNDS, TimeUnit.NANOSECONDS.toMillis(elapsed), latencies.length, failures.get());
+        if (latencies.length > 0) {
+            System.out.printf("Shot round trip: p50 %d us, p99 %d us, p99.9 %d us, max %d us%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies[latencies.length - 1] / 1000);
+        }
+    }
+
+    /**
+     * Connects pairs of players in rooms of their own and waits until every fleet is placed
+     * on both sides.
+     *
+     * @param pairs the amount of pairs.
+     * @param seed  the seed of the players' shots.
+     * @return the players.
+     * @throws IOException          if the relay cannot be reached.
+     * @throws InterruptedException if interrupted while waiting for the players.
+     */
+    private List<Player> openPairs(int pairs, long seed) throws IOException, InterruptedException {
+        CountDownLatch ready = new CountDownLatch(2 * pairs);
+        List<Player> players = new ArrayList<>(2 * pairs);
+        for (int i = 0; i < pairs; i++) {
+            String room = "load-" + nextRoom++;
+            for (int side = 0; side < 2; side++) {
+                Player player = new Player(new SplittableRandom(seed << 32 | players.size()), ready);
+                player.match.connect(port, room);
+                for (int[] ship : FLEET) {
+                    player.match.placeShip(ship[0], ship[1], ship[2], ship[3]);
+                }
+                player.match.ready("load-" + players.size());
+                players.add(player);
+            }
+        }
+        if (!ready.await(1, TimeUnit.MINUTES)) {
+            throw new IOException("The players were not paired");
+        }
+        return players;
+    }
+
+    /**
+     * Returns a percentile of sorted latencies, in microseconds.
+     *
+     * @param sorted   the latencies, in nanoseconds, sorted.
+     * @param fraction the percentile, between 0 and 1.
+     * @return the latency at the percentile, in microseconds.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(fraction * sorted.length))] / 1000;
+    }
+
+    /**
+     * A player firing at the cells of the board in a random order whenever it has the turn.
+     * Its callbacks run on the reader thread of its match.
+     */
+    private final class Player implements NetworkMatchListener {
+        private final NetworkMatch match = new NetworkMatch(this);
+        private final int[] cells = new int[100];
+        private final long[] latencies = new long[100];
+        private final CountDownLatch ready;
+        private volatile CountDownLatch done;
+        private int fired;
+        private int moves;
+        private long sentAt;
+
+        private Player(SplittableRandom random, CountDownLatch ready) {
+            this.ready = ready;
+            for (int i = 0; i < cells.length; i++) {
+                int pick = random.nextInt(i + 1);
+                cells[i] = cells[pick];
+                cells[pick] = i;
+            }
+        }
+
+        /**
+         * Fires the first shot if the player has the turn.
+         */
+        private void start() {
+            synchronized (match) {
+                if (match.isMyTurn()) {
+                    fireNext();
+                }
+            }
+        }
+
+        private void fireNext() {
+            int cell = cells[fired++];
+            sentAt = System.nanoTime();
+            match.fire(cell / 10, cell % 10);
+        }
+
+        @Override
+        public void onPaired(boolean firstToFire) {
+        }
+
+        @Override
+        public void onOpponentReady(String nickname) {
+            ready.countDown();
+        }
+
+        @Override
+        public void onShotResult(ShotOutcome outcome) {
+            latencies[moves++] = System.nanoTime() - sentAt;
+            next(outcome);
+        }
+
+        @Override
+        public void onOpponentShot(ShotOutcome outcome) {
+            next(outcome);
+        }
+
+        private void next(ShotOutcome outcome) {
+            if (outcome.isMatchOver()) {
+                done.countDown();
+            } else if (outcome.isPlayerTurn()) {
+                fireNext();
+            }
+        }
+
+        @Override
+        public void onDisconnected(String message) {
+            if (closing) {
+                return;
+            }
+            if (failures.getAndIncrement() == 0) {
+                System.err.println("A player failed: " + message);
+            }
+            ready.countDown();
+            if (done != null) {
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Runs a load test from the command line.
+     *
+     * @param args optional amount of idle pairs, amount of playing pairs and port.
+     * @throws Exception if the test fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int idlePairs = args.length > 0 ? Integer.parseInt(args[0]) : 250;
+        int playingPairs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : MatchRelay.DEFAULT_PORT;
+        new RelayLoadGenerator(port).run(idlePairs, playingPairs);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.navalbattle.simulation;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.RandomSeeds;
+import com.example.navalbattle.models.ShotResult;
+import com.example.navalbattle.models.TargetingStrategies;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless AI-vs-AI simulator. It plays {@link MainTable} fleets against each other without
+ * the JavaFX controller, spreading the games over every core with a fork/join pool.
+ *
+ * <p>Every game draws both fleets and all the shots from its own {@link SplittableRandom}, seeded
+ * from the run seed and the game number through {@link RandomSeeds}, so a run is reproducible no matter how the games are split
+ * between threads. The rules follow the game: a hit keeps the turn and a miss passes it.
+ * Once a side has sunk the opponent fleet it is the winner, and the other side keeps firing
+ * alone so that both shots-to-win distributions cover every game.</p>
+ *
+ * <p>The sides fire with {@link TargetingStrategy} instances picked by name, so a strategy
+ * shipped in its own jar is compared to the built-in ones by adding the jar to the class path.
+ * Every game gets new instances of both strategies.</p>
+ *
+ * <p>Run with {@code java -cp target/classes com.example.navalbattle.simulation.MatchSimulator
+ * [games] [seed] [first strategy] [second strategy]}.</p>
+ */
+public class MatchSimulator {
+
+    /**
+     * Amount of games below which a task plays its range instead of splitting it.
+     */
+    private static final int GAMES_PER_TASK = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a simulator that uses every available core.
+     */
+    public MatchSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a simulator that runs its games on the given pool.
+     *
+     * @param pool the fork/join pool used to play the games.
+     */
+    public MatchSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Plays a batch of games between two strategies. The first side starts the even games and
+     * the second side starts the odd ones, so neither strategy gets the first-move advantage.
+     *
+     * @param first  the name of the strategy of the first side.
+     * @param second the name of the strategy of the second side.
+     * @param games  the amount of games to play.
+     * @param seed   the seed the game generators are derived from.
+     * @return the report of the run.
+     * @throws IllegalArgumentException if there is no strategy with one of the names.
+     */
+    public SimulationReport run(String first, String second, int games, long seed) {
+        first = TargetingStrategies.create(first).getName();
+        second = TargetingStrategies.create(second).getName();
+        long start = System.nanoTime();
+        SimulationResult[] results = pool.invoke(new GamesTask(first, second, seed, 0, games));
+        long elapsed = System.nanoTime() - start;
+        return new SimulationReport(List.of(results[0], results[1]), games, elapsed);
+    }
+
+    /**
+     * Plays a single game and records it in the results of both sides.
+     *
+     * @param first       the strategy of the first side.
+     * @param second      the strategy of the second side.
+     * @param firstStarts true if the first side fires first.
+     * @param random      the generator of the game.
+     * @param results     the results of the first and second side.
+     */
+    static void playGame(TargetingStrategy first, TargetingStrategy second, boolean firstStarts,
+                         SplittableRandom random, SimulationResult[] results) {
+        MainTable[] tables = {new MainTable(random), new MainTable(random)};
+        playGame(tables, new TargetingStrategy[]{first, second}, firstStarts ? 0 : 1, results);
+    }
+
+    /**
+     * Plays a single game on two tables whose fleets are already placed and records it in the
+     * results of both sides.
+     *
+     * @param tables     the tables of the first and second side.
+     * @param strategies the strategies of the first and second side.
+     * @param turn       the side that fires first, 0 or 1.
+     * @param results    the results of the first and second side.
+     * @return the side that sank the opponent fleet first.
+     */
+    static int playGame(MainTable[] tables, TargetingStrategy[] strategies, int turn, SimulationResult[] results) {
+        int[] shots = new int[2];
+        boolean[] done = new boolean[2];
+        int winner = -1;
+
+        while (!done[0] || !done[1]) {
+            if (done[turn]) {
+                turn = 1 - turn;
+            }
+            MainTable shooter = tables[turn];
+            MainTable target = tables[1 - turn];
+
+            int[] shot = strategies[turn].selectShot(shooter);
+            shots[turn]++;
+            ShotResult result = target.receiveShot(shot[0], shot[1]);
+            shooter.recordShot(shot[0], shot[1], result != ShotResult.MISS);
+
+            if (result == ShotResult.MISS) {
+                turn = 1 - turn;
+                continue;
+            }
+            if (result == ShotResult.SUNK) {
+                recordSunkShip(shooter, target, shot[0], shot[1]);
+            }
+            if (target.getFleetIndex().isFleetSunk()) {
+                done[turn] = true;
+                if (winner < 0) {
+                    winner = turn;
+                }
+            }
+        }
+        results[0].record(shots[0], winner == 0);
+        results[1].record(shots[1], winner == 1);
+        return winner;
+    }
+
+    /**
+     * Tells the shooter that its hit sank a ship of the target, so its targeting engine
+     * stops considering that ship.
+     *
+     * @param shooter the table of the side that fired.
+     * @param target  the table of the side that was hit.
+     * @param row     the row of the hit.
+     * @param col     the column of the hit.
+     */
+    private static void recordSunkShip(MainTable shooter, MainTable target, int row, int col) {
+        int[] ship = target.getShipCoordinatesList().get(target.getFleetIndex().getShipAt(row, col));
+        boolean horizontal = ship[4] == 1;
+        int size = horizontal ? ship[3] - ship[1] + 1 : ship[2] - ship[0] + 1;
+        shooter.recordSunk(ship[0], ship[1], size, horizontal);
+    }
+
+    /**
+     * Fork/join task that plays a range of games, splitting it in halves while it is large.
+     */
+    private static class GamesTask extends RecursiveTask<SimulationResult[]> {
+        private final String first;
+        private final String second;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a task for the games in {@code [from, to)}.
+         *
+         * @param first  the name of the strategy of the first side.
+         * @param second the name of the strategy of the second side.
+         * @param seed   the seed of the run.
+         * @param from   the first game of the range.
+         * @param to     the end of the range, exclusive.
+         */
+        GamesTask(String first, String second, long seed, int from, int to) {
+            this.first = first;
+            this.second = second;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult[] compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                GamesTask left = new GamesTask(first, second, seed, from, middle);
+                left.fork();
+                SimulationResult[] right = new GamesTask(first, second, seed, middle, to).compute();
+                SimulationResult[] merged = left.join();
+                merged[0].merge(right[0]);
+                merged[1].merge(right[1]);
+                return merged;
+            }
+
+            SimulationResult[] results = {new SimulationResult(first), new SimulationResult(second)};
+            for (int game = from; game < to; game++) {
+                SplittableRandom random = new SplittableRandom(RandomSeeds.derive(seed, game));
+                playGame(TargetingStrategies.create(first), TargetingStrategies.create(second), game % 2 == 0,
+                        random, results);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line and prints its report.
+     *
+     * @param args optional amount of games, seed, and the names of the two strategies.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        String first = args.length > 2 ? args[2] : "smart";
+        String second = args.length > 3 ? args[3] : "random";
+
+        SimulationReport report = new MatchSimulator().run(first, second, games, seed);
+        System.out.println("Seed: " + seed);
+        System.out.print(report);
+    }
+}
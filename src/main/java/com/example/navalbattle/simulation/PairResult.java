@@ -0,0 +1,93 @@
+package com.example.navalbattle.simulation;
+
+/**
+ * Aggregated outcome of the tournament games between two strategies. Results of different
+ * workers are combined with {@link #merge}.
+ */
+public class PairResult {
+
+    private final String first;
+    private final String second;
+    private long games;
+    private long firstWins;
+
+    /**
+     * Constructs an empty result for a pair of strategies.
+     *
+     * @param first  the name of the first strategy.
+     * @param second the name of the second strategy.
+     */
+    public PairResult(String first, String second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Records one game of the pair.
+     *
+     * @param firstWon true if the first strategy sank the opponent fleet first.
+     */
+    public void record(boolean firstWon) {
+        games++;
+        if (firstWon) {
+            firstWins++;
+        }
+    }
+
+    /**
+     * Adds the games of another result of the same pair to this one.
+     *
+     * @param other the result to merge.
+     * @return this result.
+     */
+    public PairResult merge(PairResult other) {
+        games += other.games;
+        firstWins += other.firstWins;
+        return this;
+    }
+
+    /**
+     * Returns the name of the first strategy.
+     *
+     * @return the name of the first strategy.
+     */
+    public String getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the name of the second strategy.
+     *
+     * @return the name of the second strategy.
+     */
+    public String getSecond() {
+        return second;
+    }
+
+    /**
+     * Returns the amount of games played by the pair.
+     *
+     * @return the amount of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the amount of games won by the first strategy.
+     *
+     * @return the wins of the first strategy.
+     */
+    public long getFirstWins() {
+        return firstWins;
+    }
+
+    /**
+     * Returns the amount of games won by the second strategy.
+     *
+     * @return the wins of the second strategy.
+     */
+    public long getSecondWins() {
+        return games - firstWins;
+    }
+}
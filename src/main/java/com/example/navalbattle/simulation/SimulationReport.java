@@ -0,0 +1,97 @@
+package com.example.navalbattle.simulation;
+
+import java.util.List;
+
+/**
+ * Report of a simulation run: the throughput of the run and, for each side,
+ * the win rate and the distribution of the shots needed to sink the opponent fleet.
+ */
+public class SimulationReport {
+
+    private final List<SimulationResult> results;
+    private final long games;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs the report of a run.
+     *
+     * @param results      the results of each side.
+     * @param games        the amount of games played.
+     * @param elapsedNanos the wall-clock duration of the run in nanoseconds.
+     */
+    public SimulationReport(List<SimulationResult> results, long games, long elapsedNanos) {
+        this.results = results;
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the results of each side.
+     *
+     * @return the results, in side order.
+     */
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the amount of games played.
+     *
+     * @return the amount of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of games played per second of wall-clock time.
+     *
+     * @return the throughput of the run.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Formats the report as a small text table followed by the shots-to-win histograms,
+     * bucketed by five shots.
+     *
+     * @return the printable report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Games: %d in %.2f s (%.0f games/s)%n", games, elapsedNanos / 1e9, getGamesPerSecond()));
+        text.append(String.format("%-8s %8s %8s %6s %6s %6s %6s%n", "Strategy", "Win %", "Mean", "P10", "P50", "P90", "Max"));
+        for (SimulationResult result : results) {
+            double winRate = result.getGames() == 0 ? 0 : 100.0 * result.getWins() / result.getGames();
+            text.append(String.format("%-8s %8.2f %8.2f %6d %6d %6d %6d%n", result.getStrategy(), winRate,
+                    result.getMeanShots(), result.getPercentile(10), result.getPercentile(50),
+                    result.getPercentile(90), result.getPercentile(100)));
+        }
+
+        for (SimulationResult result : results) {
+            text.append(String.format("%nShots to win, %s:%n", result.getStrategy()));
+            long[] shotsToWin = result.getShotsToWin();
+            for (int bucket = 0; bucket < shotsToWin.length; bucket += 5) {
+                long count = 0;
+                for (int shots = bucket; shots < Math.min(bucket + 5, shotsToWin.length); shots++) {
+                    count += shotsToWin[shots];
+                }
+                if (count > 0) {
+                    text.append(String.format("%3d-%-3d %10d%n", bucket, Math.min(bucket + 4, shotsToWin.length - 1), count));
+                }
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.navalbattle.simulation;
+
+/**
+ * Aggregated outcome of the simulated games of one side, played with one strategy.
+ * Holds the amount of games and wins and the distribution of the shots needed to sink
+ * the whole opponent fleet. Results of different workers are combined with {@link #merge}.
+ */
+public class SimulationResult {
+
+    private final String strategy;
+
+    /**
+     * Amount of games that needed exactly {@code i} shots to sink the opponent fleet.
+     */
+    private final long[] shotsToWin = new long[101];
+
+    private long games;
+    private long wins;
+    private long totalShots;
+
+    /**
+     * Constructs an empty result for a strategy.
+     *
+     * @param strategy the name of the strategy played by the side.
+     */
+    public SimulationResult(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Records one game of the side.
+     *
+     * @param shots the shots the side needed to sink the opponent fleet.
+     * @param won   true if the side sank the opponent fleet first.
+     */
+    public void record(int shots, boolean won) {
+        shotsToWin[Math.min(shots, shotsToWin.length - 1)]++;
+        totalShots += shots;
+        games++;
+        if (won) {
+            wins++;
+        }
+    }
+
+    /**
+     * Adds the games of another result of the same strategy to this one.
+     *
+     * @param other the result to merge.
+     * @return this result.
+     */
+    public SimulationResult merge(SimulationResult other) {
+        for (int i = 0; i < shotsToWin.length; i++) {
+            shotsToWin[i] += other.shotsToWin[i];
+        }
+        games += other.games;
+        wins += other.wins;
+        totalShots += other.totalShots;
+        return this;
+    }
+
+    /**
+     * Returns the name of the strategy played by the side.
+     *
+     * @return the name of the strategy.
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the amount of games played.
+     *
+     * @return the amount of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the amount of games won.
+     *
+     * @return the amount of wins.
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the average amount of shots needed to sink the opponent fleet.
+     *
+     * @return the mean shots to win, or 0 if no game was played.
+     */
+    public double getMeanShots() {
+        return games == 0 ? 0 : (double) totalShots / games;
+    }
+
+    /**
+     * Returns a percentile of the shots needed to sink the opponent fleet.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the smallest amount of shots that covers the percentile of the games.
+     */
+    public int getPercentile(double percentile) {
+        long threshold = (long) Math.ceil(games * percentile / 100.0);
+        long seen = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            seen += shotsToWin[shots];
+            if (seen >= threshold && seen > 0) {
+                return shots;
+            }
+        }
+        return shotsToWin.length - 1;
+    }
+
+    /**
+     * Returns the distribution of the shots needed to sink the opponent fleet.
+     *
+     * @return the amount of games per number of shots.
+     */
+    public long[] getShotsToWin() {
+        return shotsToWin.clone();
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.navalbattle.simulation;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.RandomSeeds;
+import com.example.navalbattle.models.TargetingStrategies;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless round-robin tournament between targeting strategies. Every pair of strategies plays
+ * the same deals, spread over every core with a fork/join pool, and the results are rated in a
+ * {@link TournamentReport}.
+ *
+ * <p>The fleets are drawn once, before the games, seeded from the tournament seed through
+ * {@link RandomSeeds}. Deal {@code k} uses fleets {@code 2k} and {@code 2k + 1} and is played
+ * twice: in the second game the strategies swap fleets and the other one fires first, so
+ * neither side of a deal gets the better fleet or the first move. Every game copies its
+ * fleets into new tables with {@link MainTable#MainTable(MainTable, long)}, whose shots are
+ * seeded by the fleet, so the pairs also share the random draws of their strategies.</p>
+ *
+ * <p>Run with {@code java -cp target/classes com.example.navalbattle.simulation.Tournament
+ * [deals per pair] [seed] [report file] [strategies...]}. Every strategy on the class path
+ * plays when none is named. The text report is printed and the JSON report is written to the
+ * file, {@code tournament.json} by default, or not at all if the file is {@code -}. The default
+ * seed is fixed, so two builds play the same games and their reports can be compared.</p>
+ */
+public class Tournament {
+
+    /**
+     * Amount of deals below which a task plays its range instead of splitting it.
+     */
+    private static final int DEALS_PER_TASK = 128;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a tournament that uses every available core.
+     */
+    public Tournament() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a tournament that runs its games on the given pool.
+     *
+     * @param pool the fork/join pool used to play the games.
+     */
+    public Tournament(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every pair of strategies on the same deals, two games per deal.
+     *
+     * @param strategies the names of the strategies, at least two.
+     * @param deals      the amount of deals every pair plays.
+     * @param seed       the seed the fleets are derived from.
+     * @return the report of the tournament.
+     * @throws IllegalArgumentException if there is no strategy with one of the names or fewer than two.
+     */
+    public TournamentReport run(List<String> strategies, int deals, long seed) {
+        TreeSet<String> unique = new TreeSet<>();
+        for (String name : strategies) {
+            unique.add(TargetingStrategies.create(name).getName());
+        }
+        if (unique.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two strategies, got " + unique);
+        }
+        String[] names = unique.toArray(new String[0]);
+        List<int[]> pairings = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            for (int j = i + 1; j < names.length; j++) {
+                pairings.add(new int[]{i, j});
+            }
+        }
+
+        MainTable[] fleets = new MainTable[2 * deals];
+        for (int i = 0; i < fleets.length; i++) {
+            fleets[i] = new MainTable(RandomSeeds.derive(seed, i));
+        }
+
+        long start = System.nanoTime();
+        Tally tally = pool.invoke(new DealsTask(names, pairings, fleets, deals, 0, pairings.size() * deals));
+        long elapsed = System.nanoTime() - start;
+        return new TournamentReport(Arrays.asList(tally.results), Arrays.asList(tally.pairs), seed, deals, elapsed,
+                pool.getParallelism());
+    }
+
+    /**
+     * Plays both games of a deal between two strategies.
+     *
+     * @param first  the table holding the first fleet of the deal.
+     * @param second the table holding the second fleet of the deal.
+     * @param names  the names of the strategies of the pair.
+     * @param pair   the result of the pair.
+     * @param sides  the results of both strategies.
+     */
+    private static void playDeal(MainTable first, MainTable second, String[] names, PairResult pair,
+                                 SimulationResult[] sides) {
+        for (int game = 0; game < 2; game++) {
+            MainTable own = game == 0 ? first : second;
+            MainTable other = game == 0 ? second : first;
+            MainTable[] tables = {new MainTable(own, own.getSeed()), new MainTable(other, other.getSeed())};
+            TargetingStrategy[] strategies = {TargetingStrategies.create(names[0]), TargetingStrategies.create(names[1])};
+            pair.record(MatchSimulator.playGame(tables, strategies, game, sides) == 0);
+        }
+    }
+
+    /**
+     * Results gathered by a task: one per strategy and one per pair.
+     */
+    private static class Tally {
+        private final SimulationResult[] results;
+        private final PairResult[] pairs;
+
+        Tally(String[] names, List<int[]> pairings) {
+            results = new SimulationResult[names.length];
+            for (int i = 0; i < names.length; i++) {
+                results[i] = new SimulationResult(names[i]);
+            }
+            pairs = new PairResult[pairings.size()];
+            for (int p = 0; p < pairs.length; p++) {
+                pairs[p] = new PairResult(names[pairings.get(p)[0]], names[pairings.get(p)[1]]);
+            }
+        }
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < results.length; i++) {
+                results[i].merge(other.results[i]);
+            }
+            for (int p = 0; p < pairs.length; p++) {
+                pairs[p].merge(other.pairs[p]);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fork/join task that plays a range of the deals of every pair, splitting it in halves
+     * while it is large. Deal {@code d} of the range is deal {@code d % deals} of pair
+     * {@code d / deals}.
+     */
+    private static class DealsTask extends RecursiveTask<Tally> {
+        private final String[] names;
+        private final List<int[]> pairings;
+        private final MainTable[] fleets;
+        private final int deals;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a task for the deals in {@code [from, to)}.
+         *
+         * @param names    the names of the strategies.
+         * @param pairings the indexes of the strategies of each pair.
+         * @param fleets   the fleets of the deals, read by every task.
+         * @param deals    the amount of deals of each pair.
+         * @param from     the first deal of the range.
+         * @param to       the end of the range, exclusive.
+         */
+        DealsTask(String[] names, List<int[]> pairings, MainTable[] fleets, int deals, int from, int to) {
+            this.names = names;
+            this.pairings = pairings;
+            this.fleets = fleets;
+            this.deals = deals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > DEALS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                DealsTask left = new DealsTask(names, pairings, fleets, deals, from, middle);
+                left.fork();
+                Tally right = new DealsTask(names, pairings, fleets, deals, middle, to).compute();
+                return left.join().merge(right);
+            }
+
+            Tally tally = new Tally(names, pairings);
+            for (int d = from; d < to; d++) {
+                int pair = d / deals;
+                int deal = d % deals;
+                int[] pairing = pairings.get(pair);
+                playDeal(fleets[2 * deal], fleets[2 * deal + 1], new String[]{names[pairing[0]], names[pairing[1]]},
+                        tally.pairs[pair], new SimulationResult[]{tally.results[pairing[0]], tally.results[pairing[1]]});
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Runs a tournament from the command line, prints its report and writes the JSON report.
+     *
+     * @param args optional amount of deals per pair, seed, report file and strategy names.
+     * @throws IOException if the report cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        String file = args.length > 2 ? args[2] : "tournament.json";
+        List<String> strategies = args.length > 3
+                ? Arrays.asList(args).subList(3, args.length)
+                : new ArrayList<>(TargetingStrategies.names());
+
+        TournamentReport report = new Tournament().run(strategies, deals, seed);
+        System.out.println("Seed: " + seed);
+        System.out.print(report);
+        if (!file.equals("-")) {
+            Files.writeString(Path.of(file), report.toJson(), StandardCharsets.UTF_8);
+            System.out.println("Report written to " + file);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.navalbattle.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Report of a tournament: the throughput of the run, the result of every pair of strategies
+ * and a rating of each strategy on the Elo scale.
+ *
+ * <p>The ratings are the maximum likelihood Bradley-Terry strengths of the pairwise results,
+ * so they do not depend on the order the games were played in, shown as
+ * {@code 1500 + 400 log10(strength)} with the geometric mean strength at 1500. Every pair is
+ * given one extra game split between both sides, which keeps the rating of a strategy that
+ * won or lost every game finite. The 95% interval of a rating comes from the Fisher
+ * information of the model and that of a pair from the normal approximation of its score.
+ * Both treat the games as independent; the duplicate games of a deal share their fleets, so
+ * the intervals are on the wide side.</p>
+ *
+ * <p>{@link #toJson()} writes the report with one strategy or pair per line, in a fixed order,
+ * so the reports of two builds can be compared with a plain diff.</p>
+ */
+public class TournamentReport {
+
+    /**
+     * The rating of the geometric mean strength.
+     */
+    private static final double BASE_RATING = 1500;
+
+    /**
+     * Elo points per natural log unit of strength.
+     */
+    private static final double ELO_PER_LOG = 400 / Math.log(10);
+
+    /**
+     * The normal quantile of a two-sided 95% interval.
+     */
+    private static final double Z95 = 1.959964;
+
+    private final List<SimulationResult> results;
+    private final List<PairResult> pairs;
+    private final long seed;
+    private final int deals;
+    private final long games;
+    private final long elapsedNanos;
+    private final int threads;
+    private final double[] ratings;
+    private final double[] errors;
+
+    /**
+     * Constructs the report of a tournament and rates its strategies.
+     *
+     * @param results      the results of each strategy over all its games, in strategy order.
+     * @param pairs        the results of each pair of strategies, naming strategies of the results.
+     * @param seed         the seed of the tournament.
+     * @param deals        the amount of deals played by every pair.
+     * @param elapsedNanos the wall-clock duration of the games in nanoseconds.
+     * @param threads      the amount of threads the games were played on.
+     */
+    public TournamentReport(List<SimulationResult> results, List<PairResult> pairs, long seed, int deals,
+                            long elapsedNanos, int threads) {
+        this.results = results;
+        this.pairs = pairs;
+        this.seed = seed;
+        this.deals = deals;
+        this.games = pairs.stream().mapToLong(PairResult::getGames).sum();
+        this.elapsedNanos = elapsedNanos;
+        this.threads = threads;
+        this.ratings = new double[results.size()];
+        this.errors = new double[results.size()];
+        rate();
+    }
+
+    /**
+     * Fits the Bradley-Terry strengths with the minorization-maximization iteration, then
+     * turns them and their standard errors into Elo points.
+     */
+    private void rate() {
+        int n = results.size();
+        double[][] played = new double[n][n];
+        double[] wins = new double[n];
+        for (PairResult pair : pairs) {
+            int a = indexOf(pair.getFirst());
+            int b = indexOf(pair.getSecond());
+            played[a][b] += pair.getGames() + 1;
+            played[b][a] += pair.getGames() + 1;
+            wins[a] += pair.getFirstWins() + 0.5;
+            wins[b] += pair.getSecondWins() + 0.5;
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            double[] next = new double[n];
+            double logSum = 0;
+            for (int i = 0; i < n; i++) {
+                double denominator = 0;
+                for (int j = 0; j < n; j++) {
+                    if (played[i][j] > 0) {
+                        denominator += played[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                next[i] = denominator == 0 ? 1 : wins[i] / denominator;
+                logSum += Math.log(next[i]);
+            }
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                next[i] /= Math.exp(logSum / n);
+                change = Math.max(change, Math.abs(Math.log(next[i] / strength[i])));
+            }
+            strength = next;
+            if (change < 1e-12) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            double information = 0;
+            for (int j = 0; j < n; j++) {
+                double p = strength[i] / (strength[i] + strength[j]);
+                information += played[i][j] * p * (1 - p);
+            }
+            ratings[i] = BASE_RATING + ELO_PER_LOG * Math.log(strength[i]);
+            errors[i] = information == 0 ? 0 : Z95 * ELO_PER_LOG / Math.sqrt(information);
+        }
+    }
+
+    private int indexOf(String strategy) {
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).getStrategy().equals(strategy)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No result for strategy " + strategy);
+    }
+
+    /**
+     * Returns the results of each strategy over all its games.
+     *
+     * @return the results, in strategy order.
+     */
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the results of each pair of strategies.
+     *
+     * @return the pair results.
+     */
+    public List<PairResult> getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Returns the rating of a strategy.
+     *
+     * @param strategy the name of the strategy.
+     * @return the rating, in Elo points.
+     */
+    public double getRating(String strategy) {
+        return ratings[indexOf(strategy)];
+    }
+
+    /**
+     * Returns the half-width of the 95% interval of the rating of a strategy.
+     *
+     * @param strategy the name of the strategy.
+     * @return the half-width of the interval, in Elo points.
+     */
+    public double getRatingError(String strategy) {
+        return errors[indexOf(strategy)];
+    }
+
+    /**
+     * Returns the amount of games played.
+     *
+     * @return the amount of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the amount of games played per second of wall-clock time.
+     *
+     * @return the throughput of the run.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns the rating difference of a pair and its 95% interval, from its own games only.
+     *
+     * @param pair the pair.
+     * @return the rating of the first strategy minus that of the second, and the bounds of its interval.
+     */
+    private static double[] pairDifference(PairResult pair) {
+        double n = pair.getGames() + 1;
+        double score = (pair.getFirstWins() + 0.5) / n;
+        double error = Z95 * Math.sqrt(score * (1 - score) / n);
+        return new double[]{eloOf(score), eloOf(Math.max(score - error, 0.5 / n)),
+                eloOf(Math.min(score + error, 1 - 0.5 / n))};
+    }
+
+    private static double eloOf(double score) {
+        return 400 * Math.log10(score / (1 - score));
+    }
+
+    /**
+     * Returns the indexes of the strategies from the highest rating to the lowest.
+     *
+     * @return the ranking.
+     */
+    private List<Integer> ranking() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingDouble(i -> -ratings[i])
+                .thenComparing(i -> results.get(i).getStrategy()));
+        return order;
+    }
+
+    /**
+     * Formats the report as JSON, one strategy or pair per line.
+     *
+     * @return the JSON report.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append(format("  \"seed\": %d,%n  \"dealsPerPair\": %d,%n  \"games\": %d,%n", seed, deals, games));
+        json.append(format("  \"threads\": %d,%n  \"elapsedMs\": %d,%n  \"gamesPerSecond\": %.0f,%n",
+                threads, elapsedNanos / 1_000_000, getGamesPerSecond()));
+        json.append("  \"ratings\": [\n");
+        List<Integer> ranking = ranking();
+        for (int k = 0; k < ranking.size(); k++) {
+            int i = ranking.get(k);
+            SimulationResult result = results.get(i);
+            json.append(format("    {\"strategy\": \"%s\", \"elo\": %.1f, \"ci95\": %.1f, \"games\": %d, \"wins\": %d, "
+                            + "\"meanShots\": %.2f, \"p50Shots\": %d, \"p90Shots\": %d}%s%n",
+                    escape(result.getStrategy()), ratings[i], errors[i], result.getGames(), result.getWins(),
+                    result.getMeanShots(), result.getPercentile(50), result.getPercentile(90),
+                    k < ranking.size() - 1 ? "," : ""));
+        }
+        json.append("  ],\n  \"pairs\": [\n");
+        for (int k = 0; k < pairs.size(); k++) {
+            PairResult pair = pairs.get(k);
+            double[] difference = pairDifference(pair);
+            json.append(format("    {\"first\": \"%s\", \"second\": \"%s\", \"games\": %d, \"firstWins\": %d, "
+                            + "\"eloDiff\": %.1f, \"ci95Low\": %.1f, \"ci95High\": %.1f}%s%n",
+                    escape(pair.getFirst()), escape(pair.getSecond()), pair.getGames(), pair.getFirstWins(),
+                    difference[0], difference[1], difference[2], k < pairs.size() - 1 ? "," : ""));
+        }
+        json.append("  ]\n}\n");
+        return json.toString();
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Formats the report as a small text table of the ratings followed by the pair results.
+     *
+     * @return the printable report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Games: %d in %.2f s on %d threads (%.0f games/s)%n", games, elapsedNanos / 1e9,
+                threads, getGamesPerSecond()));
+        text.append(String.format("%-10s %8s %7s %8s %8s %6s%n", "Strategy", "Elo", "95%", "Games", "Win %", "Mean"));
+        for (int i : ranking()) {
+            SimulationResult result = results.get(i);
+            double winRate = result.getGames() == 0 ? 0 : 100.0 * result.getWins() / result.getGames();
+            text.append(String.format("%-10s %8.1f %7.1f %8d %8.2f %6.2f%n", result.getStrategy(), ratings[i],
+                    errors[i], result.getGames(), winRate, result.getMeanShots()));
+        }
+        text.append(String.format("%n%-21s %8s %8s %18s%n", "Pair", "Games", "Win %", "Elo diff (95%)"));
+        for (PairResult pair : pairs) {
+            double[] difference = pairDifference(pair);
+            text.append(String.format("%-21s %8d %8.2f %6.0f [%4.0f, %4.0f]%n", pair.getFirst() + " - " + pair.getSecond(),
+                    pair.getGames(), pair.getGames() == 0 ? 0 : 100.0 * pair.getFirstWins() / pair.getGames(),
+                    difference[0], difference[1], difference[2]));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.navalbattle.views;
+
+/**
+ * Interface defining how the ships and shots of a board are shown on the game view.
+ * Rows and columns are those of the board's grid, and the ship types are those of
+ * the model (1 = Frigate, 2 = Destroyer, 3 = Submarine, 4 = Aircraft Carrier).
+ */
+public interface BoardRendererInterface {
+
+    /**
+     * Draws a ship placed on the board.
+     *
+     * @param type     the type of the ship, which is also its size
+     * @param vertical specifies if the ship lies vertically from its first cell; if false, horizontally
+     * @param row      the row of the first cell of the ship
+     * @param col      the column of the first cell of the ship
+     */
+    void drawShip(int type, boolean vertical, int row, int col);
+
+    /**
+     * Removes every ship drawn on the board, leaving the shots.
+     */
+    void hideShips();
+
+    /**
+     * Draws a missed shot on a cell.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     */
+    void drawMiss(int row, int col);
+
+    /**
+     * Draws a hit on a ship cell: a fire for a frigate, which sinks with one hit, or a bomb for the other ships.
+     *
+     * @param type the type of the ship that was hit
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     */
+    void drawHit(int type, int row, int col);
+
+    /**
+     * Draws the fire of a sunk ship over one of its cells. Frigates already show
+     * a fire from their hit, so nothing changes for them.
+     *
+     * @param type the type of the sunk ship
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     */
+    void drawSunk(int type, int row, int col);
+
+    /**
+     * Removes every ship and shot from the board, once the board is no longer shown,
+     * so their nodes can be reused by the next boards.
+     */
+    void clear();
+}
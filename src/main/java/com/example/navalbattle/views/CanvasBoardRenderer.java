@@ -0,0 +1,264 @@
+package com.example.navalbattle.views;
+
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.GridPane;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Board renderer that paints the ships and shots of a board on a single Canvas laid over
+ * the cells of its grid. The grid keeps its cells, which still take the clicks, and gains
+ * only the canvas, so the scene graph stays the same size however long the match is.
+ *
+ * <p>The renderer keeps the state of every cell: the ship covering it and the mark of the
+ * shots fired at it. A change marks the cell dirty, and the dirty cells are repainted once
+ * per frame, after the layout of the scene, so a shot repaints the cells it changed and
+ * nothing else. The figures are those of the {@link ShipDrawer}, painted where the grid
+ * would have placed them and clipped to the cell being repainted.</p>
+ */
+public class CanvasBoardRenderer implements BoardRendererInterface {
+
+    private final Canvas canvas = new Canvas();
+    private final GridPane grid;
+    private final ShipDrawer drawer;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The mark of every cell, row by row.
+     */
+    private final CellMark[] marks;
+
+    /**
+     * The first cell of the ship covering every cell, or -1 if there is none.
+     */
+    private final int[] shipOrigins;
+
+    /**
+     * The figure of every ship, at the index of its first cell.
+     */
+    private final Group[] ships;
+
+    /**
+     * The figures of the marks, by ordinal, built once and painted on every marked cell.
+     */
+    private final Group[] markFigures;
+
+    private final BitSet dirty = new BitSet();
+    private final Runnable flush = this::flush;
+
+    /**
+     * Creates a renderer painting on a canvas added over every cell of a board grid.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param grid   the grid of the board, with one cell per board cell
+     * @param drawer the drawer of the ships and shots
+     */
+    public CanvasBoardRenderer(GridPane grid, ShipDrawer drawer) {
+        this.grid = grid;
+        this.drawer = drawer;
+        this.rows = grid.getRowCount();
+        this.columns = grid.getColumnCount();
+        this.marks = new CellMark[rows * columns];
+        this.shipOrigins = new int[rows * columns];
+        this.ships = new Group[rows * columns];
+        this.markFigures = new Group[CellMark.values().length];
+        for (CellMark mark : CellMark.values()) {
+            markFigures[mark.ordinal()] = mark.draw(drawer);
+        }
+        Arrays.fill(marks, CellMark.NONE);
+        Arrays.fill(shipOrigins, -1);
+
+        canvas.setMouseTransparent(true);
+        canvas.widthProperty().bind(Bindings.createDoubleBinding(
+                () -> grid.getWidth() - grid.getInsets().getLeft() - grid.getInsets().getRight(),
+                grid.widthProperty(), grid.insetsProperty()));
+        canvas.heightProperty().bind(Bindings.createDoubleBinding(
+                () -> grid.getHeight() - grid.getInsets().getTop() - grid.getInsets().getBottom(),
+                grid.heightProperty(), grid.insetsProperty()));
+        canvas.widthProperty().addListener(observable -> invalidateAll());
+        canvas.heightProperty().addListener(observable -> invalidateAll());
+        canvas.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (oldScene != null) {
+                oldScene.removePostLayoutPulseListener(flush);
+            }
+            if (scene != null) {
+                scene.addPostLayoutPulseListener(flush);
+            }
+        });
+        grid.add(canvas, 0, 0, columns, rows);
+    }
+
+    @Override
+    public void drawShip(int type, boolean vertical, int row, int col) {
+        Group ship = drawer.drawShip(type, vertical);
+        if (ship == null || !contains(row, col)) {
+            return;
+        }
+        int origin = row * columns + col;
+        ships[origin] = ship;
+        for (int k = 0; k < type; k++) {
+            int r = (type > 1 && vertical) ? row + k : row;
+            int c = (type > 1 && vertical) ? col : col + k;
+            if (contains(r, c)) {
+                shipOrigins[r * columns + c] = origin;
+                invalidate(r * columns + c);
+            }
+        }
+    }
+
+    @Override
+    public void hideShips() {
+        for (int cell = 0; cell < shipOrigins.length; cell++) {
+            if (shipOrigins[cell] >= 0) {
+                shipOrigins[cell] = -1;
+                invalidate(cell);
+            }
+        }
+        Arrays.fill(ships, null);
+    }
+
+    @Override
+    public void drawMiss(int row, int col) {
+        mark(row, col, CellMark.MISS);
+    }
+
+    @Override
+    public void drawHit(int type, int row, int col) {
+        mark(row, col, CellMark.hit(type));
+    }
+
+    @Override
+    public void drawSunk(int type, int row, int col) {
+        if (type > 1) {
+            mark(row, col, CellMark.FIRE);
+        }
+    }
+
+    @Override
+    public void clear() {
+        hideShips();
+        for (int cell = 0; cell < marks.length; cell++) {
+            if (marks[cell] != CellMark.NONE) {
+                marks[cell] = CellMark.NONE;
+                invalidate(cell);
+            }
+        }
+    }
+
+    /**
+     * Sets the mark of a cell, which is only repainted if the mark changed.
+     *
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     * @param mark the new mark
+     */
+    private void mark(int row, int col, CellMark mark) {
+        if (!contains(row, col) || marks[row * columns + col] == mark) {
+            return;
+        }
+        marks[row * columns + col] = mark;
+        invalidate(row * columns + col);
+    }
+
+    private boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
+    }
+
+    /**
+     * Marks a cell to be repainted in the next frame.
+     *
+     * @param cell the index of the cell, row by row
+     */
+    private void invalidate(int cell) {
+        dirty.set(cell);
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * Marks every cell to be repainted in the next frame, once the canvas was resized.
+     */
+    private void invalidateAll() {
+        dirty.set(0, rows * columns);
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * Repaints the dirty cells. Called after the layout of every frame of the scene of the canvas.
+     */
+    private void flush() {
+        if (dirty.isEmpty() || canvas.getWidth() <= 0 || canvas.getHeight() <= 0) {
+            return;
+        }
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int cell = dirty.nextSetBit(0); cell >= 0; cell = dirty.nextSetBit(cell + 1)) {
+            paintCell(gc, cell);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Clears a cell and paints the part of its ship, if any, and its mark over it. The edges of
+     * the cell are rounded to whole pixels, so clearing it leaves its neighbours untouched.
+     *
+     * @param gc   the graphics context of the canvas
+     * @param cell the index of the cell, row by row
+     */
+    private void paintCell(GraphicsContext gc, int cell) {
+        int row = cell / columns;
+        int col = cell % columns;
+        double x = cellX(col);
+        double y = cellY(row);
+        double width = cellX(col + 1) - x;
+        double height = cellY(row + 1) - y;
+        gc.clearRect(x, y, width, height);
+        int origin = shipOrigins[cell];
+        if (origin < 0 && marks[cell] == CellMark.NONE) {
+            return;
+        }
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+        if (origin >= 0) {
+            int originRow = origin / columns;
+            drawer.paint(gc, ships[origin], cellX(origin % columns), cellY(originRow),
+                    cellY(originRow + 1) - cellY(originRow));
+        }
+        if (marks[cell] != CellMark.NONE) {
+            drawer.paint(gc, markFigures[marks[cell].ordinal()], x, y, height);
+        }
+        gc.restore();
+    }
+
+    /**
+     * Returns the left edge of a column on the canvas, where the grid laid it out, or the right
+     * edge of the last column.
+     *
+     * @param col the column, or the amount of columns
+     * @return the edge, in whole pixels
+     */
+    private double cellX(int col) {
+        Bounds cell = grid.getCellBounds(Math.min(col, columns - 1), 0);
+        return Math.round((col < columns ? cell.getMinX() : cell.getMaxX()) - canvas.getLayoutX());
+    }
+
+    /**
+     * Returns the top edge of a row on the canvas, where the grid laid it out, or the bottom
+     * edge of the last row.
+     *
+     * @param row the row, or the amount of rows
+     * @return the edge, in whole pixels
+     */
+    private double cellY(int row) {
+        Bounds cell = grid.getCellBounds(0, Math.min(row, rows - 1));
+        return Math.round((row < rows ? cell.getMinY() : cell.getMaxY()) - canvas.getLayoutY());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.navalbattle.views;
+
+import javafx.scene.Group;
+
+/**
+ * The mark shown on a cell of a board for the shots fired at it. A cell holds a single
+ * mark, which is replaced as the cell changes: a bomb becomes a fire once its ship sinks.
+ */
+enum CellMark {
+    NONE, MISS, BOMB, FIRE;
+
+    /**
+     * Returns the mark of a hit on a ship: a fire for a frigate, which sinks with one hit,
+     * or a bomb for the other ships.
+     *
+     * @param type the type of the ship that was hit.
+     * @return the mark of the hit.
+     */
+    static CellMark hit(int type) {
+        return type == 1 ? FIRE : BOMB;
+    }
+
+    /**
+     * Draws the figure of this mark.
+     *
+     * @param drawer the drawer of the figures.
+     * @return the figure, or null for {@link #NONE}.
+     */
+    Group draw(ShipDrawerInterface drawer) {
+        return switch (this) {
+            case NONE -> null;
+            case MISS -> drawer.drawMissedShot();
+            case BOMB -> drawer.drawBomb();
+            case FIRE -> drawer.drawFire();
+        };
+    }
+}
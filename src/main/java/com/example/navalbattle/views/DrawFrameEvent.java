@@ -0,0 +1,57 @@
+package com.example.navalbattle.views;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the groups a {@link ShipDrawer} built for one frame. It starts
+ * with the first group built after the previous frame and ends once the scene was laid out,
+ * so its duration covers building, adding and laying out the new nodes.
+ *
+ * <p>The drawer only creates it once a recording was started, through the static methods of
+ * this class, since loading a Flight Recorder event starts the recorder's instrumentation.</p>
+ */
+@Name("com.example.navalbattle.DrawFrame")
+@Label("Draw Frame")
+@Category({"Naval Battle", "Rendering"})
+@Description("Groups built by the ship drawer for a frame")
+@StackTrace(false)
+final class DrawFrameEvent extends Event {
+
+    @Label("Groups")
+    @Description("The groups of shapes built for the frame")
+    int groups;
+
+    /**
+     * Creates the event of a frame and starts timing it.
+     *
+     * @return the event.
+     */
+    static DrawFrameEvent start() {
+        DrawFrameEvent event = new DrawFrameEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Counts a group built for the frame.
+     *
+     * @param event the event of the frame.
+     */
+    static void countGroup(DrawFrameEvent event) {
+        event.groups++;
+    }
+
+    /**
+     * Commits the event of a frame once it was laid out, if the recording enables it.
+     *
+     * @param event the event of the frame.
+     */
+    static void commit(DrawFrameEvent event) {
+        event.commit();
+    }
+}
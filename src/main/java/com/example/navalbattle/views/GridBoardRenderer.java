@@ -0,0 +1,144 @@
+package com.example.navalbattle.views;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+
+import java.util.Arrays;
+
+/**
+ * Board renderer that shows every ship and shot as a node in the cell of the grid, as drawn
+ * by the {@link ShipDrawer}, with the markers of the shots taken from the {@link MarkerPool}.
+ *
+ * <p>Every cell has a single slot holding the node of its current mark. A new mark replaces
+ * the node in the slot and a mark equal to the current one does nothing, so redrawing a sunk
+ * ship or a loaded match never stacks nodes: the grid holds at most one mark per cell and one
+ * node per ship.</p>
+ */
+public class GridBoardRenderer implements BoardRendererInterface {
+
+    private final GridPane grid;
+    private final ShipDrawerInterface drawer;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The mark of every cell, row by row.
+     */
+    private final CellMark[] marks;
+
+    /**
+     * The marker showing the mark of every cell, or null if it has none.
+     */
+    private final Group[] markNodes;
+
+    /**
+     * The node of every ship, at the index of its first cell.
+     */
+    private final Node[] ships;
+
+    /**
+     * Creates a renderer adding its nodes to a board grid.
+     *
+     * @param grid   the grid of the board, with one cell per board cell
+     * @param drawer the drawer of the ships and shots
+     */
+    public GridBoardRenderer(GridPane grid, ShipDrawerInterface drawer) {
+        this.grid = grid;
+        this.drawer = drawer;
+        this.rows = grid.getRowCount();
+        this.columns = grid.getColumnCount();
+        this.marks = new CellMark[rows * columns];
+        this.markNodes = new Group[rows * columns];
+        this.ships = new Node[rows * columns];
+        Arrays.fill(marks, CellMark.NONE);
+    }
+
+    @Override
+    public void drawShip(int type, boolean vertical, int row, int col) {
+        Group ship = drawer.drawShip(type, vertical);
+        if (ship == null || !contains(row, col)) {
+            return;
+        }
+        int origin = row * columns + col;
+        if (ships[origin] != null) {
+            grid.getChildren().remove(ships[origin]);
+        }
+        ships[origin] = ship;
+        grid.add(ship, col, row);
+    }
+
+    @Override
+    public void hideShips() {
+        for (int cell = 0; cell < ships.length; cell++) {
+            if (ships[cell] != null) {
+                grid.getChildren().remove(ships[cell]);
+                ships[cell] = null;
+            }
+        }
+    }
+
+    @Override
+    public void drawMiss(int row, int col) {
+        mark(row, col, CellMark.MISS);
+    }
+
+    @Override
+    public void drawHit(int type, int row, int col) {
+        mark(row, col, CellMark.hit(type));
+    }
+
+    @Override
+    public void drawSunk(int type, int row, int col) {
+        if (type > 1) {
+            mark(row, col, CellMark.FIRE);
+        }
+    }
+
+    @Override
+    public void clear() {
+        hideShips();
+        for (int cell = 0; cell < marks.length; cell++) {
+            setMark(cell, CellMark.NONE);
+        }
+    }
+
+    /**
+     * Sets the mark of a cell, replacing the node in its slot if the mark changed.
+     *
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     * @param mark the new mark
+     */
+    private void mark(int row, int col, CellMark mark) {
+        if (contains(row, col)) {
+            setMark(row * columns + col, mark);
+        }
+    }
+
+    /**
+     * Sets the mark of a cell, giving the marker it replaces back to the pool.
+     *
+     * @param cell the index of the cell, row by row
+     * @param mark the new mark
+     */
+    private void setMark(int cell, CellMark mark) {
+        if (marks[cell] == mark) {
+            return;
+        }
+        MarkerPool pool = MarkerPool.get();
+        if (markNodes[cell] != null) {
+            grid.getChildren().remove(markNodes[cell]);
+            pool.release(marks[cell], markNodes[cell]);
+        }
+        marks[cell] = mark;
+        markNodes[cell] = pool.acquire(mark, drawer);
+        if (markNodes[cell] != null) {
+            grid.add(markNodes[cell], cell % columns, cell / columns);
+        }
+    }
+
+    private boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
+    }
+}
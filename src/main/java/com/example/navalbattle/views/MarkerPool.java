@@ -0,0 +1,98 @@
+package com.example.navalbattle.views;
+
+import javafx.scene.Group;
+import javafx.scene.layout.GridPane;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pool of the marker nodes shown on the cells of the boards: missed shots, bombs and fires.
+ * A marker taken off a board is reset and kept for the next shot of the same mark, in this
+ * match or in the next one, since a new game view builds new boards but shares the pool.
+ * Once the boards of a few matches were shown, the shots take their markers from the pool
+ * and build no nodes.
+ *
+ * <p>Released markers are reset to the state the drawer builds them in: fully opaque,
+ * visible and enabled, with no transforms, effect or grid constraints, so a marker faded,
+ * moved or animated on a board looks new on the next one. Only used on the JavaFX
+ * application thread.</p>
+ */
+final class MarkerPool {
+
+    /**
+     * The amount of idle markers kept per mark, enough for both boards of a match.
+     */
+    private static final int MAX_IDLE = 200;
+
+    private final Map<CellMark, ArrayDeque<Group>> idle = new EnumMap<>(CellMark.class);
+
+    private MarkerPool() {
+        for (CellMark mark : CellMark.values()) {
+            idle.put(mark, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Holds the single pool of the application.
+     */
+    private static class MarkerPoolHolder {
+        private static final MarkerPool INSTANCE = new MarkerPool();
+    }
+
+    /**
+     * Returns the pool of the application.
+     *
+     * @return the pool.
+     */
+    static MarkerPool get() {
+        return MarkerPoolHolder.INSTANCE;
+    }
+
+    /**
+     * Returns a marker for a mark, reused if one is idle, otherwise drawn.
+     *
+     * @param mark   the mark to show.
+     * @param drawer the drawer of the marker if none is idle.
+     * @return the marker, or null for {@link CellMark#NONE}.
+     */
+    Group acquire(CellMark mark, ShipDrawerInterface drawer) {
+        Group marker = idle.get(mark).pollLast();
+        return marker != null ? marker : mark.draw(drawer);
+    }
+
+    /**
+     * Resets a marker taken off its board and keeps it for the next one with the same mark.
+     *
+     * @param mark   the mark the marker shows.
+     * @param marker the marker, no longer in the scene.
+     */
+    void release(CellMark mark, Group marker) {
+        ArrayDeque<Group> markers = idle.get(mark);
+        if (marker == null || markers.size() >= MAX_IDLE) {
+            return;
+        }
+        reset(marker);
+        markers.addLast(marker);
+    }
+
+    /**
+     * Undoes what a board or an animation may have changed on a marker.
+     *
+     * @param marker the marker to reset.
+     */
+    private static void reset(Group marker) {
+        GridPane.clearConstraints(marker);
+        marker.setOpacity(1);
+        marker.setVisible(true);
+        marker.setDisable(false);
+        marker.setEffect(null);
+        marker.getTransforms().clear();
+        marker.setTranslateX(0);
+        marker.setTranslateY(0);
+        marker.setRotate(0);
+        marker.setScaleX(1);
+        marker.setScaleY(1);
+    }
+}
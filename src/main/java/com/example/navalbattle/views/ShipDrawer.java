@@ -1,11 +1,24 @@
 package com.example.navalbattle.views;
 
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.RadialGradient;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.*;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
+import jdk.jfr.FlightRecorder;
+
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * The ShipDrawer class provides implementations for drawing various types of ships
@@ -18,6 +31,15 @@ import javafx.scene.shape.*;
  *
  * The class also includes helper methods for creating basic shapes (rectangles
  * and lines) with specific properties, such as position, size, and color.
+ *
+ * Each figure is built once and snapshotted into an image the first time it is drawn.
+ * Every call then returns a new Group holding a single ImageView of that image, placed,
+ * rotated and translated like the shapes it replaces, so a shot or a redraw adds two nodes
+ * instead of up to twenty shapes and their path elements. Drawing must happen on the
+ * JavaFX application thread.
+ *
+ * The groups built for each frame are counted and recorded as Flight Recorder events
+ * once the scene is watched with {@link #watchFrames(Scene)}.
  * @author Mateo Noguera Pinto
  */
 public class ShipDrawer implements ShipDrawerInterface{
@@ -25,6 +47,165 @@ public class ShipDrawer implements ShipDrawerInterface{
     private final double SHIP_HEIGHT = 22.0;
     private final int CELL_SIZE = 30;
 
+    /**
+     * The event of the groups built since the last frame, or null if none was built.
+     */
+    private DrawFrameEvent frameEvent;
+
+    /**
+     * Records the groups built for each frame of a scene as {@link DrawFrameEvent}s, once the
+     * frame was laid out. Must be called on the JavaFX application thread.
+     *
+     * @param scene the scene the groups of this drawer are shown in.
+     */
+    @Override
+    public void watchFrames(Scene scene) {
+        scene.addPostLayoutPulseListener(this::endFrame);
+    }
+
+    /**
+     * Counts a group built for the current frame, while Flight Recorder runs.
+     */
+    private void countGroup() {
+        if (frameEvent == null) {
+            if (!FlightRecorder.isInitialized()) {
+                return;
+            }
+            frameEvent = DrawFrameEvent.start();
+        }
+        DrawFrameEvent.countGroup(frameEvent);
+    }
+
+    /**
+     * Commits the event of the frame that was just laid out, if any group was built for it
+     * and a recording enables it.
+     */
+    private void endFrame() {
+        if (frameEvent != null) {
+            DrawFrameEvent.commit(frameEvent);
+            frameEvent = null;
+        }
+    }
+
+    /**
+     * The figures this drawer hands out, each drawn once into a template.
+     */
+    private enum Figure {
+        FRIGATE, DESTROYER, SUBMARINE, AIRCRAFT_CARRIER, BOMB, MISSED_SHOT, FIRE
+    }
+
+    /**
+     * A figure rendered once: the image of its shapes and the area they cover, in the
+     * coordinates they were built in.
+     */
+    private static final class Template {
+        private final Image image;
+        private final double x;
+        private final double y;
+        private final double width;
+        private final double height;
+
+        private Template(Image image, double x, double y, double width, double height) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * The templates rendered so far, shared by every drawer. Only used on the JavaFX
+     * application thread.
+     */
+    private static final Map<Figure, Template> TEMPLATES = new EnumMap<>(Figure.class);
+
+    /**
+     * Returns a new group showing a figure, rendering its template the first time it is drawn.
+     * The group holds a single image view at the place of the original shapes, so its bounds,
+     * rotation pivot and position in a grid are those of the shapes, to the pixel, and callers
+     * can transform, style and listen to it like a freshly built group.
+     *
+     * @param figure the figure to show.
+     * @return a new group showing the figure.
+     */
+    private Group instance(Figure figure) {
+        countGroup();
+        Template template = TEMPLATES.computeIfAbsent(figure, this::render);
+        ImageView view = new ImageView(template.image);
+        view.setX(template.x);
+        view.setY(template.y);
+        view.setFitWidth(template.width);
+        view.setFitHeight(template.height);
+        return new Group(view);
+    }
+
+    /**
+     * Paints a group drawn by this drawer on a canvas, where a grid would show it in a cell:
+     * aligned to the left of the cell and centered on its height, on a whole pixel like a grid
+     * places it, then rotated and translated like the group.
+     *
+     * @param gc         the graphics context of the canvas.
+     * @param figure     a group returned by one of the draw methods of this drawer.
+     * @param cellX      the left of the cell on the canvas.
+     * @param cellY      the top of the cell on the canvas.
+     * @param cellHeight the height of the cell.
+     */
+    void paint(GraphicsContext gc, Group figure, double cellX, double cellY, double cellHeight) {
+        ImageView view = (ImageView) figure.getChildren().get(0);
+        double width = view.getFitWidth();
+        double height = view.getFitHeight();
+        gc.save();
+        double top = Math.round(cellY + (cellHeight - height) / 2);
+        gc.translate(cellX + width / 2 + figure.getTranslateX(), top + height / 2 + figure.getTranslateY());
+        gc.rotate(figure.getRotate());
+        gc.drawImage(view.getImage(), -width / 2, -height / 2, width, height);
+        gc.restore();
+    }
+
+    /**
+     * Builds the shapes of a figure and snapshots them at the scale of the primary screen, so
+     * the image stays sharp on high density screens. The snapshot is widened to whole pixels
+     * of the screen, so the image is shown at its own size and is not resampled, upright or
+     * turned by a quarter.
+     *
+     * @param figure the figure to render.
+     * @return the template of the figure.
+     */
+    private Template render(Figure figure) {
+        Group shapes = switch (figure) {
+            case FRIGATE -> buildFrigate();
+            case DESTROYER -> buildDestroyer();
+            case SUBMARINE -> buildSubmarine();
+            case AIRCRAFT_CARRIER -> buildAircraftCarrier();
+            case BOMB -> buildBomb();
+            case MISSED_SHOT -> buildMissedShot();
+            case FIRE -> buildFire();
+        };
+        Bounds bounds = shapes.getBoundsInParent();
+        double scale = Math.max(1, Screen.getPrimary().getOutputScaleX());
+        double minX = Math.floor(bounds.getMinX() * scale);
+        double minY = Math.floor(bounds.getMinY() * scale);
+        double width = Math.ceil(bounds.getMaxX() * scale) - minX;
+        double height = Math.ceil(bounds.getMaxY() * scale) - minY;
+        // A vertical ship is turned about the center of the image, which only keeps the pixels
+        // on whole pixels if both sides of the image are even or both are odd. The image is
+        // widened on the side that keeps its center closest to the center of the shapes.
+        if ((width - height) % 2 != 0) {
+            if (minX + width / 2 > bounds.getCenterX() * scale) {
+                minX--;
+            }
+            width++;
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        parameters.setViewport(new Rectangle2D(minX, minY, width, height));
+        return new Template(shapes.snapshot(parameters, null), minX / scale, minY / scale,
+                width / scale, height / scale);
+    }
+
     /**
      * Draws a frigate ship.
      *
@@ -33,6 +214,19 @@ public class ShipDrawer implements ShipDrawerInterface{
      */
     @Override
     public Group drawFrigate(boolean vertical) {
+        Group frigateGroup = instance(Figure.FRIGATE);
+        if (vertical) {
+            frigateGroup.setRotate(90);
+        }
+        return frigateGroup;
+    }
+
+    /**
+     * Builds the shapes of a horizontal frigate.
+     *
+     * @return A JavaFX Group containing the shapes of the frigate.
+     */
+    private Group buildFrigate() {
         double shipLength = this.CELL_SIZE;
         Path mainContainer = new Path();
 
@@ -62,11 +256,7 @@ public class ShipDrawer implements ShipDrawerInterface{
 
         Rectangle smallWindow = rectangle((int) shipLength - 15, (int) SHIP_HEIGHT / 2 - 3, 4, 8, "#2B303B", "#00000000");
         Rectangle bigWindow = rectangle(3, 5, 8 , 16, "#2B303B", "#00000000");
-        Group frigateGroup = new Group(mainContainer, subContainer, smallWindow, bigWindow);
-        if (vertical) {
-            frigateGroup.setRotate(90);
-        }
-        return frigateGroup;
+        return new Group(mainContainer, subContainer, smallWindow, bigWindow);
     }
 
     /**
@@ -78,6 +268,23 @@ public class ShipDrawer implements ShipDrawerInterface{
      */
     @Override
     public Group drawDestroyer(boolean vertical, boolean insideGrid) {
+        Group destroyerGroup = instance(Figure.DESTROYER);
+        if (vertical) {
+            destroyerGroup.setRotate(90);
+            if (insideGrid) {
+                destroyerGroup.setTranslateX(-16);
+                destroyerGroup.setTranslateY(17);
+            }
+        }
+        return destroyerGroup;
+    }
+
+    /**
+     * Builds the shapes of a horizontal destroyer.
+     *
+     * @return A JavaFX Group containing the shapes of the destroyer.
+     */
+    private Group buildDestroyer() {
         double shipLength = this.CELL_SIZE * 2;
 
         Path mainContainer = new Path();
@@ -114,16 +321,7 @@ public class ShipDrawer implements ShipDrawerInterface{
         circle.setFill(Color.web("#2B303B"));
         circle.setStroke(Color.TRANSPARENT);
 
-        Group destroyerGroup = new Group(mainContainer, bigWindow, arrow, rectangle, subRec, circle);
-
-        if (vertical) {
-            destroyerGroup.setRotate(90);
-            if (insideGrid) {
-                destroyerGroup.setTranslateX(-16);
-                destroyerGroup.setTranslateY(17);
-            }
-        }
-        return destroyerGroup;
+        return new Group(mainContainer, bigWindow, arrow, rectangle, subRec, circle);
     }
 
     /**
@@ -135,6 +333,23 @@ public class ShipDrawer implements ShipDrawerInterface{
      */
     @Override
     public Group drawSubmarine(boolean vertical, boolean insideGrid) {
+        Group submarineGroup = instance(Figure.SUBMARINE);
+        if (vertical) {
+            submarineGroup.setRotate(90);
+            if (insideGrid) {
+                submarineGroup.setTranslateX(-31);
+                submarineGroup.setTranslateY(32);
+            }
+        }
+        return submarineGroup;
+    }
+
+    /**
+     * Builds the shapes of a horizontal submarine.
+     *
+     * @return A JavaFX Group containing the shapes of the submarine.
+     */
+    private Group buildSubmarine() {
         double shipLength = this.CELL_SIZE * 3;
         Path mainContainer = new Path();
         mainContainer.getElements().addAll(
@@ -176,16 +391,7 @@ public class ShipDrawer implements ShipDrawerInterface{
 
         Line line = drawLine(2, SHIP_HEIGHT / 2 + 1, 12, SHIP_HEIGHT / 2 + 1, "#2B303B", 1.0);
 
-        Group submarineGroup = new Group(mainContainer, arrow, bigWindow, rectangle, subRec, circle, bigCircle, line);
-
-        if (vertical) {
-            submarineGroup.setRotate(90);
-            if (insideGrid) {
-                submarineGroup.setTranslateX(-31);
-                submarineGroup.setTranslateY(32);
-            }
-        }
-        return submarineGroup;
+        return new Group(mainContainer, arrow, bigWindow, rectangle, subRec, circle, bigCircle, line);
     }
 
     /**
@@ -204,6 +410,23 @@ public class ShipDrawer implements ShipDrawerInterface{
      */
     @Override
     public Group drawAircraftCarrier(boolean vertical, boolean insideGrid) {
+        Group aircraftCarrierGroup = instance(Figure.AIRCRAFT_CARRIER);
+        if (vertical) {
+            aircraftCarrierGroup.setRotate(90);
+            if (insideGrid) {
+                aircraftCarrierGroup.setTranslateX(-51);
+                aircraftCarrierGroup.setTranslateY(50);
+            }
+        }
+        return aircraftCarrierGroup;
+    }
+
+    /**
+     * Builds the shapes of a horizontal aircraft carrier.
+     *
+     * @return A JavaFX Group containing the shapes of the aircraft carrier.
+     */
+    private Group buildAircraftCarrier() {
         double shipLength = this.CELL_SIZE * 4 + 8;
 
         Path mainContainer = new Path();
@@ -275,18 +498,8 @@ public class ShipDrawer implements ShipDrawerInterface{
         c4.setFill(Color.web("#2B303B"));
 
 
-        Group aircraftCarrierGroup = new Group(mainContainer, subContainer, bigWindow, windowHole, windowHBar, windowVBar,
+        return new Group(mainContainer, subContainer, bigWindow, windowHole, windowHBar, windowVBar,
                 rect, plane, planeLine, planeDiagonalLine, planeDiagonalLine2, rope1, rope2, crossVLine, crossHLine, c1, c2, c3, c4);
-
-        if (vertical) {
-            aircraftCarrierGroup.setRotate(90);
-            if (insideGrid) {
-                aircraftCarrierGroup.setTranslateX(-51);
-                aircraftCarrierGroup.setTranslateY(50);
-            }
-        }
-
-        return aircraftCarrierGroup;
     }
 
     /**
@@ -294,7 +507,17 @@ public class ShipDrawer implements ShipDrawerInterface{
      *
      * @return A JavaFX Group containing the graphical representation of a bomb.
      */
+    @Override
     public Group drawBomb() {
+        return instance(Figure.BOMB);
+    }
+
+    /**
+     * Builds the shapes of a bomb.
+     *
+     * @return A JavaFX Group containing the shapes of the bomb.
+     */
+    private Group buildBomb() {
         Path fireStar = new Path();
         fireStar.getElements().addAll(
                 new MoveTo(10, 6),
@@ -325,7 +548,17 @@ public class ShipDrawer implements ShipDrawerInterface{
      *
      * @return A JavaFX Group containing the graphical representation of a missed shot.
      */
+    @Override
     public Group drawMissedShot() {
+        return instance(Figure.MISSED_SHOT);
+    }
+
+    /**
+     * Builds the shapes of a missed shot.
+     *
+     * @return A JavaFX Group containing the shapes of the missed shot.
+     */
+    private Group buildMissedShot() {
         Line diagonal1 = drawLine(CELL_SIZE - 28, CELL_SIZE - 2, CELL_SIZE - 2, 6, "#ac1b1b", 3);
         Line diagonal2 = drawLine(6, 6, CELL_SIZE - 2, CELL_SIZE - 2, "#ac1b1b", 3);
 
@@ -381,6 +614,15 @@ public class ShipDrawer implements ShipDrawerInterface{
      */
     @Override
     public Group drawFire() {
+        return instance(Figure.FIRE);
+    }
+
+    /**
+     * Builds the shapes of a fire.
+     *
+     * @return A JavaFX Group containing the shapes of the fire.
+     */
+    private Group buildFire() {
         Path fireStar = new Path();
         fireStar.getElements().addAll(
                 new MoveTo(10, 6),
@@ -1,6 +1,7 @@
 package com.example.navalbattle.views;
 
 import javafx.scene.Group;
+import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
@@ -43,6 +44,24 @@ public interface ShipDrawerInterface {
      */
     Group drawAircraftCarrier(boolean vertical, boolean insideGrid);
 
+    /**
+     * Draws a ship of the given type as it is placed inside a board grid. Frigates take a
+     * single cell, so they are always drawn horizontally.
+     *
+     * @param type     the type of the ship (1 = Frigate, 2 = Destroyer, 3 = Submarine, 4 = Aircraft Carrier)
+     * @param vertical specifies if the ship should be drawn vertically; if false, the ship will be horizontal
+     * @return a Group representing the ship, or null if there is no ship of the type
+     */
+    default Group drawShip(int type, boolean vertical) {
+        return switch (type) {
+            case 1 -> drawFrigate(false);
+            case 2 -> drawDestroyer(vertical, true);
+            case 3 -> drawSubmarine(vertical, true);
+            case 4 -> drawAircraftCarrier(vertical, true);
+            default -> null;
+        };
+    }
+
     /**
      * Creates a rectangle with specified dimensions, position, and color properties.
      *
@@ -75,4 +94,25 @@ public interface ShipDrawerInterface {
      * @return A JavaFX Group containing the graphical representation of fire.
      */
     Group drawFire();
+
+    /**
+     * Draws a bomb graphic, shown on a hit ship cell.
+     *
+     * @return A JavaFX Group containing the graphical representation of a bomb.
+     */
+    Group drawBomb();
+
+    /**
+     * Draws a missed shot graphic.
+     *
+     * @return A JavaFX Group containing the graphical representation of a missed shot.
+     */
+    Group drawMissedShot();
+
+    /**
+     * Records the groups built for each frame of a scene as Flight Recorder events.
+     *
+     * @param scene the scene the groups are shown in
+     */
+    void watchFrames(Scene scene);
 }
@@ -3,6 +3,8 @@ module com.example.navalbattle {
     requires javafx.fxml;
     requires java.desktop;
     requires java.sql;
+    requires java.management;
+    requires jdk.jfr;
     requires jdk.compiler;
 
 
@@ -12,4 +14,11 @@ module com.example.navalbattle {
     opens com.example.navalbattle.controllers to javafx.fxml;
     exports com.example.navalbattle.views;
     opens com.example.navalbattle.views to javafx.fxml;
+    exports com.example.navalbattle.interfaces;
+    exports com.example.navalbattle.models;
+
+    uses com.example.navalbattle.interfaces.TargetingStrategy;
+    provides com.example.navalbattle.interfaces.TargetingStrategy with
+            com.example.navalbattle.models.RandomTargetingStrategy,
+            com.example.navalbattle.models.SmartTargetingStrategy;
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    @Test
+    void setCellsAreReadBackAndCounted() {
+        BitBoard board = new BitBoard(10, 10);
+        assertTrue(board.isEmpty());
+
+        board.set(0, 0);
+        board.set(6, 3);
+        board.set(6, 4);
+        board.set(9, 9);
+        assertTrue(board.get(0, 0));
+        assertTrue(board.get(6, 3));
+        assertTrue(board.get(6, 4));
+        assertTrue(board.get(9, 9));
+        assertFalse(board.get(0, 1));
+        assertFalse(board.get(6, 5));
+        assertEquals(4, board.cardinality());
+
+        board.set(6, 3);
+        assertEquals(4, board.cardinality());
+
+        board.clear(6, 3);
+        assertFalse(board.get(6, 3));
+        assertTrue(board.get(6, 4));
+        assertEquals(3, board.cardinality());
+
+        board.clearAll();
+        assertTrue(board.isEmpty());
+        assertEquals(0, board.cardinality());
+    }
+
+    @Test
+    void everyCellHasItsOwnBit() {
+        BitBoard board = new BitBoard(10, 10);
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                board.set(row, col);
+                assertEquals(row * 10 + col + 1, board.cardinality());
+            }
+        }
+    }
+
+    @Test
+    void horizontalLineAcrossTwoWordsIsCounted() {
+        BitBoard board = new BitBoard(10, 10);
+        // Cells 60 to 69 span the first and the second word
+        board.setLine(6, 0, 10, true);
+        assertEquals(10, board.cardinality());
+        assertTrue(board.allInLine(6, 0, 10, true));
+        assertFalse(board.get(5, 9));
+        assertFalse(board.get(7, 0));
+
+        board.clear(6, 4);
+        assertFalse(board.allInLine(6, 0, 10, true));
+        assertTrue(board.anyInLine(6, 2, 3, true));
+        assertEquals(9, board.countInLine(6, 0, 10, true));
+        assertEquals(2, board.countInLine(6, 2, 3, true));
+    }
+
+    @Test
+    void verticalLineIsCounted() {
+        BitBoard board = new BitBoard(10, 10);
+        board.setLine(3, 7, 4, false);
+        assertEquals(4, board.cardinality());
+        assertTrue(board.allInLine(3, 7, 4, false));
+        assertEquals(4, board.countInLine(0, 7, 10, false));
+        assertFalse(board.anyInLine(3, 6, 4, false));
+        assertFalse(board.anyInLine(0, 7, 3, false));
+    }
+
+    @Test
+    void planesAreCombined() {
+        BitBoard ships = new BitBoard(10, 10);
+        ships.setLine(2, 2, 3, true);
+        ships.setLine(6, 8, 2, false);
+        BitBoard hits = new BitBoard(10, 10);
+        hits.set(2, 3);
+        hits.set(7, 8);
+        hits.set(0, 0);
+
+        assertTrue(ships.intersects(hits));
+        assertEquals(2, ships.countCommon(hits));
+        assertFalse(ships.containsAll(hits));
+
+        hits.clear(0, 0);
+        assertTrue(ships.containsAll(hits));
+
+        ships.or(hits);
+        assertEquals(5, ships.cardinality());
+        hits.set(0, 0);
+        ships.or(hits);
+        assertEquals(6, ships.cardinality());
+        assertTrue(ships.containsAll(hits));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellSamplerTest {
+
+    private static final int CELLS = 100;
+
+    @Test
+    void everyCellIsDrawnExactlyOnce() {
+        CellSampler sampler = new CellSampler(CELLS);
+        SplittableRandom random = new SplittableRandom(3L);
+        BitSet drawn = new BitSet(CELLS);
+
+        for (int i = 0; i < CELLS; i++) {
+            int cell = sampler.next(random);
+            assertTrue(cell >= 0 && cell < CELLS, "cell " + cell);
+            assertFalse(drawn.get(cell), "cell " + cell + " drawn twice");
+            assertFalse(sampler.contains(cell));
+            drawn.set(cell);
+            assertEquals(CELLS - i - 1, sampler.remaining());
+        }
+        assertEquals(CELLS, drawn.cardinality());
+        assertEquals(-1, sampler.next(random));
+    }
+
+    @Test
+    void removedCellsAreNeverDrawn() {
+        CellSampler sampler = new CellSampler(CELLS);
+        for (int cell = 0; cell < CELLS; cell += 3) {
+            assertTrue(sampler.remove(cell));
+        }
+        assertFalse(sampler.remove(0));
+        assertEquals(CELLS - 34, sampler.remaining());
+
+        SplittableRandom random = new SplittableRandom(8L);
+        BitSet drawn = new BitSet(CELLS);
+        for (int cell; (cell = sampler.next(random)) >= 0; ) {
+            assertNotEquals(0, cell % 3, "removed cell " + cell + " was drawn");
+            assertFalse(drawn.get(cell), "cell " + cell + " drawn twice");
+            drawn.set(cell);
+        }
+        assertEquals(CELLS - 34, drawn.cardinality());
+    }
+
+    @Test
+    void resetMakesEveryCellAvailableAgain() {
+        CellSampler sampler = new CellSampler(CELLS);
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int i = 0; i < 40; i++) {
+            sampler.next(random);
+        }
+        sampler.remove(99);
+
+        sampler.reset();
+        assertEquals(CELLS, sampler.remaining());
+        for (int cell = 0; cell < CELLS; cell++) {
+            assertTrue(sampler.contains(cell), "cell " + cell);
+        }
+    }
+
+    @Test
+    void sameSeedDrawsTheSameCells() {
+        CellSampler first = new CellSampler(CELLS);
+        CellSampler second = new CellSampler(CELLS);
+        SplittableRandom firstRandom = new SplittableRandom(21L);
+        SplittableRandom secondRandom = new SplittableRandom(21L);
+        for (int i = 0; i < CELLS; i++) {
+            assertEquals(first.next(firstRandom), second.next(secondRandom));
+        }
+    }
+}
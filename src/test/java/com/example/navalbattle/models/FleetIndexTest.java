@@ -0,0 +1,115 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetIndexTest {
+
+    private FleetIndex fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new FleetIndex(10, 10);
+        assertEquals(0, fleet.addShip(2, 3, 3, true));
+        assertEquals(1, fleet.addShip(5, 9, 2, false));
+        assertEquals(2, fleet.addShip(0, 0, 1, true));
+    }
+
+    @Test
+    void cellsAreMappedToTheirShips() {
+        assertEquals(3, fleet.getShipCount());
+        assertEquals(0, fleet.getShipAt(2, 3));
+        assertEquals(0, fleet.getShipAt(2, 5));
+        assertEquals(1, fleet.getShipAt(5, 9));
+        assertEquals(1, fleet.getShipAt(6, 9));
+        assertEquals(2, fleet.getShipAt(0, 0));
+        assertEquals(-1, fleet.getShipAt(2, 6));
+        assertEquals(-1, fleet.getShipAt(7, 9));
+    }
+
+    @Test
+    void waterIsAMiss() {
+        assertEquals(ShotResult.MISS, fleet.receiveShot(9, 0));
+        assertEquals(ShotResult.MISS, fleet.receiveShot(2, 2));
+        assertEquals(3, fleet.getRemainingHealth(0));
+    }
+
+    @Test
+    void lastCellOfAShipSinksIt() {
+        assertEquals(ShotResult.HIT, fleet.receiveShot(2, 4));
+        assertEquals(2, fleet.getRemainingHealth(0));
+        assertEquals(ShotResult.HIT, fleet.receiveShot(2, 3));
+        assertFalse(fleet.isSunk(0));
+
+        assertEquals(ShotResult.SUNK, fleet.receiveShot(2, 5));
+        assertTrue(fleet.isSunk(0));
+        assertEquals(0, fleet.getRemainingHealth(0));
+        assertFalse(fleet.isSunk(1));
+
+        assertEquals(ShotResult.SUNK, fleet.receiveShot(0, 0));
+        assertTrue(fleet.isSunk(2));
+    }
+
+    @Test
+    void cellHitTwiceDoesNotDamageItsShipAgain() {
+        assertEquals(ShotResult.HIT, fleet.receiveShot(5, 9));
+        assertEquals(ShotResult.HIT, fleet.receiveShot(5, 9));
+        assertEquals(1, fleet.getRemainingHealth(1));
+        assertFalse(fleet.isSunk(1));
+
+        assertEquals(ShotResult.SUNK, fleet.receiveShot(6, 9));
+        assertEquals(ShotResult.HIT, fleet.receiveShot(6, 9));
+        assertTrue(fleet.isSunk(1));
+    }
+
+    @Test
+    void afloatCellsCountDownWithEveryNewHit() {
+        assertEquals(6, fleet.getAfloatCells());
+
+        fleet.receiveShot(9, 9);
+        assertEquals(6, fleet.getAfloatCells());
+        fleet.receiveShot(2, 3);
+        assertEquals(5, fleet.getAfloatCells());
+        fleet.receiveShot(2, 3);
+        assertEquals(5, fleet.getAfloatCells());
+        fleet.receiveShot(0, 0);
+        assertEquals(4, fleet.getAfloatCells());
+    }
+
+    @Test
+    void fleetIsSunkWithItsLastShip() {
+        int[][] cells = {{2, 3}, {2, 4}, {2, 5}, {0, 0}, {5, 9}};
+        for (int[] cell : cells) {
+            fleet.receiveShot(cell[0], cell[1]);
+            assertFalse(fleet.isFleetSunk());
+        }
+        assertEquals(1, fleet.getAfloatCells());
+
+        assertEquals(ShotResult.SUNK, fleet.receiveShot(6, 9));
+        assertEquals(0, fleet.getAfloatCells());
+        assertTrue(fleet.isFleetSunk());
+    }
+
+    @Test
+    void emptyFleetIsNotSunk() {
+        FleetIndex empty = new FleetIndex(10, 10);
+        assertEquals(0, empty.getAfloatCells());
+        assertFalse(empty.isFleetSunk());
+    }
+
+    @Test
+    void indexGrowsPastTenShips() {
+        FleetIndex large = new FleetIndex(10, 10);
+        for (int row = 0; row < 10; row++) {
+            large.addShip(row, 0, 1, true);
+            large.addShip(row, 2, 2, true);
+        }
+        assertEquals(20, large.getShipCount());
+        assertEquals(19, large.getShipAt(9, 3));
+        assertEquals(ShotResult.SUNK, large.receiveShot(9, 0));
+        assertTrue(large.isSunk(18));
+        assertEquals(2, large.getRemainingHealth(19));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    private static final long SEED = 13L;
+
+    private static final int[][] FLEET = {
+            {1, 0, 0}, {1, 0, 2}, {1, 0, 4}, {1, 0, 6},
+            {2, 2, 0}, {2, 2, 3}, {2, 2, 6},
+            {3, 4, 0}, {3, 4, 4},
+            {4, 6, 0}
+    };
+
+    @Test
+    void shotsWaitForTheWholeFleet() {
+        GameEngine engine = new GameEngine(SEED);
+        assertEquals(MatchPhase.PLACEMENT, engine.getPhase());
+        assertThrows(IllegalStateException.class, () -> engine.playerShot(0, 0));
+
+        placeFleet(engine);
+        assertEquals(MatchPhase.BATTLE, engine.getPhase());
+        assertTrue(engine.isPlayerTurn());
+        assertEquals(FLEET.length, engine.getMoveCount());
+    }
+
+    @Test
+    void missHandsTheTurnToTheMachineAndBack() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        int[] water = find(engine.getMainTable(), false);
+
+        ShotOutcome miss = engine.playerShot(water[0], water[1]);
+        assertEquals(ShotResult.MISS, miss.getResult());
+        assertFalse(miss.isPlayerTurn());
+        assertFalse(engine.isPlayerTurn());
+        assertThrows(IllegalStateException.class, () -> engine.playerShot(0, 0));
+
+        // (9,9) is water on the player's board
+        ShotOutcome machineMiss = engine.machineShot(9, 9);
+        assertEquals(ShotResult.MISS, machineMiss.getResult());
+        assertTrue(engine.isPlayerTurn());
+        assertThrows(IllegalStateException.class, () -> engine.machineShot(9, 8));
+    }
+
+    @Test
+    void hitKeepsTheTurn() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        int[] ship = find(engine.getMainTable(), true);
+
+        ShotOutcome hit = engine.playerShot(ship[0], ship[1]);
+        assertNotEquals(ShotResult.MISS, hit.getResult());
+        assertTrue(hit.isPlayerTurn());
+        assertTrue(engine.isPlayerTurn());
+    }
+
+    @Test
+    void cellsFiredAtTwiceOrOffTheBoardAreRejected() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        int[] ship = find(engine.getMainTable(), true);
+        engine.playerShot(ship[0], ship[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.playerShot(ship[0], ship[1]));
+        assertThrows(IllegalArgumentException.class, () -> engine.playerShot(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.playerShot(0, -1));
+        assertTrue(engine.isPlayerTurn());
+    }
+
+    @Test
+    void sinkingTheMachineFleetEndsTheMatch() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        FleetIndex machineFleet = engine.getMainTable().getFleetIndex();
+
+        ShotOutcome last = null;
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if (machineFleet.getShipAt(row, col) >= 0) {
+                    assertFalse(engine.isFinished());
+                    last = engine.playerShot(row, col);
+                }
+            }
+        }
+        assertNotNull(last);
+        assertEquals(ShotResult.SUNK, last.getResult());
+        assertTrue(last.isMatchOver());
+        assertTrue(engine.isFinished());
+        assertTrue(engine.isPlayerWinner());
+        assertEquals(FLEET.length + 20, engine.getMoveCount());
+        assertThrows(IllegalStateException.class, () -> engine.playerShot(9, 9));
+    }
+
+    @Test
+    void sinkingThePlayerFleetEndsTheMatch() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        int[] water = find(engine.getMainTable(), false);
+        engine.playerShot(water[0], water[1]);
+
+        ShotOutcome last = null;
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if (engine.getPositionTable().getFleetIndex().getShipAt(row, col) >= 0) {
+                    last = engine.machineShot(row, col);
+                }
+            }
+        }
+        assertNotNull(last);
+        assertTrue(last.isMatchOver());
+        assertTrue(engine.isFinished());
+        assertFalse(engine.isPlayerWinner());
+        assertThrows(IllegalStateException.class, engine::machineShot);
+    }
+
+    @Test
+    void sameSeedPlaysTheSameMatch() {
+        GameEngine first = new GameEngine(SEED);
+        GameEngine second = new GameEngine(SEED);
+        assertArrayEquals(first.getMainTable().getBoard(), second.getMainTable().getBoard());
+
+        playOut(first);
+        playOut(second);
+        assertTrue(first.isFinished());
+        assertEquals(first.isPlayerWinner(), second.isPlayerWinner());
+        assertArrayEquals(first.getMoveHistory(), second.getMoveHistory());
+        assertArrayEquals(first.getMainTable().getShotGrid(), second.getMainTable().getShotGrid());
+    }
+
+    @Test
+    void otherSeedPlacesAnotherFleet() {
+        GameEngine first = new GameEngine(SEED);
+        GameEngine other = new GameEngine(SEED + 1);
+        assertFalse(Arrays.deepEquals(first.getMainTable().getBoard(), other.getMainTable().getBoard()));
+    }
+
+    private static void placeFleet(GameEngine engine) {
+        for (int[] ship : FLEET) {
+            assertEquals(PlacementResult.PLACED, engine.placeShip(ship[0], ship[1], ship[2], 1));
+        }
+    }
+
+    /**
+     * Finds the first cell of the machine's board that holds a ship, or water.
+     */
+    private static int[] find(MainTable table, boolean ship) {
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                if ((table.getFleetIndex().getShipAt(row, col) >= 0) == ship) {
+                    return new int[]{row, col};
+                }
+            }
+        }
+        throw new AssertionError("no such cell");
+    }
+
+    /**
+     * Plays the match to its end, with the player firing at the cells in row-major order.
+     */
+    private static void playOut(GameEngine engine) {
+        placeFleet(engine);
+        int cell = 0;
+        while (!engine.isFinished()) {
+            if (engine.isPlayerTurn()) {
+                engine.playerShot(cell / 10, cell % 10);
+                cell++;
+            } else {
+                engine.machineShot();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchCodecTest {
+
+    private final MatchCodec codec = new MatchCodec();
+    private MatchStatusSerializable match;
+
+    /**
+     * Plays the placement of the whole fleet and a few turns of a seeded match.
+     */
+    @BeforeEach
+    void setUp() {
+        GameEngine engine = new GameEngine(42L);
+        int[][] placements = {
+                {1, 0, 0}, {1, 0, 2}, {1, 0, 4}, {1, 0, 6},
+                {2, 2, 0}, {2, 2, 3}, {2, 2, 6},
+                {3, 4, 0}, {3, 4, 4},
+                {4, 6, 0}
+        };
+        for (int[] placement : placements) {
+            assertEquals(PlacementResult.PLACED, engine.placeShip(placement[0], placement[1], placement[2], 1));
+        }
+        for (int cell = 0; cell < 30 && !engine.isFinished(); ) {
+            if (engine.isPlayerTurn()) {
+                engine.playerShot(cell / 10, cell % 10);
+                cell += 3;
+            } else {
+                engine.machineShot();
+            }
+        }
+        assertTrue(engine.getMainTable().getHitMask().cardinality() + engine.getMainTable().getMissMask().cardinality() > 0);
+        assertTrue(engine.getPositionTable().getHitMask().cardinality() + engine.getPositionTable().getMissMask().cardinality() > 0);
+        match = new MatchStatusSerializable(engine.getMainTable(), engine.getPositionTable(), "Almirante");
+        match.setMoveCount(engine.getMoveCount());
+    }
+
+    @Test
+    void decodedMatchEqualsTheEncodedOne() throws IOException {
+        byte[] data = codec.encode(match);
+        assertTrue(codec.isEncoded(data));
+
+        MatchStatusSerializable decoded = codec.decode(data);
+        assertEquals(match.getNickName(), decoded.getNickName());
+        assertEquals(match.getMoveCount(), decoded.getMoveCount());
+
+        MainTable mainTable = match.getMainTable();
+        MainTable decodedMainTable = decoded.getMainTable();
+        assertEquals(mainTable.getSeed(), decodedMainTable.getSeed());
+        assertArrayEquals(mainTable.getBoard(), decodedMainTable.getBoard());
+        assertArrayEquals(mainTable.getShotGrid(), decodedMainTable.getShotGrid());
+        assertSameCells(mainTable.getHitMask(), decodedMainTable.getHitMask());
+        assertSameCells(mainTable.getMissMask(), decodedMainTable.getMissMask());
+        assertSameCells(mainTable.getSunkMask(), decodedMainTable.getSunkMask());
+        assertSameFleet(mainTable.getShipCoordinatesList(), decodedMainTable.getShipCoordinatesList());
+
+        PositionTable positionTable = match.getPositionTable();
+        PositionTable decodedPositionTable = decoded.getPositionTable();
+        assertArrayEquals(positionTable.getBoard(), decodedPositionTable.getBoard());
+        assertArrayEquals(positionTable.getShotGrid(), decodedPositionTable.getShotGrid());
+        assertSameCells(positionTable.getHitMask(), decodedPositionTable.getHitMask());
+        assertSameCells(positionTable.getMissMask(), decodedPositionTable.getMissMask());
+        assertSameFleet(positionTable.getShipCoordinatesList(), decodedPositionTable.getShipCoordinatesList());
+        assertEquals(MatchPhase.BATTLE, MatchPhase.of(decodedPositionTable));
+    }
+
+    @Test
+    void matchWithoutNicknameIsDecoded() throws IOException {
+        MatchStatusSerializable anonymous = new MatchStatusSerializable(match.getMainTable(), match.getPositionTable(), null);
+        assertNull(codec.decode(codec.encode(anonymous)).getNickName());
+    }
+
+    @Test
+    void summaryIsReadFromTheHeader() {
+        byte[] data = codec.encode(match);
+        MatchSummary summary = codec.probe(Arrays.copyOf(data, MatchCodec.PROBE_SIZE));
+
+        assertNotNull(summary);
+        assertEquals("Almirante", summary.getNickname());
+        assertFalse(summary.isNicknameTruncated());
+        assertEquals(MatchPhase.BATTLE, summary.getPhase());
+        assertEquals(match.getMoveCount(), summary.getMoveCount());
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() {
+        byte[] data = codec.encode(match);
+        data[data.length - 5] ^= 0x10;
+
+        assertThrows(IOException.class, () -> codec.decode(data));
+    }
+
+    @Test
+    void truncatedSaveIsRejected() {
+        byte[] data = codec.encode(match);
+
+        assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(data, data.length - 1)));
+        assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(data, 10)));
+    }
+
+    @Test
+    void unknownDataIsNotTakenForASave() {
+        byte[] data = {(byte) 0xAC, (byte) 0xED, 0, 5, 0x73, 0x72, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+        assertFalse(codec.isEncoded(data));
+        assertNull(codec.probe(data));
+        assertThrows(IOException.class, () -> codec.decode(data));
+    }
+
+    private static void assertSameCells(BitBoard expected, BitBoard actual) {
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assertEquals(expected.get(row, col), actual.get(row, col), "cell " + row + "," + col);
+            }
+        }
+    }
+
+    private static void assertSameFleet(List<int[]> expected, List<int[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "ship " + i);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchJournalTest {
+
+    private static final int[] MOVES = {
+            MatchMove.placement(0, 3, 1, 1),
+            MatchMove.playerShot(4, 5),
+            MatchMove.machineShot(9, 0),
+            MatchMove.playerShot(0, 9)
+    };
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("match-0.journal");
+    }
+
+    @Test
+    void appendedMovesAreReadBackInOrder() throws IOException {
+        write(0, MOVES);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertArrayEquals(MOVES, journal.readTail(0));
+        assertEquals(MOVES.length, journal.getMoveCount());
+        assertEquals(MatchJournal.HEADER_SIZE + MOVES.length * MatchJournal.RECORD_SIZE, Files.size(file));
+    }
+
+    @Test
+    void movesCoveredByTheCheckpointAreSkipped() throws IOException {
+        write(4, MOVES);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertArrayEquals(new int[]{MOVES[2], MOVES[3]}, journal.readTail(6));
+        assertEquals(4 + MOVES.length, journal.getMoveCount());
+    }
+
+    @Test
+    void tornLastRecordIsCutOffAndAppendsContinue() throws IOException {
+        write(0, MOVES[0], MOVES[1]);
+        Files.write(file, new byte[]{0x20, 0x45}, StandardOpenOption.APPEND);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertArrayEquals(new int[]{MOVES[0], MOVES[1]}, journal.readTail(0));
+        assertEquals(MatchJournal.HEADER_SIZE + 2 * MatchJournal.RECORD_SIZE, Files.size(file));
+
+        journal.append(MOVES[2]);
+        journal.append(MOVES[3]);
+        journal.close();
+        assertArrayEquals(MOVES, new MatchJournal(file).readTail(0));
+    }
+
+    @Test
+    void replayStopsAtACorruptedRecord() throws IOException {
+        write(0, MOVES);
+        byte[] content = Files.readAllBytes(file);
+        content[MatchJournal.HEADER_SIZE + 2 * MatchJournal.RECORD_SIZE + 1] ^= 0x01;
+        Files.write(file, content);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertArrayEquals(new int[]{MOVES[0], MOVES[1]}, journal.readTail(0));
+        assertEquals(2, journal.getMoveCount());
+    }
+
+    @Test
+    void journalOlderThanTheCheckpointIsStartedOver() throws IOException {
+        write(0, MOVES);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertEquals(0, journal.readTail(10).length);
+        assertEquals(10, journal.getMoveCount());
+        assertEquals(MatchJournal.HEADER_SIZE, Files.size(file));
+
+        journal.append(MOVES[0]);
+        journal.close();
+        assertArrayEquals(new int[]{MOVES[0]}, new MatchJournal(file).readTail(10));
+    }
+
+    @Test
+    void journalNewerThanTheCheckpointIsStartedOver() throws IOException {
+        write(8, MOVES);
+
+        MatchJournal journal = new MatchJournal(file);
+        assertEquals(0, journal.readTail(3).length);
+        assertEquals(3, journal.getMoveCount());
+        assertEquals(MatchJournal.HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void missingJournalIsStartedOver() throws IOException {
+        MatchJournal journal = new MatchJournal(file);
+        assertEquals(0, journal.readTail(5).length);
+        assertEquals(5, journal.getMoveCount());
+        assertEquals(MatchJournal.HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void appendsAreRejectedUntilTheJournalIsStartedOver() throws IOException {
+        MatchJournal journal = new MatchJournal(file);
+        assertTrue(journal.isBroken());
+        assertThrows(IOException.class, () -> journal.append(MOVES[0]));
+
+        journal.reset(2);
+        assertFalse(journal.isBroken());
+        journal.append(MOVES[0]);
+        journal.close();
+        assertArrayEquals(new int[]{MOVES[0]}, new MatchJournal(file).readTail(2));
+    }
+
+    /**
+     * Writes a journal that starts after the given amount of moves.
+     *
+     * @param baseMove the amount of moves before the journal start.
+     * @param moves    the moves to append.
+     * @throws IOException if the journal cannot be written.
+     */
+    private void write(int baseMove, int... moves) throws IOException {
+        MatchJournal journal = new MatchJournal(file);
+        journal.reset(baseMove);
+        for (int move : moves) {
+            journal.append(move);
+        }
+        journal.close();
+    }
+}
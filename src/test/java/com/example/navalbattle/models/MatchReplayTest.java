@@ -0,0 +1,111 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchReplayTest {
+
+    private static final long SEED = 7L;
+
+    private static final int[][] FLEET = {
+            {1, 0, 0}, {1, 0, 2}, {1, 0, 4}, {1, 0, 6},
+            {2, 2, 0}, {2, 2, 3}, {2, 2, 6},
+            {3, 4, 0}, {3, 4, 4},
+            {4, 6, 0}
+    };
+
+    private final MatchCodec codec = new MatchCodec();
+
+    @Test
+    void wholeMatchIsRebuiltFromItsSeedAndMoves() {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        play(engine, Integer.MAX_VALUE);
+        assertTrue(engine.isFinished());
+
+        MatchReplay replay = MatchReplay.of(SEED, engine.getMoveHistory());
+        assertSameMatch(engine, replay);
+        assertTrue(replay.isFinished());
+        assertEquals(engine.isPlayerWinner(), replay.isPlayerWinner());
+    }
+
+    @Test
+    void resumedMatchKeepsTheMovesOfItsCheckpoint() throws IOException {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        play(engine, 40);
+
+        MatchStatusSerializable checkpoint = checkpoint(engine);
+        checkpoint.setMoves(engine.getMoveHistory());
+        MatchStatusSerializable saved = codec.decode(codec.encode(checkpoint));
+        assertArrayEquals(engine.getMoveHistory(), saved.getMoves());
+
+        GameEngine resumed = new GameEngine(saved);
+        assertArrayEquals(engine.getMoveHistory(), resumed.getMoveHistory());
+        play(resumed, Integer.MAX_VALUE);
+        assertTrue(resumed.isFinished());
+        assertEquals(resumed.getMoveCount(), resumed.getMoveHistory().length);
+
+        MatchReplay replay = MatchReplay.of(SEED, resumed.getMoveHistory());
+        assertSameMatch(resumed, replay);
+        assertEquals(resumed.isPlayerWinner(), replay.isPlayerWinner());
+    }
+
+    @Test
+    void checkpointWithoutMovesOnlyKeepsTheMovesAfterIt() throws IOException {
+        GameEngine engine = new GameEngine(SEED);
+        placeFleet(engine);
+        play(engine, 20);
+
+        MatchStatusSerializable saved = codec.decode(codec.encode(checkpoint(engine)));
+        assertNull(saved.getMoves());
+
+        GameEngine resumed = new GameEngine(saved);
+        assertEquals(0, resumed.getMoveHistory().length);
+        play(resumed, 5);
+        assertEquals(resumed.getMoveCount() - saved.getMoveCount(), resumed.getMoveHistory().length);
+    }
+
+    private static MatchStatusSerializable checkpoint(GameEngine engine) {
+        MatchStatusSerializable checkpoint =
+                new MatchStatusSerializable(engine.getMainTable(), engine.getPositionTable(), "Almirante");
+        checkpoint.setMoveCount(engine.getMoveCount());
+        return checkpoint;
+    }
+
+    private static void placeFleet(GameEngine engine) {
+        for (int[] ship : FLEET) {
+            assertEquals(PlacementResult.PLACED, engine.placeShip(ship[0], ship[1], ship[2], 1));
+        }
+    }
+
+    /**
+     * Plays shots until the match is over or the given amount of shots was fired. The player
+     * fires at the cells in row-major order.
+     */
+    private static void play(GameEngine engine, int shots) {
+        int[][] fired = engine.getPositionTable().getShotGrid();
+        int cell = 0;
+        for (int shot = 0; shot < shots && !engine.isFinished(); shot++) {
+            if (engine.isPlayerTurn()) {
+                while (fired[cell / 10][cell % 10] != 0) {
+                    cell++;
+                }
+                engine.playerShot(cell / 10, cell % 10);
+            } else {
+                engine.machineShot();
+            }
+        }
+    }
+
+    private static void assertSameMatch(GameEngine expected, MatchReplay actual) {
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        assertArrayEquals(expected.getMainTable().getBoard(), actual.getMainTable().getBoard());
+        assertArrayEquals(expected.getMainTable().getShotGrid(), actual.getMainTable().getShotGrid());
+        assertArrayEquals(expected.getPositionTable().getBoard(), actual.getPositionTable().getBoard());
+        assertArrayEquals(expected.getPositionTable().getShotGrid(), actual.getPositionTable().getShotGrid());
+    }
+}
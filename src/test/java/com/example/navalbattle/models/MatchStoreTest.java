@@ -0,0 +1,159 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchStoreTest {
+
+    private static final String[] PLAYERS = {"Almirante", "Capitana", "Grumete"};
+
+    @TempDir
+    Path directory;
+
+    private final MatchCodec codec = new MatchCodec();
+    private final PersistenceWriter writer = new PersistenceWriter(64);
+
+    @BeforeEach
+    void setUp() {
+        MatchStore store = new MatchStore(directory, writer, 4);
+        for (String player : PLAYERS) {
+            save(store, player);
+        }
+        assertTrue(store.flush(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void reopenedStoreReadsItsIndex() {
+        MatchStore reopened = new MatchStore(directory, writer, 4);
+        for (String player : PLAYERS) {
+            assertNotNull(reopened.find(player), player);
+        }
+        assertNull(reopened.find("Polizón"));
+    }
+
+    @Test
+    void missingIndexIsRebuiltFromTheSavedMatches() throws IOException {
+        int[] slots = slots(new MatchStore(directory, writer, 4));
+        Files.delete(directory.resolve("matches.index"));
+
+        MatchStore reopened = new MatchStore(directory, writer, 4);
+        assertArrayEquals(slots, slots(reopened));
+        assertEquals(MatchPhase.BATTLE, reopened.find("Capitana").getStatus());
+        assertEquals("Grumete", codec.decode(reopened.load("Grumete")).getNickName());
+
+        assertTrue(reopened.flush(5, TimeUnit.SECONDS));
+        assertTrue(Files.exists(directory.resolve("matches.index")));
+    }
+
+    @Test
+    void damagedIndexIsRebuiltFromTheSavedMatches() throws IOException {
+        int[] slots = slots(new MatchStore(directory, writer, 4));
+        Files.write(directory.resolve("matches.index"), new byte[]{1, 2, 3});
+
+        MatchStore reopened = new MatchStore(directory, writer, 4);
+        assertArrayEquals(slots, slots(reopened));
+        // The rebuilt index is written in the background, before the directory is deleted
+        assertTrue(reopened.flush(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void leastRecentlyUsedCheckpointIsEvictedFromTheCache() throws IOException {
+        MatchStore store = new MatchStore(directory, writer, 2);
+        byte[] almirante = store.load("Almirante");
+        byte[] capitana = store.load("Capitana");
+        // Almirante becomes the most recently used, so loading Grumete evicts Capitana
+        assertSame(almirante, store.load("Almirante"));
+        store.load("Grumete");
+
+        assertSame(almirante, store.load("Almirante"));
+        assertNotSame(capitana, store.load("Capitana"));
+        assertArrayEquals(capitana, store.load("Capitana"));
+    }
+
+    @Test
+    void savedCheckpointIsServedFromTheCache() throws IOException {
+        MatchStore store = new MatchStore(directory, writer, 2);
+        byte[] data = encode("Almirante");
+        store.save("Almirante", data, 0, MatchPhase.BATTLE);
+        assertSame(data, store.load("Almirante"));
+
+        store.load("Capitana");
+        store.load("Grumete");
+        assertTrue(store.flush(5, TimeUnit.SECONDS));
+        byte[] reread = store.load("Almirante");
+        assertNotSame(data, reread);
+        assertArrayEquals(data, reread);
+    }
+
+    @Test
+    void deletedMatchIsGoneFromTheIndexAndTheDisk() {
+        MatchStore store = new MatchStore(directory, writer, 4);
+        int slot = store.find("Capitana").getSlot();
+        store.delete("Capitana");
+        assertNull(store.find("Capitana"));
+        assertTrue(store.flush(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(directory.resolve("match-" + slot + ".ser")));
+
+        assertNull(new MatchStore(directory, writer, 4).find("Capitana"));
+        assertThrows(IOException.class, () -> store.load("Capitana"));
+    }
+
+    @Test
+    void summaryCountsTheMovesJournaledAfterTheCheckpoint() throws IOException {
+        MatchStore store = new MatchStore(directory, writer, 4);
+        GameEngine engine = new GameEngine(1);
+        byte[] data = codec.encode(new MatchStatusSerializable(engine.getMainTable(), engine.getPositionTable(), "Polizón"));
+        store.save("Polizón", data, 0, MatchPhase.PLACEMENT);
+        for (int col = 0; col < 3; col++) {
+            store.append("Polizón", MatchMove.placement(1, 0, col * 2, 1));
+        }
+
+        MatchSummary summary = store.probe("Polizón");
+        assertEquals(MatchPhase.PLACEMENT, summary.getPhase());
+        assertEquals(3, summary.getMoveCount());
+
+        store.append("Polizón", MatchMove.playerShot(5, 5));
+        store.append("Polizón", MatchMove.machineShot(0, 0));
+        summary = store.probe("Polizón");
+        assertEquals(MatchPhase.BATTLE, summary.getPhase());
+        assertEquals(5, summary.getMoveCount());
+        assertTrue(store.flush(5, TimeUnit.SECONDS));
+    }
+
+    private void save(MatchStore store, String player) {
+        store.save(player, encode(player), 0, MatchPhase.BATTLE);
+    }
+
+    /**
+     * Encodes a match whose player has placed the whole fleet.
+     */
+    private byte[] encode(String player) {
+        GameEngine engine = new GameEngine(player.length());
+        int[][] fleet = {
+                {1, 0, 0}, {1, 0, 2}, {1, 0, 4}, {1, 0, 6},
+                {2, 2, 0}, {2, 2, 3}, {2, 2, 6},
+                {3, 4, 0}, {3, 4, 4},
+                {4, 6, 0}
+        };
+        for (int[] ship : fleet) {
+            engine.placeShip(ship[0], ship[1], ship[2], 1);
+        }
+        return codec.encode(new MatchStatusSerializable(engine.getMainTable(), engine.getPositionTable(), player));
+    }
+
+    private static int[] slots(MatchStore store) {
+        int[] slots = new int[PLAYERS.length];
+        for (int i = 0; i < PLAYERS.length; i++) {
+            slots[i] = store.find(PLAYERS[i]).getSlot();
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacementCatalogTest {
+
+    private final PlacementCatalog catalog = PlacementCatalog.of(10, 10);
+
+    @Test
+    void placementsPerSizeOnATenByTenBoard() {
+        assertEquals(10, catalog.getMaxSize());
+        // A ship of size s fits in (11 - s) positions of each of the 10 rows or columns
+        assertEquals(100, catalog.count(1, true));
+        assertEquals(90, catalog.count(2, true));
+        assertEquals(80, catalog.count(3, true));
+        assertEquals(70, catalog.count(4, true));
+        assertEquals(10, catalog.count(10, true));
+        for (int size = 1; size <= 10; size++) {
+            assertEquals(10 * (11 - size), catalog.count(size, true), "size " + size);
+            assertEquals(10 * (11 - size), catalog.count(size, false), "size " + size);
+        }
+        assertEquals(0, catalog.count(0, true));
+        assertEquals(0, catalog.count(11, false));
+    }
+
+    @Test
+    void everyPlacementCoversItsCells() {
+        for (int size = 1; size <= 4; size++) {
+            for (boolean horizontal : new boolean[]{true, false}) {
+                for (int index = 0; index < catalog.count(size, horizontal); index++) {
+                    BitBoard mask = catalog.getMask(size, horizontal, index);
+                    int start = catalog.getStart(size, horizontal, index);
+                    assertEquals(size, mask.cardinality());
+                    assertTrue(mask.allInLine(start / 10, start % 10, size, horizontal));
+                    assertSame(mask, catalog.find(start / 10, start % 10, size, horizontal));
+                }
+            }
+        }
+    }
+
+    @Test
+    void placementsOffTheBoardAreNotFound() {
+        assertNull(catalog.find(0, 7, 4, true));
+        assertNull(catalog.find(7, 0, 4, false));
+        assertNull(catalog.find(-1, 0, 2, true));
+        assertNotNull(catalog.find(0, 6, 4, true));
+        assertNotNull(catalog.find(6, 0, 4, false));
+    }
+
+    @Test
+    void placementsOverOccupiedCellsDoNotFit() {
+        BitBoard occupied = new BitBoard(10, 10);
+        occupied.set(4, 4);
+
+        assertFalse(catalog.fits(4, 1, 4, true, occupied));
+        assertTrue(catalog.fits(4, 0, 4, true, occupied));
+        assertFalse(catalog.fits(2, 4, 3, false, occupied));
+        assertTrue(catalog.fits(5, 4, 3, false, occupied));
+        assertFalse(catalog.fits(9, 9, 2, true, occupied));
+    }
+
+    @Test
+    void catalogIsSharedPerBoardSize() {
+        assertSame(catalog, PlacementCatalog.of(10, 10));
+        assertNotSame(catalog, PlacementCatalog.of(8, 12));
+        assertEquals(8 * 9, PlacementCatalog.of(8, 12).count(4, true));
+        assertEquals(5 * 12, PlacementCatalog.of(8, 12).count(4, false));
+    }
+}
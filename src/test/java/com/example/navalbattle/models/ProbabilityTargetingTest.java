@@ -0,0 +1,96 @@
+package com.example.navalbattle.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilityTargetingTest {
+
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting(10, 10);
+    private BitBoard hits;
+    private BitBoard misses;
+    private BitBoard sunk;
+
+    @BeforeEach
+    void setUp() {
+        hits = new BitBoard(10, 10);
+        misses = new BitBoard(10, 10);
+        sunk = new BitBoard(10, 10);
+    }
+
+    @Test
+    void emptyBoardFavoursTheCentre() {
+        int[] density = targeting.computeDensity(hits, misses, sunk, new int[]{0, 0, 0, 1});
+
+        // A cruiser covers a corner in one placement per orientation and the centre in three per orientation
+        assertEquals(2, density[0]);
+        assertEquals(6, density[55]);
+        assertEquals(2 + 3, density[51]);
+    }
+
+    @Test
+    void hitIsFollowedUpByItsNeighbours() {
+        hits.set(5, 5);
+        int[] density = targeting.computeDensity(hits, misses, sunk, new int[]{0, 0, 0, 1});
+
+        // Two horizontal placements through (5,6) also go through the hit: 2 * 26 + 1 + 3
+        assertEquals(56, density[56]);
+        assertEquals(56, density[54]);
+        assertEquals(56, density[45]);
+        assertEquals(56, density[65]);
+        // (5,7) shares a single placement with the hit
+        assertEquals(26 + 2 + 3, density[57]);
+        assertEquals(6, density[44]);
+
+        SplittableRandom random = new SplittableRandom(4L);
+        for (int i = 0; i < 20; i++) {
+            int target = targeting.selectTarget(hits, misses, sunk, new int[]{0, 0, 0, 1}, random);
+            assertTrue(target == 45 || target == 54 || target == 56 || target == 65, "target " + target);
+        }
+    }
+
+    @Test
+    void missesBlockThePlacementsThroughThem() {
+        hits.set(5, 5);
+        misses.set(5, 4);
+        misses.set(5, 6);
+        misses.set(4, 5);
+        int[] density = targeting.computeDensity(hits, misses, sunk, new int[]{0, 0, 0, 1});
+
+        assertEquals(0, density[54]);
+        assertEquals(0, density[56]);
+        assertEquals(0, density[45]);
+        // Only the vertical placement (5,5)-(7,5) still goes through the hit
+        assertEquals(26 + 1 + 3, density[65]);
+        // (7,5) ends that placement and, unlike (6,5), has no miss two cells above it
+        assertEquals(26 + 2 + 3, density[75]);
+        assertEquals(75, targeting.selectTarget(hits, misses, sunk, new int[]{0, 0, 0, 1}, new SplittableRandom(1L)));
+    }
+
+    @Test
+    void sunkShipIsNoLongerFollowedUp() {
+        hits.setLine(5, 4, 3, true);
+        sunk.setLine(5, 4, 3, true);
+        int[] density = targeting.computeDensity(hits, misses, sunk, new int[]{0, 0, 1});
+
+        assertEquals(0, density[54]);
+        assertEquals(0, density[55]);
+        assertEquals(0, density[56]);
+        // The destroyer cannot lie across the sunk cruiser, so (5,7) only keeps (5,7)-(5,8) and its two vertical placements
+        assertEquals(3, density[57]);
+        for (int value : density) {
+            assertTrue(value <= 4, "density " + value);
+        }
+    }
+
+    @Test
+    void fullyShotBoardHasNoTarget() {
+        for (int row = 0; row < 10; row++) {
+            misses.setLine(row, 0, 10, true);
+        }
+        assertEquals(-1, targeting.selectTarget(hits, misses, sunk, new int[]{0, 1}, new SplittableRandom(2L)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.navalbattle.models;
+
+import com.example.navalbattle.interfaces.TargetingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetingStrategyTest {
+
+    /**
+     * A strategy built outside the game, which draws its cells from the generator of the table.
+     */
+    private static final class ScanStrategy implements TargetingStrategy {
+
+        @Override
+        public String getName() {
+            return "scan";
+        }
+
+        @Override
+        public int[] selectShot(MainTable table) {
+            int[][] shots = table.getShotGrid();
+            int cell = table.getRandom().nextInt(100);
+            while (shots[cell / 10][cell % 10] != 0) {
+                cell = (cell + 1) % 100;
+            }
+            return new int[]{cell / 10, cell % 10};
+        }
+    }
+
+    @Test
+    void strategyDrawingFromTheTableGeneratorIsReproducible() {
+        assertEquals(shots(11L), shots(11L));
+        assertNotEquals(shots(11L), shots(12L));
+    }
+
+    @Test
+    void providedStrategiesAreReproducible() {
+        for (String name : new String[]{"random", "smart"}) {
+            assertEquals(play(5L, name), play(5L, name), name);
+        }
+    }
+
+    private static List<String> shots(long seed) {
+        MainTable table = new MainTable(seed);
+        TargetingStrategy strategy = new ScanStrategy();
+        List<String> shots = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            int[] shot = strategy.selectShot(table);
+            table.recordShot(shot[0], shot[1], false);
+            shots.add(shot[0] + "," + shot[1]);
+        }
+        return shots;
+    }
+
+    private static List<String> play(long seed, String strategy) {
+        GameEngine engine = new GameEngine(seed, strategy);
+        int[][] fleet = {
+                {1, 0, 0}, {1, 0, 2}, {1, 0, 4}, {1, 0, 6},
+                {2, 2, 0}, {2, 2, 3}, {2, 2, 6},
+                {3, 4, 0}, {3, 4, 4},
+                {4, 6, 0}
+        };
+        for (int[] ship : fleet) {
+            engine.placeShip(ship[0], ship[1], ship[2], 1);
+        }
+        List<String> shots = new ArrayList<>();
+        int cell = 0;
+        while (!engine.isFinished()) {
+            if (engine.isPlayerTurn()) {
+                engine.playerShot(cell / 10, cell % 10);
+                cell++;
+            } else {
+                ShotOutcome outcome = engine.machineShot();
+                shots.add(outcome.getRow() + "," + outcome.getCol());
+            }
+        }
+        return shots;
+    }
+}
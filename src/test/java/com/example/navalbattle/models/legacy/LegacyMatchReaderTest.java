@@ -0,0 +1,104 @@
+package com.example.navalbattle.models.legacy;
+
+import com.example.navalbattle.models.MainTable;
+import com.example.navalbattle.models.MatchCodec;
+import com.example.navalbattle.models.MatchStatusSerializable;
+import com.example.navalbattle.models.MatchStore;
+import com.example.navalbattle.models.PersistenceWriter;
+import com.example.navalbattle.models.PositionTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegacyMatchReaderTest {
+
+    /**
+     * A match saved with Java serialization by the versions before the binary save format.
+     */
+    private static final String LEGACY_SAVE = "previous_match.ser";
+
+    @TempDir
+    Path directory;
+
+    private byte[] legacy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream input = getClass().getResourceAsStream(LEGACY_SAVE)) {
+            assertNotNull(input, "missing test resource " + LEGACY_SAVE);
+            legacy = input.readAllBytes();
+        }
+    }
+
+    @Test
+    void legacySaveIsMigrated() throws IOException, ClassNotFoundException {
+        assertFalse(new MatchCodec().isEncoded(legacy));
+
+        MatchStatusSerializable match = new LegacyMatchReader().read(legacy);
+        assertEquals("Player", match.getNickName());
+        assertEquals(0, match.getMoveCount());
+
+        MainTable mainTable = match.getMainTable();
+        assertEquals(10, mainTable.getShipCoordinatesList().size());
+        assertEquals(20, mainTable.getShipMask().cardinality());
+        assertArrayEquals(new int[]{3, 6, 3, 9, 1, 4}, Arrays.copyOf(mainTable.getShipCoordinatesList().get(0), 6));
+        assertEquals(1, mainTable.getHitMask().cardinality());
+        assertEquals(6, mainTable.getMissMask().cardinality());
+        assertEquals(6, mainTable.getShotGrid()[5][4]);
+        assertEquals(5, mainTable.getShotGrid()[9][8]);
+
+        PositionTable positionTable = match.getPositionTable();
+        assertEquals(10, positionTable.getShipCoordinatesList().size());
+        assertEquals(20, positionTable.getShipMask().cardinality());
+        assertEquals(6, positionTable.getHitMask().cardinality());
+        assertEquals(6, positionTable.getMissMask().cardinality());
+        assertEquals(6, positionTable.getShotGrid()[3][9]);
+        assertEquals(5, positionTable.getShotGrid()[2][4]);
+    }
+
+    @Test
+    void migratedMatchIsSavedInTheBinaryFormat() throws IOException, ClassNotFoundException {
+        MatchStatusSerializable match = new LegacyMatchReader().read(legacy);
+        MatchCodec codec = new MatchCodec();
+
+        MatchStatusSerializable decoded = codec.decode(codec.encode(match));
+        assertEquals(match.getNickName(), decoded.getNickName());
+        assertEquals(match.getMainTable().getSeed(), decoded.getMainTable().getSeed());
+        assertArrayEquals(match.getMainTable().getBoard(), decoded.getMainTable().getBoard());
+        assertArrayEquals(match.getMainTable().getShotGrid(), decoded.getMainTable().getShotGrid());
+        assertArrayEquals(match.getPositionTable().getBoard(), decoded.getPositionTable().getBoard());
+        assertArrayEquals(match.getPositionTable().getShotGrid(), decoded.getPositionTable().getShotGrid());
+    }
+
+    @Test
+    void storeAdoptsTheLegacySave() throws IOException, ClassNotFoundException {
+        Files.write(directory.resolve(LEGACY_SAVE), legacy);
+        PersistenceWriter writer = new PersistenceWriter(16);
+
+        MatchStore store = new MatchStore(directory, writer, 4);
+        assertTrue(writer.flush(5, TimeUnit.SECONDS));
+        assertNotNull(store.find("Player"));
+        assertFalse(Files.exists(directory.resolve(LEGACY_SAVE)));
+        assertTrue(Files.exists(directory.resolve("matches.index")));
+        assertEquals("Player", new LegacyMatchReader().read(store.load("Player")).getNickName());
+
+        MatchStore reopened = new MatchStore(directory, writer, 4);
+        assertNotNull(reopened.find("Player"));
+    }
+
+    @Test
+    void dataThatIsNotASaveIsRejected() {
+        byte[] data = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        assertThrows(IOException.class, () -> new LegacyMatchReader().read(data));
+    }
+}
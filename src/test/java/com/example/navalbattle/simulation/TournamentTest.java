@@ -0,0 +1,100 @@
+package com.example.navalbattle.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void twoStrategiesAreRatedFromTheirScore() {
+        TournamentReport report = report(List.of(pair("a", "b", 74, 25)), "a", "b");
+
+        // The extra game split between both sides makes the score 74.5 / 100
+        double difference = 400 * Math.log10(0.745 / 0.255);
+        assertEquals(1500 + difference / 2, report.getRating("a"), EPSILON);
+        assertEquals(1500 - difference / 2, report.getRating("b"), EPSILON);
+        assertEquals(99, report.getGames());
+    }
+
+    @Test
+    void consistentTableGivesItsStrengths() {
+        // Strengths 9, 3 and 1: once the extra game is split, every pair scores exactly s / (s + t)
+        TournamentReport report = report(List.of(
+                pair("a", "b", 4, 1),
+                pair("a", "c", 4, 0),
+                pair("b", "c", 4, 1)), "a", "b", "c");
+
+        double step = 400 * Math.log10(3);
+        assertEquals(1500 + step, report.getRating("a"), EPSILON);
+        assertEquals(1500, report.getRating("b"), EPSILON);
+        assertEquals(1500 - step, report.getRating("c"), EPSILON);
+        assertEquals(14, report.getGames());
+    }
+
+    @Test
+    void ratingsDoNotDependOnTheOrderOfThePairs() {
+        TournamentReport report = report(List.of(
+                pair("a", "b", 30, 20),
+                pair("b", "c", 12, 38),
+                pair("c", "a", 27, 23)), "a", "b", "c");
+        TournamentReport swapped = report(List.of(
+                pair("c", "a", 27, 23),
+                pair("a", "b", 30, 20),
+                pair("c", "b", 38, 12)), "c", "a", "b");
+
+        double sum = 0;
+        for (String strategy : new String[]{"a", "b", "c"}) {
+            assertEquals(report.getRating(strategy), swapped.getRating(strategy), EPSILON, strategy);
+            assertEquals(report.getRatingError(strategy), swapped.getRatingError(strategy), EPSILON, strategy);
+            assertTrue(report.getRatingError(strategy) > 0);
+            sum += report.getRating(strategy) - 1500;
+        }
+        assertEquals(0, sum, EPSILON);
+    }
+
+    @Test
+    void strategyThatWonEveryGameKeepsAFiniteRating() {
+        TournamentReport report = report(List.of(pair("a", "b", 20, 0)), "a", "b");
+
+        assertEquals(1500 + 200 * Math.log10(41), report.getRating("a"), EPSILON);
+        assertTrue(Double.isFinite(report.getRatingError("a")));
+    }
+
+    @Test
+    void sameSeedPlaysTheSameTournament() {
+        Tournament tournament = new Tournament(new ForkJoinPool(2));
+        TournamentReport first = tournament.run(List.of("random", "smart"), 6, 9L);
+        TournamentReport second = tournament.run(List.of("smart", "random"), 6, 9L);
+
+        assertEquals(12, first.getGames());
+        assertEquals(first.getRating("smart"), second.getRating("smart"), EPSILON);
+        assertEquals(first.getPairs().get(0).getFirstWins(), second.getPairs().get(0).getFirstWins());
+        assertThrows(IllegalArgumentException.class, () -> tournament.run(List.of("smart", "smart"), 1, 9L));
+    }
+
+    private static PairResult pair(String first, String second, int firstWins, int secondWins) {
+        PairResult pair = new PairResult(first, second);
+        for (int i = 0; i < firstWins; i++) {
+            pair.record(true);
+        }
+        for (int i = 0; i < secondWins; i++) {
+            pair.record(false);
+        }
+        return pair;
+    }
+
+    private static TournamentReport report(List<PairResult> pairs, String... strategies) {
+        List<SimulationResult> results = new ArrayList<>();
+        for (String strategy : strategies) {
+            results.add(new SimulationResult(strategy));
+        }
+        return new TournamentReport(results, pairs, 1L, 1, 0, 1);
+    }
+}